@@ -24,8 +24,10 @@
 package org.cqfn.astranaut.core.algorithms;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
 
 /**
  * Algorithm for measuring the depth of syntax trees.
@@ -33,16 +35,32 @@ import org.cqfn.astranaut.core.base.Node;
  */
 public final class DepthCalculator {
     /**
-     * A table with the calculated values.
+     * A table with the calculated values, used if no cache is specified.
      * Since nodes are immutable, depth calculated once for a node will never change.
      */
     private final Map<Node, Integer> calculated;
 
+    /**
+     * Cache of the calculated depths, may be shared between several instances,
+     *  or {@code null} if the private table is used.
+     */
+    private final NodeCache<Integer> cache;
+
     /**
      * Constructor.
      */
     public DepthCalculator() {
         this.calculated = new HashMap<>();
+        this.cache = null;
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of calculated depths, may be shared between several instances
+     */
+    public DepthCalculator(final NodeCache<Integer> cache) {
+        this.calculated = null;
+        this.cache = cache;
     }
 
     /**
@@ -51,21 +69,63 @@ public final class DepthCalculator {
      * @return Calculated depth
      */
     public int calculate(final Node node) {
-        final int depth;
-        if (this.calculated.containsKey(node)) {
-            depth = this.calculated.get(node);
+        Integer depth = this.lookup(node);
+        if (depth == null) {
+            depth = new TreeTraversal(node).reduce(new Calculator());
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the value calculated for a node earlier.
+     * @param node Node
+     * @return Value or {@code null} if not calculated yet
+     */
+    private Integer lookup(final Node node) {
+        final Integer value;
+        if (this.cache == null) {
+            value = this.calculated.get(node);
         } else {
+            value = this.cache.get(node);
+        }
+        return value;
+    }
+
+    /**
+     * Remembers the value calculated for a node.
+     * @param node Node
+     * @param value Value
+     */
+    private void store(final Node node, final Integer value) {
+        if (this.cache == null) {
+            this.calculated.put(node, value);
+        } else {
+            this.cache.put(node, value);
+        }
+    }
+
+    /**
+     * Calculates depths of the subtrees from the leaves to the root,
+     *  skipping subtrees whose depths are already calculated.
+     * @since 2.0.0
+     */
+    private final class Calculator implements TreeTraversal.Reducer<Integer> {
+        @Override
+        public Integer lookup(final Node node) {
+            return DepthCalculator.this.lookup(node);
+        }
+
+        @Override
+        public Integer reduce(final Node node, final List<Integer> children) {
             int max = 0;
-            final int count = node.getChildCount();
-            for (int index = 0; index < count; index = index + 1) {
-                final int value = this.calculate(node.getChild(index));
+            for (final Integer value : children) {
                 if (max < value) {
                     max = value;
                 }
             }
-            depth = 1 + max;
-            this.calculated.put(node, depth);
+            final Integer depth = 1 + max;
+            DepthCalculator.this.store(node, depth);
+            return depth;
         }
-        return depth;
     }
 }
@@ -48,7 +48,7 @@ public class DepthFirstWalker {
 
     /**
      * Processes nodes starting from the root. Processes a node first.
-     *  If the stopping criterion is not reached, recursively processes all children of it,
+     *  If the stopping criterion is not reached, processes all descendants of it in depth,
      *  starting from the first one. Once a node is found that satisfies the criterion,
      *  stops traversal.<br/>
      *  And yes, you can use this algorithm not only to find nodes, but also just to traverse
@@ -57,7 +57,20 @@ public class DepthFirstWalker {
      * @return Found node (optional)
      */
     public Optional<Node> findFirst(final Visitor visitor) {
-        return Optional.ofNullable(DepthFirstWalker.findFirst(this.root, visitor));
+        final Node[] result = new Node[1];
+        new TreeTraversal(this.root).walk(
+            node -> {
+                final TreeTraversal.Decision decision;
+                if (visitor.process(node)) {
+                    result[0] = node;
+                    decision = TreeTraversal.Decision.STOP;
+                } else {
+                    decision = TreeTraversal.Decision.CONTINUE;
+                }
+                return decision;
+            }
+        );
+        return Optional.ofNullable(result[0]);
     }
 
     /**
@@ -69,7 +82,18 @@ public class DepthFirstWalker {
      */
     public List<Node> findAll(final Visitor visitor) {
         final List<Node> list = new ArrayList<>(0);
-        DepthFirstWalker.findAll(this.root, visitor, list);
+        new TreeTraversal(this.root).walk(
+            node -> {
+                final TreeTraversal.Decision decision;
+                if (visitor.process(node)) {
+                    list.add(node);
+                    decision = TreeTraversal.Decision.SKIP;
+                } else {
+                    decision = TreeTraversal.Decision.CONTINUE;
+                }
+                return decision;
+            }
+        );
         return list;
     }
 
@@ -79,59 +103,13 @@ public class DepthFirstWalker {
      */
     public List<Node> collectAll() {
         final List<Node> list = new ArrayList<>(1 + this.root.getChildCount());
-        DepthFirstWalker.collectAll(this.root, list);
-        return list;
-    }
-
-    /**
-     * Recursive method that implements the "Find first starting from the root" algorithm.
-     * @param node Current node to be processed
-     * @param visitor Visitor that processes nodes
-     * @return Found node or {@code null} if no node is found
-     */
-    private static Node findFirst(final Node node, final Visitor visitor) {
-        Node result = null;
-        final boolean stop = visitor.process(node);
-        if (stop) {
-            result = node;
-        } else {
-            final int count = node.getChildCount();
-            for (int index = 0; index < count && result == null; index = index + 1) {
-                result = DepthFirstWalker.findFirst(node.getChild(index), visitor);
+        new TreeTraversal(this.root).walk(
+            node -> {
+                list.add(node);
+                return TreeTraversal.Decision.CONTINUE;
             }
-        }
-        return result;
-    }
-
-    /**
-     * Recursive method that implements the "Find all starting from the root" algorithm.
-     * @param node Current node to be processed
-     * @param visitor Visitor that processes nodes
-     * @param list List of found nodes
-     */
-    private static void findAll(final Node node, final Visitor visitor, final List<Node> list) {
-        final boolean found = visitor.process(node);
-        if (found) {
-            list.add(node);
-        } else {
-            final int count = node.getChildCount();
-            for (int index = 0; index < count; index = index + 1) {
-                DepthFirstWalker.findAll(node.getChild(index), visitor, list);
-            }
-        }
-    }
-
-    /**
-     * Recursive method that implements the "Collect all starting from the root" algorithm.
-     * @param node Current node to be processed
-     * @param list List of found nodes
-     */
-    private static void collectAll(final Node node, final List<Node> list) {
-        list.add(node);
-        final int count = node.getChildCount();
-        for (int index = 0; index < count; index = index + 1) {
-            DepthFirstWalker.collectAll(node.getChild(index), list);
-        }
+        );
+        return list;
     }
 
     /**
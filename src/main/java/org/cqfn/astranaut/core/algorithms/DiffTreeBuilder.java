@@ -23,15 +23,13 @@
  */
 package org.cqfn.astranaut.core.algorithms;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.cqfn.astranaut.core.algorithms.mapping.Mapper;
-import org.cqfn.astranaut.core.algorithms.mapping.Mapping;
+import org.cqfn.astranaut.core.algorithms.mapping.MappingListener;
+import org.cqfn.astranaut.core.base.CompactTree;
 import org.cqfn.astranaut.core.base.DiffNode;
 import org.cqfn.astranaut.core.base.DiffTree;
 import org.cqfn.astranaut.core.base.Insertion;
 import org.cqfn.astranaut.core.base.Node;
-import org.cqfn.astranaut.core.base.PrototypeBasedNode;
 import org.cqfn.astranaut.core.base.Tree;
 
 /**
@@ -40,29 +38,40 @@ import org.cqfn.astranaut.core.base.Tree;
  */
 public final class DiffTreeBuilder {
     /**
-     * Default node info (to avoid null checks).
+     * Index of the difference tree, which finds difference nodes corresponding to the nodes
+     *  of the original tree and their parents. This information is necessary to implement
+     *  algorithms for inserting, removing and replacing nodes.
      */
-    private static final NodeInfo DEFAULT_INFO = new NodeInfo(null, null);
+    private final TreeIndex index;
 
     /**
-     * The relationship of the nodes to their parents and corresponding difference nodes.
-     * This information is necessary to implement algorithms for inserting, removing
-     * and replacing nodes.
+     * Root node.
      */
-    private final Map<Node, NodeInfo> info;
+    private final DiffNode root;
 
     /**
-     * Root node.
+     * Number of moved nodes, used to link the source and the target actions of each move.
      */
-    private final DiffNode root;
+    private int moves;
 
     /**
      * Constructor.
+     *  If the same node object appears in several places of the original tree (for example,
+     *  the tree was created by {@link org.cqfn.astranaut.core.base.InterningFactory}),
+     *  the difference tree is built on a {@link CompactTree} copy of the original tree,
+     *  whose nodes are unique for each place. In this case, the nodes passed to the methods
+     *  that add actions must be taken from {@link DiffNode#getPrototype()}.
      * @param before Root node of an 'ordinary', non-difference original tree before the changes
      */
     public DiffTreeBuilder(final Node before) {
-        this.root = new DiffNode(before);
-        this.info = DiffTreeBuilder.buildNodeInfoMap(this.root);
+        DiffNode diff = new DiffNode(before);
+        TreeIndex tree = new TreeIndex(diff);
+        if (tree.hasSharedNodes()) {
+            diff = new DiffNode(new CompactTree(before).getRoot());
+            tree = new TreeIndex(diff);
+        }
+        this.root = diff;
+        this.index = tree;
     }
 
     /**
@@ -80,18 +89,9 @@ public final class DiffTreeBuilder {
      * @return Result of operation, {@code true} if difference tree was built
      */
     public boolean build(final Node after, final Mapper mapper) {
-        final Mapping mapping = mapper.map(this.root.getPrototype(), after);
-        boolean result = true;
-        for (final Insertion insertion : mapping.getInserted()) {
-            result = result & this.insertNode(insertion);
-        }
-        for (final Map.Entry<Node, Node> replaced : mapping.getReplaced().entrySet()) {
-            result = result & this.replaceNode(replaced.getKey(), replaced.getValue());
-        }
-        for (final Node deleted : mapping.getDeleted()) {
-            result = result & this.deleteNode(deleted);
-        }
-        return result;
+        final ActionApplier applier = new ActionApplier();
+        mapper.map(this.root.getPrototype(), after, applier);
+        return applier.result;
     }
 
     /**
@@ -112,22 +112,39 @@ public final class DiffTreeBuilder {
      */
     public boolean insertNode(final Insertion insertion) {
         boolean result = false;
-        DiffNode parent = this.info.getOrDefault(
-            insertion.getInto(),
-            DiffTreeBuilder.DEFAULT_INFO
-        ).getDiff();
-        if (parent == null) {
-            parent = this.info.getOrDefault(
-                insertion.getAfter(),
-                DiffTreeBuilder.DEFAULT_INFO
-            ).getParent();
-        }
+        final DiffNode parent = this.findDestination(insertion);
         if (parent != null) {
             result = parent.insertNodeAfter(insertion.getNode(), insertion.getAfter());
         }
         return result;
     }
 
+    /**
+     * Adds a pair of actions to the difference tree that moves a node to another place.
+     * @param node The node to be moved
+     * @param insertion Full information about the new place of the node, where the node
+     *  being inserted is the moved node as it appears after the changes
+     * @return Result of operation, {@code true} if actions were added
+     */
+    public boolean moveNode(final Node node, final Insertion insertion) {
+        boolean result = false;
+        final DiffNode source = this.getParent(node);
+        final DiffNode destination = this.findDestination(insertion);
+        if (source != null && destination != null) {
+            result = source.moveNode(
+                node,
+                destination,
+                insertion.getNode(),
+                insertion.getAfter(),
+                this.moves + 1
+            );
+            if (result) {
+                this.moves = this.moves + 1;
+            }
+        }
+        return result;
+    }
+
     /**
      * Adds an action to the difference tree that replaces a node.
      * @param node Child element that will be replaced
@@ -136,8 +153,7 @@ public final class DiffTreeBuilder {
      */
     public boolean replaceNode(final Node node, final Node replacement) {
         boolean result = false;
-        final DiffNode parent =
-            this.info.getOrDefault(node, DiffTreeBuilder.DEFAULT_INFO).getParent();
+        final DiffNode parent = this.getParent(node);
         if (parent != null) {
             result = parent.replaceNode(node, replacement);
         }
@@ -151,8 +167,7 @@ public final class DiffTreeBuilder {
      */
     public boolean deleteNode(final Node node) {
         boolean result = false;
-        final DiffNode parent =
-            this.info.getOrDefault(node, DiffTreeBuilder.DEFAULT_INFO).getParent();
+        final DiffNode parent = this.getParent(node);
         if (parent != null) {
             result = parent.deleteNode(node);
         }
@@ -168,82 +183,87 @@ public final class DiffTreeBuilder {
     }
 
     /**
-     * Builds the map containing relationship of the nodes to their parents.
-     * @param root Root node
-     * @return The map containing relationship of the nodes to their parents.
+     * Finds the difference node into which a node is to be placed.
+     * @param insertion Full information about the place of the node
+     * @return Difference node or {@code null} if not found
      */
-    private static Map<Node, NodeInfo> buildNodeInfoMap(final DiffNode root) {
-        final Map<Node, NodeInfo> map = new HashMap<>();
-        map.put(root.getPrototype(), new NodeInfo(root, null));
-        DiffTreeBuilder.buildNodeInfoMap(map, root);
-        return map;
+    private DiffNode findDestination(final Insertion insertion) {
+        DiffNode parent = this.getDiff(insertion.getInto());
+        if (parent == null) {
+            parent = this.getParent(insertion.getAfter());
+        }
+        return parent;
     }
 
     /**
-     * Builds the map containing relationship of the nodes to their parents (recursive method).
-     * @param map Where to put the results
-     * @param parent Parent node
-     */
-    private static void buildNodeInfoMap(
-        final Map<Node, NodeInfo> map,
-        final DiffNode parent) {
-        parent.forEachChild(
-            child -> {
-                final DiffNode node = (DiffNode) child;
-                final NodeInfo obj = new NodeInfo(node, parent);
-                Node proto = node.getPrototype();
-                while (true) {
-                    map.put(proto, obj);
-                    if (proto instanceof PrototypeBasedNode) {
-                        proto = ((PrototypeBasedNode) proto).getPrototype();
-                    } else {
-                        break;
-                    }
-                }
-                DiffTreeBuilder.buildNodeInfoMap(map, node);
+     * Finds the difference node corresponding to a node of the original tree.
+     * @param node Node of the original tree
+     * @return Difference node or {@code null} if not found
+     */
+    private DiffNode getDiff(final Node node) {
+        DiffNode diff = null;
+        if (node != null) {
+            final int rank = this.index.getPreorderRank(node);
+            if (rank >= 0) {
+                diff = (DiffNode) this.index.getNode(rank);
             }
-        );
+        }
+        return diff;
     }
 
     /**
-     * Some additional information about each node needed to insert, replace, or delete nodes.
-     * @since 1.1.0
+     * Finds the difference node that contains the difference node corresponding
+     *  to a node of the original tree.
+     * @param node Node of the original tree
+     * @return Parent difference node or {@code null} if not found
      */
-    private static final class NodeInfo {
-        /**
-         * The corresponding difference node.
-         */
-        private final DiffNode diff;
+    private DiffNode getParent(final Node node) {
+        DiffNode parent = null;
+        if (node != null) {
+            final int rank = this.index.getPreorderRank(node);
+            if (rank > 0) {
+                parent = (DiffNode) this.index.getNode(this.index.getParentRank(rank));
+            }
+        }
+        return parent;
+    }
 
+    /**
+     * Receiver of the mapping results that adds the actions to the difference tree
+     *  as soon as they are received.
+     * @since 2.0.0
+     */
+    private final class ActionApplier implements MappingListener {
         /**
-         * The parent node.
+         * Result of operation, {@code true} if all actions were added.
          */
-        private final DiffNode parent;
+        private boolean result;
 
         /**
          * Constructor.
-         * @param diff The corresponding difference node
-         * @param parent The parent node
          */
-        NodeInfo(final DiffNode diff, final DiffNode parent) {
-            this.diff = diff;
-            this.parent = parent;
+        ActionApplier() {
+            this.result = true;
         }
 
-        /**
-         * Returns corresponding difference node.
-         * @return Difference node
-         */
-        public DiffNode getDiff() {
-            return this.diff;
+        @Override
+        public void nodeInserted(final Insertion insertion) {
+            this.result = this.result & DiffTreeBuilder.this.insertNode(insertion);
         }
 
-        /**
-         * Returns parent node.
-         * @return Difference node containing this node
-         */
-        public DiffNode getParent() {
-            return this.parent;
+        @Override
+        public void nodeMoved(final Node node, final Insertion insertion) {
+            this.result = this.result & DiffTreeBuilder.this.moveNode(node, insertion);
+        }
+
+        @Override
+        public void nodeReplaced(final Node before, final Node after) {
+            this.result = this.result & DiffTreeBuilder.this.replaceNode(before, after);
+        }
+
+        @Override
+        public void nodeDeleted(final Node node) {
+            this.result = this.result & DiffTreeBuilder.this.deleteNode(node);
         }
     }
 }
@@ -24,26 +24,65 @@
 package org.cqfn.astranaut.core.algorithms;
 
 import java.util.Map;
-import org.cqfn.astranaut.core.algorithms.hash.AbsoluteHash;
+import java.util.concurrent.ForkJoinPool;
+import org.cqfn.astranaut.core.algorithms.hash.ParallelHash;
+import org.cqfn.astranaut.core.algorithms.hash.StructuralHash;
 import org.cqfn.astranaut.core.base.ExtNode;
 import org.cqfn.astranaut.core.base.Node;
 import org.cqfn.astranaut.core.base.Type;
+import org.cqfn.astranaut.core.utils.NodeCache;
 
 /**
  * Creates extended nodes ({@link ExtNode}) from 'regular' nodes ({@link Node}).
+ *  Data of all extended nodes of a tree is stored in flat arrays indexed by node identifiers
+ *  (sequence numbers in the pre-order traversal), and the extended nodes themselves are
+ *  lightweight views that contain only a reference to these arrays and an identifier.
  * @since 2.0.0
  */
 public final class ExtNodeCreator {
     /**
      * Set of node hashes.
      */
-    private final AbsoluteHash hashes;
+    private final StructuralHash hashes;
+
+    /**
+     * Calculator of hashes of large trees in parallel, or {@code null} if hashes are
+     *  calculated sequentially.
+     */
+    private final ParallelHash parallel;
 
     /**
      * Constructor.
      */
     public ExtNodeCreator() {
-        this.hashes = new AbsoluteHash();
+        this.hashes = new StructuralHash();
+        this.parallel = null;
+    }
+
+    /**
+     * Constructor of the creator that takes node hashes from a cache, which may be shared
+     *  between several creators, so that a tree that is mapped many times is hashed only once.
+     *  Since the hashes are never recalculated, the cache is suitable only for trees that
+     *  never change; it must not be used for mutable nodes, such as
+     *  {@link org.cqfn.astranaut.core.base.DiffNode} or
+     *  {@link org.cqfn.astranaut.core.base.PatternNode}.
+     * @param cache Cache of node hashes
+     */
+    public ExtNodeCreator(final NodeCache<Long> cache) {
+        this.hashes = new StructuralHash(cache);
+        this.parallel = null;
+    }
+
+    /**
+     * Constructor of the creator that calculates hashes of large trees in parallel.
+     *  The hashes are the same as the ones calculated sequentially.
+     * @param pool Pool in which the hash calculation tasks are executed
+     * @param threshold Minimum size (number of nodes) of a subtree that is split
+     *  into several tasks
+     */
+    public ExtNodeCreator(final ForkJoinPool pool, final int threshold) {
+        this.hashes = new StructuralHash(new NodeCache<>(NodeCache.UNBOUNDED));
+        this.parallel = new ParallelHash(this.hashes, pool, threshold);
     }
 
     /**
@@ -52,143 +91,266 @@ public final class ExtNodeCreator {
      * @return Extended node
      */
     public ExtNode create(final Node node) {
-        return this.create(node, null);
+        return this.create(new TreeIndex(node));
     }
 
     /**
-     * Creates an extended node from a 'regular' node (recursive method).
-     * @param node Original node
-     * @param parent Parent node of the node to be created
-     * @return Extended node
+     * Creates an extended node from the root node of an indexed tree.
+     *  The index provides parents, positions and subtree sizes of the nodes, so it is
+     *  not built again if other algorithms have already built it.
+     * @param index Index of the original tree
+     * @return Extended root node
      */
-    private ExtNodeImpl create(final Node node, final ExtNode parent) {
-        final ExtNodeImpl ext = new ExtNodeImpl();
-        ext.prototype = node;
-        ext.parent = parent;
-        ext.index = -1;
-        ext.hash = this.hashes.calculate(node);
-        final int count = node.getChildCount();
-        ext.children = new ExtNodeImpl[count];
-        int index;
-        for (index = 0; index < count; index = index + 1) {
-            final ExtNodeImpl child = this.create(node.getChild(index), ext);
-            child.index = index;
-            ext.children[index] = child;
-        }
-        for (index = 1; index < count; index = index + 1) {
-            ext.children[index].left = ext.children[index - 1];
-        }
-        for (index = 0; index < count - 1; index = index + 1) {
-            ext.children[index].right = ext.children[index + 1];
-        }
-        return ext;
+    public ExtNode create(final TreeIndex index) {
+        final Arena arena = new Arena(index);
+        if (this.parallel == null) {
+            for (int id = arena.count - 1; id >= 0; id = id - 1) {
+                arena.structural[id] = this.hashes.calculateLong(index.getNode(id));
+            }
+        } else {
+            this.parallel.calculate(index, arena.structural);
+        }
+        for (int id = 0; id < arena.count; id = id + 1) {
+            arena.hashes[id] = StructuralHash.fold(arena.structural[id]);
+        }
+        return arena.nodes[0];
     }
 
     /**
-     * Class that implements the extended node interface.
+     * Storage of data about all extended nodes of one tree.
      * @since 2.0.0
      */
-    private static final class ExtNodeImpl implements ExtNode {
+    private static final class Arena {
         /**
-         * Prototype (not-extended) node.
+         * Index of the original tree, which provides prototype nodes, parents, positions
+         *  and subtree sizes.
          */
-        private Node prototype;
+        private final TreeIndex index;
 
         /**
-         * Parent node of this node, which is the node that has this node as on of its children.
+         * Number of nodes.
          */
-        private ExtNode parent;
+        private final int count;
 
         /**
-         * Index (sequence number) of this node in the list of children of this node's parent.
+         * Extended nodes.
          */
-        private int index;
+        private final ExtNodeImpl[] nodes;
 
         /**
-         * Left neighbor node of this node, which is the node whose index in the parent node
-         *  is one less than the index of this node.
+         * Local hashes.
          */
-        private ExtNode left;
+        private final int[] locals;
 
         /**
-         * Right neighbor node of this node, which is the node whose index in the parent node
-         *  is one greater than the index of this node.
+         * Absolute hashes.
          */
-        private ExtNode right;
+        private final int[] hashes;
 
         /**
-         * Absolute hash.
+         * Structural (wide) hashes.
          */
-        private int hash;
+        private final long[] structural;
 
         /**
-         * Array of child nodes wrapped in the extended node interface.
+         * Positions of the lists of child nodes in the array of children.
          */
-        private ExtNodeImpl[] children;
+        private final int[] offsets;
+
+        /**
+         * Identifiers of child nodes, the children of each node are stored consecutively.
+         */
+        private final int[] children;
+
+        /**
+         * Constructor.
+         * @param index Index of the original tree
+         */
+        Arena(final TreeIndex index) {
+            this.index = index;
+            this.count = index.size();
+            this.nodes = new ExtNodeImpl[this.count];
+            this.locals = new int[this.count];
+            this.hashes = new int[this.count];
+            this.structural = new long[this.count];
+            this.offsets = new int[this.count];
+            this.children = new int[this.count - 1];
+            int used = 0;
+            for (int id = 0; id < this.count; id = id + 1) {
+                final Node node = index.getNode(id);
+                this.nodes[id] = new ExtNodeImpl(this, id);
+                this.locals[id] = node.getLocalHash();
+                this.offsets[id] = used;
+                used = used + node.getChildCount();
+                if (id > 0) {
+                    this.children[this.offsets[index.getParentRank(id)] + index.getIndex(id)] = id;
+                }
+            }
+        }
+
+        /**
+         * Returns the prototype (not-extended) node.
+         * @param id Identifier of the node
+         * @return Prototype node
+         */
+        Node getPrototype(final int id) {
+            return this.index.getNode(id);
+        }
+
+        /**
+         * Returns the extended child node of a node.
+         * @param id Identifier of the node
+         * @param index Index of the child node
+         * @return Extended child node
+         */
+        ExtNode getChild(final int id, final int index) {
+            if (index < 0 || index >= this.getPrototype(id).getChildCount()) {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.nodes[this.children[this.offsets[id] + index]];
+        }
+
+        /**
+         * Returns a sibling of a node.
+         * @param id Identifier of the node
+         * @param shift Difference between the indices of the sibling and the node
+         * @return Sibling node or {@code null} if there is no such node
+         */
+        ExtNode getSibling(final int id, final int shift) {
+            final int parent = this.index.getParentRank(id);
+            final int position = this.index.getIndex(id) + shift;
+            final ExtNode sibling;
+            if (parent < 0 || position < 0
+                || position >= this.getPrototype(parent).getChildCount()) {
+                sibling = null;
+            } else {
+                sibling = this.nodes[this.children[this.offsets[parent] + position]];
+            }
+            return sibling;
+        }
+    }
+
+    /**
+     * Class that implements the extended node interface as a view of the data
+     *  stored in the arena.
+     * @since 2.0.0
+     */
+    private static final class ExtNodeImpl implements ExtNode {
+        /**
+         * Arena that stores data of the node.
+         */
+        private final Arena arena;
+
+        /**
+         * Identifier of the node.
+         */
+        private final int id;
+
+        /**
+         * Constructor.
+         * @param arena Arena that stores data of the node
+         * @param id Identifier of the node
+         */
+        ExtNodeImpl(final Arena arena, final int id) {
+            this.arena = arena;
+            this.id = id;
+        }
 
         @Override
         public Node getPrototype() {
-            return this.prototype;
+            return this.arena.getPrototype(this.id);
         }
 
         @Override
         public ExtNode getParent() {
-            return this.parent;
+            final int parent = this.arena.index.getParentRank(this.id);
+            final ExtNode node;
+            if (parent < 0) {
+                node = null;
+            } else {
+                node = this.arena.nodes[parent];
+            }
+            return node;
+        }
+
+        @Override
+        public int getId() {
+            return this.id;
         }
 
         @Override
         public int getIndex() {
-            return this.index;
+            return this.arena.index.getIndex(this.id);
         }
 
         @Override
         public ExtNode getLeft() {
-            return this.left;
+            return this.arena.getSibling(this.id, -1);
         }
 
         @Override
         public ExtNode getRight() {
-            return this.right;
+            return this.arena.getSibling(this.id, 1);
+        }
+
+        @Override
+        public int getLocalHash() {
+            return this.arena.locals[this.id];
+        }
+
+        @Override
+        public int getTypeId() {
+            return this.getPrototype().getTypeId();
         }
 
         @Override
         public int getAbsoluteHash() {
-            return this.hash;
+            return this.arena.hashes[this.id];
+        }
+
+        @Override
+        public long getStructuralHash() {
+            return this.arena.structural[this.id];
+        }
+
+        @Override
+        public int getSubtreeSize() {
+            return this.arena.index.getSubtreeSize(this.id);
         }
 
         @Override
         public Type getType() {
-            return this.prototype.getType();
+            return this.getPrototype().getType();
         }
 
         @Override
         public String getData() {
-            return this.prototype.getData();
+            return this.getPrototype().getData();
         }
 
         @Override
         public int getChildCount() {
-            return this.children.length;
+            return this.getPrototype().getChildCount();
         }
 
         @Override
-        public Node getChild(final int idx) {
-            return this.children[idx];
+        public Node getChild(final int index) {
+            return this.arena.getChild(this.id, index);
         }
 
         @Override
-        public ExtNode getExtChild(final int idx) {
-            return this.children[idx];
+        public ExtNode getExtChild(final int index) {
+            return this.arena.getChild(this.id, index);
         }
 
         @Override
         public Map<String, String> getProperties() {
-            return this.prototype.getProperties();
+            return this.getPrototype().getProperties();
         }
 
         @Override
         public String toString() {
-            return this.prototype.toString();
+            return this.getPrototype().toString();
         }
     }
 }
@@ -0,0 +1,462 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapper;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapping;
+import org.cqfn.astranaut.core.algorithms.mapping.MappingListener;
+import org.cqfn.astranaut.core.base.CompactTree;
+import org.cqfn.astranaut.core.base.Delete;
+import org.cqfn.astranaut.core.base.DiffNode;
+import org.cqfn.astranaut.core.base.DiffPlan;
+import org.cqfn.astranaut.core.base.DiffTree;
+import org.cqfn.astranaut.core.base.DiffTreeItem;
+import org.cqfn.astranaut.core.base.Insert;
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Move;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Replace;
+import org.cqfn.astranaut.core.base.Tree;
+
+/**
+ * Builder of difference syntax tree that collects all the actions first and then creates
+ *  the difference tree in one pass over the original tree.
+ *  The result is the same as the result of {@link DiffTreeBuilder} for the same sequence
+ *  of actions, but adding an action takes constant time: it neither searches for the node
+ *  in the lists of children nor shifts these lists. This pays off for the differences
+ *  containing thousands of actions.
+ * @since 2.0.0
+ */
+public final class MergingDiffTreeBuilder {
+    /**
+     * Root node of the original tree.
+     */
+    private final Node root;
+
+    /**
+     * Index of the original tree, which finds the nodes and their parents.
+     */
+    private final TreeIndex index;
+
+    /**
+     * Actions that take the places of the nodes of the original tree.
+     */
+    private final Map<Node, DiffTreeItem> actions;
+
+    /**
+     * Items placed at the beginning of the lists of children, by the nodes into which
+     *  they are placed.
+     */
+    private final Map<Node, LinkedList<DiffTreeItem>> first;
+
+    /**
+     * Items placed after the child nodes of the original tree, by these nodes.
+     */
+    private final Map<Node, LinkedList<DiffTreeItem>> following;
+
+    /**
+     * Items placed after other placed items, by these items.
+     */
+    private final Map<DiffTreeItem, LinkedList<DiffTreeItem>> chained;
+
+    /**
+     * Placed items, by the inserted and the moved nodes they contain.
+     */
+    private final Map<Node, DiffTreeItem> placed;
+
+    /**
+     * Nodes into which the items are placed, by these items.
+     */
+    private final Map<DiffTreeItem, Node> destinations;
+
+    /**
+     * Number of moved nodes, used to link the source and the target actions of each move.
+     */
+    private int moves;
+
+    /**
+     * Constructor.
+     *  If the same node object appears in several places of the original tree,
+     *  the actions are added to a {@link CompactTree} copy of the original tree, as
+     *  in {@link DiffTreeBuilder#DiffTreeBuilder(Node)}.
+     * @param before Root node of an 'ordinary', non-difference original tree before the changes
+     */
+    public MergingDiffTreeBuilder(final Node before) {
+        Node node = before;
+        TreeIndex tree = new TreeIndex(node);
+        if (tree.hasSharedNodes()) {
+            node = new CompactTree(before).getRoot();
+            tree = new TreeIndex(node);
+        }
+        this.root = node;
+        this.index = tree;
+        this.actions = new IdentityHashMap<>();
+        this.first = new IdentityHashMap<>();
+        this.following = new IdentityHashMap<>();
+        this.chained = new IdentityHashMap<>();
+        this.placed = new IdentityHashMap<>();
+        this.destinations = new IdentityHashMap<>();
+    }
+
+    /**
+     * Constructor.
+     * @param before Original 'ordinary', non-difference tree before the changes
+     */
+    public MergingDiffTreeBuilder(final Tree before) {
+        this(before.getRoot());
+    }
+
+    /**
+     * Builds a difference tree based on the original tree and the tree after changes.
+     * @param after Root node of tree after the changes
+     * @param mapper A mapper used for node mappings
+     * @return Result of operation, {@code true} if difference tree was built
+     */
+    public boolean build(final Node after, final Mapper mapper) {
+        final ActionCollector collector = new ActionCollector();
+        mapper.map(this.root, after, collector);
+        return collector.result;
+    }
+
+    /**
+     * Builds a difference tree based on the original tree and the tree after changes.
+     * @param after Syntax tree after the changes
+     * @param mapper A mapper used for node mappings
+     * @return Result of operation, {@code true} if difference tree was built
+     */
+    public boolean build(final Tree after, final Mapper mapper) {
+        return this.build(after.getRoot(), mapper);
+    }
+
+    /**
+     * Builds a difference tree from a ready mapping of the original tree to the tree
+     *  after changes. The actions are added in the same order as the mapper passes them
+     *  to a listener: insertions, moves, replacements, deletions.
+     * @param mapping Mapping of the original tree to the tree after changes
+     * @return Result of operation, {@code true} if difference tree was built
+     */
+    public boolean build(final Mapping mapping) {
+        boolean result = true;
+        for (final Insertion insertion : mapping.getInserted()) {
+            result = result & this.insertNode(insertion);
+        }
+        for (final Map.Entry<Node, Insertion> moved : mapping.getMoved().entrySet()) {
+            result = result & this.moveNode(moved.getKey(), moved.getValue());
+        }
+        for (final Map.Entry<Node, Node> replaced : mapping.getReplaced().entrySet()) {
+            result = result & this.replaceNode(replaced.getKey(), replaced.getValue());
+        }
+        for (final Node deleted : mapping.getDeleted()) {
+            result = result & this.deleteNode(deleted);
+        }
+        return result;
+    }
+
+    /**
+     * Adds an action to the difference tree that inserts a node after another node.
+     *  If no other node is specified, inserts at the beginning of the children's list.
+     * @param insertion Full information about the node being inserted
+     * @return Result of operation, {@code true} if action was added
+     */
+    public boolean insertNode(final Insertion insertion) {
+        final Node parent = this.findDestination(insertion);
+        final boolean result = parent != null
+            && this.place(parent, insertion.getAfter(), new Insert(insertion.getNode()));
+        return result;
+    }
+
+    /**
+     * Adds a pair of actions to the difference tree that moves a node to another place.
+     * @param node The node to be moved
+     * @param insertion Full information about the new place of the node, where the node
+     *  being inserted is the moved node as it appears after the changes
+     * @return Result of operation, {@code true} if actions were added
+     */
+    public boolean moveNode(final Node node, final Insertion insertion) {
+        final Node source = this.findChild(node);
+        final Node destination = this.findDestination(insertion);
+        final boolean result = source != null && destination != null
+            && this.place(
+                destination,
+                insertion.getAfter(),
+                new Move(null, insertion.getNode(), this.moves + 1)
+            );
+        if (result) {
+            this.moves = this.moves + 1;
+            this.actions.put(source, new Move(source, null, this.moves));
+        }
+        return result;
+    }
+
+    /**
+     * Adds an action to the difference tree that replaces a node.
+     * @param node Child element that will be replaced
+     * @param replacement Child element to be replaced by
+     * @return Result of operation, {@code true} if action was added
+     */
+    public boolean replaceNode(final Node node, final Node replacement) {
+        final Node child = this.findChild(node);
+        final boolean result = child != null;
+        if (result) {
+            this.actions.put(child, new Replace(child, replacement));
+        }
+        return result;
+    }
+
+    /**
+     * Adds an action to the difference tree that removes a node.
+     * @param node The node to be removed
+     * @return Result of operation, {@code true} if action was added
+     */
+    public boolean deleteNode(final Node node) {
+        final Node child = this.findChild(node);
+        final boolean result = child != null;
+        if (result) {
+            this.actions.put(child, new Delete(child));
+        }
+        return result;
+    }
+
+    /**
+     * Returns resulting difference tree. The tree is created anew by each call,
+     *  in one pass over the original tree.
+     * @return Difference tree
+     */
+    public DiffTree getDiffTree() {
+        return new DiffTree(new DiffNode(this.root, new Plan(null)));
+    }
+
+    /**
+     * Returns resulting difference tree, in which only the nodes containing actions
+     *  and their ancestors are difference nodes. Unchanged subtrees are included into
+     *  the difference tree as is, so that the time and the memory needed to create
+     *  the tree depend on the size of the changes rather than on the size of the tree.
+     *  The tree is created anew by each call.
+     * @return Sparse difference tree
+     */
+    public DiffTree getSparseDiffTree() {
+        final boolean[] changed = new boolean[this.index.size()];
+        changed[0] = true;
+        for (final Node node : this.actions.keySet()) {
+            this.markChanged(changed, this.index.getParentRank(this.index.getPreorderRank(node)));
+        }
+        for (final Node node : this.destinations.values()) {
+            this.markChanged(changed, this.index.getPreorderRank(node));
+        }
+        return new DiffTree(new DiffNode(this.root, new Plan(changed)));
+    }
+
+    /**
+     * Finds the node of the original tree that is not the root and has not yet been
+     *  moved, replaced or deleted.
+     * @param node The node or a prototype of the node
+     * @return Node of the original tree or {@code null} if not found
+     */
+    private Node findChild(final Node node) {
+        Node child = null;
+        if (node != null) {
+            final int rank = this.index.getPreorderRank(node);
+            if (rank > 0 && !this.actions.containsKey(this.index.getNode(rank))) {
+                child = this.index.getNode(rank);
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Finds the node of the original tree into which a node is to be placed.
+     * @param insertion Full information about the place of the node
+     * @return Node of the original tree or {@code null} if not found
+     */
+    private Node findDestination(final Insertion insertion) {
+        Node parent = null;
+        if (insertion.getInto() != null) {
+            final int rank = this.index.getPreorderRank(insertion.getInto());
+            if (rank >= 0) {
+                parent = this.index.getNode(rank);
+            }
+        }
+        if (parent == null && insertion.getAfter() != null) {
+            parent = this.index.getParent(insertion.getAfter());
+        }
+        return parent;
+    }
+
+    /**
+     * Places an item after a node, if other nodes can be placed after it, that is,
+     *  the node is a child of the original tree that has not been moved, replaced or deleted,
+     *  or is a node placed before, and it is located in the list of children of the specified
+     *  node. The item is placed right after the node, that is, before the items placed after
+     *  the same node earlier. A node placed before takes precedence over a child of
+     *  the original tree, since the trees may share nodes and the node after which
+     *  to place belongs to the tree after the changes.
+     * @param parent Node into which the item is placed
+     * @param after Node after which the item is placed or {@code null}
+     * @param item Item
+     * @return Result of operation, {@code true} if the item was placed
+     */
+    private boolean place(final Node parent, final Node after, final DiffTreeItem item) {
+        LinkedList<DiffTreeItem> list = null;
+        if (after == null) {
+            list = this.first.computeIfAbsent(parent, key -> new LinkedList<>());
+        } else {
+            final DiffTreeItem previous = this.placed.get(after);
+            final int rank = this.index.getPreorderRank(after);
+            if (previous != null && this.destinations.get(previous) == parent) {
+                list = this.chained.computeIfAbsent(previous, key -> new LinkedList<>());
+            } else if (rank > 0 && this.index.getNode(rank) == after
+                && this.index.getNode(this.index.getParentRank(rank)) == parent
+                && !this.actions.containsKey(after)) {
+                list = this.following.computeIfAbsent(after, key -> new LinkedList<>());
+            }
+        }
+        final boolean result = list != null;
+        if (result) {
+            list.addFirst(item);
+            this.placed.putIfAbsent(item.getAfter(), item);
+            this.destinations.put(item, parent);
+        }
+        return result;
+    }
+
+    /**
+     * Marks a node and its ancestors as changed.
+     * @param changed Flags of changed nodes by their pre-order ranks
+     * @param rank Pre-order rank of the node
+     */
+    private void markChanged(final boolean[] changed, final int rank) {
+        int current = rank;
+        while (current >= 0 && !changed[current]) {
+            changed[current] = true;
+            current = this.index.getParentRank(current);
+        }
+    }
+
+    /**
+     * Returns a list or an empty list instead of {@code null}.
+     * @param list List or {@code null}
+     * @return Non-null list
+     */
+    private static List<DiffTreeItem> orEmpty(final List<DiffTreeItem> list) {
+        final List<DiffTreeItem> result;
+        if (list == null) {
+            result = Collections.emptyList();
+        } else {
+            result = list;
+        }
+        return result;
+    }
+
+    /**
+     * Plan of the difference tree, made from the collected actions.
+     * @since 2.0.0
+     */
+    private final class Plan implements DiffPlan {
+        /**
+         * Flags of changed nodes by their pre-order ranks, or {@code null} if all nodes are
+         *  considered changed.
+         */
+        private final boolean[] changed;
+
+        /**
+         * Constructor.
+         * @param changed Flags of changed nodes by their pre-order ranks, or {@code null}
+         *  if all nodes are considered changed
+         */
+        Plan(final boolean[] changed) {
+            this.changed = changed;
+        }
+
+        @Override
+        public boolean isChanged(final Node node) {
+            return this.changed == null
+                || this.changed[MergingDiffTreeBuilder.this.index.getPreorderRank(node)];
+        }
+
+        @Override
+        public DiffTreeItem getAction(final Node node) {
+            return MergingDiffTreeBuilder.this.actions.get(node);
+        }
+
+        @Override
+        public List<DiffTreeItem> getPlaced(final Node parent, final Node after) {
+            final List<DiffTreeItem> list;
+            if (after == null) {
+                list = MergingDiffTreeBuilder.this.first.get(parent);
+            } else {
+                list = MergingDiffTreeBuilder.this.following.get(after);
+            }
+            return MergingDiffTreeBuilder.orEmpty(list);
+        }
+
+        @Override
+        public List<DiffTreeItem> getFollowing(final DiffTreeItem item) {
+            return MergingDiffTreeBuilder.orEmpty(MergingDiffTreeBuilder.this.chained.get(item));
+        }
+
+    }
+
+    /**
+     * Receiver of the mapping results that collects the actions.
+     * @since 2.0.0
+     */
+    private final class ActionCollector implements MappingListener {
+        /**
+         * Result of operation, {@code true} if all actions were added.
+         */
+        private boolean result;
+
+        /**
+         * Constructor.
+         */
+        ActionCollector() {
+            this.result = true;
+        }
+
+        @Override
+        public void nodeInserted(final Insertion insertion) {
+            this.result = this.result & MergingDiffTreeBuilder.this.insertNode(insertion);
+        }
+
+        @Override
+        public void nodeMoved(final Node node, final Insertion insertion) {
+            this.result = this.result & MergingDiffTreeBuilder.this.moveNode(node, insertion);
+        }
+
+        @Override
+        public void nodeReplaced(final Node before, final Node after) {
+            this.result = this.result & MergingDiffTreeBuilder.this.replaceNode(before, after);
+        }
+
+        @Override
+        public void nodeDeleted(final Node node) {
+            this.result = this.result & MergingDiffTreeBuilder.this.deleteNode(node);
+        }
+    }
+}
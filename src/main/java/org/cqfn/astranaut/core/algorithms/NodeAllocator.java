@@ -33,6 +33,7 @@ import org.cqfn.astranaut.core.base.ChildDescriptor;
 import org.cqfn.astranaut.core.base.DummyNode;
 import org.cqfn.astranaut.core.base.Node;
 import org.cqfn.astranaut.core.base.Type;
+import org.cqfn.astranaut.core.base.TypeRegistry;
 
 /**
  * Allocates nodes to positions based on a list of descriptors.
@@ -241,6 +242,12 @@ public class NodeAllocator {
          */
         private Map<String, List<Integer>> positions;
 
+        /**
+         * Identifiers of the type names, so that the names are not compared with the hierarchies
+         *  of node types.
+         */
+        private Map<String, Integer> identifiers;
+
         /**
          * The number of positions.
          */
@@ -285,7 +292,7 @@ public class NodeAllocator {
                 result = name;
             } else {
                 for (final String group : this.positions.keySet()) {
-                    if (type.belongsToGroup(group)) {
+                    if (type.belongsToGroup(this.identifiers.get(group))) {
                         result = group;
                         this.removeFirstPosition(group);
                         break;
@@ -316,6 +323,7 @@ public class NodeAllocator {
         public void init() {
             if (this.positions == null) {
                 this.positions = new TreeMap<>();
+                this.identifiers = new HashMap<>();
                 this.count = 0;
                 int index = 0;
                 for (final ChildDescriptor descriptor : NodeAllocator.this.descriptors) {
@@ -329,6 +337,7 @@ public class NodeAllocator {
                             type, x -> new ArrayList<>(2)
                         );
                         indexes.add(index);
+                        this.identifiers.computeIfAbsent(type, TypeRegistry.INSTANCE::getId);
                         this.count = this.count + 1;
                     }
                     index = index + 1;
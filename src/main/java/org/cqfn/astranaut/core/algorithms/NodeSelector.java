@@ -103,11 +103,30 @@ public final class NodeSelector {
          * @param root Root node of the tree
          */
         void walk(final Node root) {
-            this.check(root, new LinkedList<>());
+            final Deque<Node> parents = new LinkedList<>();
+            new TreeTraversal(root).walk(
+                new TreeTraversal.Visitor() {
+                    @Override
+                    public TreeTraversal.Decision enter(final Node node) {
+                        Walker.this.check(node, parents);
+                        if (node.getChildCount() > 0) {
+                            parents.addFirst(node);
+                        }
+                        return TreeTraversal.Decision.CONTINUE;
+                    }
+
+                    @Override
+                    public void leave(final Node node) {
+                        if (node.getChildCount() > 0) {
+                            parents.removeFirst();
+                        }
+                    }
+                }
+            );
         }
 
         /**
-         * Checks the node and recursively all children of the node against the criterion.
+         * Checks the node against the criterion.
          * @param node The node
          * @param parents Stack containing the parents of the node
          */
@@ -115,14 +134,6 @@ public final class NodeSelector {
             if (this.criteria.isApplicable(node, parents)) {
                 this.set.add(node);
             }
-            final int count = node.getChildCount();
-            if (count > 0) {
-                parents.addFirst(node);
-                for (int index = 0; index < count; index = index + 1) {
-                    this.check(node.getChild(index), parents);
-                }
-                parents.removeFirst();
-            }
         }
     }
 }
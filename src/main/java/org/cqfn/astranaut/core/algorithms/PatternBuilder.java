@@ -23,12 +23,9 @@
  */
 package org.cqfn.astranaut.core.algorithms;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.cqfn.astranaut.core.base.Node;
 import org.cqfn.astranaut.core.base.Pattern;
 import org.cqfn.astranaut.core.base.PatternNode;
-import org.cqfn.astranaut.core.base.PrototypeBasedNode;
 import org.cqfn.astranaut.core.base.Tree;
 
 /**
@@ -38,16 +35,10 @@ import org.cqfn.astranaut.core.base.Tree;
  */
 public final class PatternBuilder {
     /**
-     * Default node info (to avoid null checks).
+     * Index of the pattern, which finds the parents of nodes.
+     *  This information is necessary to make holes.
      */
-    private static final NodeInfo DEFAULT_INFO = new NodeInfo(null);
-
-    /**
-     * The relationship of the nodes to their parents and corresponding difference nodes.
-     * This information is necessary to implement algorithms for inserting, removing
-     * and replacing nodes.
-     */
-    private final Map<Node, NodeInfo> info;
+    private final TreeIndex index;
 
     /**
      * Root node.
@@ -60,7 +51,7 @@ public final class PatternBuilder {
      */
     public PatternBuilder(final Tree tree) {
         this.root = new PatternNode(tree.getRoot());
-        this.info = PatternBuilder.buildNodeInfoMap(this.root);
+        this.index = new TreeIndex(this.root);
     }
 
     /**
@@ -79,77 +70,10 @@ public final class PatternBuilder {
      */
     public boolean makeHole(final Node node, final int number) {
         boolean result = false;
-        final PatternNode parent =
-            this.info.getOrDefault(node, PatternBuilder.DEFAULT_INFO).getParent();
-        if (parent != null) {
-            result = parent.makeHole(node, number);
+        final Node parent = this.index.getParent(node);
+        if (parent instanceof PatternNode) {
+            result = ((PatternNode) parent).makeHole(node, number);
         }
         return result;
     }
-
-    /**
-     * Builds the map containing relationship of the nodes to their parents.
-     * @param root Root node
-     * @return The map containing relationship of the nodes to their parents.
-     */
-    private static Map<Node, NodeInfo> buildNodeInfoMap(final PatternNode root) {
-        final Map<Node, NodeInfo> map = new HashMap<>();
-        map.put(root.getPrototype(), new NodeInfo(null));
-        PatternBuilder.buildNodeInfoMap(map, root);
-        return map;
-    }
-
-    /**
-     * Builds the map containing relationship of the nodes to their parents (recursive method).
-     * @param map Where to put the results
-     * @param parent Parent node
-     */
-    private static void buildNodeInfoMap(final Map<Node, NodeInfo> map, final PatternNode parent) {
-        final NodeInfo obj = new NodeInfo(parent);
-        parent.forEachChild(
-            child -> {
-                if (child instanceof PatternNode) {
-                    final PatternNode node = (PatternNode) child;
-                    Node proto = node.getPrototype();
-                    while (true) {
-                        map.put(proto, obj);
-                        if (proto instanceof PrototypeBasedNode) {
-                            proto = ((PrototypeBasedNode) proto).getPrototype();
-                        } else {
-                            break;
-                        }
-                    }
-                    PatternBuilder.buildNodeInfoMap(map, node);
-                }
-            }
-        );
-    }
-
-    /**
-     * Some additional information about each node needed to make holes.
-     *  So far there's only a parent node here, but we may need something else.
-     * @since 1.1.5
-     */
-    private static final class NodeInfo {
-        /**
-         * The parent node.
-         */
-        private final PatternNode parent;
-
-        /**
-         * Constructor.
-         * @param parent The parent node
-         */
-        NodeInfo(final PatternNode parent) {
-            this.parent = parent;
-        }
-
-        /**
-         * Returns parent node.
-         * @return Pattern node containing this node
-         */
-        public PatternNode getParent() {
-            return this.parent;
-        }
-    }
 }
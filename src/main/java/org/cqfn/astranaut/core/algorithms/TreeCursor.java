@@ -0,0 +1,481 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.cqfn.astranaut.core.base.Builder;
+import org.cqfn.astranaut.core.base.DummyNode;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Cursor (zipper) that edits an immutable tree.
+ *  The cursor points to a node of the tree and can be moved to the children, the siblings
+ *  or the parent of this node. The node under the cursor can be replaced or deleted, and
+ *  children can be inserted into it or deleted from it. Edits are not applied immediately:
+ *  they are recorded along the paths visited by the cursor, so each edit costs time
+ *  proportional to the depth of the node (plus the number of children of the edited node).
+ *  All recorded edits are applied at once by {@link #commit()}, which rebuilds only the
+ *  modified nodes and their ancestors using builders; all other subtrees are shared with
+ *  the original tree.
+ * @since 2.0.0
+ */
+public final class TreeCursor {
+    /**
+     * Nodes on the path from the root to the current node.
+     */
+    private Edit[] path;
+
+    /**
+     * Indices of the nodes on the path in the lists of children of their parents.
+     */
+    private int[] positions;
+
+    /**
+     * Number of nodes on the path.
+     */
+    private int depth;
+
+    /**
+     * Constructor.
+     * @param root Root node of the tree to be edited
+     */
+    public TreeCursor(final Node root) {
+        this.path = new Edit[16];
+        this.positions = new int[16];
+        this.path[0] = new Edit(root);
+        this.positions[0] = -1;
+        this.depth = 1;
+    }
+
+    /**
+     * Returns the node under the cursor. Edits made in its subtree are not taken into account
+     *  until they are committed.
+     * @return Current node
+     */
+    public Node getNode() {
+        return this.current().node;
+    }
+
+    /**
+     * Returns the number of children of the node under the cursor, taking into account
+     *  the inserted and deleted ones.
+     * @return Number of children
+     */
+    public int getChildCount() {
+        return this.current().getChildCount();
+    }
+
+    /**
+     * Returns a child of the node under the cursor, taking into account the inserted
+     *  and deleted ones.
+     * @param index Index of the child
+     * @return Child node
+     */
+    public Node getChild(final int index) {
+        return this.current().getChild(index);
+    }
+
+    /**
+     * Returns the depth of the node under the cursor.
+     * @return Depth, 0 for the root
+     */
+    public int getDepth() {
+        return this.depth - 1;
+    }
+
+    /**
+     * Moves the cursor to a child of the current node.
+     * @param index Index of the child
+     * @return Result of operation, {@code false} if there is no such child
+     */
+    public boolean down(final int index) {
+        final Edit parent = this.current();
+        final boolean result = index >= 0 && index < parent.getChildCount();
+        if (result) {
+            if (this.depth == this.path.length) {
+                this.path = Arrays.copyOf(this.path, this.depth * 2);
+                this.positions = Arrays.copyOf(this.positions, this.depth * 2);
+            }
+            this.path[this.depth] = parent.getEdit(index);
+            this.positions[this.depth] = index;
+            this.depth = this.depth + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Moves the cursor to the parent of the current node.
+     * @return Result of operation, {@code false} if the current node is the root
+     */
+    public boolean up() {
+        final boolean result = this.depth > 1;
+        if (result) {
+            this.depth = this.depth - 1;
+            this.path[this.depth] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Moves the cursor to the root.
+     */
+    public void top() {
+        while (this.depth > 1) {
+            this.depth = this.depth - 1;
+            this.path[this.depth] = null;
+        }
+    }
+
+    /**
+     * Moves the cursor to the left sibling of the current node.
+     * @return Result of operation, {@code false} if there is no such sibling
+     */
+    public boolean left() {
+        return this.shift(-1);
+    }
+
+    /**
+     * Moves the cursor to the right sibling of the current node.
+     * @return Result of operation, {@code false} if there is no such sibling
+     */
+    public boolean right() {
+        return this.shift(1);
+    }
+
+    /**
+     * Replaces the node under the cursor (with its subtree) with another node.
+     *  The cursor then points to the new node.
+     * @param node New node
+     */
+    public void replace(final Node node) {
+        final Edit edit = new Edit(node);
+        if (this.depth > 1) {
+            final Edit parent = this.path[this.depth - 2];
+            parent.setEdit(this.positions[this.depth - 1], edit);
+        }
+        this.path[this.depth - 1] = edit;
+    }
+
+    /**
+     * Inserts a child into the node under the cursor.
+     * @param index Index that the new child will have
+     * @param node New child
+     * @return Result of operation, {@code false} if the index is out of range
+     */
+    public boolean insert(final int index, final Node node) {
+        final Edit edit = this.current();
+        final boolean result = index >= 0 && index <= edit.getChildCount();
+        if (result) {
+            edit.expand();
+            edit.children.add(index, node);
+            edit.edits.add(index, null);
+            edit.modified = true;
+        }
+        return result;
+    }
+
+    /**
+     * Deletes a child of the node under the cursor.
+     * @param index Index of the child
+     * @return Result of operation, {@code false} if there is no such child
+     */
+    public boolean delete(final int index) {
+        final Edit edit = this.current();
+        final boolean result = index >= 0 && index < edit.getChildCount();
+        if (result) {
+            edit.expand();
+            edit.children.remove(index);
+            edit.edits.remove(index);
+            edit.modified = true;
+        }
+        return result;
+    }
+
+    /**
+     * Deletes the node under the cursor from the list of children of its parent.
+     *  The cursor then points to the parent.
+     * @return Result of operation, {@code false} if the current node is the root
+     */
+    public boolean delete() {
+        final int index = this.positions[this.depth - 1];
+        return this.up() && this.delete(index);
+    }
+
+    /**
+     * Applies all recorded edits. Only the modified nodes and their ancestors are rebuilt,
+     *  other subtrees are shared with the original tree. After a successful commit, the cursor
+     *  points to the root of the new tree and there are no recorded edits.
+     * @return Root node of the new tree (the original one if there are no edits)
+     *  or {@link DummyNode#INSTANCE} if some node could not be rebuilt; in the latter case
+     *  the recorded edits are kept
+     */
+    public Node commit() {
+        Node result = TreeCursor.build(this.path[0]);
+        if (result == null) {
+            result = DummyNode.INSTANCE;
+        } else {
+            this.top();
+            this.path[0] = new Edit(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the edit record of the node under the cursor.
+     * @return Edit record
+     */
+    private Edit current() {
+        return this.path[this.depth - 1];
+    }
+
+    /**
+     * Moves the cursor to a sibling of the current node.
+     * @param shift Difference between the indices of the sibling and the current node
+     * @return Result of operation, {@code false} if there is no such sibling
+     */
+    private boolean shift(final int shift) {
+        boolean result = false;
+        if (this.depth > 1) {
+            final int index = this.positions[this.depth - 1] + shift;
+            final Edit parent = this.path[this.depth - 2];
+            if (index >= 0 && index < parent.getChildCount()) {
+                this.path[this.depth - 1] = parent.getEdit(index);
+                this.positions[this.depth - 1] = index;
+                result = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the node described by an edit record and all records below it,
+     *  processing the records in post-order without recursion.
+     * @param root Edit record of the root node
+     * @return New root node or {@code null} if some node could not be rebuilt
+     */
+    private static Node build(final Edit root) {
+        Edit[] stack = new Edit[16];
+        int[] next = new int[16];
+        stack[0] = root;
+        int top = 1;
+        boolean success = true;
+        while (success && top > 0) {
+            final Edit edit = stack[top - 1];
+            final int index = next[top - 1];
+            if (edit.edits != null && index < edit.edits.size()) {
+                next[top - 1] = index + 1;
+                final Edit child = edit.edits.get(index);
+                if (child != null) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                        next = Arrays.copyOf(next, top * 2);
+                    }
+                    stack[top] = child;
+                    next[top] = 0;
+                    top = top + 1;
+                }
+            } else {
+                success = edit.complete();
+                top = top - 1;
+            }
+        }
+        Node result = null;
+        if (success) {
+            result = root.result;
+        }
+        return result;
+    }
+
+    /**
+     * Record of the edits of one node, created when the cursor visits the node.
+     * @since 2.0.0
+     */
+    private static final class Edit {
+        /**
+         * The node (original or inserted instead of the original).
+         */
+        private final Node node;
+
+        /**
+         * Children of the node after the edits, or {@code null} if the list of children
+         *  has not been touched.
+         */
+        private List<Node> children;
+
+        /**
+         * Edit records of the children, {@code null} for the children that were not visited.
+         */
+        private List<Edit> edits;
+
+        /**
+         * Flag indicating that the list of children was changed.
+         */
+        private boolean modified;
+
+        /**
+         * Node built after applying the edits.
+         */
+        private Node result;
+
+        /**
+         * Constructor.
+         * @param node The node
+         */
+        Edit(final Node node) {
+            this.node = node;
+        }
+
+        /**
+         * Returns the number of children, taking into account the edits.
+         * @return Number of children
+         */
+        int getChildCount() {
+            final int count;
+            if (this.children == null) {
+                count = this.node.getChildCount();
+            } else {
+                count = this.children.size();
+            }
+            return count;
+        }
+
+        /**
+         * Returns a child, taking into account the edits.
+         * @param index Index of the child
+         * @return Child node
+         */
+        Node getChild(final int index) {
+            final Node child;
+            if (this.children == null) {
+                child = this.node.getChild(index);
+            } else {
+                child = this.children.get(index);
+            }
+            return child;
+        }
+
+        /**
+         * Returns the edit record of a child, creating it if necessary.
+         * @param index Index of the child
+         * @return Edit record of the child
+         */
+        Edit getEdit(final int index) {
+            this.expand();
+            Edit edit = this.edits.get(index);
+            if (edit == null) {
+                edit = new Edit(this.children.get(index));
+                this.edits.set(index, edit);
+            }
+            return edit;
+        }
+
+        /**
+         * Replaces the edit record of a child, which means that the child is replaced.
+         * @param index Index of the child
+         * @param edit New edit record
+         */
+        void setEdit(final int index, final Edit edit) {
+            this.expand();
+            this.children.set(index, edit.node);
+            this.edits.set(index, edit);
+            this.modified = true;
+        }
+
+        /**
+         * Creates the lists of children and their edit records, if they do not exist yet.
+         */
+        void expand() {
+            if (this.children == null) {
+                final int count = this.node.getChildCount();
+                this.children = new ArrayList<>(count);
+                this.edits = new ArrayList<>(count);
+                for (int index = 0; index < count; index = index + 1) {
+                    this.children.add(this.node.getChild(index));
+                    this.edits.add(null);
+                }
+            }
+        }
+
+        /**
+         * Builds the node after the edit records of all visited children are completed.
+         * @return Result of operation, {@code false} if the node could not be rebuilt
+         */
+        boolean complete() {
+            boolean success = true;
+            if (this.children == null) {
+                this.result = this.node;
+            } else {
+                boolean changed = this.modified;
+                final int count = this.children.size();
+                final List<Node> list = new ArrayList<>(count);
+                for (int index = 0; index < count; index = index + 1) {
+                    final Edit edit = this.edits.get(index);
+                    Node child = this.children.get(index);
+                    if (edit != null && edit.result != child) {
+                        child = edit.result;
+                        changed = true;
+                    }
+                    list.add(child);
+                }
+                if (changed) {
+                    this.result = Edit.rebuild(this.node, list);
+                    success = this.result != null;
+                } else {
+                    this.result = this.node;
+                }
+            }
+            return success;
+        }
+
+        /**
+         * Creates a copy of a node with another list of children.
+         * @param node Original node
+         * @param children New list of children
+         * @return New node or {@code null} if the node could not be created
+         */
+        private static Node rebuild(final Node node, final List<Node> children) {
+            Node result = null;
+            final Builder builder = node.getType().createBuilder();
+            do {
+                if (builder == null) {
+                    break;
+                }
+                builder.setFragment(node.getFragment());
+                if (!builder.setData(node.getData())) {
+                    break;
+                }
+                if (!builder.setChildrenList(children)) {
+                    break;
+                }
+                if (!builder.isValid()) {
+                    break;
+                }
+                result = builder.createNode();
+            } while (false);
+            return result;
+        }
+    }
+}
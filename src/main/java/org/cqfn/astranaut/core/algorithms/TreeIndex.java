@@ -0,0 +1,415 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.PrototypeBasedNode;
+
+/**
+ * Index of a tree, which provides the parent, depth, ranks, subtree size and position among
+ *  siblings of any node in constant time. Nodes do not store references to their parents,
+ *  so algorithms that need such information build this index once and share it.
+ *  <p>
+ *  Nodes are numbered by their pre-order ranks; all data is stored in flat arrays indexed
+ *  by these numbers. A node can be found either by itself or by any node of its chain of
+ *  prototypes (see {@link PrototypeBasedNode}), so the index of a tree of wrapper nodes
+ *  (difference nodes, pattern nodes) also finds the wrapped nodes. The table that finds the
+ *  ranks of nodes is built on the first request. The index is immutable and describes the
+ *  tree as it was at the moment of creation.
+ * @since 2.0.0
+ */
+public final class TreeIndex {
+    /**
+     * Nodes, indexed by pre-order ranks.
+     */
+    private final Node[] nodes;
+
+    /**
+     * Pre-order ranks of parent nodes, -1 for the root.
+     */
+    private final int[] parents;
+
+    /**
+     * Depths of nodes, 0 for the root.
+     */
+    private final int[] depths;
+
+    /**
+     * Post-order ranks of nodes.
+     */
+    private final int[] post;
+
+    /**
+     * Number of nodes in the subtrees whose roots are the nodes.
+     */
+    private final int[] sizes;
+
+    /**
+     * Indices of nodes in the lists of children of their parents, -1 for the root.
+     */
+    private final int[] indices;
+
+    /**
+     * Table that finds ranks of nodes, built on the first request.
+     */
+    private volatile Lookup lookup;
+
+    /**
+     * Constructor.
+     * @param root Root node of the tree
+     */
+    public TreeIndex(final Node root) {
+        final int[] total = new int[1];
+        new TreeTraversal(root).walk(
+            node -> {
+                total[0] = total[0] + 1;
+                return TreeTraversal.Decision.CONTINUE;
+            }
+        );
+        final int count = total[0];
+        this.nodes = new Node[count];
+        this.parents = new int[count];
+        this.depths = new int[count];
+        this.post = new int[count];
+        this.sizes = new int[count];
+        this.indices = new int[count];
+        new TreeTraversal(root).walk(new Filler(this));
+    }
+
+    /**
+     * Returns the number of nodes in the tree.
+     * @return Number of nodes
+     */
+    public int size() {
+        return this.nodes.length;
+    }
+
+    /**
+     * Returns a node by its pre-order rank.
+     * @param rank Pre-order rank, 0 for the root
+     * @return Node
+     */
+    public Node getNode(final int rank) {
+        return this.nodes[rank];
+    }
+
+    /**
+     * Returns the pre-order rank of a node.
+     * @param node Node or any node of its chain of prototypes
+     * @return Pre-order rank or -1 if the node does not belong to the tree
+     */
+    public int getPreorderRank(final Node node) {
+        return this.getLookup().find(node);
+    }
+
+    /**
+     * Returns the post-order rank of a node.
+     * @param rank Pre-order rank of the node
+     * @return Post-order rank, 0 for the first leaf
+     */
+    public int getPostorderRank(final int rank) {
+        return this.post[rank];
+    }
+
+    /**
+     * Returns the pre-order rank of the parent of a node.
+     * @param rank Pre-order rank of the node
+     * @return Pre-order rank of the parent or -1 for the root
+     */
+    public int getParentRank(final int rank) {
+        return this.parents[rank];
+    }
+
+    /**
+     * Returns the parent of a node.
+     * @param node Node or any node of its chain of prototypes
+     * @return Parent node or {@code null} if the node is the root
+     *  or does not belong to the tree
+     */
+    public Node getParent(final Node node) {
+        final int rank = this.getPreorderRank(node);
+        Node parent = null;
+        if (rank > 0) {
+            parent = this.nodes[this.parents[rank]];
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the depth of a node.
+     * @param rank Pre-order rank of the node
+     * @return Depth, 0 for the root
+     */
+    public int getDepth(final int rank) {
+        return this.depths[rank];
+    }
+
+    /**
+     * Returns the number of nodes in the subtree whose root is a node.
+     *  Ranks of these nodes are in the range from the rank of the node inclusive to the rank
+     *  of the node plus the size exclusive.
+     * @param rank Pre-order rank of the node
+     * @return Subtree size, 1 for a leaf
+     */
+    public int getSubtreeSize(final int rank) {
+        return this.sizes[rank];
+    }
+
+    /**
+     * Returns the index of a node in the list of children of its parent.
+     * @param rank Pre-order rank of the node
+     * @return Index or -1 for the root
+     */
+    public int getIndex(final int rank) {
+        return this.indices[rank];
+    }
+
+    /**
+     * Checks whether one node is a proper ancestor of another, that is, the second node
+     *  is a descendant of the first one and differs from it.
+     * @param ancestor Pre-order rank of the possible ancestor
+     * @param descendant Pre-order rank of the possible descendant
+     * @return Checking result
+     */
+    public boolean isAncestor(final int ancestor, final int descendant) {
+        return ancestor < descendant && this.post[descendant] < this.post[ancestor];
+    }
+
+    /**
+     * Checks whether one node is a proper ancestor of another.
+     * @param ancestor Possible ancestor
+     * @param descendant Possible descendant
+     * @return Checking result, {@code false} if some of the nodes does not belong to the tree
+     */
+    public boolean isAncestor(final Node ancestor, final Node descendant) {
+        final int first = this.getPreorderRank(ancestor);
+        final int second = this.getPreorderRank(descendant);
+        return first >= 0 && second >= 0 && this.isAncestor(first, second);
+    }
+
+    /**
+     * Checks whether the same node object (or the same prototype) appears in several
+     *  places of the tree. Such a node can be found only at one of these places.
+     * @return Checking result
+     */
+    public boolean hasSharedNodes() {
+        return this.getLookup().shared;
+    }
+
+    /**
+     * Returns the table that finds ranks of nodes, building it if necessary.
+     * @return Lookup table
+     */
+    private Lookup getLookup() {
+        Lookup table = this.lookup;
+        if (table == null) {
+            table = new Lookup(this.nodes);
+            this.lookup = table;
+        }
+        return table;
+    }
+
+    /**
+     * Visitor that fills in the arrays of the index.
+     * @since 2.0.0
+     */
+    private static final class Filler implements TreeTraversal.Visitor {
+        /**
+         * Index to be filled.
+         */
+        private final TreeIndex index;
+
+        /**
+         * Pre-order rank of the last node on the path from the root to the current node.
+         */
+        private int last;
+
+        /**
+         * Number of visited nodes.
+         */
+        private int entered;
+
+        /**
+         * Number of left nodes.
+         */
+        private int left;
+
+        /**
+         * Constructor.
+         * @param index Index to be filled
+         */
+        Filler(final TreeIndex index) {
+            this.index = index;
+            this.last = -1;
+        }
+
+        @Override
+        public TreeTraversal.Decision enter(final Node node) {
+            final TreeIndex data = this.index;
+            final int rank = this.entered;
+            this.entered = rank + 1;
+            final int parent = this.last;
+            data.nodes[rank] = node;
+            data.parents[rank] = parent;
+            if (parent < 0) {
+                data.indices[rank] = -1;
+            } else {
+                data.depths[rank] = data.depths[parent] + 1;
+                data.indices[rank] = data.sizes[parent];
+                data.sizes[parent] = data.sizes[parent] + 1;
+            }
+            this.last = rank;
+            return TreeTraversal.Decision.CONTINUE;
+        }
+
+        @Override
+        public void leave(final Node node) {
+            final TreeIndex data = this.index;
+            final int rank = this.last;
+            data.sizes[rank] = this.entered - rank;
+            data.post[rank] = this.left;
+            this.left = this.left + 1;
+            this.last = data.parents[rank];
+        }
+    }
+
+    /**
+     * Open addressing hash table that finds ranks of nodes by their identity.
+     * @since 2.0.0
+     */
+    private static final class Lookup {
+        /**
+         * Keys: nodes and their prototypes.
+         */
+        private Node[] keys;
+
+        /**
+         * Values: pre-order ranks.
+         */
+        private int[] values;
+
+        /**
+         * Number of keys.
+         */
+        private int count;
+
+        /**
+         * Flag indicating that some key appears in several places of the tree.
+         */
+        private boolean shared;
+
+        /**
+         * Constructor.
+         * @param nodes Nodes, indexed by pre-order ranks
+         */
+        Lookup(final Node[] nodes) {
+            int capacity = 16;
+            while (capacity < nodes.length * 2) {
+                capacity = capacity * 2;
+            }
+            this.keys = new Node[capacity];
+            this.values = new int[capacity];
+            for (int rank = 0; rank < nodes.length; rank = rank + 1) {
+                Node node = nodes[rank];
+                while (true) {
+                    this.put(node, rank);
+                    if (node instanceof PrototypeBasedNode) {
+                        node = ((PrototypeBasedNode) node).getPrototype();
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds the rank of a node.
+         * @param node Node
+         * @return Pre-order rank or -1 if there is no such node
+         */
+        int find(final Node node) {
+            final int mask = this.keys.length - 1;
+            int slot = Lookup.hash(node) & mask;
+            int rank = -1;
+            while (this.keys[slot] != null) {
+                if (this.keys[slot] == node) {
+                    rank = this.values[slot];
+                    break;
+                }
+                slot = slot + 1 & mask;
+            }
+            return rank;
+        }
+
+        /**
+         * Adds a node to the table. If the node is already in the table with another rank,
+         *  the first rank is kept.
+         * @param node Node
+         * @param rank Pre-order rank
+         */
+        private void put(final Node node, final int rank) {
+            if (this.count * 2 >= this.keys.length) {
+                this.grow();
+            }
+            final int mask = this.keys.length - 1;
+            int slot = Lookup.hash(node) & mask;
+            while (this.keys[slot] != null && this.keys[slot] != node) {
+                slot = slot + 1 & mask;
+            }
+            if (this.keys[slot] == null) {
+                this.keys[slot] = node;
+                this.values[slot] = rank;
+                this.count = this.count + 1;
+            } else if (this.values[slot] != rank) {
+                this.shared = true;
+            }
+        }
+
+        /**
+         * Doubles the capacity of the table.
+         */
+        private void grow() {
+            final Node[] old = this.keys;
+            final int[] ranks = this.values;
+            this.keys = new Node[old.length * 2];
+            this.values = new int[old.length * 2];
+            this.count = 0;
+            for (int slot = 0; slot < old.length; slot = slot + 1) {
+                if (old[slot] != null) {
+                    this.put(old[slot], ranks[slot]);
+                }
+            }
+        }
+
+        /**
+         * Calculates the hash of a node by its identity.
+         * @param node Node
+         * @return Hash
+         */
+        private static int hash(final Node node) {
+            final int code = System.identityHashCode(node) * 0x9E3779B9;
+            return code ^ code >>> 16;
+        }
+    }
+}
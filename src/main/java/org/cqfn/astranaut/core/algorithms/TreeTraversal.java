@@ -0,0 +1,317 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Depth-first traversal of a syntax tree that does not use recursion.
+ *  The path from the root to the current node is kept in an explicit stack made of flat
+ *  arrays, so the depth of the tree is limited only by the available memory, not by the size
+ *  of the thread stack, and no objects are created per visited node.
+ *  The traversal supports visiting nodes in pre-order and post-order (with skipping subtrees
+ *  and stopping) and calculating values from the leaves to the root (reduction).
+ * @since 2.0.0
+ */
+public final class TreeTraversal {
+    /**
+     * Initial capacity of the stack.
+     */
+    private static final int CAPACITY = 32;
+
+    /**
+     * The root node of the tree being traversed.
+     */
+    private final Node root;
+
+    /**
+     * Nodes on the path from the root to the current node.
+     */
+    private Node[] nodes;
+
+    /**
+     * Indices of the next child to be visited for each node on the path.
+     */
+    private int[] indices;
+
+    /**
+     * Number of nodes on the path.
+     */
+    private int top;
+
+    /**
+     * Constructor.
+     * @param root The root node of the tree being traversed
+     */
+    public TreeTraversal(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Visits all nodes of the tree. A node is entered before its children (pre-order) and left
+     *  after them (post-order). Entering a node, the visitor decides whether to visit
+     *  its children and whether to stop the traversal.
+     * @param visitor Visitor that processes nodes
+     * @return {@code true} if the traversal was stopped by the visitor
+     */
+    public boolean walk(final Visitor visitor) {
+        this.reset();
+        boolean stopped = this.enter(visitor, this.root);
+        while (!stopped && this.top > 0) {
+            final int last = this.top - 1;
+            final Node node = this.nodes[last];
+            final int index = this.indices[last];
+            if (index < node.getChildCount()) {
+                this.indices[last] = index + 1;
+                stopped = this.enter(visitor, node.getChild(index));
+            } else {
+                this.top = last;
+                this.nodes[last] = null;
+                visitor.leave(node);
+            }
+        }
+        this.nodes = null;
+        this.indices = null;
+        return stopped;
+    }
+
+    /**
+     * Calculates a value for the root node, where the value of each node is calculated
+     *  from the node itself and the values of its children, starting from the leaves.
+     * @param reducer Reducer that calculates values of nodes
+     * @param <T> Value type
+     * @return Value calculated for the root node
+     */
+    public <T> T reduce(final Reducer<T> reducer) {
+        this.reset();
+        int[] bases = new int[this.indices.length];
+        final List<T> values = new ArrayList<>(TreeTraversal.CAPACITY);
+        final Slice<T> slice = new Slice<>(values);
+        Node next = this.root;
+        while (true) {
+            if (next != null) {
+                final T known = reducer.lookup(next);
+                if (known != null) {
+                    values.add(known);
+                } else if (next.getChildCount() == 0) {
+                    slice.select(values.size());
+                    values.add(reducer.reduce(next, slice));
+                } else {
+                    this.push(next);
+                    if (bases.length < this.indices.length) {
+                        bases = Arrays.copyOf(bases, this.indices.length);
+                    }
+                    bases[this.top - 1] = values.size();
+                }
+                next = null;
+            }
+            if (this.top == 0) {
+                break;
+            }
+            final int last = this.top - 1;
+            final Node node = this.nodes[last];
+            final int index = this.indices[last];
+            if (index < node.getChildCount()) {
+                this.indices[last] = index + 1;
+                next = node.getChild(index);
+            } else {
+                this.top = last;
+                this.nodes[last] = null;
+                final int base = bases[last];
+                slice.select(base);
+                final T value = reducer.reduce(node, slice);
+                for (int size = values.size(); size > base; size = size - 1) {
+                    values.remove(size - 1);
+                }
+                values.add(value);
+            }
+        }
+        this.nodes = null;
+        this.indices = null;
+        return values.get(0);
+    }
+
+    /**
+     * Enters a node during the walk.
+     * @param visitor Visitor that processes nodes
+     * @param node Node
+     * @return {@code true} if the traversal should be stopped
+     */
+    private boolean enter(final Visitor visitor, final Node node) {
+        final Decision decision = visitor.enter(node);
+        final boolean stopped = decision == Decision.STOP;
+        if (!stopped) {
+            if (decision == Decision.CONTINUE && node.getChildCount() > 0) {
+                this.push(node);
+            } else {
+                visitor.leave(node);
+            }
+        }
+        return stopped;
+    }
+
+    /**
+     * Prepares the stack before a traversal.
+     */
+    private void reset() {
+        this.nodes = new Node[TreeTraversal.CAPACITY];
+        this.indices = new int[TreeTraversal.CAPACITY];
+        this.top = 0;
+    }
+
+    /**
+     * Pushes a node onto the stack, its children will be visited starting from the first one.
+     * @param node Node
+     */
+    private void push(final Node node) {
+        if (this.top == this.nodes.length) {
+            final int capacity = this.nodes.length * 2;
+            this.nodes = Arrays.copyOf(this.nodes, capacity);
+            this.indices = Arrays.copyOf(this.indices, capacity);
+        }
+        this.nodes[this.top] = node;
+        this.indices[this.top] = 0;
+        this.top = this.top + 1;
+    }
+
+    /**
+     * Decision made by a visitor when entering a node.
+     * @since 2.0.0
+     */
+    public enum Decision {
+        /**
+         * Visit the children of the node.
+         */
+        CONTINUE,
+
+        /**
+         * Do not visit the children of the node.
+         */
+        SKIP,
+
+        /**
+         * Stop the traversal.
+         */
+        STOP
+    }
+
+    /**
+     * Visitor that processes nodes during the walk.
+     * @since 2.0.0
+     */
+    public interface Visitor {
+        /**
+         * Processes a node before its children.
+         * @param node Node
+         * @return Decision on how to continue the traversal
+         */
+        Decision enter(Node node);
+
+        /**
+         * Processes a node after its children (or right after entering if the children are
+         *  skipped). Not called for the nodes that were being processed when the traversal
+         *  was stopped.
+         * @param node Node
+         */
+        default void leave(final Node node) {
+        }
+    }
+
+    /**
+     * Calculates values of nodes from the values of their children.
+     * @param <T> Value type
+     * @since 2.0.0
+     */
+    public interface Reducer<T> {
+        /**
+         * Returns the value of a node if it is already known (for example, cached),
+         *  so that the subtree does not need to be traversed.
+         * @param node Node
+         * @return Value or {@code null} if the value should be calculated
+         */
+        default T lookup(final Node node) {
+            return null;
+        }
+
+        /**
+         * Calculates the value of a node.
+         * @param node Node
+         * @param children Values of the children of the node, in the order of the children.
+         *  The list is read-only and valid only during the call
+         * @return Value of the node (not {@code null})
+         */
+        T reduce(Node node, List<T> children);
+    }
+
+    /**
+     * View of the tail of the list of values, that is, values of the children
+     *  of the node being reduced. The same view is reused for all nodes.
+     * @param <T> Value type
+     * @since 2.0.0
+     */
+    private static final class Slice<T> extends AbstractList<T> {
+        /**
+         * All calculated values that are not consumed yet.
+         */
+        private final List<T> values;
+
+        /**
+         * Index of the first value of the view.
+         */
+        private int base;
+
+        /**
+         * Constructor.
+         * @param values All calculated values that are not consumed yet
+         */
+        Slice(final List<T> values) {
+            this.values = values;
+        }
+
+        /**
+         * Selects the values from the specified index to the end of the list.
+         * @param start Index of the first value
+         */
+        void select(final int start) {
+            this.base = start;
+        }
+
+        @Override
+        public T get(final int index) {
+            if (index < 0 || index >= this.size()) {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.values.get(this.base + index);
+        }
+
+        @Override
+        public int size() {
+            return this.values.size() - this.base;
+        }
+    }
+}
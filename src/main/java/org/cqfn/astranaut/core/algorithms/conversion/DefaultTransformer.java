@@ -26,6 +26,7 @@ package org.cqfn.astranaut.core.algorithms.conversion;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
 import org.cqfn.astranaut.core.base.Builder;
 import org.cqfn.astranaut.core.base.DummyNode;
 import org.cqfn.astranaut.core.base.Factory;
@@ -61,17 +62,23 @@ public class DefaultTransformer implements Transformer {
     /**
      * Transforms a node by applying converters to it.
      *  Thus, some child nodes in this node can be modified.
-     *  The procedure runs first recursively itself for all child nodes, so the leaf nodes of
+     *  The procedure processes first all descendants of the node, so the leaf nodes of
      *  the tree are processed first.
      * @param original Original node
      * @return A new node, i.e., the result of the transformation
      */
     public Node transform(final Node original) {
-        final List<Node> list = new ArrayList<>(original.getChildrenList());
-        final int count = list.size();
-        for (int index = 0; index < count; index = index + 1) {
-            list.set(index, this.transform(list.get(index)));
-        }
+        return new TreeTraversal(original).reduce(this::transformNode);
+    }
+
+    /**
+     * Transforms a node whose children are already transformed.
+     * @param original Original node
+     * @param children Transformed children of the node
+     * @return A new node, i.e., the result of the transformation
+     */
+    private Node transformNode(final Node original, final List<Node> children) {
+        final List<Node> list = new ArrayList<>(children);
         boolean changed = false;
         boolean flag;
         do {
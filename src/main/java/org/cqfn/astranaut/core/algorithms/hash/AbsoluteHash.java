@@ -24,8 +24,11 @@
 package org.cqfn.astranaut.core.algorithms.hash;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
 import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
 
 /**
  * Computes the absolute hash of a node, that is, a hash that is computed from both the data
@@ -36,31 +39,91 @@ import org.cqfn.astranaut.core.base.Node;
  */
 public final class AbsoluteHash implements Hash {
     /**
-     * A table with the calculated hashes.
+     * A table with the calculated hashes, used if no cache is specified.
      * Since nodes are immutable, a hash calculated once for a node will never change.
      */
     private final Map<Node, Integer> calculated;
 
+    /**
+     * Cache of the calculated hashes, may be shared between several instances,
+     *  or {@code null} if the private table is used.
+     */
+    private final NodeCache<Integer> cache;
+
     /**
      * Constructor.
      */
     public AbsoluteHash() {
         this.calculated = new HashMap<>();
+        this.cache = null;
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of calculated hashes, may be shared between several instances
+     */
+    public AbsoluteHash(final NodeCache<Integer> cache) {
+        this.calculated = null;
+        this.cache = cache;
     }
 
     @Override
     public int calculate(final Node node) {
-        int hash;
-        if (this.calculated.containsKey(node)) {
-            hash = this.calculated.get(node);
+        Integer hash = this.lookup(node);
+        if (hash == null) {
+            hash = new TreeTraversal(node).reduce(new Calculator());
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the value calculated for a node earlier.
+     * @param node Node
+     * @return Value or {@code null} if not calculated yet
+     */
+    private Integer lookup(final Node node) {
+        final Integer value;
+        if (this.cache == null) {
+            value = this.calculated.get(node);
         } else {
-            hash = node.getTypeName().hashCode() * 31 + node.getData().hashCode();
-            final int count = node.getChildCount();
-            for (int index = 0; index < count; index = index + 1) {
-                hash = 31 * hash + this.calculate(node.getChild(index));
+            value = this.cache.get(node);
+        }
+        return value;
+    }
+
+    /**
+     * Remembers the value calculated for a node.
+     * @param node Node
+     * @param value Value
+     */
+    private void store(final Node node, final Integer value) {
+        if (this.cache == null) {
+            this.calculated.put(node, value);
+        } else {
+            this.cache.put(node, value);
+        }
+    }
+
+    /**
+     * Calculates hashes of the nodes from the leaves to the root,
+     *  skipping subtrees whose hashes are already calculated.
+     * @since 2.0.0
+     */
+    private final class Calculator implements TreeTraversal.Reducer<Integer> {
+        @Override
+        public Integer lookup(final Node node) {
+            return AbsoluteHash.this.lookup(node);
+        }
+
+        @Override
+        public Integer reduce(final Node node, final List<Integer> children) {
+            int value = node.getTypeName().hashCode() * 31 + node.getData().hashCode();
+            for (final Integer child : children) {
+                value = 31 * value + child;
             }
-            this.calculated.put(node, hash);
+            final Integer hash = value;
+            AbsoluteHash.this.store(node, hash);
+            return hash;
         }
-        return hash;
     }
 }
@@ -41,6 +41,17 @@ public interface Hash {
      */
     int calculate(Node node);
 
+    /**
+     * Calculates the wide (64-bit) hash of the node.
+     *  Implementations that are able to produce a wider hash than the 32-bit one should
+     *  override this method, the default one just extends the 32-bit hash.
+     * @param node Node to calculate the hash for.
+     * @return Wide hash value of the node
+     */
+    default long calculateLong(final Node node) {
+        return this.calculate(node);
+    }
+
     /**
      * Calculates the hash of the tree.
      * This default method computes the hash value for the entire tree by
@@ -0,0 +1,233 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.cqfn.astranaut.core.algorithms.TreeIndex;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Calculates hashes of large trees in parallel.
+ *  The tree is split into disjoint subtrees smaller than the threshold, whose hashes are
+ *  calculated in parallel by the base hash, and then the hashes of the remaining (large) nodes
+ *  are calculated, from the leaves to the root, using the hashes of their children that are
+ *  already known. The base hash does all the calculations and remembers their results, so it
+ *  must be thread-safe, like {@link AbsoluteHash} and {@link StructuralHash} created
+ *  with a {@link org.cqfn.astranaut.core.utils.NodeCache} are.
+ *  The results are exactly the same as the results of the base hash.
+ * @since 2.0.0
+ */
+public final class ParallelHash implements Hash {
+    /**
+     * Default minimum size of a subtree that is split into several tasks.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * Base hash.
+     */
+    private final Hash base;
+
+    /**
+     * Pool in which the tasks are executed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Minimum size of a subtree that is split into several tasks.
+     */
+    private final int threshold;
+
+    /**
+     * Constructor.
+     * @param base Base hash, must be thread-safe and remember the calculated values
+     * @param pool Pool in which the tasks are executed
+     * @param threshold Minimum size (number of nodes) of a subtree that is split
+     *  into several tasks
+     */
+    public ParallelHash(final Hash base, final ForkJoinPool pool, final int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.base = base;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Constructor that uses the common pool and the default threshold.
+     * @param base Base hash, must be thread-safe and remember the calculated values
+     */
+    public ParallelHash(final Hash base) {
+        this(base, ForkJoinPool.commonPool(), ParallelHash.DEFAULT_THRESHOLD);
+    }
+
+    @Override
+    public int calculate(final Node node) {
+        this.prepare(node);
+        return this.base.calculate(node);
+    }
+
+    @Override
+    public long calculateLong(final Node node) {
+        this.prepare(node);
+        return this.base.calculateLong(node);
+    }
+
+    /**
+     * Calculates the wide hashes of all nodes of a tree.
+     * @param index Index of the tree
+     * @param hashes Array where to store the hashes of the nodes, indexed by their
+     *  pre-order ranks
+     */
+    public void calculate(final TreeIndex index, final long[] hashes) {
+        final int count = index.size();
+        if (count < this.threshold) {
+            this.calculate(index, hashes, 0, count);
+        } else {
+            final List<Integer> roots = new ArrayList<>(0);
+            int id = 1;
+            while (id < count) {
+                final int size = index.getSubtreeSize(id);
+                if (size < this.threshold) {
+                    roots.add(id);
+                    id = id + size;
+                } else {
+                    id = id + 1;
+                }
+            }
+            this.pool.invoke(new Task(index, hashes, roots, 0, roots.size()));
+            for (id = count - 1; id >= 0; id = id - 1) {
+                if (index.getSubtreeSize(id) >= this.threshold) {
+                    hashes[id] = this.base.calculateLong(index.getNode(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the wide hashes of a range of nodes, starting from the last one,
+     *  so the children are processed before their parents.
+     * @param index Index of the tree
+     * @param hashes Array where to store the hashes of the nodes
+     * @param start Pre-order rank of the first node of the range
+     * @param end Pre-order rank following the last node of the range
+     */
+    private void calculate(final TreeIndex index, final long[] hashes, final int start,
+        final int end) {
+        for (int id = end - 1; id >= start; id = id - 1) {
+            hashes[id] = this.base.calculateLong(index.getNode(id));
+        }
+    }
+
+    /**
+     * Calculates the hashes of all nodes of a tree, so that the base hash remembers them.
+     * @param root Root node of the tree
+     */
+    private void prepare(final Node root) {
+        final TreeIndex index = new TreeIndex(root);
+        this.calculate(index, new long[index.size()]);
+    }
+
+    /**
+     * Task that calculates hashes of a list of disjoint subtrees.
+     * @since 2.0.0
+     */
+    private final class Task extends RecursiveAction {
+        /**
+         * Version identifier.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Index of the tree.
+         */
+        private final transient TreeIndex index;
+
+        /**
+         * Array where to store the hashes of the nodes.
+         */
+        private final long[] hashes;
+
+        /**
+         * Pre-order ranks of the root nodes of the subtrees.
+         */
+        private final transient List<Integer> roots;
+
+        /**
+         * Index of the first subtree processed by the task.
+         */
+        private final int first;
+
+        /**
+         * Index following the last subtree processed by the task.
+         */
+        private final int last;
+
+        /**
+         * Constructor.
+         * @param index Index of the tree
+         * @param hashes Array where to store the hashes of the nodes
+         * @param roots Pre-order ranks of the root nodes of the subtrees
+         * @param first Index of the first subtree processed by the task
+         * @param last Index following the last subtree processed by the task
+         */
+        Task(final TreeIndex index, final long[] hashes, final List<Integer> roots,
+            final int first, final int last) {
+            this.index = index;
+            this.hashes = hashes;
+            this.roots = roots;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            int total = 0;
+            for (int item = this.first; item < this.last; item = item + 1) {
+                total = total + this.index.getSubtreeSize(this.roots.get(item));
+            }
+            if (this.last - this.first > 1 && total >= ParallelHash.this.threshold) {
+                final int middle = (this.first + this.last) / 2;
+                RecursiveAction.invokeAll(
+                    new Task(this.index, this.hashes, this.roots, this.first, middle),
+                    new Task(this.index, this.hashes, this.roots, middle, this.last)
+                );
+            } else {
+                for (int item = this.first; item < this.last; item = item + 1) {
+                    final int root = this.roots.get(item);
+                    ParallelHash.this.calculate(
+                        this.index,
+                        this.hashes,
+                        root,
+                        root + this.index.getSubtreeSize(root)
+                    );
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.hash;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
+
+/**
+ * Wide (64-bit) structural hash of a node.
+ *  Like {@link AbsoluteHash}, it is calculated based on the type and the data of the node
+ *  and the hashes of all its descendants, but the values are mixed much more thoroughly,
+ *  so that in practice different subtrees get different hashes even in very large trees.
+ *  The 32-bit hash returned by {@link StructuralHash#calculate(Node)} is derived from
+ *  the 64-bit one.
+ * @since 2.0.0
+ */
+public final class StructuralHash implements Hash {
+    /**
+     * Multiplier used to combine hashes.
+     */
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Initial value of the hash of a string (FNV-1a offset basis).
+     */
+    private static final long STRING_SEED = 0xCBF29CE484222325L;
+
+    /**
+     * Multiplier used to hash strings (FNV-1a prime).
+     */
+    private static final long STRING_PRIME = 0x100000001B3L;
+
+    /**
+     * A table with the calculated hashes, used if no cache is specified.
+     * Since nodes are immutable, a hash calculated once for a node will never change.
+     */
+    private final Map<Node, Long> calculated;
+
+    /**
+     * Cache of the calculated hashes, may be shared between several instances,
+     *  or {@code null} if the private table is used.
+     */
+    private final NodeCache<Long> cache;
+
+    /**
+     * Constructor.
+     */
+    public StructuralHash() {
+        this.calculated = new HashMap<>();
+        this.cache = null;
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of calculated hashes, may be shared between several instances
+     */
+    public StructuralHash(final NodeCache<Long> cache) {
+        this.calculated = null;
+        this.cache = cache;
+    }
+
+    @Override
+    public int calculate(final Node node) {
+        return StructuralHash.fold(this.calculateLong(node));
+    }
+
+    @Override
+    public long calculateLong(final Node node) {
+        Long hash = this.lookup(node);
+        if (hash == null) {
+            hash = new TreeTraversal(node).reduce(new Calculator());
+        }
+        return hash;
+    }
+
+    /**
+     * Converts a wide hash to a 32-bit one.
+     * @param hash Wide hash
+     * @return 32-bit hash
+     */
+    public static int fold(final long hash) {
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    /**
+     * Combines two hashes, the result depends on the order of the arguments.
+     * @param first First hash
+     * @param second Second hash
+     * @return Combined hash
+     */
+    private static long combine(final long first, final long second) {
+        return StructuralHash.mix(first * StructuralHash.MULTIPLIER + second);
+    }
+
+    /**
+     * Mixes the bits of a value (the finalizer of the MurmurHash3 algorithm).
+     * @param value Value
+     * @return Mixed value
+     */
+    private static long mix(final long value) {
+        long result = value;
+        result = (result ^ result >>> 33) * 0xFF51AFD7ED558CCDL;
+        result = (result ^ result >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return result ^ result >>> 33;
+    }
+
+    /**
+     * Calculates 64-bit hash of a string.
+     * @param str String
+     * @return Hash of the string
+     */
+    private static long hashString(final String str) {
+        long hash = StructuralHash.STRING_SEED;
+        final int length = str.length();
+        for (int index = 0; index < length; index = index + 1) {
+            hash = (hash ^ str.charAt(index)) * StructuralHash.STRING_PRIME;
+        }
+        return StructuralHash.mix(hash ^ length);
+    }
+
+    /**
+     * Returns the value calculated for a node earlier.
+     * @param node Node
+     * @return Value or {@code null} if not calculated yet
+     */
+    private Long lookup(final Node node) {
+        final Long value;
+        if (this.cache == null) {
+            value = this.calculated.get(node);
+        } else {
+            value = this.cache.get(node);
+        }
+        return value;
+    }
+
+    /**
+     * Remembers the value calculated for a node.
+     * @param node Node
+     * @param value Value
+     */
+    private void store(final Node node, final Long value) {
+        if (this.cache == null) {
+            this.calculated.put(node, value);
+        } else {
+            this.cache.put(node, value);
+        }
+    }
+
+    /**
+     * Calculates hashes of the nodes from the leaves to the root,
+     *  skipping subtrees whose hashes are already calculated.
+     * @since 2.0.0
+     */
+    private final class Calculator implements TreeTraversal.Reducer<Long> {
+        @Override
+        public Long lookup(final Node node) {
+            return StructuralHash.this.lookup(node);
+        }
+
+        @Override
+        public Long reduce(final Node node, final List<Long> children) {
+            long value = StructuralHash.combine(
+                StructuralHash.hashString(node.getTypeName()),
+                StructuralHash.hashString(node.getData())
+            );
+            for (final Long child : children) {
+                value = StructuralHash.combine(value, child);
+            }
+            final Long hash = StructuralHash.mix(value + children.size());
+            StructuralHash.this.store(node, hash);
+            return hash;
+        }
+    }
+}
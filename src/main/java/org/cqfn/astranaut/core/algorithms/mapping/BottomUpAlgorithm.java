@@ -0,0 +1,633 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Bottom-up mapping algorithm (in the style of GumTree).
+ *  First, identical subtrees are anchored all over the trees, regardless of whether their parents
+ *  are similar. Then, container nodes are mapped bottom-up if many of their descendants are
+ *  mapped to each other, and the child nodes of mapped containers that are still unmapped are
+ *  recovered by aligning their local hashes. Finally, the list of actions is built top-down:
+ *  the mapped child nodes that keep their order remain in place, and all other child nodes
+ *  are inserted, deleted or replaced.
+ * @since 2.0.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class BottomUpAlgorithm implements ExtMapping {
+    /**
+     * Value of an element of a mapping table that corresponds to no node.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Root node of the 'left' tree.
+     */
+    private final ExtNode left;
+
+    /**
+     * Root node of the 'right' tree.
+     */
+    private final ExtNode right;
+
+    /**
+     * Nodes of the 'left' tree indexed by identifiers.
+     */
+    private final ExtNode[] lnodes;
+
+    /**
+     * Nodes of the 'right' tree indexed by identifiers.
+     */
+    private final ExtNode[] rnodes;
+
+    /**
+     * Minimum size of a subtree that is anchored without considering its parent.
+     */
+    private final int size;
+
+    /**
+     * Minimum ratio of mapped descendants at which container nodes are mapped.
+     */
+    private final double dice;
+
+    /**
+     * Left-to-right mapping, identifiers of right nodes indexed by identifiers of left nodes.
+     */
+    private final int[] ltr;
+
+    /**
+     * Right-to-left mapping, identifiers of left nodes indexed by identifiers of right nodes.
+     */
+    private final int[] rtl;
+
+    /**
+     * Set containing inserted nodes.
+     */
+    private final List<ExtInsertion> inserted;
+
+    /**
+     * Replaced nodes, identifiers of right nodes indexed by identifiers of left nodes.
+     */
+    private final int[] replaced;
+
+    /**
+     * Flags of deleted nodes, indexed by identifiers of left nodes.
+     */
+    private final boolean[] deleted;
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param size Minimum size of a subtree that is anchored without considering its parent
+     * @param dice Minimum ratio of mapped descendants at which container nodes are mapped
+     */
+    BottomUpAlgorithm(final ExtNode left, final ExtNode right, final int size,
+        final double dice) {
+        this.left = left;
+        this.right = right;
+        this.lnodes = BottomUpAlgorithm.collectNodes(left);
+        this.rnodes = BottomUpAlgorithm.collectNodes(right);
+        this.size = size;
+        this.dice = dice;
+        this.ltr = BottomUpAlgorithm.createTable(this.lnodes.length);
+        this.rtl = BottomUpAlgorithm.createTable(this.rnodes.length);
+        this.inserted = new ArrayList<>(0);
+        this.replaced = BottomUpAlgorithm.createTable(this.lnodes.length);
+        this.deleted = new boolean[this.lnodes.length];
+    }
+
+    /**
+     * Performs the mapping.
+     */
+    void execute() {
+        this.anchorIdenticalSubtrees();
+        this.mapContainers();
+        if (this.ltr[0] == 0) {
+            this.buildActions(this.left, this.right);
+        } else {
+            this.replaced[0] = 0;
+        }
+    }
+
+    @Override
+    public ExtNode getLeftRoot() {
+        return this.left;
+    }
+
+    @Override
+    public ExtNode getRightRoot() {
+        return this.right;
+    }
+
+    @Override
+    public int[] getLeftToRight() {
+        return this.ltr;
+    }
+
+    @Override
+    public int[] getRightToLeft() {
+        return this.rtl;
+    }
+
+    @Override
+    public List<ExtInsertion> getInserted() {
+        return this.inserted;
+    }
+
+    @Override
+    public int[] getReplaced() {
+        return this.replaced;
+    }
+
+    @Override
+    public boolean[] getDeleted() {
+        return this.deleted;
+    }
+
+    /**
+     * Maps identical subtrees found by structural hash, starting with the largest ones.
+     *  If a subtree occurs exactly once in both trees, the pair is mapped at once.
+     *  Otherwise, after all unique pairs are mapped, the candidate whose parent
+     *  corresponds best to the parent of the right subtree is selected.
+     */
+    private void anchorIdenticalSubtrees() {
+        final Map<Long, List<ExtNode>> lbuckets = this.createBuckets(this.lnodes);
+        final Map<Long, List<ExtNode>> rbuckets = this.createBuckets(this.rnodes);
+        final List<ExtNode> order = new ArrayList<>(0);
+        for (final List<ExtNode> bucket : rbuckets.values()) {
+            if (lbuckets.containsKey(bucket.get(0).getStructuralHash())) {
+                order.addAll(bucket);
+            }
+        }
+        order.sort(
+            Comparator.comparingInt(ExtNode::getSubtreeSize).reversed()
+                .thenComparingInt(ExtNode::getId)
+        );
+        final List<ExtNode> ambiguous = new ArrayList<>(0);
+        for (final ExtNode node : order) {
+            if (this.rtl[node.getId()] != BottomUpAlgorithm.NONE) {
+                continue;
+            }
+            final List<ExtNode> candidates = this.getUnmappedLeftNodes(
+                lbuckets.get(node.getStructuralHash())
+            );
+            if (candidates.size() == 1
+                && this.countUnmappedRightNodes(rbuckets.get(node.getStructuralHash())) == 1) {
+                this.mapIdenticalSubtrees(candidates.get(0), node);
+            } else if (!candidates.isEmpty()) {
+                ambiguous.add(node);
+            }
+        }
+        for (final ExtNode node : ambiguous) {
+            if (this.rtl[node.getId()] == BottomUpAlgorithm.NONE) {
+                final ExtNode best = this.selectBestCandidate(
+                    node,
+                    this.getUnmappedLeftNodes(lbuckets.get(node.getStructuralHash()))
+                );
+                if (best != null) {
+                    this.mapIdenticalSubtrees(best, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an index of subtrees by their structural hashes. Subtrees that are too small
+     *  are not included.
+     * @param nodes Nodes of a tree indexed by identifiers
+     * @return Buckets of nodes with the same structural hash, ordered by identifiers
+     */
+    private Map<Long, List<ExtNode>> createBuckets(final ExtNode[] nodes) {
+        final Map<Long, List<ExtNode>> buckets = new HashMap<>();
+        for (final ExtNode node : nodes) {
+            if (node.getSubtreeSize() >= this.size) {
+                buckets.computeIfAbsent(node.getStructuralHash(), key -> new ArrayList<>(1))
+                    .add(node);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Selects nodes that are not yet mapped from the list of left nodes.
+     * @param nodes List of left nodes
+     * @return List of unmapped nodes
+     */
+    private List<ExtNode> getUnmappedLeftNodes(final List<ExtNode> nodes) {
+        final List<ExtNode> result = new ArrayList<>(nodes.size());
+        for (final ExtNode node : nodes) {
+            if (this.ltr[node.getId()] == BottomUpAlgorithm.NONE) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts nodes that are not yet mapped in the list of right nodes.
+     * @param nodes List of right nodes
+     * @return Number of unmapped nodes
+     */
+    private int countUnmappedRightNodes(final List<ExtNode> nodes) {
+        int count = 0;
+        for (final ExtNode node : nodes) {
+            if (this.rtl[node.getId()] == BottomUpAlgorithm.NONE) {
+                count = count + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Selects one of several identical left subtrees to be mapped to the right subtree.
+     *  The preferred candidate is the one whose parent is mapped to the parent of the right
+     *  subtree, then the one whose parent has the same local hash, then the one whose index
+     *  is the closest.
+     * @param node Root of the right subtree
+     * @param candidates Roots of identical left subtrees
+     * @return Selected candidate or {@code null} if there are no candidates
+     */
+    private ExtNode selectBestCandidate(final ExtNode node, final List<ExtNode> candidates) {
+        ExtNode best = null;
+        long rating = Long.MIN_VALUE;
+        final ExtNode parent = node.getParent();
+        for (final ExtNode candidate : candidates) {
+            final ExtNode other = candidate.getParent();
+            long value = -Math.abs(candidate.getIndex() - node.getIndex());
+            if (parent != null && other != null) {
+                if (this.ltr[other.getId()] == parent.getId()) {
+                    value = value + (1L << 33);
+                }
+                if (other.getLocalHash() == parent.getLocalHash()) {
+                    value = value + (1L << 32);
+                }
+            }
+            if (value > rating) {
+                rating = value;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Maps container nodes bottom-up, that is, in post-order of the left tree.
+     *  A left node is mapped to a right node with the same local hash if enough descendants
+     *  of the first node are mapped to descendants of the second one. The roots of the trees
+     *  are mapped to each other if their local hashes are equal.
+     */
+    private void mapContainers() {
+        final int[] stamps = new int[this.rnodes.length];
+        Arrays.fill(stamps, BottomUpAlgorithm.NONE);
+        this.mapContainers(this.left, stamps);
+        if (this.ltr[0] == BottomUpAlgorithm.NONE && this.rtl[0] == BottomUpAlgorithm.NONE
+            && this.left.getLocalHash() == this.right.getLocalHash()) {
+            this.mapPair(this.left, this.right);
+            this.recover(this.left, this.right);
+        }
+    }
+
+    /**
+     * Maps container nodes of a subtree bottom-up (recursive method).
+     * @param node Root of the left subtree
+     * @param stamps Array that marks right nodes already considered as candidates
+     */
+    private void mapContainers(final ExtNode node, final int[] stamps) {
+        final int count = node.getChildCount();
+        for (int index = 0; index < count; index = index + 1) {
+            this.mapContainers(node.getExtChild(index), stamps);
+        }
+        if (count > 0 && this.ltr[node.getId()] == BottomUpAlgorithm.NONE) {
+            ExtNode best = null;
+            double ratio = this.dice;
+            for (final ExtNode candidate : this.findContainerCandidates(node, stamps)) {
+                final double value = this.calculateDice(node, candidate);
+                if (value >= ratio && (best == null || value > ratio)) {
+                    best = candidate;
+                    ratio = value;
+                }
+            }
+            if (best != null) {
+                this.mapPair(node, best);
+                this.recover(node, best);
+            }
+        }
+    }
+
+    /**
+     * Finds right nodes that could be mapped to the left container node, i.e., unmapped
+     *  ancestors of right nodes mapped to descendants of the left node.
+     * @param node Left node
+     * @param stamps Array that marks right nodes already considered as candidates
+     * @return List of candidates
+     */
+    private List<ExtNode> findContainerCandidates(final ExtNode node, final int[] stamps) {
+        final List<ExtNode> candidates = new ArrayList<>(0);
+        final int first = node.getId();
+        final int last = first + node.getSubtreeSize();
+        final boolean root = node.getParent() == null;
+        for (int id = first + 1; id < last; id = id + 1) {
+            final int partner = this.ltr[id];
+            if (partner == BottomUpAlgorithm.NONE) {
+                continue;
+            }
+            ExtNode ancestor = this.rnodes[partner].getParent();
+            while (ancestor != null && stamps[ancestor.getId()] != first) {
+                stamps[ancestor.getId()] = first;
+                if (this.rtl[ancestor.getId()] == BottomUpAlgorithm.NONE
+                    && ancestor.getLocalHash() == node.getLocalHash()
+                    && (ancestor.getParent() == null) == root) {
+                    candidates.add(ancestor);
+                }
+                ancestor = ancestor.getParent();
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Calculates the dice coefficient of two nodes, that is, the ratio of descendants
+     *  mapped to each other to the total number of descendants.
+     * @param first Left node
+     * @param second Right node
+     * @return Dice coefficient from 0 to 1
+     */
+    private double calculateDice(final ExtNode first, final ExtNode second) {
+        final int lstart = first.getId();
+        final int lend = lstart + first.getSubtreeSize();
+        final int rstart = second.getId();
+        final int rend = rstart + second.getSubtreeSize();
+        int common = 0;
+        for (int id = lstart + 1; id < lend; id = id + 1) {
+            final int partner = this.ltr[id];
+            if (partner > rstart && partner < rend) {
+                common = common + 1;
+            }
+        }
+        return 2.0 * common / (lend - lstart - 1 + rend - rstart - 1);
+    }
+
+    /**
+     * Maps unmapped child nodes of two mapped nodes that have matching local hashes and keep
+     *  their order, and then recursively does the same for their child nodes.
+     * @param first Left node
+     * @param second Right node mapped to the left node
+     */
+    private void recover(final ExtNode first, final ExtNode second) {
+        final List<ExtNode> lchildren = this.getUnmappedChildren(first, this.ltr);
+        final List<ExtNode> rchildren = this.getUnmappedChildren(second, this.rtl);
+        if (lchildren.isEmpty() || rchildren.isEmpty()) {
+            return;
+        }
+        final ChildAligner.Result alignment = new ChildAligner(
+            BottomUpAlgorithm.getLocalHashes(lchildren),
+            BottomUpAlgorithm.getLocalHashes(rchildren)
+        ).align();
+        for (int index = 0; index < alignment.getCount(); index = index + 1) {
+            final ExtNode lchild = lchildren.get(alignment.getLeftIndex(index));
+            final ExtNode rchild = rchildren.get(alignment.getRightIndex(index));
+            if (lchild.getStructuralHash() == rchild.getStructuralHash()) {
+                this.mapIdenticalSubtrees(lchild, rchild);
+            } else {
+                this.mapPair(lchild, rchild);
+                this.recover(lchild, rchild);
+            }
+        }
+    }
+
+    /**
+     * Builds the list of actions for two mapped nodes and, recursively, for their descendants.
+     *  Child nodes mapped to each other that keep their order stay in place. Between them,
+     *  unmapped child nodes of the left node are replaced by unmapped child nodes
+     *  of the right node in turn, and all others are deleted or inserted.
+     * @param first Left node
+     * @param second Right node mapped to the left node
+     */
+    private void buildActions(final ExtNode first, final ExtNode second) {
+        if (first.getStructuralHash() == second.getStructuralHash()
+            && this.isMappedIdentically(first, second)) {
+            return;
+        }
+        final int lcount = first.getChildCount();
+        final int rcount = second.getChildCount();
+        final int[] lkeys = new int[lcount];
+        for (int index = 0; index < lcount; index = index + 1) {
+            final int partner = this.ltr[first.getExtChild(index).getId()];
+            if (partner != BottomUpAlgorithm.NONE
+                && this.rnodes[partner].getParent() == second) {
+                lkeys[index] = partner;
+            } else {
+                lkeys[index] = -1 - index;
+            }
+        }
+        final int[] rkeys = new int[rcount];
+        for (int index = 0; index < rcount; index = index + 1) {
+            final ExtNode child = second.getExtChild(index);
+            final int partner = this.rtl[child.getId()];
+            if (partner != BottomUpAlgorithm.NONE && this.lnodes[partner].getParent() == first) {
+                rkeys[index] = child.getId();
+            } else {
+                rkeys[index] = Integer.MIN_VALUE + index;
+            }
+        }
+        final ChildAligner.Result alignment = new ChildAligner(lkeys, rkeys).align();
+        int lstart = 0;
+        int rstart = 0;
+        for (int index = 0; index <= alignment.getCount(); index = index + 1) {
+            final int lend;
+            final int rend;
+            if (index < alignment.getCount()) {
+                lend = alignment.getLeftIndex(index);
+                rend = alignment.getRightIndex(index);
+            } else {
+                lend = lcount;
+                rend = rcount;
+            }
+            this.processGap(first, second, lstart, lend, rstart, rend);
+            if (index < alignment.getCount()) {
+                this.buildActions(first.getExtChild(lend), second.getExtChild(rend));
+            }
+            lstart = lend + 1;
+            rstart = rend + 1;
+        }
+    }
+
+    /**
+     * Builds the list of actions for child nodes located between two pairs of child nodes
+     *  that stay in place.
+     * @param first Left node
+     * @param second Right node mapped to the left node
+     * @param lstart Index of the first child node of the left node in the gap
+     * @param lend Index after the last child node of the left node in the gap
+     * @param rstart Index of the first child node of the right node in the gap
+     * @param rend Index after the last child node of the right node in the gap
+     */
+    private void processGap(final ExtNode first, final ExtNode second, final int lstart,
+        final int lend, final int rstart, final int rend) {
+        final List<ExtNode> lfree = new ArrayList<>(0);
+        for (int index = lstart; index < lend; index = index + 1) {
+            final ExtNode child = first.getExtChild(index);
+            if (this.ltr[child.getId()] == BottomUpAlgorithm.NONE) {
+                lfree.add(child);
+            } else {
+                this.deleted[child.getId()] = true;
+            }
+        }
+        ExtNode after = null;
+        if (lstart > 0) {
+            after = first.getExtChild(lstart - 1);
+        }
+        int pairs = 0;
+        for (int index = rstart; index < rend; index = index + 1) {
+            final ExtNode child = second.getExtChild(index);
+            if (this.rtl[child.getId()] == BottomUpAlgorithm.NONE && pairs < lfree.size()) {
+                after = lfree.get(pairs);
+                this.replaced[after.getId()] = child.getId();
+                pairs = pairs + 1;
+            } else {
+                this.inserted.add(new ExtInsertion(child, first, after));
+                after = child;
+            }
+        }
+        for (int index = pairs; index < lfree.size(); index = index + 1) {
+            this.deleted[lfree.get(index).getId()] = true;
+        }
+    }
+
+    /**
+     * Checks whether two subtrees are mapped to each other node by node.
+     * @param first Root of the left subtree
+     * @param second Root of the right subtree
+     * @return Checking result
+     */
+    private boolean isMappedIdentically(final ExtNode first, final ExtNode second) {
+        final int lstart = first.getId();
+        final int rstart = second.getId();
+        final int count = first.getSubtreeSize();
+        boolean result = count == second.getSubtreeSize();
+        for (int shift = 0; result && shift < count; shift = shift + 1) {
+            result = this.ltr[lstart + shift] == rstart + shift;
+        }
+        return result;
+    }
+
+    /**
+     * Maps two identical subtrees node by node.
+     * @param first Root of the left subtree
+     * @param second Root of the right subtree
+     */
+    private void mapIdenticalSubtrees(final ExtNode first, final ExtNode second) {
+        final int lstart = first.getId();
+        final int rstart = second.getId();
+        final int count = first.getSubtreeSize();
+        for (int shift = 0; shift < count; shift = shift + 1) {
+            final int lid = lstart + shift;
+            final int rid = rstart + shift;
+            if (this.ltr[lid] == BottomUpAlgorithm.NONE
+                && this.rtl[rid] == BottomUpAlgorithm.NONE) {
+                this.ltr[lid] = rid;
+                this.rtl[rid] = lid;
+            }
+        }
+    }
+
+    /**
+     * Maps two nodes to each other.
+     * @param first Left node
+     * @param second Right node
+     */
+    private void mapPair(final ExtNode first, final ExtNode second) {
+        this.ltr[first.getId()] = second.getId();
+        this.rtl[second.getId()] = first.getId();
+    }
+
+    /**
+     * Returns child nodes that are not yet mapped.
+     * @param node Node
+     * @param table Mapping table for the tree to which the node belongs
+     * @return List of unmapped child nodes
+     */
+    private List<ExtNode> getUnmappedChildren(final ExtNode node, final int[] table) {
+        final int count = node.getChildCount();
+        final List<ExtNode> list = new ArrayList<>(count);
+        for (int index = 0; index < count; index = index + 1) {
+            final ExtNode child = node.getExtChild(index);
+            if (table[child.getId()] == BottomUpAlgorithm.NONE) {
+                list.add(child);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns local hashes of nodes.
+     * @param nodes List of nodes
+     * @return Array of local hashes
+     */
+    private static int[] getLocalHashes(final List<ExtNode> nodes) {
+        final int[] hashes = new int[nodes.size()];
+        for (int index = 0; index < hashes.length; index = index + 1) {
+            hashes[index] = nodes.get(index).getLocalHash();
+        }
+        return hashes;
+    }
+
+    /**
+     * Collects all nodes of a tree into an array indexed by node identifiers.
+     * @param root Root node of the tree
+     * @return Array of nodes
+     */
+    private static ExtNode[] collectNodes(final ExtNode root) {
+        final ExtNode[] array = new ExtNode[root.getSubtreeSize()];
+        final List<ExtNode> stack = new ArrayList<>(0);
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            final ExtNode node = stack.remove(stack.size() - 1);
+            array[node.getId()] = node;
+            for (int index = node.getChildCount() - 1; index >= 0; index = index - 1) {
+                stack.add(node.getExtChild(index));
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Creates a table that does not map any nodes.
+     * @param count Number of nodes
+     * @return Array filled with -1
+     */
+    private static int[] createTable(final int count) {
+        final int[] table = new int[count];
+        Arrays.fill(table, BottomUpAlgorithm.NONE);
+        return table;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
+
+/**
+ * Bottom-up mapper (in the style of GumTree).
+ *  Unlike {@link TopDownMapper}, it anchors identical subtrees all over the trees first,
+ *  so unchanged subtrees are found even if their parents have changed, and then maps
+ *  container nodes whose descendants are mostly mapped to each other.
+ * @since 2.0.0
+ */
+public final class BottomUpMapper implements Mapper {
+    /**
+     * Default minimum size of a subtree that is anchored without considering its parent.
+     */
+    public static final int DEFAULT_MIN_SIZE = 2;
+
+    /**
+     * Default minimum ratio of mapped descendants at which container nodes are mapped.
+     */
+    public static final double DEFAULT_MIN_DICE = 0.5;
+
+    /**
+     * The instance with default parameters.
+     */
+    public static final Mapper INSTANCE = new BottomUpMapper(
+        BottomUpMapper.DEFAULT_MIN_SIZE,
+        BottomUpMapper.DEFAULT_MIN_DICE
+    );
+
+    /**
+     * Minimum size of a subtree that is anchored without considering its parent.
+     */
+    private final int size;
+
+    /**
+     * Minimum ratio of mapped descendants at which container nodes are mapped.
+     */
+    private final double dice;
+
+    /**
+     * Cache of node hashes shared between mappings, or {@code null} if the trees
+     *  are hashed again for each mapping.
+     */
+    private final NodeCache<Long> cache;
+
+    /**
+     * Constructor.
+     * @param size Minimum size (number of nodes) of a subtree that is anchored
+     *  without considering its parent
+     * @param dice Minimum ratio of mapped descendants at which container nodes are mapped,
+     *  from 0 to 1
+     */
+    public BottomUpMapper(final int size, final double dice) {
+        this(size, dice, null);
+    }
+
+    /**
+     * Constructor of the mapper that takes node hashes from a cache, so that a tree
+     *  that is mapped against many other trees is hashed only once. The cache is suitable
+     *  only for trees that never change, see {@link ExtNodeCreator#ExtNodeCreator(NodeCache)}.
+     * @param size Minimum size (number of nodes) of a subtree that is anchored
+     *  without considering its parent
+     * @param dice Minimum ratio of mapped descendants at which container nodes are mapped,
+     *  from 0 to 1
+     * @param cache Cache of node hashes or {@code null} if the trees are hashed again
+     *  for each mapping
+     */
+    public BottomUpMapper(final int size, final double dice, final NodeCache<Long> cache) {
+        if (size < 1 || dice < 0 || dice > 1) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.dice = dice;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mapping map(final Node left, final Node right) {
+        return new TopDownMapping(this.execute(left, right));
+    }
+
+    @Override
+    public void map(final Node left, final Node right, final MappingListener listener) {
+        TopDownMapping.replay(this.execute(left, right), listener);
+    }
+
+    /**
+     * Runs the mapping algorithm.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @return Results of the algorithm
+     */
+    private ExtMapping execute(final Node left, final Node right) {
+        final ExtNodeCreator builder;
+        if (this.cache == null) {
+            builder = new ExtNodeCreator();
+        } else {
+            builder = new ExtNodeCreator(this.cache);
+        }
+        final ExtNode first = builder.create(left);
+        final ExtNode second = builder.create(right);
+        final BottomUpAlgorithm algorithm =
+            new BottomUpAlgorithm(first, second, this.size, this.dice);
+        algorithm.execute();
+        return algorithm;
+    }
+}
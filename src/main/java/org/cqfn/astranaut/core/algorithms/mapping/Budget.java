@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limit on the amount of work and time spent by a mapping algorithm.
+ *  The work is measured in conventional units, roughly one unit per node processed.
+ *  Once the budget is exhausted, it remains exhausted, so that the algorithm switches
+ *  to a fast, approximate mode and stays in it. The budget may be shared by several
+ *  threads that map different subtrees.
+ * @since 2.0.0
+ */
+final class Budget {
+    /**
+     * Budget that is never exhausted.
+     */
+    static final Budget UNLIMITED = new Budget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Flag indicating that the budget has limits.
+     */
+    private final boolean limited;
+
+    /**
+     * Remaining units of work.
+     */
+    private final AtomicLong remaining;
+
+    /**
+     * Time (as returned by {@link System#nanoTime()}) after which the budget is exhausted.
+     */
+    private final long deadline;
+
+    /**
+     * Flag indicating that the budget is exhausted.
+     */
+    private volatile boolean exhausted;
+
+    /**
+     * Constructor.
+     * @param work Number of units of work, {@link Long#MAX_VALUE} if not limited
+     * @param timeout Time, in nanoseconds, that the work may take starting from now,
+     *  {@link Long#MAX_VALUE} if not limited
+     */
+    Budget(final long work, final long timeout) {
+        this.limited = work != Long.MAX_VALUE || timeout != Long.MAX_VALUE;
+        this.remaining = new AtomicLong(work);
+        if (timeout == Long.MAX_VALUE) {
+            this.deadline = Long.MAX_VALUE;
+        } else {
+            this.deadline = System.nanoTime() + timeout;
+        }
+    }
+
+    /**
+     * Spends some units of work.
+     * @param units Number of units
+     * @return Checking result, {@code true} if the budget was not exhausted before
+     *  this work was done
+     */
+    boolean charge(final long units) {
+        boolean result = true;
+        if (this.limited) {
+            if (this.exhausted) {
+                result = false;
+            } else if (this.remaining.addAndGet(-units) < 0
+                || this.deadline != Long.MAX_VALUE && System.nanoTime() - this.deadline > 0) {
+                this.exhausted = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the budget is exhausted.
+     * @return Checking result
+     */
+    boolean isExhausted() {
+        return this.exhausted;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
+
+/**
+ * Top-down mapper with a limit on the amount of work and/or time.
+ *  It works like {@link TopDownMapper} until the limit is reached. After that, the remaining
+ *  nodes are paired in order: identical ones are mapped and the rest are replaced,
+ *  which takes linear time. In this case the mapping is marked as approximate
+ *  (see {@link Mapping#isApproximate()}). This mapper is intended for cases when
+ *  the latency is more important than the quality of the result.
+ * @since 2.0.0
+ */
+public final class BudgetedTopDownMapper implements Mapper {
+    /**
+     * Value of a limit meaning that there is no limit.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Maximum amount of work, in conventional units (roughly, processed nodes).
+     */
+    private final long work;
+
+    /**
+     * Maximum time, in nanoseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Cache of node hashes shared between mappings, or {@code null} if the trees
+     *  are hashed again for each mapping.
+     */
+    private final NodeCache<Long> cache;
+
+    /**
+     * Constructor.
+     * @param work Maximum amount of work, in conventional units (roughly, processed nodes),
+     *  or {@link BudgetedTopDownMapper#UNLIMITED}
+     * @param timeout Maximum time, or {@link BudgetedTopDownMapper#UNLIMITED}
+     * @param unit Time unit of the timeout
+     */
+    public BudgetedTopDownMapper(final long work, final long timeout, final TimeUnit unit) {
+        this(work, timeout, unit, null);
+    }
+
+    /**
+     * Constructor of the mapper that takes node hashes from a cache, so that a tree
+     *  that is mapped against many other trees is hashed only once. The cache is suitable
+     *  only for trees that never change, see {@link ExtNodeCreator#ExtNodeCreator(NodeCache)}.
+     * @param work Maximum amount of work, in conventional units (roughly, processed nodes),
+     *  or {@link BudgetedTopDownMapper#UNLIMITED}
+     * @param timeout Maximum time, or {@link BudgetedTopDownMapper#UNLIMITED}
+     * @param unit Time unit of the timeout
+     * @param cache Cache of node hashes or {@code null} if the trees are hashed again
+     *  for each mapping
+     */
+    public BudgetedTopDownMapper(final long work, final long timeout, final TimeUnit unit,
+        final NodeCache<Long> cache) {
+        if (work <= 0 || timeout <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.work = work;
+        if (timeout == BudgetedTopDownMapper.UNLIMITED) {
+            this.timeout = BudgetedTopDownMapper.UNLIMITED;
+        } else {
+            this.timeout = unit.toNanos(timeout);
+        }
+        this.cache = cache;
+    }
+
+    @Override
+    public Mapping map(final Node left, final Node right) {
+        return new TopDownMapping(this.execute(left, right));
+    }
+
+    @Override
+    public void map(final Node left, final Node right, final MappingListener listener) {
+        TopDownMapping.replay(this.execute(left, right), listener);
+    }
+
+    /**
+     * Runs the mapping algorithm.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @return Results of the algorithm
+     */
+    private ExtMapping execute(final Node left, final Node right) {
+        final Budget budget = new Budget(this.work, this.timeout);
+        final ExtNodeCreator builder;
+        if (this.cache == null) {
+            builder = new ExtNodeCreator();
+        } else {
+            builder = new ExtNodeCreator(this.cache);
+        }
+        final ExtNode first = builder.create(left);
+        final ExtNode second = builder.create(right);
+        final TopDownAlgorithm algorithm = new TopDownAlgorithm(
+            first,
+            second,
+            Integer.MAX_VALUE,
+            true,
+            budget
+        );
+        algorithm.execute();
+        return algorithm;
+    }
+}
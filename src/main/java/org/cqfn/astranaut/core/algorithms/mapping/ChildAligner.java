@@ -0,0 +1,586 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Auxiliary algorithm for top-down mapping.
+ *  Aligns two sequences of child nodes in one pass, that is, finds the largest ordered set
+ *  of pairs of matching nodes. Matching is determined by some criterion, usually hash equality.
+ *  The alignment is performed in the patience style: common prefix and suffix are matched
+ *  first, then nodes whose hashes are unique in both sequences are used as anchors,
+ *  and the gaps between anchors are aligned by the Myers O(ND) algorithm.
+ * @since 2.0.0
+ */
+final class ChildAligner {
+    /**
+     * Converter that takes the absolute hash of a node.
+     */
+    static final Converter ABSOLUTE_HASH = ExtNode::getAbsoluteHash;
+
+    /**
+     * Converter that takes the local hash of a node.
+     */
+    static final Converter LOCAL_HASH = ExtNode::getLocalHash;
+
+    /**
+     * Significant difference between node indices, that is, if the node indices
+     *  differ by more than this number, we consider it to be a lot and look for more variants.
+     */
+    private static final int SIGNIFICANT_DIFF = 3;
+
+    /**
+     * Representing the left side of the unprocessed node section as an array of numbers.
+     */
+    private final int[] left;
+
+    /**
+     * Representing the right side of the unprocessed node section as an array of numbers.
+     */
+    private final int[] right;
+
+    /**
+     * Indices of matched elements from the left array.
+     */
+    private int[] lindices;
+
+    /**
+     * Indices of matched elements from the right array.
+     */
+    private int[] rindices;
+
+    /**
+     * Number of matched pairs found so far.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     * @param section Section containing unprocessed nodes
+     * @param converter Converter than converts nodes to numbers
+     */
+    ChildAligner(final Section section, final Converter converter) {
+        this(
+            section.getLeft().stream().mapToInt(converter::convertNode).toArray(),
+            section.getRight().stream().mapToInt(converter::convertNode).toArray()
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param left Left sequence represented as an array of numbers
+     * @param right Right sequence represented as an array of numbers
+     */
+    ChildAligner(final int[] left, final int[] right) {
+        this.left = left;
+        this.right = right;
+        final int capacity = Math.min(left.length, right.length);
+        this.lindices = new int[capacity];
+        this.rindices = new int[capacity];
+    }
+
+    /**
+     * Aligns sequences. The result contains the maximum number of pairs of matching elements
+     *  such that the pairs do not cross each other. If there are several variants
+     *  of placing a run of matched elements, the variant in which the difference between
+     *  the indices of left and right elements is minimal is preferred.
+     * @return Result containing indices of matched elements
+     */
+    Result align() {
+        this.count = 0;
+        this.alignRange(0, this.left.length, 0, this.right.length);
+        this.slideBlocks();
+        return new Result(
+            Arrays.copyOf(this.lindices, this.count),
+            Arrays.copyOf(this.rindices, this.count)
+        );
+    }
+
+    /**
+     * Aligns ranges of both arrays using unique elements as anchors (recursive method).
+     *  Gaps between anchors are aligned in the same way, since an element that is not unique
+     *  in the whole range may be unique in the gap.
+     * @param lstart Index of the first element of the left range
+     * @param lend Index after the last element of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rend Index after the last element of the right range
+     */
+    private void alignRange(final int lstart, final int lend, final int rstart,
+        final int rend) {
+        int first = lstart;
+        int second = rstart;
+        while (first < lend && second < rend && this.left[first] == this.right[second]) {
+            this.addPair(first, second);
+            first = first + 1;
+            second = second + 1;
+        }
+        final int suffix = this.countCommonSuffix(first, lend, second, rend);
+        final int[][] anchors = this.findAnchors(first, lend - suffix, second, rend - suffix);
+        if (anchors.length == 0) {
+            this.alignByMyers(first, lend - suffix, second, rend - suffix);
+        } else {
+            for (final int[] anchor : anchors) {
+                this.alignRange(first, anchor[0], second, anchor[1]);
+                this.addPair(anchor[0], anchor[1]);
+                first = anchor[0] + 1;
+                second = anchor[1] + 1;
+            }
+            this.alignRange(first, lend - suffix, second, rend - suffix);
+        }
+        for (int index = suffix; index > 0; index = index - 1) {
+            this.addPair(lend - index, rend - index);
+        }
+    }
+
+    /**
+     * Finds anchors, i.e. pairs of elements that occur exactly once in both ranges, and selects
+     *  the longest subset of them that does not cross each other.
+     * @param lstart Index of the first element of the left range
+     * @param lend Index after the last element of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rend Index after the last element of the right range
+     * @return Array of anchors, each anchor is a pair of indices (left, right)
+     */
+    private int[][] findAnchors(final int lstart, final int lend, final int rstart,
+        final int rend) {
+        final Map<Integer, int[]> occurrences = new HashMap<>();
+        for (int index = lstart; index < lend; index = index + 1) {
+            final int[] data = occurrences.computeIfAbsent(this.left[index], key -> new int[4]);
+            data[0] = data[0] + 1;
+            data[2] = index;
+        }
+        for (int index = rstart; index < rend; index = index + 1) {
+            final int[] data = occurrences.get(this.right[index]);
+            if (data != null) {
+                data[1] = data[1] + 1;
+                data[3] = index;
+            }
+        }
+        final List<int[]> candidates = new ArrayList<>(0);
+        for (int index = lstart; index < lend; index = index + 1) {
+            final int[] data = occurrences.get(this.left[index]);
+            if (data[0] == 1 && data[1] == 1) {
+                candidates.add(new int[] {data[2], data[3]});
+            }
+        }
+        return ChildAligner.findIncreasingSubsequence(candidates);
+    }
+
+    /**
+     * Aligns ranges of both arrays using the linear space variant of the Myers
+     *  difference algorithm (recursive method).
+     * @param lstart Index of the first element of the left range
+     * @param lend Index after the last element of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rend Index after the last element of the right range
+     */
+    private void alignByMyers(final int lstart, final int lend, final int rstart,
+        final int rend) {
+        int first = lstart;
+        int second = rstart;
+        while (first < lend && second < rend && this.left[first] == this.right[second]) {
+            this.addPair(first, second);
+            first = first + 1;
+            second = second + 1;
+        }
+        final int suffix = this.countCommonSuffix(first, lend, second, rend);
+        final int lsize = lend - suffix - first;
+        final int rsize = rend - suffix - second;
+        if (lsize > 0 && rsize > 0) {
+            final int[] snake = this.findMiddleSnake(first, lsize, second, rsize);
+            if (snake[4] > 1) {
+                this.alignByMyers(first, first + snake[0], second, second + snake[1]);
+                for (int index = 0; index < snake[2] - snake[0]; index = index + 1) {
+                    this.addPair(first + snake[0] + index, second + snake[1] + index);
+                }
+                this.alignByMyers(first + snake[2], lend - suffix, second + snake[3],
+                    rend - suffix);
+            } else {
+                this.alignSubsequence(first, lend - suffix, second, rend - suffix);
+            }
+        }
+        for (int index = suffix; index > 0; index = index - 1) {
+            this.addPair(lend - index, rend - index);
+        }
+    }
+
+    /**
+     * Finds the middle snake of the optimal edit path, see E. Myers, "An O(ND) Difference
+     *  Algorithm and Its Variations", section 4b.
+     * @param lstart Index of the first element of the left range
+     * @param lsize Size of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rsize Size of the right range
+     * @return Array of five numbers: coordinates of the beginning of the snake (left, right),
+     *  coordinates of the end of the snake (left, right) and the length of the edit script
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private int[] findMiddleSnake(final int lstart, final int lsize, final int rstart,
+        final int rsize) {
+        final int delta = lsize - rsize;
+        final boolean odd = (delta & 1) != 0;
+        final int max = (lsize + rsize + 1) / 2;
+        final int offset = max + 1;
+        final int[] forward = new int[2 * max + 3];
+        final int[] backward = new int[2 * max + 3];
+        int[] snake = null;
+        for (int depth = 0; snake == null && depth <= max; depth = depth + 1) {
+            for (int diag = -depth; snake == null && diag <= depth; diag = diag + 2) {
+                int xpos;
+                if (diag == -depth
+                    || diag != depth && forward[offset + diag - 1] < forward[offset + diag + 1]) {
+                    xpos = forward[offset + diag + 1];
+                } else {
+                    xpos = forward[offset + diag - 1] + 1;
+                }
+                int ypos = xpos - diag;
+                final int xstart = xpos;
+                final int ystart = ypos;
+                while (xpos < lsize && ypos < rsize
+                    && this.left[lstart + xpos] == this.right[rstart + ypos]) {
+                    xpos = xpos + 1;
+                    ypos = ypos + 1;
+                }
+                forward[offset + diag] = xpos;
+                final int other = delta - diag;
+                if (odd && other >= 1 - depth && other <= depth - 1
+                    && xpos + backward[offset + other] >= lsize) {
+                    snake = new int[] {xstart, ystart, xpos, ypos, 2 * depth - 1};
+                }
+            }
+            for (int diag = -depth; snake == null && diag <= depth; diag = diag + 2) {
+                int xpos;
+                if (diag == -depth
+                    || diag != depth
+                    && backward[offset + diag - 1] < backward[offset + diag + 1]) {
+                    xpos = backward[offset + diag + 1];
+                } else {
+                    xpos = backward[offset + diag - 1] + 1;
+                }
+                int ypos = xpos - diag;
+                final int xstart = xpos;
+                final int ystart = ypos;
+                while (xpos < lsize && ypos < rsize
+                    && this.left[lstart + lsize - 1 - xpos]
+                    == this.right[rstart + rsize - 1 - ypos]) {
+                    xpos = xpos + 1;
+                    ypos = ypos + 1;
+                }
+                backward[offset + diag] = xpos;
+                final int other = delta - diag;
+                if (!odd && other >= -depth && other <= depth
+                    && xpos + forward[offset + other] >= lsize) {
+                    snake = new int[] {
+                        lsize - xpos, rsize - ypos, lsize - xstart, rsize - ystart, 2 * depth,
+                    };
+                }
+            }
+        }
+        return snake;
+    }
+
+    /**
+     * Aligns ranges where the shorter one is a subsequence of the longer one
+     *  with at most one exception, i.e., the length of the edit script does not exceed 1.
+     * @param lstart Index of the first element of the left range
+     * @param lend Index after the last element of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rend Index after the last element of the right range
+     */
+    private void alignSubsequence(final int lstart, final int lend, final int rstart,
+        final int rend) {
+        int first = lstart;
+        int second = rstart;
+        while (first < lend && second < rend) {
+            if (this.left[first] == this.right[second]) {
+                this.addPair(first, second);
+                first = first + 1;
+                second = second + 1;
+            } else if (lend - first > rend - second) {
+                first = first + 1;
+            } else {
+                second = second + 1;
+            }
+        }
+    }
+
+    /**
+     * Counts the number of equal elements at the ends of both ranges.
+     * @param lstart Index of the first element of the left range
+     * @param lend Index after the last element of the left range
+     * @param rstart Index of the first element of the right range
+     * @param rend Index after the last element of the right range
+     * @return Length of the common suffix
+     */
+    private int countCommonSuffix(final int lstart, final int lend, final int rstart,
+        final int rend) {
+        int suffix = 0;
+        while (lend - suffix > lstart && rend - suffix > rstart
+            && this.left[lend - suffix - 1] == this.right[rend - suffix - 1]) {
+            suffix = suffix + 1;
+        }
+        return suffix;
+    }
+
+    /**
+     * Shifts runs of matched elements within gaps between neighboring runs if this
+     *  significantly reduces the difference between the indices of the left and right elements.
+     *  The number of matched pairs does not change, only their positions.
+     */
+    private void slideBlocks() {
+        int start = 0;
+        while (start < this.count) {
+            int end = start + 1;
+            while (end < this.count && this.lindices[end] == this.lindices[end - 1] + 1
+                && this.rindices[end] == this.rindices[end - 1] + 1) {
+                end = end + 1;
+            }
+            this.slideBlock(start, end);
+            start = end;
+        }
+    }
+
+    /**
+     * Shifts one run of matched elements, if possible.
+     * @param start Index of the first pair of the run
+     * @param end Index after the last pair of the run
+     */
+    private void slideBlock(final int start, final int end) {
+        final int size = end - start;
+        int lmin = 0;
+        int rmin = 0;
+        if (start > 0) {
+            lmin = this.lindices[start - 1] + 1;
+            rmin = this.rindices[start - 1] + 1;
+        }
+        int lmax = this.left.length - size;
+        int rmax = this.right.length - size;
+        if (end < this.count) {
+            lmax = this.lindices[end] - size;
+            rmax = this.rindices[end] - size;
+        }
+        final int lfirst = this.lindices[start];
+        final int rfirst = this.rindices[start];
+        final int current = Math.abs(lfirst - lmin - rfirst + rmin);
+        if (current > ChildAligner.SIGNIFICANT_DIFF) {
+            final int[] lpositions = ChildAligner.findRun(this.left, lfirst, size, lmin, lmax);
+            final int[] rpositions = ChildAligner.findRun(this.right, lfirst, size, rmin, rmax,
+                this.left);
+            int best = current;
+            int lbest = lfirst;
+            int rbest = rfirst;
+            int lidx = 0;
+            int ridx = 0;
+            while (lidx < lpositions.length && ridx < rpositions.length) {
+                final int diff = lpositions[lidx] - lmin - rpositions[ridx] + rmin;
+                if (Math.abs(diff) < best) {
+                    best = Math.abs(diff);
+                    lbest = lpositions[lidx];
+                    rbest = rpositions[ridx];
+                }
+                if (diff < 0) {
+                    lidx = lidx + 1;
+                } else {
+                    ridx = ridx + 1;
+                }
+            }
+            if (current - best > ChildAligner.SIGNIFICANT_DIFF) {
+                for (int index = 0; index < size; index = index + 1) {
+                    this.lindices[start + index] = lbest + index;
+                    this.rindices[start + index] = rbest + index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a pair of matched elements to the result.
+     * @param first Index of the left element
+     * @param second Index of the right element
+     */
+    private void addPair(final int first, final int second) {
+        this.lindices[this.count] = first;
+        this.rindices[this.count] = second;
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Finds all positions within the range where a sequence of elements from the same array
+     *  occurs.
+     * @param array Array
+     * @param pattern Index of the first element of the sequence
+     * @param size Length of the sequence
+     * @param min Minimum position
+     * @param max Maximum position
+     * @return Ordered array of positions
+     */
+    private static int[] findRun(final int[] array, final int pattern, final int size,
+        final int min, final int max) {
+        return ChildAligner.findRun(array, pattern, size, min, max, array);
+    }
+
+    /**
+     * Finds all positions within the range where a sequence of elements occurs.
+     * @param array Array in which to search
+     * @param pattern Index of the first element of the sequence
+     * @param size Length of the sequence
+     * @param min Minimum position
+     * @param max Maximum position
+     * @param source Array containing the sequence
+     * @return Ordered array of positions
+     */
+    private static int[] findRun(final int[] array, final int pattern, final int size,
+        final int min, final int max, final int[] source) {
+        final int[] positions = new int[Math.max(0, max - min + 1)];
+        int found = 0;
+        for (int position = min; position <= max; position = position + 1) {
+            boolean equals = true;
+            for (int index = 0; equals && index < size; index = index + 1) {
+                equals = array[position + index] == source[pattern + index];
+            }
+            if (equals) {
+                positions[found] = position;
+                found = found + 1;
+            }
+        }
+        return Arrays.copyOf(positions, found);
+    }
+
+    /**
+     * Selects the longest subset of candidates in which the right indices increase
+     *  along with the left indices (patience sorting).
+     * @param candidates Candidates ordered by left index
+     * @return Selected candidates
+     */
+    private static int[][] findIncreasingSubsequence(final List<int[]> candidates) {
+        final int size = candidates.size();
+        final int[] tails = new int[size];
+        final int[] previous = new int[size];
+        int length = 0;
+        for (int index = 0; index < size; index = index + 1) {
+            final int value = candidates.get(index)[1];
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (candidates.get(tails[middle])[1] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low > 0) {
+                previous[index] = tails[low - 1];
+            } else {
+                previous[index] = -1;
+            }
+            tails[low] = index;
+            if (low == length) {
+                length = length + 1;
+            }
+        }
+        final int[][] result = new int[length][];
+        int index = 0;
+        if (length > 0) {
+            index = tails[length - 1];
+        }
+        for (int position = length - 1; position >= 0; position = position - 1) {
+            result[position] = candidates.get(index);
+            index = previous[index];
+        }
+        return result;
+    }
+
+    /**
+     * Converts a node to a number.
+     *  This number will be used when comparing nodes and finding matches.
+     * @since 2.0.0
+     */
+    interface Converter {
+        /**
+         * Converts node to a number.
+         * @param node Node
+         * @return A number
+         */
+        int convertNode(ExtNode node);
+    }
+
+    /**
+     * Alignment result.
+     * @since 2.0.0
+     */
+    static final class Result {
+        /**
+         * Indices of matched elements from the left array, in ascending order.
+         */
+        private final int[] left;
+
+        /**
+         * Indices of matched elements from the right array, in ascending order.
+         */
+        private final int[] right;
+
+        /**
+         * Constructor.
+         * @param left Indices of matched elements from the left array
+         * @param right Indices of matched elements from the right array
+         */
+        private Result(final int[] left, final int[] right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Returns the number of matched pairs.
+         * @return Number of matched pairs
+         */
+        int getCount() {
+            return this.left.length;
+        }
+
+        /**
+         * Returns the index of the left element of the matched pair.
+         * @param index Index of the pair
+         * @return Index of the element from the left array
+         */
+        int getLeftIndex(final int index) {
+            return this.left[index];
+        }
+
+        /**
+         * Returns the index of the right element of the matched pair.
+         * @param index Index of the pair
+         * @return Index of the element from the right array
+         */
+        int getRightIndex(final int index) {
+            return this.right[index];
+        }
+    }
+}
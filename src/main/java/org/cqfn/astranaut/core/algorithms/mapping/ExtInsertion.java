@@ -60,6 +60,30 @@ final class ExtInsertion {
         this.after = after;
     }
 
+    /**
+     * Returns the inserted node.
+     * @return Inserted node
+     */
+    ExtNode getInserted() {
+        return this.inserted;
+    }
+
+    /**
+     * Returns the node into which the node is inserted.
+     * @return Parent node
+     */
+    ExtNode getInto() {
+        return this.into;
+    }
+
+    /**
+     * Returns the node after which the node is inserted.
+     * @return Node after which to insert or {@code null}
+     */
+    ExtNode getAfter() {
+        return this.after;
+    }
+
     /**
      * Converts the descriptor to a 'classic' {@link Insertion}.
      * @return An insertion descriptor that uses non-extended nodes
@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.List;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Result of a mapping algorithm that works with extended nodes. Mapped, replaced and deleted
+ *  nodes are stored in arrays indexed by node identifiers (see {@link ExtNode#getId()}).
+ * @since 2.0.0
+ */
+interface ExtMapping {
+    /**
+     * Returns the root node of the 'left' tree.
+     * @return Root node
+     */
+    ExtNode getLeftRoot();
+
+    /**
+     * Returns the root node of the 'right' tree.
+     * @return Root node
+     */
+    ExtNode getRightRoot();
+
+    /**
+     * Returns left-to-right mapping.
+     * @return Array containing identifiers of nodes from the right tree indexed by identifiers
+     *  of corresponding nodes from the left tree, -1 for nodes that are not mapped
+     */
+    int[] getLeftToRight();
+
+    /**
+     * Returns right-to-left mapping.
+     * @return Array containing identifiers of nodes from the left tree indexed by identifiers
+     *  of corresponding nodes from the right tree, -1 for nodes that are not mapped
+     */
+    int[] getRightToLeft();
+
+    /**
+     * Returns inserted nodes.
+     * @return Ordered list of insertions
+     */
+    List<ExtInsertion> getInserted();
+
+    /**
+     * Returns replaces nodes.
+     * @return Array containing identifiers of nodes after replacement indexed by identifiers
+     *  of nodes before replacement, -1 for nodes that are not replaced
+     */
+    int[] getReplaced();
+
+    /**
+     * Returns deleted nodes.
+     * @return Array of flags indexed by identifiers of nodes from the left tree,
+     *  {@code true} for deleted nodes
+     */
+    boolean[] getDeleted();
+
+    /**
+     * Checks whether the mapping is approximate, that is, the algorithm had to simplify
+     *  the processing of some subtrees, for example because it ran out of time.
+     * @return Checking result, {@code true} if the mapping may be far from optimal
+     */
+    default boolean isApproximate() {
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Verification of subtrees that are considered identical because their hashes are equal.
+ *  The check either compares the wide structural hashes, which is cheap, or, in the deep mode,
+ *  compares the subtrees node by node, which is exact. The verification counts the checks
+ *  and the collisions found, that is, the pairs of different subtrees with the same
+ *  32-bit hash. It can be shared by several mappers, including parallel ones.
+ * @since 2.0.0
+ */
+public final class HashVerification {
+    /**
+     * Flag indicating that subtrees are compared node by node.
+     */
+    private final boolean deep;
+
+    /**
+     * Number of checks.
+     */
+    private final LongAdder checks;
+
+    /**
+     * Number of collisions.
+     */
+    private final LongAdder collisions;
+
+    /**
+     * Constructor.
+     * @param deep Whether to compare subtrees node by node instead of trusting
+     *  the structural hashes
+     */
+    public HashVerification(final boolean deep) {
+        this.deep = deep;
+        this.checks = new LongAdder();
+        this.collisions = new LongAdder();
+    }
+
+    /**
+     * Returns the number of checks performed.
+     * @return Number of checks
+     */
+    public long getNumberOfChecks() {
+        return this.checks.sum();
+    }
+
+    /**
+     * Returns the number of collisions found, that is, the number of pairs of subtrees
+     *  that have the same 32-bit hash, but are not identical.
+     * @return Number of collisions
+     */
+    public long getNumberOfCollisions() {
+        return this.collisions.sum();
+    }
+
+    /**
+     * Checks whether two subtrees that have the same absolute hash are identical.
+     * @param left Root node of the left subtree
+     * @param right Root node of the right subtree
+     * @return Checking result
+     */
+    boolean areIdentical(final ExtNode left, final ExtNode right) {
+        this.checks.increment();
+        boolean result = left.getStructuralHash() == right.getStructuralHash();
+        if (result && this.deep) {
+            result = left.getPrototype().deepCompare(right.getPrototype());
+        }
+        if (!result) {
+            this.collisions.increment();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.utils.Pair;
+
+/**
+ * Set of unprocessed sections with an index that allows finding the section containing a node
+ *  without scanning all sections. Sections cover disjoint intervals of the original lists
+ *  of child nodes, so the section containing a node is the one with the greatest start
+ *  position not exceeding the index of the node.
+ * @since 2.0.0
+ */
+final class IndexedUnprocessed implements SectionSet {
+    /**
+     * First (left) node whose child nodes are mapped.
+     */
+    private final ExtNode left;
+
+    /**
+     * Second (right) node whose child nodes are mapped.
+     */
+    private final ExtNode right;
+
+    /**
+     * Sections of nodes that have not yet been processed, ordered by position.
+     */
+    private final TreeMap<Long, Section> sections;
+
+    /**
+     * Sections that contain child nodes of the left node, indexed by start position.
+     */
+    private final TreeMap<Integer, Section> lindex;
+
+    /**
+     * Sections that contain child nodes of the right node, indexed by start position.
+     */
+    private final TreeMap<Integer, Section> rindex;
+
+    /**
+     * Constructor.
+     * @param left First (left) node
+     * @param right Second (right) node whose child nodes will be mapped with the child
+     */
+    IndexedUnprocessed(final ExtNode left, final ExtNode right) {
+        this.left = left;
+        this.right = right;
+        this.sections = new TreeMap<>();
+        this.lindex = new TreeMap<>();
+        this.rindex = new TreeMap<>();
+        this.add(new Section(left, right));
+    }
+
+    @Override
+    public Section getFirstSection() {
+        final Section section;
+        if (this.sections.isEmpty()) {
+            section = null;
+        } else {
+            section = this.sections.firstEntry().getValue();
+        }
+        return section;
+    }
+
+    @Override
+    public int getNumberOfSections() {
+        return this.sections.size();
+    }
+
+    @Override
+    public void removeNode(final ExtNode node) {
+        final Section found = this.find(node);
+        if (found != null) {
+            this.remove(found);
+            final Section section = found.removeNode(node);
+            if (section != null) {
+                this.add(section);
+            }
+        }
+    }
+
+    @Override
+    public void removeNodes(final ExtNode node, final ExtNode corresponding) {
+        final Section found = this.find(node);
+        if (found != null) {
+            this.remove(found);
+            final Pair<Section, Section> pair = found.removeNodes(node, corresponding);
+            if (pair.getKey() != null) {
+                this.add(pair.getKey());
+            }
+            if (pair.getValue() != null) {
+                this.add(pair.getValue());
+            }
+        }
+    }
+
+    /**
+     * Finds the section containing the node.
+     * @param node Node
+     * @return Section or {@code null} if the node is not contained in any section
+     */
+    private Section find(final ExtNode node) {
+        final TreeMap<Integer, Section> index;
+        if (node.getParent() == this.left) {
+            index = this.lindex;
+        } else if (node.getParent() == this.right) {
+            index = this.rindex;
+        } else {
+            index = null;
+        }
+        Section section = null;
+        if (index != null) {
+            final Map.Entry<Integer, Section> entry = index.floorEntry(node.getIndex());
+            if (entry != null && entry.getValue().hasNode(node)) {
+                section = entry.getValue();
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Adds a section to the set and to the indices.
+     * @param section Section
+     */
+    private void add(final Section section) {
+        this.sections.put(IndexedUnprocessed.getKey(section), section);
+        if (!section.getLeft().isEmpty()) {
+            this.lindex.put(section.getLeftStart(), section);
+        }
+        if (!section.getRight().isEmpty()) {
+            this.rindex.put(section.getRightStart(), section);
+        }
+    }
+
+    /**
+     * Removes a section from the set and from the indices.
+     * @param section Section
+     */
+    private void remove(final Section section) {
+        this.sections.remove(IndexedUnprocessed.getKey(section));
+        if (!section.getLeft().isEmpty()) {
+            this.lindex.remove(section.getLeftStart());
+        }
+        if (!section.getRight().isEmpty()) {
+            this.rindex.remove(section.getRightStart());
+        }
+    }
+
+    /**
+     * Calculates a key that defines the order of sections.
+     * @param section Section
+     * @return Key
+     */
+    private static long getKey(final Section section) {
+        return (long) section.getLeftStart() << Integer.SIZE | section.getRightStart();
+    }
+}
@@ -23,6 +23,9 @@
  */
 package org.cqfn.astranaut.core.algorithms.mapping;
 
+import java.util.Map;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.base.Insertion;
 import org.cqfn.astranaut.core.base.Node;
 
 /**
@@ -37,4 +40,34 @@ public interface Mapper {
      * @return Mapping instance
      */
     Mapping map(Node left, Node right);
+
+    /**
+     * Builds a mapping between two syntax trees and passes the results to the listener
+     *  one by one. Mappers that can do this without creating a {@link Mapping} object
+     *  override this method.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param listener Receiver of the results
+     */
+    default void map(final Node left, final Node right, final MappingListener listener) {
+        final Mapping mapping = this.map(left, right);
+        for (final Node node : new DepthFirstWalker(left).collectAll()) {
+            final Node related = mapping.getRight(node);
+            if (related != null) {
+                listener.nodesMapped(node, related);
+            }
+        }
+        for (final Insertion insertion : mapping.getInserted()) {
+            listener.nodeInserted(insertion);
+        }
+        for (final Map.Entry<Node, Insertion> moved : mapping.getMoved().entrySet()) {
+            listener.nodeMoved(moved.getKey(), moved.getValue());
+        }
+        for (final Map.Entry<Node, Node> replaced : mapping.getReplaced().entrySet()) {
+            listener.nodeReplaced(replaced.getKey(), replaced.getValue());
+        }
+        for (final Node deleted : mapping.getDeleted()) {
+            listener.nodeDeleted(deleted);
+        }
+    }
 }
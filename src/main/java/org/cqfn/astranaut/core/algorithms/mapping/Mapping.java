@@ -23,6 +23,7 @@
  */
 package org.cqfn.astranaut.core.algorithms.mapping;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,6 +59,18 @@ public interface Mapping {
      */
     List<Insertion> getInserted();
 
+    /**
+     * Returns nodes of the 'left' tree that must be moved to other places to get
+     *  the 'right' tree. Moving should be performed after insertion, in the order defined
+     *  in the collection.
+     * @return Ordered mapping, where keys are the moved nodes of the 'left' tree and values
+     *  describe their new places, the node being inserted is the corresponding node
+     *  of the 'right' tree
+     */
+    default Map<Node, Insertion> getMoved() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Returns relationship between the nodes of the 'left' tree that have been replaced
      * by nodes of the 'right' tree.
@@ -73,12 +86,24 @@ public interface Mapping {
      */
     Set<Node> getDeleted();
 
+    /**
+     * Checks whether the mapping is approximate, that is, the mapper had to simplify
+     *  the processing of some subtrees, for example because it ran out of time.
+     *  An approximate mapping is still correct (the actions transform the 'left' tree
+     *  into the 'right' tree), but may contain much more actions than necessary.
+     * @return Checking result, {@code true} if the mapping may be far from optimal
+     */
+    default boolean isApproximate() {
+        return false;
+    }
+
     /**
      * Returns the total number of actions to be done on the 'left' tree to transform it
      *  to a 'right' tree.
      * @return Total number of actions
      */
     default int getNumberOfActions() {
-        return this.getInserted().size() + this.getReplaced().size() + this.getDeleted().size();
+        return this.getInserted().size() + this.getMoved().size() + this.getReplaced().size()
+            + this.getDeleted().size();
     }
 }
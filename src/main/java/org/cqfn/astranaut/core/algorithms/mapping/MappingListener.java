@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Receiver of the results of a mapping, which are passed to it one by one
+ *  without building a {@link Mapping} object.
+ *  Events come in the following order: all pairs of mapped nodes (in any order),
+ *  then insertions, moves, replacements and deletions. Insertions and moves come
+ *  in the order in which they must be performed.
+ * @since 2.0.0
+ */
+public interface MappingListener {
+    /**
+     * Called when a node of the 'left' tree is mapped to a node of the 'right' tree.
+     * @param left Node of the 'left' tree
+     * @param right Corresponding node of the 'right' tree
+     */
+    default void nodesMapped(final Node left, final Node right) {
+    }
+
+    /**
+     * Called when a node must be inserted into the 'left' tree.
+     * @param insertion Full information about the inserted node
+     */
+    void nodeInserted(Insertion insertion);
+
+    /**
+     * Called when a node of the 'left' tree must be moved to another place.
+     * @param node Node of the 'left' tree
+     * @param insertion Full information about the new place of the node, the node being
+     *  inserted is the corresponding node of the 'right' tree
+     */
+    void nodeMoved(Node node, Insertion insertion);
+
+    /**
+     * Called when a node of the 'left' tree must be replaced by a node of the 'right' tree.
+     * @param before Node of the 'left' tree
+     * @param after Node of the 'right' tree
+     */
+    void nodeReplaced(Node before, Node after);
+
+    /**
+     * Called when a node of the 'left' tree must be deleted.
+     * @param node Node of the 'left' tree
+     */
+    void nodeDeleted(Node node);
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.algorithms.TreeIndex;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
+
+/**
+ * Session of mapping a fixed 'left' tree to successive versions of the 'right' tree,
+ *  for example, while the 'right' tree is being edited. Each new version is expected
+ *  to share unchanged subtrees with the previous one (as the same node objects). The session
+ *  keeps the extended 'left' tree and the previous results, and re-maps only the nodes
+ *  on the paths from the root to the changed nodes, while the results of mapping
+ *  the shared subtrees are reused. The first mapping of a session is the same as the one
+ *  built by {@link TopDownMapper}; subsequent ones may differ from it, since the session
+ *  keeps the pairs of subtrees found before.
+ *  This class is not thread-safe.
+ * @since 2.0.0
+ */
+public final class MappingSession {
+    /**
+     * Extended 'left' tree.
+     */
+    private final ExtNode left;
+
+    /**
+     * Nodes of the extended 'left' tree indexed by identifiers.
+     */
+    private final ExtNode[] nodes;
+
+    /**
+     * Hashes of the nodes of the 'right' tree, so that the subtrees shared with
+     *  the previous versions are not hashed again.
+     */
+    private final NodeCache<Long> cache;
+
+    /**
+     * Results of the previous mapping.
+     */
+    private TopDownAlgorithm previous;
+
+    /**
+     * Index of the previous version of the 'right' tree.
+     */
+    private TreeIndex index;
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     */
+    public MappingSession(final Node left) {
+        this.left = new ExtNodeCreator().create(left);
+        this.nodes = PreviousMapping.collectNodes(this.left);
+        this.cache = new NodeCache<>(NodeCache.UNBOUNDED);
+    }
+
+    /**
+     * Maps the 'left' tree to a new version of the 'right' tree.
+     * @param right Root node of the new version of the 'right' tree
+     * @return Mapping
+     */
+    public Mapping map(final Node right) {
+        final TreeIndex current = new TreeIndex(right);
+        final ExtNode second = new ExtNodeCreator(this.cache).create(current);
+        final TopDownAlgorithm algorithm = new TopDownAlgorithm(
+            this.left,
+            second,
+            new PreviousMapping(
+                this.previous,
+                this.index,
+                this.nodes,
+                PreviousMapping.collectNodes(second)
+            )
+        );
+        algorithm.execute();
+        this.previous = algorithm;
+        this.index = current;
+        return new TopDownMapping(algorithm);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Mapper that detects moved subtrees. It runs another mapper and then pairs deleted
+ *  and inserted subtrees that are identical, so that each such pair is described
+ *  as a single move instead of a deletion and an insertion.
+ * @since 2.0.0
+ */
+public final class MoveAwareMapper implements Mapper {
+    /**
+     * The instance that uses the top-down mapper.
+     */
+    public static final Mapper INSTANCE = new MoveAwareMapper(TopDownMapper.INSTANCE);
+
+    /**
+     * Mapper that performs the mapping itself.
+     */
+    private final Mapper base;
+
+    /**
+     * Constructor.
+     * @param base Mapper that performs the mapping itself
+     */
+    public MoveAwareMapper(final Mapper base) {
+        this.base = base;
+    }
+
+    @Override
+    public Mapping map(final Node left, final Node right) {
+        return new MoveAwareMapping(left, this.base.map(left, right));
+    }
+}
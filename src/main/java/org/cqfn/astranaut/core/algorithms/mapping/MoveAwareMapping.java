@@ -0,0 +1,248 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.hash.AbsoluteHash;
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Mapping in which identical deleted and inserted subtrees are paired as moved ones.
+ * @since 2.0.0
+ */
+final class MoveAwareMapping implements Mapping {
+    /**
+     * Original mapping.
+     */
+    private final Mapping base;
+
+    /**
+     * Left-to-right mapping of the nodes of moved subtrees.
+     */
+    private final Map<Node, Node> ltr;
+
+    /**
+     * Right-to-left mapping of the nodes of moved subtrees.
+     */
+    private final Map<Node, Node> rtl;
+
+    /**
+     * List of inserted nodes.
+     */
+    private final List<Insertion> inserted;
+
+    /**
+     * Ordered collection of moved nodes.
+     */
+    private final Map<Node, Insertion> moved;
+
+    /**
+     * Set of deleted nodes.
+     */
+    private final Set<Node> deleted;
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param base Original mapping
+     */
+    MoveAwareMapping(final Node left, final Mapping base) {
+        this.base = base;
+        this.ltr = new HashMap<>();
+        this.rtl = new HashMap<>();
+        this.moved = new LinkedHashMap<>();
+        final AbsoluteHash hashes = new AbsoluteHash();
+        final Map<Integer, List<Node>> buckets = MoveAwareMapping.createBuckets(
+            left,
+            base.getDeleted(),
+            hashes
+        );
+        final Set<Node> remaining = new HashSet<>(base.getDeleted());
+        final Map<Node, Insertion> targets = new IdentityHashMap<>();
+        final List<Insertion> list = new ArrayList<>(base.getInserted().size());
+        for (final Insertion insertion : base.getInserted()) {
+            final Node node = insertion.getNode();
+            final Node source = MoveAwareMapping.findSource(
+                node,
+                base.getLeft(node),
+                buckets.get(hashes.calculate(node)),
+                remaining
+            );
+            if (source == null) {
+                list.add(insertion);
+            } else {
+                remaining.remove(source);
+                this.moved.put(source, insertion);
+                targets.put(node, insertion);
+                this.mapSubtrees(source, node);
+            }
+        }
+        this.inserted = new ArrayList<>(list.size());
+        for (final Insertion insertion : list) {
+            Node after = insertion.getAfter();
+            while (targets.containsKey(after)) {
+                after = targets.get(after).getAfter();
+            }
+            if (after == insertion.getAfter()) {
+                this.inserted.add(insertion);
+            } else {
+                this.inserted.add(new Insertion(insertion.getNode(), insertion.getInto(), after));
+            }
+        }
+        this.deleted = Collections.unmodifiableSet(remaining);
+    }
+
+    @Override
+    public Node getRight(final Node node) {
+        Node result = this.ltr.get(node);
+        if (result == null) {
+            result = this.base.getRight(node);
+        }
+        return result;
+    }
+
+    @Override
+    public Node getLeft(final Node node) {
+        Node result = this.rtl.get(node);
+        if (result == null) {
+            result = this.base.getLeft(node);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Insertion> getInserted() {
+        return Collections.unmodifiableList(this.inserted);
+    }
+
+    @Override
+    public Map<Node, Insertion> getMoved() {
+        return Collections.unmodifiableMap(this.moved);
+    }
+
+    @Override
+    public Map<Node, Node> getReplaced() {
+        return this.base.getReplaced();
+    }
+
+    @Override
+    public Set<Node> getDeleted() {
+        return this.deleted;
+    }
+
+    @Override
+    public boolean isApproximate() {
+        return this.base.isApproximate();
+    }
+
+    /**
+     * Maps the nodes of two identical subtrees to each other.
+     * @param first Root of the left subtree
+     * @param second Root of the right subtree
+     */
+    private void mapSubtrees(final Node first, final Node second) {
+        Node[] lefts = new Node[16];
+        Node[] rights = new Node[16];
+        lefts[0] = first;
+        rights[0] = second;
+        int pending = 1;
+        while (pending > 0) {
+            pending = pending - 1;
+            final Node left = lefts[pending];
+            final Node right = rights[pending];
+            this.ltr.put(left, right);
+            this.rtl.put(right, left);
+            final int count = left.getChildCount();
+            if (pending + count > lefts.length) {
+                final int capacity = Math.max(lefts.length * 2, pending + count);
+                lefts = Arrays.copyOf(lefts, capacity);
+                rights = Arrays.copyOf(rights, capacity);
+            }
+            for (int index = count - 1; index >= 0; index = index - 1) {
+                lefts[pending] = left.getChild(index);
+                rights[pending] = right.getChild(index);
+                pending = pending + 1;
+            }
+        }
+    }
+
+    /**
+     * Creates an index of deleted subtrees by their absolute hashes.
+     * @param root Root node of the 'left' tree
+     * @param deleted Set of deleted nodes
+     * @param hashes Calculator of absolute hashes
+     * @return Buckets of deleted nodes with the same absolute hash, in the order
+     *  of the depth-first traversal
+     */
+    private static Map<Integer, List<Node>> createBuckets(final Node root,
+        final Set<Node> deleted, final AbsoluteHash hashes) {
+        final Map<Integer, List<Node>> buckets = new HashMap<>();
+        if (!deleted.isEmpty()) {
+            for (final Node node : new DepthFirstWalker(root).collectAll()) {
+                if (deleted.contains(node)) {
+                    buckets.computeIfAbsent(hashes.calculate(node), key -> new LinkedList<>())
+                        .add(node);
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Finds a deleted subtree identical to the inserted one. The node to which the original
+     *  mapping maps the inserted node is preferred.
+     * @param node Inserted node
+     * @param partner Node to which the original mapping maps the inserted node
+     * @param bucket Deleted nodes with the same absolute hash as the inserted one
+     * @param remaining Deleted nodes that are not yet paired
+     * @return Deleted node or {@code null} if not found
+     */
+    private static Node findSource(final Node node, final Node partner,
+        final List<Node> bucket, final Set<Node> remaining) {
+        Node source = null;
+        if (partner != null && remaining.contains(partner) && partner.deepCompare(node)) {
+            source = partner;
+        } else if (bucket != null) {
+            for (final Node candidate : bucket) {
+                if (remaining.contains(candidate) && candidate.deepCompare(node)) {
+                    source = candidate;
+                    break;
+                }
+            }
+        }
+        return source;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Unmodifiable list of consecutive child nodes of a node, i.e., an interval over the array
+ *  of child nodes, possibly with gaps left by removed nodes. Since the index of each extended
+ *  node in the list of children of its parent is known, searching for a node and taking
+ *  a sublist do not depend on the length of the interval, only on the number of gaps.
+ * @since 2.0.0
+ */
+final class NodeInterval extends AbstractList<ExtNode> implements RandomAccess {
+    /**
+     * Empty array of gaps.
+     */
+    private static final int[] NO_GAPS = new int[0];
+
+    /**
+     * Array containing all child nodes of a node.
+     */
+    private final ExtNode[] nodes;
+
+    /**
+     * Index of the first element of the interval.
+     */
+    private final int start;
+
+    /**
+     * Index after the last element of the interval.
+     */
+    private final int end;
+
+    /**
+     * Sorted indices of the nodes excluded from the interval.
+     */
+    private final int[] gaps;
+
+    /**
+     * Constructor that creates an interval containing all child nodes of the node.
+     * @param parent Node
+     */
+    NodeInterval(final ExtNode parent) {
+        this(NodeInterval.createArray(parent), 0, parent.getChildCount(), NodeInterval.NO_GAPS);
+    }
+
+    /**
+     * Constructor.
+     * @param nodes Array containing all child nodes of a node
+     * @param start Index of the first element of the interval
+     * @param end Index after the last element of the interval
+     * @param gaps Sorted indices of the nodes excluded from the interval
+     */
+    private NodeInterval(final ExtNode[] nodes, final int start, final int end,
+        final int[] gaps) {
+        this.nodes = nodes;
+        this.start = start;
+        this.end = end;
+        this.gaps = gaps;
+    }
+
+    @Override
+    public ExtNode get(final int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.nodes[this.getPosition(index)];
+    }
+
+    @Override
+    public int size() {
+        return this.end - this.start - this.gaps.length;
+    }
+
+    @Override
+    public int indexOf(final Object obj) {
+        int result = -1;
+        if (obj instanceof ExtNode) {
+            final int index = ((ExtNode) obj).getIndex();
+            if (index >= this.start && index < this.end && this.nodes[index] == obj) {
+                final int gap = Arrays.binarySearch(this.gaps, index);
+                if (gap < 0) {
+                    result = index - this.start + gap + 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int lastIndexOf(final Object obj) {
+        return this.indexOf(obj);
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+        return this.indexOf(obj) >= 0;
+    }
+
+    @Override
+    public NodeInterval subList(final int from, final int till) {
+        if (from < 0 || till > this.size() || from > till) {
+            throw new IndexOutOfBoundsException();
+        }
+        final NodeInterval result;
+        if (from == till) {
+            result = new NodeInterval(this.nodes, this.start, this.start, NodeInterval.NO_GAPS);
+        } else {
+            final int first = this.getPosition(from);
+            final int last = this.getPosition(till - 1) + 1;
+            result = new NodeInterval(
+                this.nodes,
+                first,
+                last,
+                NodeInterval.selectGaps(this.gaps, first, last)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Creates an interval without one of the nodes. The nodes are not copied, the removed
+     *  node is remembered as a gap.
+     * @param index Index of the node to be removed
+     * @return A new interval
+     */
+    NodeInterval without(final int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int position = this.getPosition(index);
+        final int count = this.gaps.length;
+        final int[] array = new int[count + 1];
+        final int point = NodeInterval.countGapsBefore(this.gaps, position);
+        System.arraycopy(this.gaps, 0, array, 0, point);
+        array[point] = position;
+        System.arraycopy(this.gaps, point, array, point + 1, count - point);
+        return new NodeInterval(this.nodes, this.start, this.end, array);
+    }
+
+    /**
+     * Calculates the position of an element in the array of child nodes.
+     * @param index Index of the element in the interval
+     * @return Position of the element in the array
+     */
+    private int getPosition(final int index) {
+        int position = this.start + index;
+        for (final int gap : this.gaps) {
+            if (gap > position) {
+                break;
+            }
+            position = position + 1;
+        }
+        return position;
+    }
+
+    /**
+     * Selects the gaps that fall within a range of positions.
+     * @param gaps Sorted positions of gaps
+     * @param first First position of the range
+     * @param last Position after the last position of the range
+     * @return Sorted positions of gaps within the range
+     */
+    private static int[] selectGaps(final int[] gaps, final int first, final int last) {
+        final int[] result;
+        if (gaps.length == 0) {
+            result = NodeInterval.NO_GAPS;
+        } else {
+            result = Arrays.copyOfRange(
+                gaps,
+                NodeInterval.countGapsBefore(gaps, first),
+                NodeInterval.countGapsBefore(gaps, last)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Counts the gaps located before a position.
+     * @param gaps Sorted positions of gaps
+     * @param position Position
+     * @return Number of gaps
+     */
+    private static int countGapsBefore(final int[] gaps, final int position) {
+        int result = Arrays.binarySearch(gaps, position);
+        if (result < 0) {
+            result = -result - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Creates an array of the child nodes of the node.
+     * @param node Node
+     * @return Array of child nodes
+     */
+    private static ExtNode[] createArray(final ExtNode node) {
+        final int count = node.getChildCount();
+        final ExtNode[] array = new ExtNode[count];
+        for (int index = 0; index < count; index = index + 1) {
+            array[index] = node.getExtChild(index);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Top-down mapper that maps independent subtrees in parallel.
+ *  Once two child nodes have been paired, their subtrees are mapped independently of each other,
+ *  so the mapping of large pairs of subtrees is forked into a {@link ForkJoinPool}.
+ *  For the same input, the result is the same as the result of {@link TopDownMapper}.
+ * @since 2.0.0
+ */
+public final class ParallelTopDownMapper implements Mapper {
+    /**
+     * Default minimum total size of a pair of subtrees that is mapped as a separate task.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * The instance that uses the common pool and the default threshold.
+     */
+    public static final Mapper INSTANCE = new ParallelTopDownMapper(
+        ForkJoinPool.commonPool(),
+        ParallelTopDownMapper.DEFAULT_THRESHOLD
+    );
+
+    /**
+     * Pool in which the tasks are executed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Minimum total size of a pair of subtrees that is mapped as a separate task.
+     */
+    private final int threshold;
+
+    /**
+     * Constructor.
+     * @param pool Pool in which the tasks are executed
+     * @param threshold Minimum total size (number of nodes) of a pair of subtrees
+     *  that is mapped as a separate task
+     */
+    public ParallelTopDownMapper(final ForkJoinPool pool, final int threshold) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Mapping map(final Node left, final Node right) {
+        return new TopDownMapping(this.execute(left, right));
+    }
+
+    @Override
+    public void map(final Node left, final Node right, final MappingListener listener) {
+        TopDownMapping.replay(this.execute(left, right), listener);
+    }
+
+    /**
+     * Runs the mapping algorithm.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @return Results of the algorithm
+     */
+    private ExtMapping execute(final Node left, final Node right) {
+        final ExtNodeCreator builder = new ExtNodeCreator(this.pool, this.threshold);
+        return this.pool.invoke(
+            ForkJoinTask.adapt(
+                () -> {
+                    final ForkJoinTask<ExtNode> task =
+                        ForkJoinTask.adapt(() -> builder.create(left)).fork();
+                    final ExtNode second = builder.create(right);
+                    final TopDownAlgorithm algorithm =
+                        new TopDownAlgorithm(task.join(), second, this.threshold);
+                    algorithm.execute();
+                    algorithm.joinSubtasks();
+                    return algorithm;
+                }
+            )
+        );
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.cqfn.astranaut.core.algorithms.TreeIndex;
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Results of the previous mapping of the same 'left' tree to an earlier version
+ *  of the 'right' tree. The new version of the 'right' tree shares unchanged subtrees
+ *  with the earlier one, so the results of mapping such subtrees can be reused.
+ * @since 2.0.0
+ */
+final class PreviousMapping {
+    /**
+     * Previous results, or {@code null} if there is no previous mapping.
+     */
+    private final TopDownAlgorithm result;
+
+    /**
+     * Index of the earlier version of the 'right' tree, which provides identifiers
+     *  of its nodes, or {@code null} if there is no previous mapping.
+     */
+    private final TreeIndex earlier;
+
+    /**
+     * Nodes of the 'left' tree indexed by identifiers.
+     */
+    private final ExtNode[] left;
+
+    /**
+     * Nodes of the new version of the 'right' tree indexed by identifiers.
+     */
+    private final ExtNode[] right;
+
+    /**
+     * Constructor.
+     * @param result Previous results, or {@code null} if there is no previous mapping
+     * @param earlier Index of the earlier version of the 'right' tree, or {@code null}
+     *  if there is no previous mapping
+     * @param left Nodes of the 'left' tree indexed by identifiers
+     * @param right Nodes of the new version of the 'right' tree indexed by identifiers
+     */
+    PreviousMapping(final TopDownAlgorithm result, final TreeIndex earlier,
+        final ExtNode[] left, final ExtNode[] right) {
+        this.result = result;
+        this.earlier = earlier;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Returns the previous results.
+     * @return Previous results, or {@code null} if there is no previous mapping
+     */
+    TopDownAlgorithm getResult() {
+        return this.result;
+    }
+
+    /**
+     * Returns the identifier that a node of the new version of the 'right' tree had
+     *  in the earlier version.
+     * @param node Node of the new version of the 'right' tree
+     * @return Identifier of the node in the earlier version, or -1 if the node is new
+     */
+    int getPreviousIdentifier(final ExtNode node) {
+        final int id;
+        if (this.earlier == null) {
+            id = -1;
+        } else {
+            id = this.earlier.getPreorderRank(node.getPrototype());
+        }
+        return id;
+    }
+
+    /**
+     * Returns a node of the 'left' tree by its identifier.
+     * @param id Identifier
+     * @return Node of the 'left' tree
+     */
+    ExtNode getLeftNode(final int id) {
+        return this.left[id];
+    }
+
+    /**
+     * Returns a node of the new version of the 'right' tree by its identifier.
+     * @param id Identifier
+     * @return Node of the 'right' tree
+     */
+    ExtNode getRightNode(final int id) {
+        return this.right[id];
+    }
+
+    /**
+     * Checks whether an extended node belongs to the 'left' tree.
+     * @param node Extended node
+     * @return Checking result
+     */
+    boolean isLeftNode(final ExtNode node) {
+        final int id = node.getId();
+        return id < this.left.length && this.left[id] == node;
+    }
+
+    /**
+     * Collects all nodes of a tree into an array indexed by node identifiers.
+     *  The nodes are visited using an explicit stack, so the depth of the tree
+     *  is not limited by the call stack.
+     * @param root Root node of the tree
+     * @return Array of nodes
+     */
+    static ExtNode[] collectNodes(final ExtNode root) {
+        final ExtNode[] nodes = new ExtNode[root.getSubtreeSize()];
+        final Deque<ExtNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final ExtNode node = stack.pop();
+            nodes[node.getId()] = node;
+            final int count = node.getChildCount();
+            for (int index = 0; index < count; index = index + 1) {
+                stack.push(node.getExtChild(index));
+            }
+        }
+        return nodes;
+    }
+}
@@ -23,7 +23,6 @@
  */
 package org.cqfn.astranaut.core.algorithms.mapping;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.cqfn.astranaut.core.base.ExtNode;
@@ -61,6 +60,18 @@ final class Section {
      */
     private final List<ExtNode> right;
 
+    /**
+     * Position of the left subset in the list of child nodes of the first (left) node.
+     *  Sections split from the same section cover disjoint intervals of positions,
+     *  and all nodes of the left subset are located at this position or after it.
+     */
+    private final int lstart;
+
+    /**
+     * Position of the right subset in the list of child nodes of the second (right) node.
+     */
+    private final int rstart;
+
     /**
      * Various flags that help optimize the algorithm.
      */
@@ -71,11 +82,16 @@ final class Section {
      * @param previous Node before the first element of the first (left) subset
      * @param left Subset of the child nodes of the first (left) node
      * @param right Subset of the child nodes of the second (right) node.
+     * @param lstart Position of the left subset
+     * @param rstart Position of the right subset
      */
-    Section(final ExtNode previous, final List<ExtNode> left, final List<ExtNode> right) {
+    private Section(final ExtNode previous, final List<ExtNode> left, final List<ExtNode> right,
+        final int lstart, final int rstart) {
         this.previous = previous;
         this.left = left;
         this.right = right;
+        this.lstart = lstart;
+        this.rstart = rstart;
     }
 
     /**
@@ -86,7 +102,7 @@ final class Section {
      *  nodes of the first node.
      */
     Section(final ExtNode left, final ExtNode right) {
-        this(null, Section.createChildrenList(left), Section.createChildrenList(right));
+        this(null, new NodeInterval(left), new NodeInterval(right), 0, 0);
     }
 
     /**
@@ -113,6 +129,24 @@ final class Section {
         return this.right;
     }
 
+    /**
+     * Returns the position of the left subset in the list of child nodes
+     *  of the first (left) node.
+     * @return Position, all nodes of the left subset have the same or greater indices
+     */
+    int getLeftStart() {
+        return this.lstart;
+    }
+
+    /**
+     * Returns the position of the right subset in the list of child nodes
+     *  of the second (right) node.
+     * @return Position, all nodes of the right subset have the same or greater indices
+     */
+    int getRightStart() {
+        return this.rstart;
+    }
+
     /**
      * Checks if the section contains specific node.
      * @param node Node
@@ -173,14 +207,26 @@ final class Section {
         if (xleft.getKey().isEmpty() && xright.getKey().isEmpty()) {
             first = null;
         } else {
-            first = new Section(this.previous, xleft.getKey(), xright.getKey());
+            first = new Section(
+                this.previous,
+                xleft.getKey(),
+                xright.getKey(),
+                this.lstart,
+                this.rstart
+            );
             first.flags = this.flags;
         }
         final Section second;
         if (xleft.getValue().isEmpty() && xright.getValue().isEmpty()) {
             second = null;
         } else {
-            second = new Section(node, xleft.getValue(), xright.getValue());
+            second = new Section(
+                node,
+                xleft.getValue(),
+                xright.getValue(),
+                Section.getPositionAfter(this.left, node, this.lstart),
+                Section.getPositionAfter(this.right, corresponding, this.rstart)
+            );
             second.flags = this.flags;
         }
         return new Pair<>(first, second);
@@ -216,23 +262,34 @@ final class Section {
                 result = null;
                 break;
             }
+            final ExtNode removed = this.left.get(index);
             if (size == 1) {
-                result = new Section(this.left.get(0), Collections.emptyList(), this.right);
+                result = new Section(
+                    removed,
+                    Collections.emptyList(),
+                    this.right,
+                    removed.getIndex() + 1,
+                    this.rstart
+                );
                 break;
             }
-            final List<ExtNode> list = new ArrayList<>(size - 1);
-            for (int elem = 0; elem < size; elem = elem + 1) {
-                if (elem != index) {
-                    list.add(this.left.get(elem));
-                }
-            }
-            final ExtNode before;
-            if (index > 0) {
-                before = this.previous;
-            } else {
-                before = this.left.get(0);
+            if (index == 0) {
+                result = new Section(
+                    removed,
+                    this.left.subList(1, size),
+                    this.right,
+                    removed.getIndex() + 1,
+                    this.rstart
+                );
+                break;
             }
-            result = new Section(before, Collections.unmodifiableList(list), this.right);
+            result = new Section(
+                this.previous,
+                Section.removeElement(this.left, index),
+                this.right,
+                this.lstart,
+                this.rstart
+            );
         } while (false);
         if (result != null) {
             result.flags = this.flags;
@@ -253,17 +310,19 @@ final class Section {
                 result = null;
                 break;
             }
-            if (size == 1) {
-                result = new Section(this.previous, this.left, Collections.emptyList());
-                break;
-            }
-            final List<ExtNode> list = new ArrayList<>(size - 1);
-            for (int elem = 0; elem < size; elem = elem + 1) {
-                if (elem != index) {
-                    list.add(this.right.get(elem));
-                }
+            final int start;
+            if (index == 0) {
+                start = this.right.get(0).getIndex() + 1;
+            } else {
+                start = this.rstart;
             }
-            result = new Section(this.previous, this.left, Collections.unmodifiableList(list));
+            result = new Section(
+                this.previous,
+                this.left,
+                Section.removeElement(this.right, index),
+                this.lstart,
+                start
+            );
         } while (false);
         if (result != null) {
             result.flags = this.flags;
@@ -272,17 +331,44 @@ final class Section {
     }
 
     /**
-     * Creates a list of the child nodes of the node.
-     * @param node Node
-     * @return Unmodifiable list of child nodes
+     * Creates a list of nodes without the specified element. The list is not copied:
+     *  removing the first or the last element narrows the interval of nodes, removing
+     *  an element from the middle leaves a gap in it.
+     * @param list List of nodes
+     * @param index Index of the element to be removed
+     * @return Unmodifiable list of nodes
+     */
+    private static List<ExtNode> removeElement(final List<ExtNode> list, final int index) {
+        final int size = list.size();
+        final List<ExtNode> result;
+        if (size == 1) {
+            result = Collections.emptyList();
+        } else if (index == 0) {
+            result = list.subList(1, size);
+        } else if (index == size - 1) {
+            result = list.subList(0, index);
+        } else {
+            result = ((NodeInterval) list).without(index);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the position that follows the delimiter node in the list of child nodes.
+     * @param list Subset of child nodes
+     * @param node Delimiter node
+     * @param start Position of the subset
+     * @return Position of the subset that remains after the delimiter node
      */
-    private static List<ExtNode> createChildrenList(final ExtNode node) {
-        final int count = node.getChildCount();
-        final List<ExtNode> list = new ArrayList<>(count);
-        for (int index = 0; index < count; index = index + 1) {
-            list.add(node.getExtChild(index));
+    private static int getPositionAfter(final List<ExtNode> list, final ExtNode node,
+        final int start) {
+        final int position;
+        if (list.contains(node)) {
+            position = node.getIndex() + 1;
+        } else {
+            position = start;
         }
-        return Collections.unmodifiableList(list);
+        return position;
     }
 
     /**
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.base.ExtNode;
+
+/**
+ * Set of sections, i.e, subsets of child nodes of one node and corresponding but unmapped
+ *  subsets of child nodes of another node, that have not yet been processed by the mapping
+ *  algorithm. Sections are ordered by the position of their nodes.
+ * @since 2.0.0
+ */
+interface SectionSet {
+    /**
+     * Returns the first unprocessed section of nodes.
+     * @return Object containing unprocessed nodes or {@code null} if no more sections
+     */
+    Section getFirstSection();
+
+    /**
+     * Returns the number of unprocessed sections.
+     * @return Number of unprocessed sections
+     */
+    int getNumberOfSections();
+
+    /**
+     * Removes a node from the set of unprocessed nodes as mapped.
+     *  This can change the number of unprocessed sections.
+     * @param node The node to be deleted
+     */
+    void removeNode(ExtNode node);
+
+    /**
+     * Removes a node pair from the set of unprocessed nodes as mapped.
+     *  The remaining nodes are redistributed into sections
+     *  (see {@link Section#removeNodes(ExtNode, ExtNode)} for details.
+     * @param node The child node of the left node to be deleted
+     * @param corresponding The child node of the right node to be deleted,
+     *  corresponding to the left node
+     */
+    void removeNodes(ExtNode node, ExtNode corresponding);
+}
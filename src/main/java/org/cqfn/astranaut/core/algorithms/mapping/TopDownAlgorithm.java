@@ -23,32 +23,57 @@
  */
 package org.cqfn.astranaut.core.algorithms.mapping;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.RecursiveAction;
 import org.cqfn.astranaut.core.base.ExtNode;
 import org.cqfn.astranaut.core.utils.Pair;
 
 /**
  * Top-down mapping algorithm.
  *  Compares root nodes first and then children in depth.
+ *  The results are stored in arrays indexed by node identifiers (see {@link ExtNode#getId()}),
+ *  and converted to collections of nodes only when the mapping is complete.
+ *  The trees are descended without recursion: pairs of nodes whose children are being mapped
+ *  are kept in a stack of frames, so the depth of the trees is not limited by the call stack.
  * @since 1.1.0
  */
 @SuppressWarnings({"PMD.TooManyMethods", "PMD.GodClass"})
-final class TopDownAlgorithm {
+final class TopDownAlgorithm implements ExtMapping {
     /**
-     * Left-to-right mapping.
+     * Weight of a similarity score unit when selecting pairs of similar nodes. It exceeds
+     *  any possible number of pairs, so the total score is maximized first.
      */
-    private final Map<ExtNode, ExtNode> ltr;
+    private static final long SCORE_WEIGHT = 1L << 32;
 
     /**
-     * Right-to-left mapping.
+     * Value of an element of a mapping table that corresponds to no node.
      */
-    private final Map<ExtNode, ExtNode> rtl;
+    private static final int NONE = -1;
+
+    /**
+     * Root node of the 'left' tree.
+     */
+    private final ExtNode left;
+
+    /**
+     * Root node of the 'right' tree.
+     */
+    private final ExtNode right;
+
+    /**
+     * Left-to-right mapping, identifiers of right nodes indexed by identifiers of left nodes.
+     */
+    private final int[] ltr;
+
+    /**
+     * Right-to-left mapping, identifiers of left nodes indexed by identifiers of right nodes.
+     */
+    private final int[] rtl;
 
     /**
      * The number of pairs of identical nodes from the left and right trees.
@@ -61,82 +86,305 @@ final class TopDownAlgorithm {
     private final List<ExtInsertion> inserted;
 
     /**
-     * Map containing replaces nodes.
+     * Replaced nodes, identifiers of right nodes indexed by identifiers of left nodes.
+     */
+    private final int[] replaced;
+
+    /**
+     * Flags of deleted nodes, indexed by identifiers of left nodes.
+     */
+    private final boolean[] deleted;
+
+    /**
+     * Minimum total size of a pair of subtrees whose mapping is performed as a separate
+     *  fork/join task, or {@link Integer#MAX_VALUE} if the algorithm is sequential.
+     */
+    private final int threshold;
+
+    /**
+     * Subtasks forked by this instance, in the order in which they were forked.
+     */
+    private final List<Subtask> subtasks;
+
+    /**
+     * Flag indicating that unprocessed sections are stored in an indexed set
+     *  (see {@link IndexedUnprocessed}) rather than in a linear list.
+     */
+    private final boolean indexed;
+
+    /**
+     * Limit on the amount of work, after which the algorithm switches to the approximate mode.
+     */
+    private final Budget budget;
+
+    /**
+     * Results of the previous mapping of the same 'left' tree that can be reused,
+     *  or {@code null} if the mapping is performed from scratch.
+     */
+    private final PreviousMapping previous;
+
+    /**
+     * Positions in the list of insertions where the insertions found while mapping
+     *  the children of each left node begin and end (two elements per node, indexed by
+     *  identifiers of left nodes), or {@code null} if they are not tracked. This allows
+     *  the next mapping to reuse the insertions made inside a pair of subtrees.
+     */
+    private final int[] ranges;
+
+    /**
+     * Verification of identical subtrees found by hash, or {@code null} if subtrees
+     *  are considered identical if their structural hashes are equal.
+     */
+    private final HashVerification verification;
+
+    /**
+     * Pairs of nodes whose children are being mapped, the innermost pair is on top.
      */
-    private final Map<ExtNode, ExtNode> replaced;
+    private final Deque<Frame> frames;
 
     /**
-     * Set of deleted nodes.
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
      */
-    private final Set<ExtNode> deleted;
+    TopDownAlgorithm(final ExtNode left, final ExtNode right) {
+        this(left, right, Integer.MAX_VALUE);
+    }
 
     /**
      * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param threshold Minimum total size of a pair of subtrees whose mapping is performed
+     *  as a separate fork/join task
      */
-    TopDownAlgorithm() {
-        this.ltr = new HashMap<>();
-        this.rtl = new HashMap<>();
-        this.identical = 0;
-        this.inserted = new ArrayList<>(0);
-        this.replaced = new HashMap<>();
-        this.deleted = new HashSet<>();
+    TopDownAlgorithm(final ExtNode left, final ExtNode right, final int threshold) {
+        this(left, right, threshold, true);
     }
 
     /**
-     * Performs the mapping.
+     * Constructor.
      * @param left Root node of the 'left' tree
      * @param right Root node of the 'right' tree
+     * @param threshold Minimum total size of a pair of subtrees whose mapping is performed
+     *  as a separate fork/join task
+     * @param indexed Whether to store unprocessed sections in an indexed set
      */
-    void execute(final ExtNode left, final ExtNode right) {
-        final boolean result = this.mapSubtrees(left, right);
-        if (!result) {
-            this.replaced.put(left, right);
-            this.skipLeftSubtree(left);
-            this.skipRightSubtree(right);
+    TopDownAlgorithm(final ExtNode left, final ExtNode right, final int threshold,
+        final boolean indexed) {
+        this(left, right, threshold, indexed, Budget.UNLIMITED);
+    }
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param threshold Minimum total size of a pair of subtrees whose mapping is performed
+     *  as a separate fork/join task
+     * @param indexed Whether to store unprocessed sections in an indexed set
+     * @param budget Limit on the amount of work, after which the remaining sections are
+     *  processed in the approximate mode
+     */
+    TopDownAlgorithm(final ExtNode left, final ExtNode right, final int threshold,
+        final boolean indexed, final Budget budget) {
+        this(left, right, threshold, indexed, budget, null, null);
+    }
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree, a new version of the tree that was mapped
+     *  previously
+     * @param previous Results of the previous mapping of the same 'left' tree
+     */
+    TopDownAlgorithm(final ExtNode left, final ExtNode right, final PreviousMapping previous) {
+        this(left, right, Integer.MAX_VALUE, true, Budget.UNLIMITED, previous, null);
+    }
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param verification Verification of identical subtrees found by hash
+     */
+    TopDownAlgorithm(final ExtNode left, final ExtNode right,
+        final HashVerification verification) {
+        this(left, right, Integer.MAX_VALUE, true, Budget.UNLIMITED, null, verification);
+    }
+
+    /**
+     * Constructor.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param threshold Minimum total size of a pair of subtrees whose mapping is performed
+     *  as a separate fork/join task
+     * @param indexed Whether to store unprocessed sections in an indexed set
+     * @param budget Limit on the amount of work, after which the remaining sections are
+     *  processed in the approximate mode
+     * @param previous Results of the previous mapping of the same 'left' tree,
+     *  or {@code null} if the mapping is performed from scratch
+     * @param verification Verification of identical subtrees found by hash,
+     *  or {@code null} if structural hashes are trusted
+     */
+    private TopDownAlgorithm(final ExtNode left, final ExtNode right, final int threshold,
+        final boolean indexed, final Budget budget, final PreviousMapping previous,
+        final HashVerification verification) {
+        this.left = left;
+        this.right = right;
+        this.threshold = threshold;
+        this.indexed = indexed;
+        this.budget = budget;
+        this.previous = previous;
+        this.verification = verification;
+        this.frames = new ArrayDeque<>();
+        if (previous == null) {
+            this.ranges = null;
+        } else {
+            this.ranges = new int[left.getSubtreeSize() * 2];
         }
+        this.subtasks = new ArrayList<>(0);
+        this.ltr = TopDownAlgorithm.createTable(left.getSubtreeSize());
+        this.rtl = TopDownAlgorithm.createTable(right.getSubtreeSize());
+        this.identical = 0;
+        this.inserted = new ArrayList<>(0);
+        this.replaced = TopDownAlgorithm.createTable(left.getSubtreeSize());
+        this.deleted = new boolean[left.getSubtreeSize()];
     }
 
     /**
-     * Returns left-to-right mapping.
-     * @return Collection containing nodes from the left tree and corresponding nodes
-     *  from the right tree
+     * Constructor that creates an algorithm instance that stores its results in the tables
+     *  of another instance. Different instances must process different subtrees.
+     * @param parent Instance that owns the tables
+     * @param threshold Minimum total size of a pair of subtrees whose mapping is performed
+     *  as a separate fork/join task
      */
-    Map<ExtNode, ExtNode> getLeftToRight() {
-        return this.ltr;
+    private TopDownAlgorithm(final TopDownAlgorithm parent, final int threshold) {
+        this.left = parent.left;
+        this.right = parent.right;
+        this.threshold = threshold;
+        this.indexed = parent.indexed;
+        this.budget = parent.budget;
+        this.previous = null;
+        this.ranges = null;
+        this.verification = parent.verification;
+        this.frames = new ArrayDeque<>();
+        this.subtasks = new ArrayList<>(0);
+        this.ltr = parent.ltr;
+        this.rtl = parent.rtl;
+        this.identical = 0;
+        this.inserted = new ArrayList<>(0);
+        this.replaced = parent.replaced;
+        this.deleted = parent.deleted;
     }
 
     /**
-     * Returns right-to-left mapping.
-     * @return Collection containing nodes from the right tree and corresponding nodes
-     *  from the left tree
+     * Performs the mapping.
      */
-    Map<ExtNode, ExtNode> getRightToLeft() {
-        return this.rtl;
+    void execute() {
+        this.mapOrReplace(this.left, this.right);
+        this.run();
     }
 
     /**
-     * Returns inserted nodes.
-     * @return Ordered list of insertions
+     * Processes the frames until the stack is empty. The top frame either performs the next
+     *  pending action, which may push a new frame, or processes the next section of its
+     *  unprocessed children. Thus, the actions are performed in the same order as if
+     *  the trees were descended recursively.
      */
-    List<ExtInsertion> getInserted() {
-        return this.inserted;
+    private void run() {
+        while (!this.frames.isEmpty()) {
+            final Frame frame = this.frames.peek();
+            final Runnable action = frame.pending.poll();
+            if (action != null) {
+                action.run();
+                continue;
+            }
+            final Section section = frame.unprocessed.getFirstSection();
+            if (section == null) {
+                this.frames.pop();
+                this.setRange(frame.left, frame.start);
+            } else {
+                this.processSection(frame, section);
+            }
+        }
     }
 
     /**
-     * Returns replaces nodes.
-     * @return Collection containing replaced nodes (key - node before replacement,
-     *  value - after replacement)
+     * Waits for all forked subtasks to complete and merges their results into the results
+     *  of this instance. Nodes inserted by a subtask are placed in the list of insertions
+     *  exactly where the sequential algorithm would have placed them, so the result does not
+     *  depend on whether the subtrees were mapped in parallel.
      */
-    Map<ExtNode, ExtNode> getReplaced() {
+    void joinSubtasks() {
+        if (!this.subtasks.isEmpty()) {
+            final List<ExtInsertion> list = new ArrayList<>(this.inserted.size());
+            int position = 0;
+            for (final Subtask task : this.subtasks) {
+                task.join();
+                final TopDownAlgorithm other = task.algorithm;
+                list.addAll(this.inserted.subList(position, task.position));
+                position = task.position;
+                list.addAll(other.inserted);
+                this.identical = this.identical + other.identical;
+            }
+            list.addAll(this.inserted.subList(position, this.inserted.size()));
+            this.inserted.clear();
+            this.inserted.addAll(list);
+            this.subtasks.clear();
+        }
+    }
+
+    @Override
+    public ExtNode getLeftRoot() {
+        return this.left;
+    }
+
+    @Override
+    public ExtNode getRightRoot() {
+        return this.right;
+    }
+
+    @Override
+    public int[] getLeftToRight() {
+        return this.ltr;
+    }
+
+    @Override
+    public int[] getRightToLeft() {
+        return this.rtl;
+    }
+
+    @Override
+    public List<ExtInsertion> getInserted() {
+        return this.inserted;
+    }
+
+    @Override
+    public int[] getReplaced() {
         return this.replaced;
     }
 
+    @Override
+    public boolean[] getDeleted() {
+        return this.deleted;
+    }
+
+    @Override
+    public boolean isApproximate() {
+        return this.budget.isExhausted();
+    }
+
     /**
-     * Returns deleted nodes.
-     * @return Set of deleted nodes
+     * Maps a pair of subtrees or, if this is not possible, marks that the left subtree
+     *  is replaced by the right one.
+     * @param first Root node of the left subtree
+     * @param second Root node of the right subtree
      */
-    Set<ExtNode> getDeleted() {
-        return this.deleted;
+    private void mapOrReplace(final ExtNode first, final ExtNode second) {
+        final boolean result = this.mapSubtrees(first, second);
+        if (!result) {
+            this.replaced[first.getId()] = second.getId();
+        }
     }
 
     /**
@@ -148,7 +396,7 @@ final class TopDownAlgorithm {
      */
     private boolean mapSubtrees(final ExtNode left, final ExtNode right) {
         final boolean result;
-        if (left.getAbsoluteHash() == right.getAbsoluteHash()) {
+        if (this.areIdentical(left, right)) {
             this.mapSubtreesWithTheSameAbsoluteHash(left, right);
             result = true;
         } else if (left.getLocalHash() == right.getLocalHash()) {
@@ -161,93 +409,249 @@ final class TopDownAlgorithm {
     }
 
     /**
-     * Skips the left subtree, considering that all its nodes cannot be matched.
-     * @param node Root node of the subtree
+     * Checks whether two subtrees are identical. Absolute hashes are compared first,
+     *  and if they are equal, the result is confirmed by structural hashes or,
+     *  if configured, by the verification.
+     * @param left Root node of the left subtree
+     * @param right Root node of the right subtree
+     * @return Checking result
      */
-    private void skipLeftSubtree(final ExtNode node) {
-        this.ltr.put(node, null);
-        for (int index = 0; index < node.getChildCount(); index = index + 1) {
-            this.skipLeftSubtree(node.getExtChild(index));
+    private boolean areIdentical(final ExtNode left, final ExtNode right) {
+        final boolean result;
+        if (left.getAbsoluteHash() != right.getAbsoluteHash()) {
+            result = false;
+        } else if (this.verification == null) {
+            result = left.getStructuralHash() == right.getStructuralHash();
+        } else {
+            result = this.verification.areIdentical(left, right);
         }
+        return result;
     }
 
     /**
-     * Skips the right subtree, considering that all its nodes cannot be matched.
-     * @param node Root node of the subtree
+     * Maps subtrees with the same absolute hash, adding the corresponding nodes to the resulting
+     *  collections. Since identical subtrees have the same structure, and the identifiers
+     *  of the nodes of a subtree form a contiguous range in pre-order, the nodes are mapped
+     *  pairwise by their positions in the ranges.
+     * @param left Left node (root node of the left subtree)
+     * @param right Related node to the left node
      */
-    private void skipRightSubtree(final ExtNode node) {
-        this.rtl.put(node, null);
-        for (int index = 0; index < node.getChildCount(); index = index + 1) {
-            this.skipRightSubtree(node.getExtChild(index));
+    private void mapSubtreesWithTheSameAbsoluteHash(final ExtNode left, final ExtNode right) {
+        final int lstart = left.getId();
+        final int rstart = right.getId();
+        final int size = left.getSubtreeSize();
+        for (int offset = 0; offset < size; offset = offset + 1) {
+            this.ltr[lstart + offset] = rstart + offset;
+            this.rtl[rstart + offset] = lstart + offset;
         }
+        this.identical = this.identical + size;
     }
 
     /**
-     * Maps subtrees with the same absolute hash, adding the corresponding nodes to the resulting
-     *  collections.
+     * Maps subtrees with the same local hash, adding the corresponding nodes to the resulting
+     *  collections. The children are mapped later, when the frame pushed by this method
+     *  is processed.
      * @param left Left node (root node of the left subtree)
      * @param right Related node to the left node
      */
-    private void mapSubtreesWithTheSameAbsoluteHash(final ExtNode left, final ExtNode right) {
-        this.ltr.put(left, right);
-        this.rtl.put(right, left);
-        this.identical = this.identical + 1;
-        for (int index = 0; index < left.getChildCount(); index = index + 1) {
-            this.mapSubtreesWithTheSameAbsoluteHash(
-                left.getExtChild(index),
-                right.getExtChild(index)
-            );
+    private void mapSubtreesWithTheSameLocalHash(final ExtNode left, final ExtNode right) {
+        final int start = this.inserted.size();
+        if (this.ranges != null && this.reuseMapping(left, right)) {
+            this.setRange(left, start);
+        } else {
+            this.mapChildren(left, right, start);
         }
     }
 
     /**
-     * Maps subtrees with the same local hash, adding the corresponding nodes to the resulting
-     *  collections.
+     * Starts mapping two subtrees with the same local hash, that is, maps the root nodes
+     *  and pushes the frame in which their children will be mapped.
      * @param left Left node (root node of the left subtree)
      * @param right Related node to the left node
+     * @param start Position in the list of insertions at which the mapping of the subtrees
+     *  begins
      */
-    private void mapSubtreesWithTheSameLocalHash(final ExtNode left, final ExtNode right) {
-        this.ltr.put(left, right);
-        this.rtl.put(right, left);
-        final Unprocessed unprocessed = new Unprocessed(left, right);
-        for (Section section = unprocessed.getFirstSection(); section != null;
-            section = unprocessed.getFirstSection()) {
-            final int lsize = section.getLeft().size();
-            final int rsize = section.getRight().size();
+    private void mapChildren(final ExtNode left, final ExtNode right, final int start) {
+        this.ltr[left.getId()] = right.getId();
+        this.rtl[right.getId()] = left.getId();
+        this.budget.charge(left.getChildCount() + right.getChildCount());
+        final SectionSet unprocessed;
+        if (this.indexed) {
+            unprocessed = new IndexedUnprocessed(left, right);
+        } else {
+            unprocessed = new Unprocessed(left, right);
+        }
+        final Frame frame = new Frame(left, unprocessed, start);
+        if (this.previous != null && this.previous.getResult() != null) {
+            this.mapPreviousPairs(frame, right);
+        }
+        this.frames.push(frame);
+    }
+
+    /**
+     * Processes one section of unprocessed children of a frame.
+     * @param frame Frame containing the section
+     * @param section Section containing unprocessed nodes
+     */
+    private void processSection(final Frame frame, final Section section) {
+        final SectionSet unprocessed = frame.unprocessed;
+        final int lsize = section.getLeft().size();
+        final int rsize = section.getRight().size();
+        do {
             if (lsize == 0) {
-                this.insertAllNodes(unprocessed, left, section);
-                continue;
+                this.insertAllNodes(unprocessed, frame.left, section);
+                break;
             }
             if (rsize == 0) {
                 this.deleteAllNodes(unprocessed, section);
-                continue;
+                break;
+            }
+            if (this.budget.isExhausted()) {
+                this.mapOrReplaceFirstNodes(unprocessed, section);
+                break;
             }
             if (lsize == 1 && rsize == 1) {
-                this.processSectionWithOnePair(unprocessed, section);
-                continue;
+                this.processSectionWithOnePair(frame, section);
+                break;
             }
             if (this.mapIdenticalNodes(unprocessed, section)) {
-                continue;
+                break;
             }
-            if (this.mapSimilarNodes(unprocessed, section)) {
-                continue;
+            if (this.mapSimilarNodes(frame, section)) {
+                break;
             }
             this.replaceFirstNodes(unprocessed, section);
+        } while (false);
+    }
+
+    /**
+     * Stores the positions in the list of insertions where the insertions found while mapping
+     *  the children of a left node begin and end, if they are tracked.
+     * @param left Left node
+     * @param start Position where the insertions begin, they end at the current position
+     */
+    private void setRange(final ExtNode left, final int start) {
+        if (this.ranges != null) {
+            this.ranges[left.getId() * 2] = start;
+            this.ranges[left.getId() * 2 + 1] = this.inserted.size();
         }
     }
 
+    /**
+     * Schedules mapping of a pair of subtrees in a separate task or in the current thread.
+     * @param frame Frame that performs the mapping
+     * @param left Root node of the left subtree
+     * @param right Root node of the right subtree
+     * @param similar Flag indicating that the subtrees have the same local hash
+     */
+    private void schedule(final Frame frame, final ExtNode left, final ExtNode right,
+        final boolean similar) {
+        frame.pending.add(
+            () -> {
+                if (this.isWorthForking(left, right)) {
+                    this.fork(new Subtask(this, left, right, similar));
+                } else if (similar) {
+                    this.mapSubtreesWithTheSameLocalHash(left, right);
+                } else {
+                    this.mapOrReplace(left, right);
+                }
+            }
+        );
+    }
+
+    /**
+     * Maps again the pairs of children that were mapped by the previous mapping,
+     *  if the right child has not changed since then. Pairs are taken in order
+     *  and must not cross each other.
+     * @param frame Frame in which the children of the left node are mapped
+     * @param right Related node to the left node
+     */
+    private void mapPreviousPairs(final Frame frame, final ExtNode right) {
+        final ExtNode left = frame.left;
+        final int[] table = this.previous.getResult().rtl;
+        int last = -1;
+        final int count = right.getChildCount();
+        for (int index = 0; index < count; index = index + 1) {
+            final ExtNode second = right.getExtChild(index);
+            final int id = this.previous.getPreviousIdentifier(second);
+            if (id < 0 || table[id] == TopDownAlgorithm.NONE) {
+                continue;
+            }
+            final ExtNode first = this.previous.getLeftNode(table[id]);
+            if (first.getParent() == left && first.getIndex() > last) {
+                this.schedule(frame, first, second, false);
+                frame.unprocessed.removeNodes(first, second);
+                last = first.getIndex();
+            }
+        }
+    }
+
+    /**
+     * Copies the results of mapping a pair of subtrees from the previous mapping,
+     *  if the right subtree has not changed since then and was mapped to the same left one.
+     * @param left Left node (root node of the left subtree)
+     * @param right Related node to the left node
+     * @return Result, {@code true} if the results were copied
+     */
+    private boolean reuseMapping(final ExtNode left, final ExtNode right) {
+        boolean result = false;
+        do {
+            final TopDownAlgorithm other = this.previous.getResult();
+            if (other == null) {
+                break;
+            }
+            final int id = this.previous.getPreviousIdentifier(right);
+            if (id < 0 || other.ltr[left.getId()] != id) {
+                break;
+            }
+            final int delta = right.getId() - id;
+            final int lstart = left.getId();
+            final int lend = lstart + left.getSubtreeSize();
+            final int shift = this.inserted.size() - other.ranges[lstart * 2];
+            for (int index = lstart; index < lend; index = index + 1) {
+                this.ltr[index] = TopDownAlgorithm.shift(other.ltr[index], delta);
+                this.replaced[index] = TopDownAlgorithm.shift(other.replaced[index], delta);
+                this.deleted[index] = other.deleted[index];
+                if (other.ranges[index * 2] < other.ranges[index * 2 + 1]) {
+                    this.ranges[index * 2] = other.ranges[index * 2] + shift;
+                    this.ranges[index * 2 + 1] = other.ranges[index * 2 + 1] + shift;
+                }
+            }
+            final int rstart = right.getId();
+            final int rend = rstart + right.getSubtreeSize();
+            for (int index = rstart; index < rend; index = index + 1) {
+                this.rtl[index] = other.rtl[index - delta];
+            }
+            for (final ExtInsertion insertion : other.inserted.subList(
+                other.ranges[lstart * 2], other.ranges[lstart * 2 + 1])) {
+                ExtNode after = insertion.getAfter();
+                if (after != null && !this.previous.isLeftNode(after)) {
+                    after = this.previous.getRightNode(after.getId() + delta);
+                }
+                this.inserted.add(
+                    new ExtInsertion(
+                        this.previous.getRightNode(insertion.getInserted().getId() + delta),
+                        insertion.getInto(),
+                        after
+                    )
+                );
+            }
+            result = true;
+        } while (false);
+        return result;
+    }
+
     /**
      * Marks all child nodes from section as inserted.
      * @param unprocessed All unprocessed nodes
      * @param node Node where the child nodes will be inserted
      * @param section Section containing unprocessed nodes
      */
-    private void insertAllNodes(final Unprocessed unprocessed, final ExtNode node,
+    private void insertAllNodes(final SectionSet unprocessed, final ExtNode node,
         final Section section) {
         ExtNode after = section.getPrevious();
         for (final ExtNode child : section.getRight()) {
             this.inserted.add(new ExtInsertion(child, node, after));
-            this.skipRightSubtree(child);
             unprocessed.removeNode(child);
             after = child;
         }
@@ -258,10 +662,9 @@ final class TopDownAlgorithm {
      * @param unprocessed All unprocessed nodes
      * @param section Current section containing unprocessed nodes
      */
-    private void deleteAllNodes(final Unprocessed unprocessed, final Section section) {
+    private void deleteAllNodes(final SectionSet unprocessed, final Section section) {
         for (final ExtNode child : section.getLeft()) {
-            this.deleted.add(child);
-            this.skipLeftSubtree(child);
+            this.deleted[child.getId()] = true;
             unprocessed.removeNode(child);
         }
     }
@@ -270,41 +673,45 @@ final class TopDownAlgorithm {
      * Processes a section that contains only one pair of elements, that is, one element
      *  on the left and one on the right. This is a frequent special case, such processing
      *  will allow not to run more complex mapping algorithms.
-     * @param unprocessed All unprocessed nodes
+     * @param frame Frame containing the section
      * @param section Current section containing unprocessed nodes
      */
-    private void processSectionWithOnePair(final Unprocessed unprocessed, final Section section) {
+    private void processSectionWithOnePair(final Frame frame, final Section section) {
         final ExtNode left = section.getLeft().get(0);
         final ExtNode right = section.getRight().get(0);
-        this.execute(left, right);
-        unprocessed.removeNodes(left, right);
+        this.schedule(frame, left, right, false);
+        frame.unprocessed.removeNodes(left, right);
     }
 
     /**
-     * Tries to find and map identical nodes.
+     * Tries to find and map identical nodes. All identical nodes of the section are aligned
+     *  in one pass, so sections resulting from the split do not contain identical nodes
+     *  and are marked accordingly.
      * @param unprocessed All unprocessed nodes
      * @param section Current section containing unprocessed nodes
      * @return Mapping result, {@code true} if at least one pair of nodes has been matched
      */
-    private boolean mapIdenticalNodes(final Unprocessed unprocessed, final Section section) {
+    private boolean mapIdenticalNodes(final SectionSet unprocessed, final Section section) {
         boolean result = false;
         do {
             if (section.isFlagSet(Section.FLAG_NO_IDENTICAL)) {
                 break;
             }
-            final NodePairFinder.Result mapping =
-                new NodePairFinder(section, NodePairFinder.ABSOLUTE_HASH).findMatchingSequence();
-            final int count = mapping.getCount();
-            if (count == 0) {
-                section.setFlag(Section.FLAG_NO_IDENTICAL);
-                break;
-            }
-            result = true;
+            this.budget.charge(section.getLeft().size() + section.getRight().size());
+            final ChildAligner.Result alignment =
+                new ChildAligner(section, ChildAligner.ABSOLUTE_HASH).align();
+            section.setFlag(Section.FLAG_NO_IDENTICAL);
+            final int count = alignment.getCount();
+            final List<ExtNode> lnodes = section.getLeft();
+            final List<ExtNode> rnodes = section.getRight();
             for (int index = 0; index < count; index = index + 1) {
-                final ExtNode left = section.getLeft().get(mapping.getLeftOffset() + index);
-                final ExtNode right = section.getRight().get(mapping.getRightOffset() + index);
-                this.mapSubtreesWithTheSameAbsoluteHash(left, right);
-                unprocessed.removeNodes(left, right);
+                final ExtNode left = lnodes.get(alignment.getLeftIndex(index));
+                final ExtNode right = rnodes.get(alignment.getRightIndex(index));
+                if (this.areIdentical(left, right)) {
+                    this.mapSubtreesWithTheSameAbsoluteHash(left, right);
+                    unprocessed.removeNodes(left, right);
+                    result = true;
+                }
             }
         } while (false);
         return result;
@@ -312,42 +719,72 @@ final class TopDownAlgorithm {
 
     /**
      * Tries to find and map similar (but not identical) nodes that have matching local hashes.
-     * @param unprocessed All unprocessed nodes
+     *  Aligned pairs that have no neighbors with the same local hash are mapped in one pass.
+     *  The first pair that has such neighbors is resolved by choosing the best pair among them,
+     *  and the remaining pairs are left to the next iterations.
+     * @param frame Frame containing the section
      * @param section Current section containing unprocessed nodes
      * @return Mapping result, {@code true} if at least one pair of nodes has been matched
      */
-    private boolean mapSimilarNodes(final Unprocessed unprocessed, final Section section) {
+    private boolean mapSimilarNodes(final Frame frame, final Section section) {
         boolean result = false;
         do {
             if (section.isFlagSet(Section.FLAG_NO_SIMILAR)) {
                 break;
             }
-            final NodePairFinder.Result mapping =
-                new NodePairFinder(section, NodePairFinder.LOCAL_HASH).findMatchingSequence();
-            final int count = mapping.getCount();
+            this.budget.charge(section.getLeft().size() + section.getRight().size());
+            final ChildAligner.Result alignment =
+                new ChildAligner(section, ChildAligner.LOCAL_HASH).align();
+            final int count = alignment.getCount();
             if (count == 0) {
                 section.setFlag(Section.FLAG_NO_SIMILAR);
                 break;
             }
             result = true;
-            final List<ExtNode> left = TopDownAlgorithm.getNodeWithNeighbors(
-                section.getLeft(),
-                mapping.getLeftOffset()
-            );
-            final List<ExtNode> right = TopDownAlgorithm.getNodeWithNeighbors(
-                section.getRight(),
-                mapping.getRightOffset()
-            );
-            if (left.size() == 1 && right.size() == 1) {
-                this.mapSubtreesWithTheSameLocalHash(left.get(0), right.get(0));
-                unprocessed.removeNodes(left.get(0), right.get(0));
-                break;
+            final List<ExtNode> lnodes = section.getLeft();
+            final List<ExtNode> rnodes = section.getRight();
+            int unambiguous = 0;
+            while (unambiguous < count
+                && !TopDownAlgorithm.hasNeighbors(lnodes, alignment.getLeftIndex(unambiguous))
+                && !TopDownAlgorithm.hasNeighbors(rnodes, alignment.getRightIndex(unambiguous))) {
+                unambiguous = unambiguous + 1;
+            }
+            if (unambiguous == count) {
+                section.setFlag(Section.FLAG_NO_SIMILAR);
+            }
+            for (int index = 0; index < unambiguous; index = index + 1) {
+                final ExtNode left = lnodes.get(alignment.getLeftIndex(index));
+                final ExtNode right = rnodes.get(alignment.getRightIndex(index));
+                this.schedule(frame, left, right, true);
+                frame.unprocessed.removeNodes(left, right);
+            }
+            if (unambiguous < count) {
+                final List<ExtNode> first = TopDownAlgorithm.getNodeWithNeighbors(
+                    lnodes,
+                    alignment.getLeftIndex(unambiguous)
+                );
+                final List<ExtNode> second = TopDownAlgorithm.getNodeWithNeighbors(
+                    rnodes,
+                    alignment.getRightIndex(unambiguous)
+                );
+                frame.pending.add(() -> this.mapTheBestPairsOfSimilarNodes(frame, first, second));
             }
-            this.mapTheBestPairOfSimilarNodes(unprocessed, left, right);
         } while (false);
         return result;
     }
 
+    /**
+     * Checks whether a node from a list has neighbors with the same local hash.
+     * @param list Original list of nodes
+     * @param index Node index
+     * @return Checking result, {@code true} if at least one neighbor has the same local hash
+     */
+    private static boolean hasNeighbors(final List<ExtNode> list, final int index) {
+        final int hash = list.get(index).getLocalHash();
+        return index > 0 && list.get(index - 1).getLocalHash() == hash
+            || index < list.size() - 1 && list.get(index + 1).getLocalHash() == hash;
+    }
+
     /**
      * Gets node from a list, as well as its neighbors with the same local hash.
      * @param list Original list of nodes
@@ -355,27 +792,16 @@ final class TopDownAlgorithm {
      * @return Resulting list of nodes, including the node and its neighbors
      */
     private static List<ExtNode> getNodeWithNeighbors(final List<ExtNode> list, final int index) {
-        final List<ExtNode> result = new LinkedList<>();
-        final ExtNode node = list.get(index);
-        result.add(node);
-        final int hash = node.getLocalHash();
-        for (int leftidx = index - 1; leftidx >= 0; leftidx = leftidx - 1) {
-            final ExtNode previous = list.get(leftidx);
-            if (hash == previous.getLocalHash()) {
-                result.add(0, previous);
-            } else {
-                break;
-            }
+        final int hash = list.get(index).getLocalHash();
+        int first = index;
+        while (first > 0 && list.get(first - 1).getLocalHash() == hash) {
+            first = first - 1;
         }
-        for (int rightidx = index + 1; rightidx < list.size(); rightidx = rightidx + 1) {
-            final ExtNode next = list.get(rightidx);
-            if (hash == next.getLocalHash()) {
-                result.add(next);
-            } else {
-                break;
-            }
+        int last = index + 1;
+        while (last < list.size() && list.get(last).getLocalHash() == hash) {
+            last = last + 1;
         }
-        return result;
+        return new ArrayList<>(list.subList(first, last));
     }
 
     /**
@@ -383,34 +809,77 @@ final class TopDownAlgorithm {
      *  node and one or more child nodes from the right node, and thus several options
      *  on how to map them. The best match is the one in which we could find as many identical
      *  nodes as possible, which means that such subtrees are the most similar to each other.
-     *  So all possible variants are tried here. This algorithm has the highest computational
-     *  complexity, and we call it only as a last resort when all other possibilities
-     *  have been exhausted.
-     * @param unprocessed All unprocessed nodes
+     *  So each possible pair is scored exactly once, and then the pairs are assigned globally:
+     *  the set of non-crossing pairs with the largest total score is mapped at once.
+     *  This algorithm has the highest computational complexity, and we call it only
+     *  as a last resort when all other possibilities have been exhausted. If the budget
+     *  runs out, the remaining pairs are not scored.
+     * @param frame Frame in which the children of the left node are mapped
      * @param left Subset of the child nodes of the left node
      * @param right Subset of the child nodes of the right node
      */
-    private void mapTheBestPairOfSimilarNodes(final Unprocessed unprocessed,
+    private void mapTheBestPairsOfSimilarNodes(final Frame frame,
         final List<ExtNode> left, final List<ExtNode> right) {
-        TopDownAlgorithm best = null;
-        Pair<ExtNode, ExtNode> pair = null;
-        for (final ExtNode first : left) {
-            for (final ExtNode second : right) {
-                final TopDownAlgorithm mapping = new TopDownAlgorithm();
-                mapping.mapSubtreesWithTheSameLocalHash(first, second);
-                if (best == null || mapping.identical > best.identical) {
-                    best = mapping;
-                    pair = new Pair<>(first, second);
+        final int[][] scores = new int[left.size()][right.size()];
+        for (int row = 0; row < left.size(); row = row + 1) {
+            for (int column = 0; column < right.size(); column = column + 1) {
+                final ExtNode first = left.get(row);
+                final ExtNode second = right.get(column);
+                if (!this.budget.charge(first.getSubtreeSize() + second.getSubtreeSize())) {
+                    break;
                 }
+                final TopDownAlgorithm mapping = new TopDownAlgorithm(this, Integer.MAX_VALUE);
+                mapping.mapSubtreesWithTheSameLocalHash(first, second);
+                mapping.run();
+                scores[row][column] = mapping.identical;
+                this.clearTables(first, second);
             }
         }
-        this.ltr.putAll(best.ltr);
-        this.rtl.putAll(best.rtl);
-        this.identical = this.identical + best.identical;
-        this.inserted.addAll(best.inserted);
-        this.replaced.putAll(best.replaced);
-        this.deleted.addAll(best.deleted);
-        unprocessed.removeNodes(pair.getKey(), pair.getValue());
+        for (final Pair<Integer, Integer> pair : TopDownAlgorithm.assignPairs(scores)) {
+            final ExtNode first = left.get(pair.getKey());
+            final ExtNode second = right.get(pair.getValue());
+            this.schedule(frame, first, second, true);
+            frame.unprocessed.removeNodes(first, second);
+        }
+    }
+
+    /**
+     * Selects pairs of nodes using the matrix of their similarity scores.
+     *  Pairs must not cross each other, that is, the order of nodes is preserved.
+     *  The selected set has the largest total score, and among such sets,
+     *  the one containing as many pairs as possible.
+     * @param scores Matrix of similarity scores, rows correspond to left nodes
+     *  and columns correspond to right nodes
+     * @return Ordered list of pairs of indices (row, column)
+     */
+    private static List<Pair<Integer, Integer>> assignPairs(final int[][] scores) {
+        final int rows = scores.length;
+        final int columns = scores[0].length;
+        final long[][] best = new long[rows + 1][columns + 1];
+        for (int row = 1; row <= rows; row = row + 1) {
+            for (int column = 1; column <= columns; column = column + 1) {
+                best[row][column] = Math.max(
+                    Math.max(best[row - 1][column], best[row][column - 1]),
+                    best[row - 1][column - 1] + 1
+                        + TopDownAlgorithm.SCORE_WEIGHT * scores[row - 1][column - 1]
+                );
+            }
+        }
+        final LinkedList<Pair<Integer, Integer>> pairs = new LinkedList<>();
+        int row = rows;
+        int column = columns;
+        while (row > 0 && column > 0) {
+            if (best[row][column] == best[row - 1][column]) {
+                row = row - 1;
+            } else if (best[row][column] == best[row][column - 1]) {
+                column = column - 1;
+            } else {
+                pairs.addFirst(new Pair<>(row - 1, column - 1));
+                row = row - 1;
+                column = column - 1;
+            }
+        }
+        return pairs;
     }
 
     /**
@@ -423,12 +892,197 @@ final class TopDownAlgorithm {
      * @param unprocessed All unprocessed nodes
      * @param section Current section containing unprocessed nodes
      */
-    private void replaceFirstNodes(final Unprocessed unprocessed, final Section section) {
+    private void replaceFirstNodes(final SectionSet unprocessed, final Section section) {
         final ExtNode left = section.getLeft().get(0);
         final ExtNode right = section.getRight().get(0);
-        this.replaced.put(left, right);
-        this.skipLeftSubtree(left);
-        this.skipRightSubtree(right);
+        this.replaced[left.getId()] = right.getId();
         unprocessed.removeNodes(left, right);
     }
+
+    /**
+     * Maps the first node from the left subset to the first node from the right subset
+     *  if they are identical, otherwise marks that the first one is replaced by the second one.
+     *  This is how the sections are processed when the budget is exhausted: the result
+     *  may be far from optimal, but the time it takes is linear.
+     * @param unprocessed All unprocessed nodes
+     * @param section Current section containing unprocessed nodes
+     */
+    private void mapOrReplaceFirstNodes(final SectionSet unprocessed, final Section section) {
+        final ExtNode left = section.getLeft().get(0);
+        final ExtNode right = section.getRight().get(0);
+        if (this.areIdentical(left, right)) {
+            this.mapSubtreesWithTheSameAbsoluteHash(left, right);
+        } else {
+            this.replaced[left.getId()] = right.getId();
+        }
+        unprocessed.removeNodes(left, right);
+    }
+
+    /**
+     * Clears the results of mapping a pair of subtrees from the tables.
+     * @param first Root node of the left subtree
+     * @param second Root node of the right subtree
+     */
+    private void clearTables(final ExtNode first, final ExtNode second) {
+        final int lstart = first.getId();
+        final int lend = lstart + first.getSubtreeSize();
+        Arrays.fill(this.ltr, lstart, lend, TopDownAlgorithm.NONE);
+        Arrays.fill(this.replaced, lstart, lend, TopDownAlgorithm.NONE);
+        Arrays.fill(this.deleted, lstart, lend, false);
+        final int rstart = second.getId();
+        Arrays.fill(this.rtl, rstart, rstart + second.getSubtreeSize(), TopDownAlgorithm.NONE);
+    }
+
+    /**
+     * Shifts a node identifier stored in a table.
+     * @param value Element of the table
+     * @param delta Difference between the new and the old identifiers
+     * @return New element of the table
+     */
+    private static int shift(final int value, final int delta) {
+        final int result;
+        if (value == TopDownAlgorithm.NONE) {
+            result = TopDownAlgorithm.NONE;
+        } else {
+            result = value + delta;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a table that does not map any nodes.
+     * @param size Number of nodes
+     * @return Array filled with -1
+     */
+    private static int[] createTable(final int size) {
+        final int[] table = new int[size];
+        Arrays.fill(table, TopDownAlgorithm.NONE);
+        return table;
+    }
+
+    /**
+     * Checks whether it makes sense to map a pair of subtrees as a separate task.
+     * @param left Root node of the left subtree
+     * @param right Root node of the right subtree
+     * @return Checking result, {@code true} if the subtrees are large enough
+     */
+    private boolean isWorthForking(final ExtNode left, final ExtNode right) {
+        return this.threshold != Integer.MAX_VALUE
+            && left.getSubtreeSize() + right.getSubtreeSize() >= this.threshold;
+    }
+
+    /**
+     * Starts the asynchronous execution of a subtask.
+     *  The subtask remembers the current position in the list of insertions,
+     *  see {@link TopDownAlgorithm#joinSubtasks()}.
+     * @param task Subtask
+     */
+    private void fork(final Subtask task) {
+        task.fork();
+        this.subtasks.add(task);
+    }
+
+    /**
+     * Fork/join task that maps a pair of subtrees independently of the rest of the tree.
+     * @since 2.0.0
+     */
+    private static final class Subtask extends RecursiveAction {
+        /**
+         * Version identifier.
+         */
+        private static final long serialVersionUID = -4917356318238504170L;
+
+        /**
+         * Algorithm instance that collects the results of this subtask.
+         */
+        private final transient TopDownAlgorithm algorithm;
+
+        /**
+         * Position in the list of insertions of the parent algorithm at which the insertions
+         *  found by this subtask must be placed.
+         */
+        private final int position;
+
+        /**
+         * Root node of the left subtree.
+         */
+        private final transient ExtNode left;
+
+        /**
+         * Root node of the right subtree.
+         */
+        private final transient ExtNode right;
+
+        /**
+         * Flag indicating that the subtrees have the same local hash and only their
+         *  children have to be mapped.
+         */
+        private final boolean similar;
+
+        /**
+         * Constructor.
+         * @param parent Algorithm instance that forks this subtask
+         * @param left Root node of the left subtree
+         * @param right Root node of the right subtree
+         * @param similar Flag indicating that the subtrees have the same local hash
+         */
+        Subtask(final TopDownAlgorithm parent, final ExtNode left, final ExtNode right,
+            final boolean similar) {
+            this.algorithm = new TopDownAlgorithm(parent, parent.threshold);
+            this.position = parent.inserted.size();
+            this.left = left;
+            this.right = right;
+            this.similar = similar;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.similar) {
+                this.algorithm.mapSubtreesWithTheSameLocalHash(this.left, this.right);
+            } else {
+                this.algorithm.mapOrReplace(this.left, this.right);
+            }
+            this.algorithm.run();
+            this.algorithm.joinSubtasks();
+        }
+    }
+
+    /**
+     * Pair of nodes whose children are being mapped.
+     * @since 2.0.0
+     */
+    private static final class Frame {
+        /**
+         * Left node of the pair.
+         */
+        private final ExtNode left;
+
+        /**
+         * Unprocessed children of both nodes.
+         */
+        private final SectionSet unprocessed;
+
+        /**
+         * Position in the list of insertions at which the mapping of the pair begins.
+         */
+        private final int start;
+
+        /**
+         * Actions that must be performed before the next section is processed.
+         */
+        private final Deque<Runnable> pending;
+
+        /**
+         * Constructor.
+         * @param left Left node of the pair
+         * @param unprocessed Unprocessed children of both nodes
+         * @param start Position in the list of insertions at which the mapping begins
+         */
+        Frame(final ExtNode left, final SectionSet unprocessed, final int start) {
+            this.left = left;
+            this.unprocessed = unprocessed;
+            this.start = start;
+            this.pending = new ArrayDeque<>(0);
+        }
+    }
 }
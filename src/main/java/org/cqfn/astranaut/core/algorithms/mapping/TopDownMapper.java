@@ -26,6 +26,7 @@ package org.cqfn.astranaut.core.algorithms.mapping;
 import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
 import org.cqfn.astranaut.core.base.ExtNode;
 import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.utils.NodeCache;
 
 /**
  * Top-down mapper.
@@ -39,18 +40,87 @@ public final class TopDownMapper implements Mapper {
     public static final Mapper INSTANCE = new TopDownMapper();
 
     /**
-     * Private constructor.
+     * Verification of identical subtrees found by hash, or {@code null} if structural
+     *  hashes are trusted.
      */
-    private TopDownMapper() {
+    private final HashVerification verification;
+
+    /**
+     * Cache of node hashes shared between mappings, or {@code null} if the trees
+     *  are hashed again for each mapping.
+     */
+    private final NodeCache<Long> cache;
+
+    /**
+     * Constructor of the mapper that trusts structural hashes.
+     */
+    public TopDownMapper() {
+        this(null, null);
+    }
+
+    /**
+     * Constructor.
+     * @param verification Verification of identical subtrees found by hash
+     *  or {@code null} if structural hashes are trusted
+     */
+    public TopDownMapper(final HashVerification verification) {
+        this(verification, null);
+    }
+
+    /**
+     * Constructor of the mapper that takes node hashes from a cache, so that a tree
+     *  that is mapped against many other trees is hashed only once. The cache is suitable
+     *  only for trees that never change, see {@link ExtNodeCreator#ExtNodeCreator(NodeCache)}.
+     * @param cache Cache of node hashes
+     */
+    public TopDownMapper(final NodeCache<Long> cache) {
+        this(null, cache);
+    }
+
+    /**
+     * Constructor.
+     * @param verification Verification of identical subtrees found by hash
+     *  or {@code null} if structural hashes are trusted
+     * @param cache Cache of node hashes or {@code null} if the trees are hashed again
+     *  for each mapping
+     */
+    public TopDownMapper(final HashVerification verification, final NodeCache<Long> cache) {
+        this.verification = verification;
+        this.cache = cache;
     }
 
     @Override
     public Mapping map(final Node left, final Node right) {
-        final TopDownAlgorithm algorithm = new TopDownAlgorithm();
-        final ExtNodeCreator builder = new ExtNodeCreator();
+        return new TopDownMapping(this.execute(left, right));
+    }
+
+    @Override
+    public void map(final Node left, final Node right, final MappingListener listener) {
+        TopDownMapping.replay(this.execute(left, right), listener);
+    }
+
+    /**
+     * Runs the mapping algorithm.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @return Results of the algorithm
+     */
+    private ExtMapping execute(final Node left, final Node right) {
+        final ExtNodeCreator builder;
+        if (this.cache == null) {
+            builder = new ExtNodeCreator();
+        } else {
+            builder = new ExtNodeCreator(this.cache);
+        }
         final ExtNode first = builder.create(left);
         final ExtNode second = builder.create(right);
-        algorithm.execute(first, second);
-        return new TopDownMapping(algorithm);
+        final TopDownAlgorithm algorithm;
+        if (this.verification == null) {
+            algorithm = new TopDownAlgorithm(first, second);
+        } else {
+            algorithm = new TopDownAlgorithm(first, second, this.verification);
+        }
+        algorithm.execute();
+        return algorithm;
     }
 }
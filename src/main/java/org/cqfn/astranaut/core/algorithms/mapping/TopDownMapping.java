@@ -23,8 +23,11 @@
  */
 package org.cqfn.astranaut.core.algorithms.mapping;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,7 +37,8 @@ import org.cqfn.astranaut.core.base.Insertion;
 import org.cqfn.astranaut.core.base.Node;
 
 /**
- * Result of top-down mapping algorithm.
+ * Result of a mapping algorithm that works with extended nodes, converted
+ *  to 'regular' nodes.
  * @since 2.0.0
  */
 final class TopDownMapping implements Mapping {
@@ -63,24 +67,35 @@ final class TopDownMapping implements Mapping {
      */
     private final Set<Node> deleted;
 
+    /**
+     * Flag indicating that the mapping is approximate.
+     */
+    private final boolean approximate;
+
     /**
      * Constructor.
      * @param algorithm Structure from which the mapping results can be taken
      */
-    TopDownMapping(final TopDownAlgorithm algorithm) {
-        this.ltr = TopDownMapping.convert(algorithm.getLeftToRight());
-        this.rtl = TopDownMapping.convert(algorithm.getRightToLeft());
+    TopDownMapping(final ExtMapping algorithm) {
+        final Node[] left = TopDownMapping.collectPrototypes(algorithm.getLeftRoot());
+        final Node[] right = TopDownMapping.collectPrototypes(algorithm.getRightRoot());
+        this.ltr = TopDownMapping.convert(algorithm.getLeftToRight(), left, right);
+        this.rtl = TopDownMapping.convert(algorithm.getRightToLeft(), right, left);
         this.inserted = Collections.unmodifiableList(
             algorithm.getInserted().stream()
                 .map(ExtInsertion::toInsertion)
                 .collect(Collectors.toList())
         );
-        this.replaced = TopDownMapping.convert(algorithm.getReplaced());
-        this.deleted = Collections.unmodifiableSet(
-            algorithm.getDeleted().stream()
-                .map(ExtNode::getPrototype)
-                .collect(Collectors.toSet())
-        );
+        this.replaced = TopDownMapping.convert(algorithm.getReplaced(), left, right);
+        final boolean[] flags = algorithm.getDeleted();
+        final Set<Node> set = new HashSet<>();
+        for (int index = 0; index < flags.length; index = index + 1) {
+            if (flags[index]) {
+                set.add(left[index]);
+            }
+        }
+        this.deleted = Collections.unmodifiableSet(set);
+        this.approximate = algorithm.isApproximate();
     }
 
     @Override
@@ -108,20 +123,79 @@ final class TopDownMapping implements Mapping {
         return this.deleted;
     }
 
+    @Override
+    public boolean isApproximate() {
+        return this.approximate;
+    }
+
     /**
-     * Converts a collection (map) of extended nodes to a collection of their prototypes.
-     * @param original Original collection
+     * Passes the results of a mapping algorithm to a listener without converting them
+     *  to collections.
+     * @param algorithm Structure from which the mapping results can be taken
+     * @param listener Receiver of the results
+     */
+    static void replay(final ExtMapping algorithm, final MappingListener listener) {
+        final Node[] left = TopDownMapping.collectPrototypes(algorithm.getLeftRoot());
+        final Node[] right = TopDownMapping.collectPrototypes(algorithm.getRightRoot());
+        final int[] ltr = algorithm.getLeftToRight();
+        for (int index = 0; index < ltr.length; index = index + 1) {
+            if (ltr[index] >= 0) {
+                listener.nodesMapped(left[index], right[ltr[index]]);
+            }
+        }
+        for (final ExtInsertion insertion : algorithm.getInserted()) {
+            listener.nodeInserted(insertion.toInsertion());
+        }
+        final int[] replaced = algorithm.getReplaced();
+        for (int index = 0; index < replaced.length; index = index + 1) {
+            if (replaced[index] >= 0) {
+                listener.nodeReplaced(left[index], right[replaced[index]]);
+            }
+        }
+        final boolean[] deleted = algorithm.getDeleted();
+        for (int index = 0; index < deleted.length; index = index + 1) {
+            if (deleted[index]) {
+                listener.nodeDeleted(left[index]);
+            }
+        }
+    }
+
+    /**
+     * Converts a table of node identifiers to a collection (map) of prototypes.
+     * @param table Table containing identifiers of nodes from the second tree indexed by
+     *  identifiers of nodes from the first tree, -1 for missing elements
+     * @param keys Prototypes of nodes of the first tree indexed by identifiers
+     * @param values Prototypes of nodes of the second tree indexed by identifiers
      * @return Resulting collection
      */
-    private static Map<Node, Node> convert(final Map<ExtNode, ExtNode> original) {
+    private static Map<Node, Node> convert(final int[] table, final Node[] keys,
+        final Node[] values) {
         final Map<Node, Node> result = new HashMap<>();
-        for (final Map.Entry<ExtNode, ExtNode> entry : original.entrySet()) {
-            Node value = null;
-            if (entry.getValue() != null) {
-                value = entry.getValue().getPrototype();
+        for (int index = 0; index < table.length; index = index + 1) {
+            if (table[index] >= 0) {
+                result.put(keys[index], values[table[index]]);
             }
-            result.put(entry.getKey().getPrototype(), value);
         }
         return Collections.unmodifiableMap(result);
     }
+
+    /**
+     * Collects prototypes of all nodes of a tree into an array indexed by node identifiers.
+     * @param root Root node of the tree
+     * @return Array of prototypes
+     */
+    private static Node[] collectPrototypes(final ExtNode root) {
+        final Node[] array = new Node[root.getSubtreeSize()];
+        final Deque<ExtNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final ExtNode node = stack.pop();
+            array[node.getId()] = node.getPrototype();
+            final int count = node.getChildCount();
+            for (int index = count - 1; index >= 0; index = index - 1) {
+                stack.push(node.getExtChild(index));
+            }
+        }
+        return array;
+    }
 }
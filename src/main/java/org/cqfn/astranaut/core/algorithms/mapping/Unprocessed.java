@@ -35,7 +35,7 @@ import org.cqfn.astranaut.core.utils.Pair;
  *  child nodes of one node and a corresponding but unmapped subset of child nodes of another node.
  * @since 2.0.0
  */
-final class Unprocessed {
+final class Unprocessed implements SectionSet {
     /**
      * Sections of nodes that have not yet been processed.
      */
@@ -54,11 +54,8 @@ final class Unprocessed {
         );
     }
 
-    /**
-     * Returns the first unprocessed section of nodes.
-     * @return Object containing unprocessed nodes or {@code null} if no more sections
-     */
-    Section getFirstSection() {
+    @Override
+    public Section getFirstSection() {
         final Section section;
         if (this.sections.isEmpty()) {
             section = null;
@@ -68,20 +65,13 @@ final class Unprocessed {
         return section;
     }
 
-    /**
-     * Returns the number of unprocessed sections.
-     * @return Number of unprocessed sections
-     */
-    int getNumberOfSections() {
+    @Override
+    public int getNumberOfSections() {
         return this.sections.size();
     }
 
-    /**
-     * Removes a node from the set of unprocessed nodes as mapped.
-     *  This can change the number of unprocessed sections.
-     * @param node The node to be deleted
-     */
-    void removeNode(final ExtNode node) {
+    @Override
+    public void removeNode(final ExtNode node) {
         Section found = null;
         final ListIterator<Section> iterator = this.sections.listIterator();
         while (iterator.hasNext()) {
@@ -103,15 +93,8 @@ final class Unprocessed {
         } while (false);
     }
 
-    /**
-     * Removes a node pair from the set of unprocessed nodes as mapped.
-     *  The remaining nodes are redistributed into sections
-     *  (see {@link Section#removeNodes(ExtNode, ExtNode)} for details.
-     * @param node The child node of the left node to be deleted
-     * @param corresponding The child node of the right node to be deleted,
-     *  corresponding to the left node
-     */
-    void removeNodes(final ExtNode node, final ExtNode corresponding) {
+    @Override
+    public void removeNodes(final ExtNode node, final ExtNode corresponding) {
         Section found = null;
         final ListIterator<Section> iterator = this.sections.listIterator();
         while (iterator.hasNext()) {
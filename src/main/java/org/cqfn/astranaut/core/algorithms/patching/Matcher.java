@@ -74,7 +74,7 @@ class Matcher {
         final DepthFirstWalker deep = new DepthFirstWalker(this.root);
         final PatternNode head = pattern.getRoot();
         final List<Node> preset = deep.findAll(
-            node -> node.getTypeName().equals(head.getTypeName())
+            node -> node.hasSameTypeAs(head)
                 && node.getData().equals(head.getData())
         );
         final ActionList list = new ActionList();
@@ -114,7 +114,7 @@ class Matcher {
         } else {
             sample = pattern;
         }
-        boolean result = node.getTypeName().equals(sample.getTypeName());
+        boolean result = node.hasSameTypeAs(sample);
         do {
             if (!result) {
                 break;
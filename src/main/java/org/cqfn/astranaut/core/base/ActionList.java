@@ -26,11 +26,12 @@ package org.cqfn.astranaut.core.base;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.algorithms.MergingDiffTreeBuilder;
 import org.cqfn.astranaut.core.utils.Promise;
 
 /**
@@ -53,12 +54,23 @@ public class ActionList {
      */
     private Set<Node> delete;
 
+    /**
+     * Collection of nodes to be moved (move number -> node before moving).
+     */
+    private Map<Integer, Node> source;
+
+    /**
+     * Collection of locations where the nodes are moved (move number -> location).
+     */
+    private Map<Integer, Location> target;
+
     /**
      * Checks if an action is in any list.
      * @return Checking result
      */
     public boolean hasActions() {
-        return this.insert != null || this.replace != null || this.delete != null;
+        return this.insert != null || this.replace != null || this.delete != null
+            || this.target != null;
     }
 
     /**
@@ -110,18 +122,76 @@ public class ActionList {
         this.delete.add(node);
     }
 
+    /**
+     * Adds the node to the list of nodes to be moved.
+     * @param node Node to be moved
+     * @param number Number of the move that links the node to its new location
+     */
+    public void moveNodeFrom(final Node node, final int number) {
+        if (this.source == null) {
+            this.source = new HashMap<>();
+        }
+        this.source.put(number, node);
+    }
+
+    /**
+     * Adds a location where the node is to be moved when the parent node is unknown.
+     * @param number Number of the move that links the location to the moved node
+     * @param after Node after which to place the moved node
+     * @param previous Number of the move after whose moved node to place the node,
+     *  or 0 if the node is placed after the specified node
+     * @return A promise to set a parent node to be fulfilled later.
+     */
+    @SuppressWarnings("PMD.UselessQualifiedThis")
+    public Promise<Node> moveNodeAfter(final int number, final Node after, final int previous) {
+        return new Promise<>(
+            into -> ActionList.this.moveNodeAfter(number, into, after, previous)
+        );
+    }
+
+    /**
+     * Adds a location where the node is to be moved.
+     * @param number Number of the move that links the location to the moved node
+     * @param into Parent node into which the moved node will be placed
+     * @param after Node after which to place the moved node
+     * @param previous Number of the move after whose moved node to place the node,
+     *  or 0 if the node is placed after the specified node
+     */
+    public void moveNodeAfter(final int number, final Node into, final Node after,
+        final int previous) {
+        if (this.target == null) {
+            this.target = new LinkedHashMap<>();
+        }
+        this.target.put(number, new Location(Objects.requireNonNull(into), after, previous));
+    }
+
     /**
      * Converts the tree to a difference tree using the list of actions.
+     *  Only the nodes containing actions and their ancestors become difference nodes,
+     *  unchanged subtrees are included into the difference tree as is.
      * @param tree Source tree
      * @return Difference tree
      */
     public DiffTree convertTreeToDiffTree(final Tree tree) {
-        final DiffTreeBuilder builder = new DiffTreeBuilder(tree.getRoot());
+        final MergingDiffTreeBuilder builder = new MergingDiffTreeBuilder(tree.getRoot());
         if (this.insert != null) {
             for (final Insertion insertion : this.insert) {
                 builder.insertNode(insertion);
             }
         }
+        if (this.target != null && this.source != null) {
+            for (final Map.Entry<Integer, Location> pair : this.target.entrySet()) {
+                final Node node = this.source.get(pair.getKey());
+                if (node != null) {
+                    final Location location = pair.getValue();
+                    Node after = location.after;
+                    if (location.previous != 0) {
+                        after = this.source.get(location.previous);
+                    }
+                    builder.moveNode(node, new Insertion(node, location.into, after));
+                }
+            }
+        }
         if (this.replace != null) {
             for (final Map.Entry<Node, Node> pair : this.replace.entrySet()) {
                 builder.replaceNode(pair.getKey(), pair.getValue());
@@ -132,7 +202,7 @@ public class ActionList {
                 builder.deleteNode(node);
             }
         }
-        return builder.getDiffTree();
+        return builder.getSparseDiffTree();
     }
 
     /**
@@ -155,5 +225,48 @@ public class ActionList {
         } else if (other.delete != null) {
             this.delete.addAll(other.delete);
         }
+        if (this.source == null) {
+            this.source = other.source;
+        } else if (other.source != null) {
+            this.source.putAll(other.source);
+        }
+        if (this.target == null) {
+            this.target = other.target;
+        } else if (other.target != null) {
+            this.target.putAll(other.target);
+        }
+    }
+
+    /**
+     * Location where a node is to be moved.
+     * @since 2.0.0
+     */
+    private static final class Location {
+        /**
+         * Parent node into which the moved node will be placed.
+         */
+        private final Node into;
+
+        /**
+         * Node after which to place the moved node.
+         */
+        private final Node after;
+
+        /**
+         * Number of the move after whose moved node to place the node, or 0.
+         */
+        private final int previous;
+
+        /**
+         * Constructor.
+         * @param into Parent node into which the moved node will be placed
+         * @param after Node after which to place the moved node
+         * @param previous Number of the move after whose moved node to place the node, or 0
+         */
+        Location(final Node into, final Node after, final int previous) {
+            this.into = into;
+            this.after = after;
+            this.previous = previous;
+        }
     }
 }
@@ -0,0 +1,674 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
+
+/**
+ * Immutable syntax tree whose data is stored column by column in flat arrays
+ *  rather than in separate node objects. Nodes are identified by their sequence numbers
+ *  in the pre-order traversal, so that each subtree occupies a contiguous range of
+ *  identifiers. Type names, data and sources are not copied for each node, but are stored
+ *  once in pools and referenced by index, so a large tree takes several times less memory
+ *  than the same tree built from draft or generated nodes.
+ *  <p>
+ *  The tree still provides {@link Node} objects, so that all existing algorithms can
+ *  process it unchanged. These nodes are flyweight views that contain only a reference
+ *  to the columns and an identifier; they are created on demand, once per node. Algorithms
+ *  that are aware of the columnar layout can instead read the columns directly through
+ *  identifier-based methods such as {@link #getTypeId(int)} and {@link #getChildId(int, int)}.
+ * @since 2.0.0
+ */
+public final class CompactTree extends Tree {
+    /**
+     * Number of integers that describe the fragment of one node.
+     */
+    private static final int STRIDE = 5;
+
+    /**
+     * Columns that store data of all nodes.
+     */
+    private final Columns columns;
+
+    /**
+     * Constructor.
+     * @param root Root node of the tree to be converted into the compact representation
+     */
+    public CompactTree(final Node root) {
+        this(new Columns(root));
+    }
+
+    /**
+     * Constructor.
+     * @param tree Tree to be converted into the compact representation
+     */
+    public CompactTree(final Tree tree) {
+        this(tree.getRoot());
+    }
+
+    /**
+     * Constructor.
+     * @param columns Columns that store data of all nodes
+     */
+    private CompactTree(final Columns columns) {
+        super(columns.getNode(0));
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the number of nodes in the tree.
+     * @return Number of nodes
+     */
+    public int getNodeCount() {
+        return this.columns.count;
+    }
+
+    /**
+     * Returns the node (view) by its identifier.
+     * @param id Identifier of the node, that is, its number in the pre-order traversal
+     * @return Node
+     */
+    public Node getNode(final int id) {
+        this.checkId(id);
+        return this.columns.getNode(id);
+    }
+
+    /**
+     * Returns the identifier of a node.
+     * @param node Node
+     * @return Identifier of the node or -1 if the node does not belong to this tree
+     */
+    public int getId(final Node node) {
+        final int id;
+        if (node instanceof View && ((View) node).columns == this.columns) {
+            id = ((View) node).id;
+        } else {
+            id = -1;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the type identifier of a node, as assigned by the {@link TypeRegistry}.
+     * @param id Identifier of the node
+     * @return Type identifier
+     */
+    public int getTypeId(final int id) {
+        this.checkId(id);
+        return this.columns.getTypeId(id);
+    }
+
+    /**
+     * Returns the data of a node.
+     * @param id Identifier of the node
+     * @return Data or an empty string
+     */
+    public String getData(final int id) {
+        this.checkId(id);
+        return this.columns.pool[this.columns.data[id]];
+    }
+
+    /**
+     * Returns the number of children of a node.
+     * @param id Identifier of the node
+     * @return Number of children
+     */
+    public int getChildCount(final int id) {
+        this.checkId(id);
+        return this.columns.counts[id];
+    }
+
+    /**
+     * Returns the identifier of a child of a node.
+     * @param id Identifier of the node
+     * @param index Index of the child
+     * @return Identifier of the child
+     */
+    public int getChildId(final int id, final int index) {
+        this.checkId(id);
+        return this.columns.getChildId(id, index);
+    }
+
+    /**
+     * Returns the identifier of the first child of a node.
+     *  Since nodes are numbered in the pre-order traversal, it always follows its parent.
+     * @param id Identifier of the node
+     * @return Identifier of the first child or -1 if the node has no children
+     */
+    public int getFirstChild(final int id) {
+        this.checkId(id);
+        final int first;
+        if (this.columns.counts[id] == 0) {
+            first = -1;
+        } else {
+            first = id + 1;
+        }
+        return first;
+    }
+
+    /**
+     * Returns the identifier of the next sibling of a node.
+     * @param id Identifier of the node
+     * @return Identifier of the next sibling or -1 if the node is the last child
+     *  or the root
+     */
+    public int getNextSibling(final int id) {
+        this.checkId(id);
+        return this.columns.next[id];
+    }
+
+    @Override
+    public String getLanguage() {
+        String language = "";
+        final Columns data = this.columns;
+        for (int id = 0; language.isEmpty() && id < data.count; id = id + 1) {
+            language = data.getProperties(id).getOrDefault("language", "");
+        }
+        return language;
+    }
+
+    @Override
+    public boolean deepCompare(final Tree other) {
+        final boolean result;
+        if (other instanceof CompactTree) {
+            result = this.columns.deepCompare(((CompactTree) other).columns);
+        } else {
+            result = super.deepCompare(other);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that the identifier of the node is in the valid range.
+     * @param id Identifier of the node
+     */
+    private void checkId(final int id) {
+        if (id < 0 || id >= this.columns.count) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Storage of data about all nodes of the tree.
+     * @since 2.0.0
+     */
+    @SuppressWarnings("PMD.TooManyFields")
+    private static final class Columns {
+        /**
+         * Number of nodes.
+         */
+        private final int count;
+
+        /**
+         * Indices of node types in the table of types.
+         */
+        private final int[] types;
+
+        /**
+         * Indices of node data in the pool of strings.
+         */
+        private final int[] data;
+
+        /**
+         * Numbers of children of nodes.
+         */
+        private final int[] counts;
+
+        /**
+         * Positions of the lists of child nodes in the array of children.
+         */
+        private final int[] offsets;
+
+        /**
+         * Identifiers of child nodes, the children of each node are stored consecutively.
+         */
+        private final int[] children;
+
+        /**
+         * Identifiers of the next siblings of nodes, -1 for the last children.
+         */
+        private final int[] next;
+
+        /**
+         * Fragments of nodes, {@link CompactTree#STRIDE} integers per node: index
+         *  of the source (or -1 if the node has no fragment), row and column of the first
+         *  position, row and column of the last position.
+         */
+        private final int[] fragments;
+
+        /**
+         * Distinct node types. Types with the same name may still differ in hierarchy,
+         *  properties and builders, so each type object gets its own entry.
+         */
+        private Type[] table;
+
+        /**
+         * Type identifiers assigned by the {@link TypeRegistry}, indexed as the table of types.
+         */
+        private int[] identifiers;
+
+        /**
+         * Pool of strings containing node data, the first string is always empty.
+         */
+        private String[] pool;
+
+        /**
+         * Sources of fragments.
+         */
+        private Source[] sources;
+
+        /**
+         * Node properties that differ from the properties of their types.
+         *  As a rule, this map is empty.
+         */
+        private final Map<Integer, Map<String, String>> properties;
+
+        /**
+         * Views of nodes, created on demand.
+         */
+        private final AtomicReferenceArray<View> views;
+
+        /**
+         * Constructor.
+         * @param root Root node of the original tree
+         */
+        Columns(final Node root) {
+            final int[] total = new int[1];
+            new TreeTraversal(root).walk(
+                node -> {
+                    total[0] = total[0] + 1;
+                    return TreeTraversal.Decision.CONTINUE;
+                }
+            );
+            this.count = total[0];
+            this.types = new int[this.count];
+            this.data = new int[this.count];
+            this.counts = new int[this.count];
+            this.offsets = new int[this.count];
+            this.children = new int[this.count - 1];
+            this.next = new int[this.count];
+            this.fragments = new int[this.count * CompactTree.STRIDE];
+            this.table = new Type[16];
+            this.identifiers = new int[16];
+            this.pool = new String[16];
+            this.sources = new Source[4];
+            this.properties = new HashMap<>();
+            this.views = new AtomicReferenceArray<>(this.count);
+            final Filler filler = new Filler(this);
+            new TreeTraversal(root).walk(filler);
+            this.pool = Arrays.copyOf(this.pool, filler.strings.size());
+            this.sources = Arrays.copyOf(this.sources, filler.files.size());
+            this.table = Arrays.copyOf(this.table, filler.kinds.size());
+            this.identifiers = Arrays.copyOf(this.identifiers, filler.kinds.size());
+        }
+
+        /**
+         * Returns the view of a node, creating it if necessary.
+         *  Each node always has exactly one view, so nodes can be compared by reference.
+         * @param id Identifier of the node
+         * @return View of the node
+         */
+        Node getNode(final int id) {
+            View view = this.views.get(id);
+            if (view == null) {
+                view = new View(this, id);
+                if (!this.views.compareAndSet(id, null, view)) {
+                    view = this.views.get(id);
+                }
+            }
+            return view;
+        }
+
+        /**
+         * Returns the identifier of a child of a node.
+         * @param id Identifier of the node
+         * @param index Index of the child
+         * @return Identifier of the child
+         */
+        int getChildId(final int id, final int index) {
+            if (index < 0 || index >= this.counts[id]) {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.children[this.offsets[id] + index];
+        }
+
+        /**
+         * Returns the type identifier of a node.
+         * @param id Identifier of the node
+         * @return Type identifier
+         */
+        int getTypeId(final int id) {
+            return this.identifiers[this.types[id]];
+        }
+
+        /**
+         * Returns the fragment of a node.
+         * @param id Identifier of the node
+         * @return Fragment
+         */
+        Fragment getFragment(final int id) {
+            final int base = id * CompactTree.STRIDE;
+            final int index = this.fragments[base];
+            final Fragment fragment;
+            if (index < 0) {
+                fragment = EmptyFragment.INSTANCE;
+            } else {
+                final Source source = this.sources[index];
+                fragment = new DefaultFragment(
+                    new DefaultPosition(
+                        source,
+                        this.fragments[base + 1],
+                        this.fragments[base + 2]
+                    ),
+                    new DefaultPosition(
+                        source,
+                        this.fragments[base + 3],
+                        this.fragments[base + 4]
+                    )
+                );
+            }
+            return fragment;
+        }
+
+        /**
+         * Returns the properties of a node.
+         * @param id Identifier of the node
+         * @return Properties
+         */
+        Map<String, String> getProperties(final int id) {
+            Map<String, String> result = this.properties.get(id);
+            if (result == null) {
+                result = this.table[this.types[id]].getProperties();
+            }
+            return result;
+        }
+
+        /**
+         * Compares the data of two trees node by node.
+         * @param other Columns of the other tree
+         * @return Comparison result, {@code true} if the trees are equal
+         */
+        boolean deepCompare(final Columns other) {
+            boolean equal = this.count == other.count
+                && Arrays.equals(this.counts, other.counts);
+            for (int id = 0; equal && id < this.count; id = id + 1) {
+                equal = this.getTypeId(id) == other.getTypeId(id)
+                    && this.pool[this.data[id]].equals(other.pool[other.data[id]]);
+            }
+            return equal;
+        }
+    }
+
+    /**
+     * Visitor that fills in the columns with data about the nodes of the original tree.
+     * @since 2.0.0
+     */
+    private static final class Filler implements TreeTraversal.Visitor {
+        /**
+         * Columns.
+         */
+        private final Columns columns;
+
+        /**
+         * Indices of strings that are already in the pool.
+         */
+        private final Map<String, Integer> strings;
+
+        /**
+         * Indices of sources that are already in the array of sources.
+         */
+        private final Map<Source, Integer> files;
+
+        /**
+         * Indices of types that are already in the table of types.
+         */
+        private final Map<Type, Integer> kinds;
+
+        /**
+         * Identifiers of the nodes on the path from the root to the current node.
+         */
+        private int[] path;
+
+        /**
+         * Identifiers of the last visited child for each node on the path, or -1.
+         */
+        private int[] last;
+
+        /**
+         * Number of nodes on the path.
+         */
+        private int depth;
+
+        /**
+         * Number of nodes added to the columns.
+         */
+        private int added;
+
+        /**
+         * Number of used elements of the array of children.
+         */
+        private int used;
+
+        /**
+         * Constructor.
+         * @param columns Columns
+         */
+        Filler(final Columns columns) {
+            this.columns = columns;
+            this.strings = new HashMap<>();
+            this.files = new IdentityHashMap<>();
+            this.kinds = new IdentityHashMap<>();
+            this.path = new int[32];
+            this.last = new int[32];
+            this.intern("");
+        }
+
+        @Override
+        public TreeTraversal.Decision enter(final Node node) {
+            final Columns data = this.columns;
+            final int id = this.added;
+            this.added = id + 1;
+            if (this.depth > 0) {
+                final int parent = this.path[this.depth - 1];
+                final int previous = this.last[this.depth - 1];
+                if (previous >= 0) {
+                    data.next[previous] = id;
+                }
+                data.children[data.offsets[parent] + data.counts[parent]] = id;
+                data.counts[parent] = data.counts[parent] + 1;
+                this.last[this.depth - 1] = id;
+            }
+            final Type type = node.getType();
+            data.types[id] = this.register(type);
+            data.data[id] = this.intern(node.getData());
+            data.next[id] = -1;
+            data.offsets[id] = this.used;
+            this.used = this.used + node.getChildCount();
+            final Map<String, String> properties = node.getProperties();
+            if (!properties.equals(type.getProperties())) {
+                data.properties.put(id, properties);
+            }
+            this.pack(id, node.getFragment());
+            if (this.depth == this.path.length) {
+                this.path = Arrays.copyOf(this.path, this.depth * 2);
+                this.last = Arrays.copyOf(this.last, this.depth * 2);
+            }
+            this.path[this.depth] = id;
+            this.last[this.depth] = -1;
+            this.depth = this.depth + 1;
+            return TreeTraversal.Decision.CONTINUE;
+        }
+
+        @Override
+        public void leave(final Node node) {
+            this.depth = this.depth - 1;
+        }
+
+        /**
+         * Returns the index of a string in the pool, adding the string if necessary.
+         * @param string String
+         * @return Index of the string
+         */
+        private int intern(final String string) {
+            Integer index = this.strings.get(string);
+            if (index == null) {
+                final Columns data = this.columns;
+                index = this.strings.size();
+                if (index == data.pool.length) {
+                    data.pool = Arrays.copyOf(data.pool, index * 2);
+                }
+                data.pool[index] = string;
+                this.strings.put(string, index);
+            }
+            return index;
+        }
+
+        /**
+         * Returns the index of a type in the table of types, adding the type if necessary.
+         * @param type Type
+         * @return Index of the type
+         */
+        private int register(final Type type) {
+            Integer index = this.kinds.get(type);
+            if (index == null) {
+                final Columns data = this.columns;
+                index = this.kinds.size();
+                if (index == data.table.length) {
+                    data.table = Arrays.copyOf(data.table, index * 2);
+                    data.identifiers = Arrays.copyOf(data.identifiers, index * 2);
+                }
+                int identifier = type.getId();
+                if (identifier == 0) {
+                    identifier = TypeRegistry.INSTANCE.getId(type.getName());
+                }
+                data.table[index] = type;
+                data.identifiers[index] = identifier;
+                this.kinds.put(type, index);
+            }
+            return index;
+        }
+
+        /**
+         * Packs the fragment of a node into the array of fragments.
+         * @param id Identifier of the node
+         * @param fragment Fragment
+         */
+        private void pack(final int id, final Fragment fragment) {
+            final Columns data = this.columns;
+            final int base = id * CompactTree.STRIDE;
+            if (fragment.equals(EmptyFragment.INSTANCE)) {
+                data.fragments[base] = -1;
+            } else {
+                final Position begin = fragment.getBegin();
+                final Position end = fragment.getEnd();
+                final Source source = begin.getSource();
+                Integer index = this.files.get(source);
+                if (index == null) {
+                    index = this.files.size();
+                    if (index == data.sources.length) {
+                        data.sources = Arrays.copyOf(data.sources, index * 2);
+                    }
+                    data.sources[index] = source;
+                    this.files.put(source, index);
+                }
+                data.fragments[base] = index;
+                data.fragments[base + 1] = begin.getRow();
+                data.fragments[base + 2] = begin.getColumn();
+                data.fragments[base + 3] = end.getRow();
+                data.fragments[base + 4] = end.getColumn();
+            }
+        }
+    }
+
+    /**
+     * Flyweight node, that is, a view of the data of one node stored in the columns.
+     * @since 2.0.0
+     */
+    private static final class View implements Node {
+        /**
+         * Columns that store data of the node.
+         */
+        private final Columns columns;
+
+        /**
+         * Identifier of the node.
+         */
+        private final int id;
+
+        /**
+         * Constructor.
+         * @param columns Columns that store data of the node
+         * @param id Identifier of the node
+         */
+        View(final Columns columns, final int id) {
+            this.columns = columns;
+            this.id = id;
+        }
+
+        @Override
+        public Fragment getFragment() {
+            return this.columns.getFragment(this.id);
+        }
+
+        @Override
+        public Type getType() {
+            return this.columns.table[this.columns.types[this.id]];
+        }
+
+        @Override
+        public int getTypeId() {
+            return this.columns.getTypeId(this.id);
+        }
+
+        @Override
+        public String getData() {
+            return this.columns.pool[this.columns.data[this.id]];
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return this.columns.getProperties(this.id);
+        }
+
+        @Override
+        public int getChildCount() {
+            return this.columns.counts[this.id];
+        }
+
+        @Override
+        public Node getChild(final int index) {
+            return this.columns.getNode(this.columns.getChildId(this.id, index));
+        }
+
+        @Override
+        public String toString() {
+            return Node.toString(this);
+        }
+    }
+}
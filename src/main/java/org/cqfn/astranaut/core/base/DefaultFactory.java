@@ -41,12 +41,35 @@ public class DefaultFactory implements Factory {
      */
     private final Map<String, Type> types;
 
+    /**
+     * Table of types indexed by identifiers, which allows to find a type without
+     *  comparing strings.
+     */
+    private final Type[] table;
+
     /**
      * Constructs a Factory with the given set of types.
      * @param types The map of types indexed by name
      */
     public DefaultFactory(final Map<String, Type> types) {
         this.types = types;
+        final Type[] actions = {Insert.TYPE, Replace.TYPE, Delete.TYPE, Move.TYPE};
+        int size = 0;
+        for (final Type type : actions) {
+            size = Math.max(size, type.getId() + 1);
+        }
+        for (final String name : types.keySet()) {
+            size = Math.max(size, TypeRegistry.INSTANCE.getId(name) + 1);
+        }
+        this.table = new Type[size];
+        for (final Type type : actions) {
+            this.table[type.getId()] = type;
+            TypeRegistry.INSTANCE.registerGroups(type);
+        }
+        for (final Map.Entry<String, Type> entry : types.entrySet()) {
+            this.table[TypeRegistry.INSTANCE.getId(entry.getKey())] = entry.getValue();
+            TypeRegistry.INSTANCE.registerGroups(entry.getValue());
+        }
     }
 
     @Override
@@ -65,6 +88,9 @@ public class DefaultFactory implements Factory {
                 case "Delete":
                     type = Delete.TYPE;
                     break;
+                case "Move":
+                    type = Move.TYPE;
+                    break;
                 default:
                     type = null;
                     break;
@@ -72,4 +98,15 @@ public class DefaultFactory implements Factory {
         }
         return type;
     }
+
+    @Override
+    public final Type getType(final int id) {
+        final Type type;
+        if (id > 0 && id < this.table.length && this.table[id] != null) {
+            type = this.table[id];
+        } else {
+            type = Factory.super.getType(id);
+        }
+        return type;
+    }
 }
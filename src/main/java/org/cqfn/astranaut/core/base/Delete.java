@@ -149,11 +149,21 @@ public final class Delete implements Action {
                 {"color", "blue"},
             }).collect(Collectors.toMap(data -> data[0], data -> data[1]));
 
+        /**
+         * Identifier of the type.
+         */
+        private static final int ID = TypeRegistry.INSTANCE.getId(DeleteType.DELETE);
+
         @Override
         public String getName() {
             return DeleteType.DELETE;
         }
 
+        @Override
+        public int getId() {
+            return DeleteType.ID;
+        }
+
         @Override
         public List<ChildDescriptor> getChildTypes() {
             return DeleteType.CHILDREN;
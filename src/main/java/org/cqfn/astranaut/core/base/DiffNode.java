@@ -23,10 +23,12 @@
  */
 package org.cqfn.astranaut.core.base;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 /**
@@ -46,18 +48,19 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
 
     /**
      * The list of children with actions.
-      */
-    private final List<DiffTreeItem> children;
+     */
+    private final Children children;
 
     /**
      * Constructor.
      * @param parent The parent convertible node
      * @param prototype The prototype node
+     * @param plan Plan of the actions or {@code null} if there are no actions
      */
-    private DiffNode(final DiffNode parent, final Node prototype) {
+    private DiffNode(final DiffNode parent, final Node prototype, final DiffPlan plan) {
         this.parent = parent;
         this.prototype = prototype;
-        this.children = this.initChildrenList();
+        this.children = new Children(this.initChildrenList(plan));
     }
 
     /**
@@ -65,7 +68,18 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
      * @param prototype The prototype node.
      */
     public DiffNode(final Node prototype) {
-        this(null, prototype);
+        this(null, prototype, null);
+    }
+
+    /**
+     * Constructor that creates a difference tree already containing all the planned actions.
+     *  Unlike adding the actions one by one, no searches are performed, so the time
+     *  does not depend on the number of actions.
+     * @param prototype The prototype node
+     * @param plan Plan of the actions
+     */
+    public DiffNode(final Node prototype, final DiffPlan plan) {
+        this(null, prototype, plan);
     }
 
     /**
@@ -139,21 +153,33 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
      * @return Result of operation, @return {@code true} if action was added
      */
     public boolean insertNodeAfter(final Node node, final Node after) {
+        return this.children.insertAfter(new Insert(node), after);
+    }
+
+    /**
+     * Adds a pair of actions that moves a child node of this node to a child list of another
+     *  node (or of this node) after the specified node. If no node is specified, the moved node
+     *  is placed at the beginning of the children's list.
+     * @param node Child node to be moved
+     * @param destination Node into which the node will be moved
+     * @param moved The node as it appears after the changes
+     * @param after Node after which to place the moved node
+     * @param number Number that links the source and the target actions
+     * @return Result of operation, @return {@code true} if actions were added
+     */
+    public boolean moveNode(final Node node, final DiffNode destination, final Node moved,
+        final Node after, final int number) {
         boolean result = false;
-        if (after == null) {
-            this.children.add(0, new Insert(node));
-            result = true;
-        } else {
-            final ListIterator<DiffTreeItem> iterator = this.children.listIterator();
-            while (iterator.hasNext()) {
-                final Node child = iterator.next();
-                if (child instanceof DiffNode && ((DiffNode) child).getPrototype() == after
-                    || child instanceof Insert && ((Insert) child).getAfter() == after) {
-                    iterator.add(new Insert(node));
-                    result = true;
-                    break;
-                }
-            }
+        final int index = this.children.findChild(node);
+        if (index >= 0) {
+            result = destination.children.insertAfter(new Move(null, moved, number), after);
+        }
+        if (result) {
+            final int position = this.children.findChild(node);
+            this.children.set(
+                position,
+                new Move(Children.getOriginal(this.children.get(position)), null, number)
+            );
         }
         return result;
     }
@@ -168,15 +194,9 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
     public boolean replaceNode(final int index, final Node replacement) {
         boolean result = false;
         if (index >= 0 && index < this.children.size()) {
-            final DiffTreeItem child = this.children.get(index);
-            if (child instanceof DiffNode) {
-                this.children.set(
-                    index,
-                    new Replace(
-                        ((DiffNode) child).getPrototype(),
-                        replacement
-                    )
-                );
+            final Node original = Children.getOriginal(this.children.get(index));
+            if (original != null) {
+                this.children.set(index, new Replace(original, replacement));
                 result = true;
             }
         }
@@ -191,7 +211,7 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
      */
     public boolean replaceNode(final Node node, final Node replacement) {
         boolean result = false;
-        final int index = this.findChildIndex(node);
+        final int index = this.children.findChild(node);
         if (index >= 0) {
             result = this.replaceNode(index, replacement);
         }
@@ -206,9 +226,9 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
     public boolean deleteNode(final int index) {
         boolean result = false;
         if (index >= 0 && index < this.children.size()) {
-            final DiffTreeItem child = this.children.get(index);
-            if (child instanceof DiffNode) {
-                this.children.set(index, new Delete(((DiffNode) child).getPrototype()));
+            final Node original = Children.getOriginal(this.children.get(index));
+            if (original != null) {
+                this.children.set(index, new Delete(original));
                 result = true;
             }
         }
@@ -222,7 +242,7 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
      */
     public boolean deleteNode(final Node node) {
         boolean result = false;
-        final int index = this.findChildIndex(node);
+        final int index = this.children.findChild(node);
         if (index >= 0) {
             result = this.deleteNode(index);
         }
@@ -230,45 +250,59 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
     }
 
     /**
-     * Transforms children nodes to difference ones.
-     * @return List of difference nodes
+     * Transforms children nodes to difference ones, placing the planned actions between them.
+     *  The children whose subtrees are not changed according to the plan are not transformed.
+     * @param plan Plan of the actions or {@code null} if there are no actions
+     * @return List of difference nodes, actions and unchanged nodes
      */
-    private List<DiffTreeItem> initChildrenList() {
+    private List<Node> initChildrenList(final DiffPlan plan) {
         final int count = this.prototype.getChildCount();
-        final List<DiffTreeItem> result = new LinkedList<>();
+        final List<Node> result = new ArrayList<>(count);
+        if (plan != null) {
+            this.placeItems(result, plan, null);
+        }
         for (int index = 0; index < count; index = index + 1) {
-            result.add(
-                new DiffNode(this, this.prototype.getChild(index))
-            );
+            final Node child = this.prototype.getChild(index);
+            DiffTreeItem action = null;
+            if (plan != null) {
+                action = plan.getAction(child);
+            }
+            if (action == null && (plan == null || plan.isChanged(child))) {
+                result.add(new DiffNode(this, child, plan));
+            } else if (action == null) {
+                result.add(child);
+            } else {
+                result.add(action);
+            }
+            if (plan != null) {
+                this.placeItems(result, plan, child);
+            }
         }
         return result;
     }
 
     /**
-     * Searches the index of a child element by its prototype.
-     * @param node Prototype of the node whose index is to be found
-     * @return Index or -1 if there is no such node or it has already been deleted or replaced
+     * Adds to the list of children the items planned after a child node, each one followed
+     *  by the items planned after it.
+     * @param list List of children
+     * @param plan Plan of the actions
+     * @param after Node after which the items are placed or {@code null} for the items placed
+     *  at the beginning of the list
      */
-    private int findChildIndex(final Node node) {
-        int result = -1;
-        final int count = this.children.size();
-        for (int index = 0; result < 0 && index < count; index = index + 1) {
-            final DiffTreeItem child = this.children.get(index);
-            if (child instanceof DiffNode) {
-                Node proto = ((DiffNode) child).getPrototype();
-                while (true) {
-                    if (node.equals(proto)) {
-                        result = index;
-                        break;
-                    } else if (proto instanceof PrototypeBasedNode) {
-                        proto = ((PrototypeBasedNode) proto).getPrototype();
-                    } else {
-                        break;
-                    }
-                }
+    private void placeItems(final List<Node> list, final DiffPlan plan,
+        final Node after) {
+        final Deque<Iterator<DiffTreeItem>> stack = new ArrayDeque<>();
+        stack.push(plan.getPlaced(this.prototype, after).iterator());
+        while (!stack.isEmpty()) {
+            final Iterator<DiffTreeItem> iterator = stack.peek();
+            if (iterator.hasNext()) {
+                final DiffTreeItem item = iterator.next();
+                list.add(item);
+                stack.push(plan.getFollowing(item).iterator());
+            } else {
+                stack.pop();
             }
         }
-        return result;
     }
 
     /**
@@ -287,9 +321,16 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
             if (!builder.setData(this.getData())) {
                 break;
             }
-            final List<Node> list = new ArrayList<>(this.children.size());
-            for (final DiffTreeItem child : this.children) {
-                final Node branch = selector.select(child);
+            final int count = this.children.size();
+            final List<Node> list = new ArrayList<>(count);
+            for (int index = 0; index < count; index = index + 1) {
+                final Node child = this.children.get(index);
+                final Node branch;
+                if (child instanceof DiffTreeItem) {
+                    branch = selector.select((DiffTreeItem) child);
+                } else {
+                    branch = child;
+                }
                 if (branch != null) {
                     list.add(branch);
                 }
@@ -317,4 +358,286 @@ public final class DiffNode extends NodeAndType implements DiffTreeItem, Prototy
          */
         Node select(DiffTreeItem item);
     }
+
+    /**
+     * List of children with actions. Besides difference nodes and actions, the list may contain
+     *  'ordinary' nodes, which are the same before and after the changes and are treated
+     *  like difference nodes based on them. The items are stored in an array, so that they are
+     *  accessed by index in constant time. Wide lists also have indexes that find items by
+     *  nodes in constant time; the indexes are updated lazily, starting from the first
+     *  position changed since the last search.
+     * @since 2.0.0
+     */
+    private static final class Children {
+        /**
+         * Number of items starting from which the indexes are used instead of linear search.
+         */
+        private static final int THRESHOLD = 8;
+
+        /**
+         * Items.
+         */
+        private final List<Node> items;
+
+        /**
+         * Positions of difference nodes by their prototypes (and prototypes of prototypes),
+         *  or {@code null} if not created yet.
+         */
+        private Map<Node, Integer> nodes;
+
+        /**
+         * Positions of items after which other nodes can be placed, by the nodes
+         *  after which to place, or {@code null} if not created yet.
+         */
+        private Map<Node, Integer> anchors;
+
+        /**
+         * Positions of inserted or moved nodes after which other nodes can be placed,
+         *  or {@code null} if not created yet. These take precedence over the other anchors,
+         *  since an inserted node may be the same object as a node of the original tree.
+         */
+        private Map<Node, Integer> targets;
+
+        /**
+         * First position starting from which the indexes are not up to date.
+         */
+        private int stale;
+
+        /**
+         * Constructor.
+         * @param items Initial list of items
+         */
+        Children(final List<Node> items) {
+            this.items = items;
+        }
+
+        /**
+         * Returns the number of items.
+         * @return Number of items
+         */
+        int size() {
+            return this.items.size();
+        }
+
+        /**
+         * Returns an item by its index.
+         * @param index Index
+         * @return Item
+         */
+        Node get(final int index) {
+            return this.items.get(index);
+        }
+
+        /**
+         * Replaces an item.
+         * @param index Index of the item
+         * @param item New item
+         */
+        void set(final int index, final DiffTreeItem item) {
+            if (this.nodes != null) {
+                this.stale = Math.min(this.stale, index);
+                this.unregister(this.items.get(index));
+            }
+            this.items.set(index, item);
+        }
+
+        /**
+         * Inserts an item after the item after which other nodes can be placed.
+         * @param item Item to be inserted
+         * @param after Node after which to insert, or {@code null} to insert the item
+         *  at the beginning of the list
+         * @return Result of operation, {@code true} if the item was inserted
+         */
+        boolean insertAfter(final DiffTreeItem item, final Node after) {
+            int index = 0;
+            if (after != null) {
+                index = this.findAnchor(after) + 1;
+            }
+            final boolean result = index > 0 || after == null;
+            if (result) {
+                this.items.add(index, item);
+                this.stale = Math.min(this.stale, index);
+            }
+            return result;
+        }
+
+        /**
+         * Searches the index of a difference node by its prototype.
+         * @param node Prototype of the node whose index is to be found
+         * @return Index or -1 if there is no such node or it has already been deleted
+         *  or replaced
+         */
+        int findChild(final Node node) {
+            int result = -1;
+            if (this.items.size() < Children.THRESHOLD) {
+                final int count = this.items.size();
+                for (int index = 0; result < 0 && index < count; index = index + 1) {
+                    Node proto = Children.getOriginal(this.items.get(index));
+                    while (proto != null && result < 0) {
+                        if (node.equals(proto)) {
+                            result = index;
+                        }
+                        proto = Children.getNextPrototype(proto);
+                    }
+                }
+            } else {
+                this.update();
+                result = this.nodes.getOrDefault(node, -1);
+            }
+            return result;
+        }
+
+        /**
+         * Searches the index of the item after which other nodes can be placed.
+         *  The source of a move is never such an item, since it disappears after the changes.
+         *  If the node is both inserted (or moved here) and located in the original list,
+         *  which happens when trees share subtrees, the inserted one is chosen, because
+         *  the node after which to place is a node of the tree after the changes.
+         * @param node Node after which to place other nodes
+         * @return Index or -1 if there is no such item
+         */
+        private int findAnchor(final Node node) {
+            int result = -1;
+            if (this.items.size() < Children.THRESHOLD) {
+                final int count = this.items.size();
+                for (int index = 0; index < count; index = index + 1) {
+                    final Node item = this.items.get(index);
+                    if (Children.getAnchor(item) == node
+                        && (result < 0 || Children.isTarget(item))) {
+                        result = index;
+                        if (Children.isTarget(item)) {
+                            break;
+                        }
+                    }
+                }
+            } else {
+                this.update();
+                result = this.targets.getOrDefault(node, this.anchors.getOrDefault(node, -1));
+            }
+            return result;
+        }
+
+        /**
+         * Brings the indexes up to date: removes the outdated positions and adds the actual
+         *  ones, in order, so that for each node the first suitable position is stored.
+         */
+        private void update() {
+            if (this.nodes == null) {
+                this.nodes = new IdentityHashMap<>();
+                this.anchors = new IdentityHashMap<>();
+                this.targets = new IdentityHashMap<>();
+                this.stale = 0;
+            }
+            final int count = this.items.size();
+            if (this.stale < count) {
+                for (int index = this.stale; index < count; index = index + 1) {
+                    this.unregister(this.items.get(index));
+                }
+                for (int index = this.stale; index < count; index = index + 1) {
+                    final Node item = this.items.get(index);
+                    final Node anchor = Children.getAnchor(item);
+                    if (anchor != null) {
+                        this.getAnchors(item).putIfAbsent(anchor, index);
+                    }
+                    Node proto = Children.getOriginal(item);
+                    while (proto != null) {
+                        this.nodes.putIfAbsent(proto, index);
+                        proto = Children.getNextPrototype(proto);
+                    }
+                }
+            }
+            this.stale = count;
+        }
+
+        /**
+         * Removes from the indexes the outdated positions of the nodes related to an item.
+         *  A position is outdated if it is not less than the first changed position.
+         * @param item Item
+         */
+        private void unregister(final Node item) {
+            final Node anchor = Children.getAnchor(item);
+            final Map<Node, Integer> map = this.getAnchors(item);
+            if (anchor != null && map.getOrDefault(anchor, -1) >= this.stale) {
+                map.remove(anchor);
+            }
+            Node proto = Children.getOriginal(item);
+            while (proto != null) {
+                if (this.nodes.getOrDefault(proto, -1) >= this.stale) {
+                    this.nodes.remove(proto);
+                }
+                proto = Children.getNextPrototype(proto);
+            }
+        }
+
+        /**
+         * Returns the index of the anchors that contains the anchor of an item.
+         * @param item Item
+         * @return Index of the anchors
+         */
+        private Map<Node, Integer> getAnchors(final Node item) {
+            final Map<Node, Integer> map;
+            if (Children.isTarget(item)) {
+                map = this.targets;
+            } else {
+                map = this.anchors;
+            }
+            return map;
+        }
+
+        /**
+         * Checks whether an item places a node that is not at its original position,
+         *  that is, the item is an insertion or a move.
+         * @param item Item
+         * @return Checking result
+         */
+        private static boolean isTarget(final Node item) {
+            return item instanceof Insert || item instanceof Move;
+        }
+
+        /**
+         * Returns the node after which other nodes can be placed if they follow the item.
+         * @param item Item
+         * @return Node or {@code null} if nodes cannot be placed after the item
+         */
+        private static Node getAnchor(final Node item) {
+            Node anchor = Children.getOriginal(item);
+            if (Children.isTarget(item)) {
+                anchor = ((DiffTreeItem) item).getAfter();
+            }
+            return anchor;
+        }
+
+        /**
+         * Returns the node of the original tree that is located in the list of children
+         *  as is, that is, has not been moved, replaced or deleted.
+         * @param item Item
+         * @return Node of the original tree or {@code null} if the item is an action
+         */
+        private static Node getOriginal(final Node item) {
+            final Node original;
+            if (item instanceof DiffNode) {
+                original = ((DiffNode) item).getPrototype();
+            } else if (item instanceof DiffTreeItem) {
+                original = null;
+            } else {
+                original = item;
+            }
+            return original;
+        }
+
+        /**
+         * Returns the next node in the chain of prototypes.
+         * @param node Node
+         * @return Prototype of the node or {@code null} if the node is not based on a prototype
+         */
+        private static Node getNextPrototype(final Node node) {
+            final Node next;
+            if (node instanceof PrototypeBasedNode) {
+                next = ((PrototypeBasedNode) node).getPrototype();
+            } else {
+                next = null;
+            }
+            return next;
+        }
+    }
 }
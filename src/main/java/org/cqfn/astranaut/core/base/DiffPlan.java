@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.List;
+
+/**
+ * Plan of a difference tree, that is, the actions on the children of the nodes of the original
+ *  tree, known before the difference tree is created. Thanks to it, the difference tree
+ *  with all the actions is created in one pass, see {@link DiffNode#DiffNode(Node, DiffPlan)}.
+ * @since 2.0.0
+ */
+public interface DiffPlan {
+    /**
+     * Returns the action that takes the place of a child node of the original tree.
+     * @param node Node of the original tree
+     * @return Action ({@link Move}, {@link Replace} or {@link Delete}) or {@code null}
+     *  if the node remains in its place
+     */
+    DiffTreeItem getAction(Node node);
+
+    /**
+     * Returns the items placed in the list of children of a node right after a child node.
+     * @param parent Node of the original tree into which the items are placed
+     * @param after Child node of the original tree after which the items are placed
+     *  or {@code null} for the items placed at the beginning of the list
+     * @return Items ({@link Insert} actions and target {@link Move} actions) in the order
+     *  in which they follow the node, may be empty
+     */
+    List<DiffTreeItem> getPlaced(Node parent, Node after);
+
+    /**
+     * Returns the items placed right after another placed item.
+     * @param item Item returned by this plan before
+     * @return Items ({@link Insert} actions and target {@link Move} actions) in the order
+     *  in which they follow the item, may be empty
+     */
+    List<DiffTreeItem> getFollowing(DiffTreeItem item);
+
+    /**
+     * Checks whether the subtree of a node of the original tree is changed, that is, contains
+     *  nodes in whose lists of children there are actions. The difference tree contains
+     *  unchanged subtrees as is, without wrapping each node into a difference node,
+     *  so that its size depends on the size of the changes rather than the size of the tree.
+     * @param node Node of the original tree
+     * @return Checking result, {@code true} if the node is to be turned into a difference node
+     */
+    default boolean isChanged(final Node node) {
+        return true;
+    }
+}
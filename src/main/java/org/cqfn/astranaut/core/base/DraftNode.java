@@ -23,12 +23,10 @@
  */
 package org.cqfn.astranaut.core.base;
 
-import java.text.CharacterIterator;
-import java.text.StringCharacterIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,6 +52,11 @@ public final class DraftNode extends NodeAndType {
      */
     private String name;
 
+    /**
+     * Identifier of the type name.
+     */
+    private int identifier;
+
     /**
      * The node data.
      */
@@ -80,6 +83,11 @@ public final class DraftNode extends NodeAndType {
         return this.name;
     }
 
+    @Override
+    public int getId() {
+        return this.identifier;
+    }
+
     @Override
     public String getData() {
         return this.data;
@@ -131,8 +139,7 @@ public final class DraftNode extends NodeAndType {
      */
     @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
     public static Node create(final String description, final Map<String, Set<Node>> nodes) {
-        final CharacterIterator iterator = new StringCharacterIterator(description);
-        return DraftNode.create(iterator, nodes);
+        return new Parser(description, nodes).parse();
     }
 
     /**
@@ -152,102 +159,214 @@ public final class DraftNode extends NodeAndType {
     }
 
     /**
-     * Creates a tree based on its description (recursive method).
-     * @param iterator Iterator by description characters
-     * @param nodes Collection in which to place the nodes to be created, sorted by type name
-     * @return Node of the tree with its children, created by description
+     * Single-pass parser of tree descriptions. It reads the description directly
+     *  from the string, creates the lists of children of the final size and does not use
+     *  recursion, so it is suitable for large and deep trees.
+     * @since 2.0.0
      */
-    private static Node create(
-        final CharacterIterator iterator,
-        final Map<String, Set<Node>> nodes) {
-        final Node result;
-        final StringBuilder name = new StringBuilder();
-        char symbol = iterator.current();
-        if (Character.isLetter(symbol)) {
-            name.append(symbol);
-            symbol = iterator.next();
+    private static final class Parser {
+        /**
+         * Symbol returned when the end of the description is reached.
+         */
+        private static final char END = '\uFFFF';
+
+        /**
+         * Description.
+         */
+        private final String text;
+
+        /**
+         * Collection in which to place the nodes to be created, sorted by type name,
+         *  or {@code null}.
+         */
+        private final Map<String, Set<Node>> nodes;
+
+        /**
+         * Current position in the description.
+         */
+        private int position;
+
+        /**
+         * Constructor.
+         * @param text Description
+         * @param nodes Collection in which to place the nodes to be created, or {@code null}
+         */
+        Parser(final String text, final Map<String, Set<Node>> nodes) {
+            this.text = text;
+            this.nodes = nodes;
         }
-        while (Character.isLetterOrDigit(symbol)) {
-            name.append(symbol);
-            symbol = iterator.next();
+
+        /**
+         * Parses the description.
+         * @return Root node of the tree created by description or {@code null}
+         *  if the description does not start with a type name
+         */
+        Node parse() {
+            Node result = null;
+            DraftNode[] stack = new DraftNode[16];
+            int depth = 0;
+            DraftNode current = this.parseNode();
+            while (current != null) {
+                Node node = null;
+                if (this.symbol() == '(') {
+                    current.children = new ArrayList<>(2);
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth] = current;
+                    depth = depth + 1;
+                    current = this.parseChild();
+                    if (current != null) {
+                        continue;
+                    }
+                } else {
+                    node = this.complete(current);
+                    current = null;
+                }
+                while (depth > 0) {
+                    final DraftNode parent = stack[depth - 1];
+                    if (node != null) {
+                        parent.children.add(node);
+                        node = null;
+                    }
+                    if (this.hasNextChild()) {
+                        current = this.parseChild();
+                        if (current != null) {
+                            break;
+                        }
+                    } else {
+                        this.position = this.position + 1;
+                        depth = depth - 1;
+                        stack[depth] = null;
+                        node = this.complete(parent);
+                    }
+                }
+                if (depth == 0) {
+                    result = node;
+                }
+            }
+            return result;
         }
-        if (name.length() > 0) {
-            final DraftNode.Constructor builder = new DraftNode.Constructor();
-            builder.setName(name.toString());
-            if (symbol == '<') {
-                builder.setData(DraftNode.parseData(iterator));
-                symbol = iterator.current();
+
+        /**
+         * Parses the type name and the data of a node.
+         * @return Node without children or {@code null} if there is no type name
+         *  at the current position
+         */
+        private DraftNode parseNode() {
+            final int start = this.position;
+            char symbol = this.symbol();
+            if (Character.isLetter(symbol)) {
+                symbol = this.next();
+            }
+            while (Character.isLetterOrDigit(symbol)) {
+                symbol = this.next();
             }
-            if (symbol == '(') {
-                builder.setChildrenList(DraftNode.parseChildrenList(iterator, nodes));
+            DraftNode node = null;
+            if (this.position > start) {
+                node = new DraftNode();
+                node.fragment = EmptyFragment.INSTANCE;
+                node.name = this.text.substring(start, this.position);
+                node.identifier = TypeRegistry.INSTANCE.getId(node.name);
+                node.data = "";
+                if (symbol == '<') {
+                    node.data = this.parseData();
+                }
             }
-            result = builder.createNode();
-            if (nodes != null) {
-                final Set<Node> set =
-                    nodes.computeIfAbsent(result.getTypeName(), k -> new HashSet<>());
-                set.add(result);
+            return node;
+        }
+
+        /**
+         * Parses the data of a node, the current symbol is the opening angle bracket.
+         * @return Node data
+         */
+        private String parseData() {
+            String data = "";
+            char symbol = this.next();
+            if (symbol == '\"' || symbol == '\'') {
+                final int start = this.position + 1;
+                int end = this.text.indexOf(symbol, start);
+                if (end < 0) {
+                    end = this.text.length();
+                }
+                data = this.text.substring(start, end);
+                this.position = end + 1;
+                if (this.symbol() == '>') {
+                    this.next();
+                }
+            } else {
+                do {
+                    symbol = this.next();
+                } while (symbol != '>' && symbol != Parser.END);
+                this.next();
             }
-        } else {
-            result = null;
+            return data;
         }
-        return result;
-    }
 
-    /**
-     * Parses data from description.
-     * @param iterator Iterator by description characters
-     * @return Node data, extracted from description
-     */
-    private static String parseData(final CharacterIterator iterator) {
-        final StringBuilder data = new StringBuilder();
-        char symbol = iterator.next();
-        if (symbol == '\"' || symbol == '\'') {
-            final char quote = symbol;
-            symbol = iterator.next();
-            while (symbol != quote) {
-                data.append(symbol);
-                symbol = iterator.next();
+        /**
+         * Skips the symbol preceding a child node and parses the type name and
+         *  the data of the child node.
+         * @return Child node or {@code null} if there is no type name
+         */
+        private DraftNode parseChild() {
+            this.position = this.position + 1;
+            return this.parseNode();
+        }
+
+        /**
+         * Checks whether the list of children continues. If the current symbol is
+         *  unexpected, skips the rest of the list.
+         * @return Checking result, {@code false} if the current symbol is the closing
+         *  parenthesis or the end of the description
+         */
+        private boolean hasNextChild() {
+            char symbol = this.symbol();
+            final boolean result = symbol == ',' || symbol == ' ';
+            while (symbol != ')' && symbol != Parser.END && !result) {
+                symbol = this.next();
             }
-            symbol = iterator.next();
-            if (symbol == '>') {
-                iterator.next();
+            return result;
+        }
+
+        /**
+         * Completes the creation of a node and adds it to the collection of nodes.
+         * @param node Node
+         * @return The same node
+         */
+        private Node complete(final DraftNode node) {
+            if (node.children == null) {
+                node.children = Collections.emptyList();
+            }
+            if (this.nodes != null) {
+                this.nodes.computeIfAbsent(node.name, k -> new HashSet<>()).add(node);
             }
-        } else {
-            do {
-                symbol = iterator.next();
-            } while (symbol != '>' && symbol != CharacterIterator.DONE);
-            iterator.next();
+            return node;
         }
-        return data.toString();
-    }
 
-    /**
-     * Parses children list from description.
-     * @param iterator Iterator by description characters
-     * @param nodes Collection in which to place the nodes to be created, sorted by type name
-     * @return Children list, created by description
-     */
-    private static List<Node> parseChildrenList(
-        final CharacterIterator iterator,
-        final Map<String, Set<Node>> nodes) {
-        final List<Node> children = new LinkedList<>();
-        char next;
-        do {
-            iterator.next();
-            final Node child = DraftNode.create(iterator, nodes);
-            if (child != null) {
-                children.add(child);
+        /**
+         * Returns the current symbol.
+         * @return Symbol or {@link Parser#END} if the end of the description is reached
+         */
+        private char symbol() {
+            final char symbol;
+            if (this.position < this.text.length()) {
+                symbol = this.text.charAt(this.position);
+            } else {
+                symbol = Parser.END;
             }
-            next = iterator.current();
-            if (next != ')' && next != ',' && next != ' ') {
-                do {
-                    next = iterator.next();
-                } while (next != ')' && next != CharacterIterator.DONE);
-                break;
+            return symbol;
+        }
+
+        /**
+         * Moves to the next symbol.
+         * @return Next symbol or {@link Parser#END} if the end of the description is reached
+         */
+        private char next() {
+            if (this.position < this.text.length()) {
+                this.position = this.position + 1;
             }
-        } while (next != ')');
-        iterator.next();
-        return children;
+            return this.symbol();
+        }
     }
 
     /**
@@ -282,7 +401,7 @@ public final class DraftNode extends NodeAndType {
             this.fragment = EmptyFragment.INSTANCE;
             this.name = "";
             this.data = "";
-            this.children = new LinkedList<>();
+            this.children = new ArrayList<>();
         }
 
         @Override
@@ -332,6 +451,7 @@ public final class DraftNode extends NodeAndType {
             final DraftNode node = new DraftNode();
             node.fragment = this.fragment;
             node.name = this.name;
+            node.identifier = TypeRegistry.INSTANCE.getId(this.name);
             node.data = this.data;
             node.children = new ArrayList<>(this.children);
             return node;
@@ -23,6 +23,9 @@
  */
 package org.cqfn.astranaut.core.base;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * Extended node interface.
  *  This interface provides additional data that can be useful for certain algorithms
@@ -55,6 +58,32 @@ public interface ExtNode extends PrototypeBasedNode {
         return node;
     }
 
+    /**
+     * Returns the identifier of this node, that is, its sequence number in the depth-first
+     *  (pre-order) traversal of the tree to which the node belongs. The root node has
+     *  the identifier 0, and the identifiers of the nodes of any subtree form a continuous
+     *  range starting with the identifier of the root of the subtree, so they can be used
+     *  as indices of arrays that store data about nodes.
+     *  The default implementation counts the nodes preceding this one, which takes time
+     *  proportional to their number; implementations that store nodes in the depth-first order
+     *  are expected to override it.
+     * @return Node identifier
+     */
+    default int getId() {
+        int id = 0;
+        ExtNode node = this;
+        ExtNode parent = node.getParent();
+        while (parent != null) {
+            id = id + 1;
+            for (ExtNode left = node.getLeft(); left != null; left = left.getLeft()) {
+                id = id + left.getSubtreeSize();
+            }
+            node = parent;
+            parent = node.getParent();
+        }
+        return id;
+    }
+
     /**
      * Returns the index (sequence number) of this node in the list of children
      *  of this node's parent.
@@ -122,7 +151,43 @@ public interface ExtNode extends PrototypeBasedNode {
      *  The absolute hash is calculated based on the data of this node as well as all its
      *  descendant nodes. If two nodes have identical absolute hashes, their entire subtrees
      *  are considered structurally and data-wise equivalent.
+     *  The value is not required to be equal to the one calculated by
+     *  {@link org.cqfn.astranaut.core.algorithms.hash.AbsoluteHash}: for example, nodes created
+     *  by {@link org.cqfn.astranaut.core.algorithms.ExtNodeCreator} return the folded structural
+     *  hash (see {@link #getStructuralHash()}). Therefore, only the hashes of nodes created
+     *  in the same way can be compared to each other.
      * @return The absolute hash of the node and its subtree
      */
     int getAbsoluteHash();
+
+    /**
+     * Returns the wide (64-bit) structural hash of this node. Like the absolute hash,
+     *  it is calculated based on the data of this node as well as all its descendant nodes,
+     *  but it is much less likely that two different subtrees have the same wide hash.
+     * @return The structural hash of the node and its subtree
+     */
+    default long getStructuralHash() {
+        return this.getAbsoluteHash();
+    }
+
+    /**
+     * Returns the number of nodes in the subtree whose root is this node,
+     *  including this node itself. The default implementation visits the nodes using
+     *  an explicit stack, so the depth of the subtree is not limited by the call stack.
+     * @return Size of the subtree
+     */
+    default int getSubtreeSize() {
+        int size = 0;
+        final Deque<ExtNode> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            final ExtNode node = stack.pop();
+            size = size + 1;
+            final int count = node.getChildCount();
+            for (int index = 0; index < count; index = index + 1) {
+                stack.push(node.getExtChild(index));
+            }
+        }
+        return size;
+    }
 }
@@ -35,6 +35,22 @@ public interface Factory {
      */
     Type getType(String name);
 
+    /**
+     * Retrieves the type associated with the given identifier.
+     * @param id The identifier of the type assigned by the {@link TypeRegistry}
+     * @return The corresponding Type object, or {@code null} if not found
+     */
+    default Type getType(final int id) {
+        final String name = TypeRegistry.INSTANCE.getName(id);
+        final Type type;
+        if (name == null) {
+            type = null;
+        } else {
+            type = this.getType(name);
+        }
+        return type;
+    }
+
     /**
      * Creates a builder for the given type name.
      * @param name The name of the type to create a builder for
@@ -149,11 +149,21 @@ public final class Insert implements Action {
                 {"color", "blue"},
             }).collect(Collectors.toMap(data -> data[0], data -> data[1]));
 
+        /**
+         * Identifier of the type.
+         */
+        private static final int ID = TypeRegistry.INSTANCE.getId(InsertType.INSERT);
+
         @Override
         public String getName() {
             return InsertType.INSERT;
         }
 
+        @Override
+        public int getId() {
+            return InsertType.ID;
+        }
+
         @Override
         public List<ChildDescriptor> getChildTypes() {
             return InsertType.CHILDREN;
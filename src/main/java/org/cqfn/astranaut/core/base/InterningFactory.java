@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
+
+/**
+ * Factory that shares identical subtrees (hash consing). It wraps another factory,
+ *  and its builders, before creating a node, look for an already created node with the same
+ *  type, data, fragment and the same (by reference) children. If such a node exists, it is
+ *  returned instead of a new one. Since children are already shared when their parent
+ *  is created, repeated subtrees (identifiers, literals, modifiers, imports...) are stored
+ *  in memory only once, and the tree actually becomes a directed acyclic graph.
+ *  <p>
+ *  Nodes are immutable, so algorithms that only read trees (walkers, hashing, mappers,
+ *  serializers) work on such graphs unchanged. However, one node object can now appear
+ *  in several places of the tree, so algorithms that identify places of the tree by node
+ *  objects can't distinguish these places. The difference tree builder detects shared
+ *  nodes itself; before passing the tree to other such algorithms, for example
+ *  the subtree builder, convert it to a {@link CompactTree}, whose nodes are unique
+ *  for each place, or clone it with {@link Node#deepClone()}.
+ *  <p>
+ *  Difference tree items (actions) and pattern items are never shared.
+ * @since 2.0.0
+ */
+public final class InterningFactory implements Factory {
+    /**
+     * Factory that creates nodes.
+     */
+    private final Factory base;
+
+    /**
+     * Already created nodes.
+     */
+    private final Map<Key, Node> nodes;
+
+    /**
+     * Constructor.
+     * @param base Factory that creates nodes
+     */
+    public InterningFactory(final Factory base) {
+        this.base = base;
+        this.nodes = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Type getType(final String name) {
+        return this.base.getType(name);
+    }
+
+    @Override
+    public Type getType(final int id) {
+        return this.base.getType(id);
+    }
+
+    @Override
+    public Builder createBuilder(final String name) {
+        return new InterningBuilder(name, this.base.createBuilder(name));
+    }
+
+    /**
+     * Rebuilds a tree using this factory, so that its identical subtrees are shared
+     *  with each other and with all nodes previously created by this factory.
+     *  Nodes that can't be rebuilt are left as they are.
+     * @param root Root node of the tree
+     * @return Root node of the rebuilt tree
+     */
+    public Node intern(final Node root) {
+        return new TreeTraversal(root).reduce(
+            (node, children) -> {
+                final Builder builder = this.createBuilder(node.getTypeName());
+                builder.setFragment(node.getFragment());
+                Node result = node;
+                if (builder.setData(node.getData())
+                    && builder.setChildrenList(new ArrayList<>(children))
+                    && builder.isValid()) {
+                    result = builder.createNode();
+                }
+                return result;
+            }
+        );
+    }
+
+    /**
+     * Returns the number of distinct nodes that can be shared.
+     * @return Number of nodes
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Forgets all created nodes. The nodes themselves remain valid.
+     */
+    public void clear() {
+        this.nodes.clear();
+    }
+
+    /**
+     * Key by which nodes are shared.
+     * @since 2.0.0
+     */
+    private static final class Key {
+        /**
+         * Name of the type.
+         */
+        private final String name;
+
+        /**
+         * Data.
+         */
+        private final String data;
+
+        /**
+         * Fragment.
+         */
+        private final Fragment fragment;
+
+        /**
+         * Children, compared by reference.
+         */
+        private final List<Node> children;
+
+        /**
+         * Hash code.
+         */
+        private final int hash;
+
+        /**
+         * Constructor.
+         * @param name Name of the type
+         * @param data Data
+         * @param fragment Fragment
+         * @param children Children
+         */
+        Key(final String name, final String data, final Fragment fragment,
+            final List<Node> children) {
+            this.name = name;
+            this.data = data;
+            this.fragment = fragment;
+            this.children = children;
+            int code = (name.hashCode() * 31 + data.hashCode()) * 31 + fragment.hashCode();
+            for (final Node child : children) {
+                code = code * 31 + System.identityHashCode(child);
+            }
+            this.hash = code;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            boolean equal = false;
+            if (obj instanceof Key) {
+                final Key other = (Key) obj;
+                final int count = this.children.size();
+                equal = this.hash == other.hash
+                    && count == other.children.size()
+                    && this.name.equals(other.name)
+                    && this.data.equals(other.data)
+                    && this.fragment.equals(other.fragment);
+                for (int index = 0; equal && index < count; index = index + 1) {
+                    equal = this.children.get(index) == other.children.get(index);
+                }
+            }
+            return equal;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Builder that returns an already created node if there is an identical one.
+     * @since 2.0.0
+     */
+    private final class InterningBuilder implements Builder {
+        /**
+         * Name of the type.
+         */
+        private final String name;
+
+        /**
+         * Builder that creates nodes.
+         */
+        private final Builder builder;
+
+        /**
+         * Fragment.
+         */
+        private Fragment fragment;
+
+        /**
+         * Data.
+         */
+        private String data;
+
+        /**
+         * Children.
+         */
+        private List<Node> children;
+
+        /**
+         * Constructor.
+         * @param name Name of the type
+         * @param builder Builder that creates nodes
+         */
+        InterningBuilder(final String name, final Builder builder) {
+            this.name = name;
+            this.builder = builder;
+            this.fragment = EmptyFragment.INSTANCE;
+            this.data = "";
+            this.children = Collections.emptyList();
+        }
+
+        @Override
+        public void setFragment(final Fragment obj) {
+            this.builder.setFragment(obj);
+            this.fragment = obj;
+        }
+
+        @Override
+        public boolean setData(final String str) {
+            final boolean result = this.builder.setData(str);
+            if (result) {
+                this.data = str;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean setChildrenList(final List<Node> list) {
+            final boolean result = this.builder.setChildrenList(list);
+            if (result) {
+                this.children = new ArrayList<>(list);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isValid() {
+            return this.builder.isValid();
+        }
+
+        @Override
+        public Node createNode() {
+            final Key key = new Key(this.name, this.data, this.fragment, this.children);
+            final Map<Key, Node> map = InterningFactory.this.nodes;
+            Node node = map.get(key);
+            if (node == null) {
+                node = this.builder.createNode();
+                if (!(node instanceof DiffTreeItem || node instanceof PatternItem)) {
+                    final Node existing = map.putIfAbsent(key, node);
+                    if (existing != null) {
+                        node = existing;
+                    }
+                }
+            }
+            return node;
+        }
+    }
+}
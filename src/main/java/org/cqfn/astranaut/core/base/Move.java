@@ -0,0 +1,302 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Action that moves a child element to another place.
+ *  A moved node is represented in the difference tree by a pair of actions with the same number:
+ *  the source action is located where the node was before the changes, and the target action
+ *  is located where the node is after the changes. Only the source action contains the node
+ *  as a child, so the moved subtree is stored once.
+ * @since 2.0.0
+ */
+public final class Move implements Action {
+    /**
+     * The type.
+     */
+    public static final Type TYPE = new MoveType();
+
+    /**
+     * Child element before changes, {@code null} for the target action.
+     */
+    private final Node before;
+
+    /**
+     * Child element after changes, {@code null} for the source action.
+     */
+    private final Node after;
+
+    /**
+     * Number that links the source and the target actions.
+     */
+    private final int number;
+
+    /**
+     * Constructor.
+     *  The source action is created if the node before changes is specified, otherwise
+     *  the target action is created.
+     * @param before Child element that will be moved from this place or {@code null}
+     * @param after Child element that will be moved to this place or {@code null}
+     * @param number Number that links the source and the target actions
+     */
+    public Move(final Node before, final Node after, final int number) {
+        this.before = before;
+        this.after = after;
+        this.number = number;
+    }
+
+    /**
+     * Returns the number that links the source and the target actions.
+     * @return Number of the move
+     */
+    public int getNumber() {
+        return this.number;
+    }
+
+    /**
+     * Checks whether this action is the source action, i.e., located where the node was
+     *  before the changes.
+     * @return Checking result
+     */
+    public boolean isSource() {
+        return this.before != null;
+    }
+
+    @Override
+    public Node getBefore() {
+        return this.before;
+    }
+
+    @Override
+    public Node getAfter() {
+        return this.after;
+    }
+
+    @Override
+    public Fragment getFragment() {
+        final Fragment fragment;
+        if (this.before != null) {
+            fragment = this.before.getFragment();
+        } else if (this.after != null) {
+            fragment = this.after.getFragment();
+        } else {
+            fragment = EmptyFragment.INSTANCE;
+        }
+        return fragment;
+    }
+
+    @Override
+    public Type getType() {
+        return Move.TYPE;
+    }
+
+    @Override
+    public String getData() {
+        return String.valueOf(this.number);
+    }
+
+    @Override
+    public int getChildCount() {
+        final int count;
+        if (this.before == null) {
+            count = 0;
+        } else {
+            count = 1;
+        }
+        return count;
+    }
+
+    @Override
+    public Node getChild(final int index) {
+        final Node node;
+        if (index == 0) {
+            node = this.before;
+        } else {
+            node = null;
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return Node.toString(this);
+    }
+
+    /**
+     * Type of 'Move' action.
+     * @since 2.0.0
+     */
+    private static final class MoveType implements Type {
+        /**
+         * The 'Node' string.
+         */
+        private static final String NODE = "Node";
+
+        /**
+         * The 'ACTION' string.
+         */
+        private static final String ACTION = "Action";
+
+        /**
+         * The 'MOVE' string.
+         */
+        private static final String MOVE = "Move";
+
+        /**
+         * The list of child descriptors.
+         */
+        private static final List<ChildDescriptor> CHILDREN =
+            Collections.singletonList(
+                new ChildDescriptor(
+                    MoveType.NODE,
+                    true
+                )
+            );
+
+        /**
+         * Hierarchy.
+         */
+        private static final List<String> HIERARCHY =
+            Collections.unmodifiableList(
+                Arrays.asList(
+                    MoveType.MOVE,
+                    MoveType.ACTION
+                )
+            );
+
+        /**
+         * Properties.
+         */
+        private static final Map<String, String> PROPERTIES = Stream.of(
+            new String[][] {
+                {"color", "blue"},
+            }).collect(Collectors.toMap(data -> data[0], data -> data[1]));
+
+        /**
+         * Identifier of the type.
+         */
+        private static final int ID = TypeRegistry.INSTANCE.getId(MoveType.MOVE);
+
+        @Override
+        public String getName() {
+            return MoveType.MOVE;
+        }
+
+        @Override
+        public int getId() {
+            return MoveType.ID;
+        }
+
+        @Override
+        public List<ChildDescriptor> getChildTypes() {
+            return MoveType.CHILDREN;
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return MoveType.HIERARCHY;
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return MoveType.PROPERTIES;
+        }
+
+        @Override
+        public Builder createBuilder() {
+            return new Constructor();
+        }
+    }
+
+    /**
+     * Class for 'Move' action construction.
+     *  If no child node is set, the target action is created, and its node must be taken
+     *  from the source action with the same number.
+     * @since 2.0.0
+     */
+    public static final class Constructor implements Builder {
+        /**
+         * Child node before changes.
+         */
+        private Node before;
+
+        /**
+         * Number that links the source and the target actions.
+         */
+        private int number;
+
+        @Override
+        public void setFragment(final Fragment fragment) {
+            // do nothing
+        }
+
+        @Override
+        public boolean setData(final String str) {
+            boolean result = false;
+            try {
+                final int value = Integer.parseInt(str);
+                if (value > 0) {
+                    this.number = value;
+                    result = true;
+                }
+            } catch (final NumberFormatException ignored) {
+            }
+            return result;
+        }
+
+        @Override
+        public boolean setChildrenList(final List<Node> list) {
+            boolean result = false;
+            if (list.isEmpty()) {
+                this.before = null;
+                result = true;
+            } else if (list.size() == 1) {
+                this.before = list.get(0);
+                result = true;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isValid() {
+            return this.number > 0;
+        }
+
+        @Override
+        public Node createNode() {
+            Node node = DummyNode.INSTANCE;
+            if (this.isValid()) {
+                node = new Move(this.before, null, this.number);
+            }
+            return node;
+        }
+    }
+}
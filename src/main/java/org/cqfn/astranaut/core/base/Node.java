@@ -25,6 +25,7 @@ package org.cqfn.astranaut.core.base;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +33,7 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
 
 /**
  * The {@code Node} interface represents a node in an abstract syntax tree (AST).
@@ -98,6 +100,33 @@ public interface Node {
         return this.getType().getName();
     }
 
+    /**
+     * Returns the integer identifier of the type.
+     *  Nodes whose types have the same name have the same identifier.
+     * @return The identifier assigned by the {@link TypeRegistry} or zero if the name
+     *  of the type is not registered
+     */
+    default int getTypeId() {
+        return this.getType().getId();
+    }
+
+    /**
+     * Checks whether the type of the node has the same name as the type of another node.
+     *  Type identifiers are compared when they are known, otherwise type names.
+     * @param other Other node
+     * @return Checking result, {@code true} if the type names are the same
+     */
+    default boolean hasSameTypeAs(final Node other) {
+        final int id = this.getTypeId();
+        final boolean result;
+        if (id == 0) {
+            result = this.getTypeName().equals(other.getTypeName());
+        } else {
+            result = id == other.getTypeId();
+        }
+        return result;
+    }
+
     /**
      * Calculates the local hash of the node.
      *  Nodes with the same type and the same data (but possibly different children)
@@ -117,6 +146,15 @@ public interface Node {
         return this.getType().belongsToGroup(type);
     }
 
+    /**
+     * Checks whether the node type belongs to group.
+     * @param group Identifier of the group name assigned by the {@link TypeRegistry}
+     * @return Checking result, {@code true} if the type belongs to the group
+     */
+    default boolean belongsToGroup(final int group) {
+        return this.getType().belongsToGroup(group);
+    }
+
     /**
      * Returns the list of child nodes.
      * @return The node list
@@ -146,22 +184,37 @@ public interface Node {
 
     /**
      * Performs a deep comparison of a node with another node,
-     *  i.e., compares nodes, as well as recursively all children of nodes one-to-one.
+     *  i.e., compares nodes, as well as all descendants of nodes one-to-one.
      * @param other Other node
      * @return Comparison result, {@code true} if the nodes are equal
      */
     default boolean deepCompare(Node other) {
-        boolean equals;
-        if (this == other) {
-            equals = true;
-        } else {
-            final int count = this.getChildCount();
-            equals = count == other.getChildCount()
-                && this.getTypeName().equals(other.getTypeName())
-                && this.getData().equals(other.getData())
-                && this.getProperties().equals(other.getProperties());
-            for (int index = 0; equals && index < count; index = index + 1) {
-                equals = this.getChild(index).deepCompare(other.getChild(index));
+        boolean equals = true;
+        Node[] firsts = new Node[16];
+        Node[] seconds = new Node[16];
+        firsts[0] = this;
+        seconds[0] = other;
+        int pending = 1;
+        while (equals && pending > 0) {
+            pending = pending - 1;
+            final Node first = firsts[pending];
+            final Node second = seconds[pending];
+            if (first != second) {
+                final int count = first.getChildCount();
+                equals = count == second.getChildCount()
+                    && first.hasSameTypeAs(second)
+                    && first.getData().equals(second.getData())
+                    && first.getProperties().equals(second.getProperties());
+                if (equals && pending + count > firsts.length) {
+                    final int capacity = Math.max(firsts.length * 2, pending + count);
+                    firsts = Arrays.copyOf(firsts, capacity);
+                    seconds = Arrays.copyOf(seconds, capacity);
+                }
+                for (int index = count - 1; equals && index >= 0; index = index - 1) {
+                    firsts[pending] = first.getChild(index);
+                    seconds[pending] = second.getChild(index);
+                    pending = pending + 1;
+                }
             }
         }
         return equals;
@@ -169,22 +222,21 @@ public interface Node {
 
     /**
      * Creates a deep clone of the node, including all its children.
-     * This method performs a deep cloning operation on the node. It first clones
-     *  the node itself and then recursively clones all its children, ensuring that
-     *  the entire subtree rooted at this node is cloned.
+     * This method performs a deep cloning operation on the node. It clones
+     *  all the descendants of the node starting from the leaves, and then the node itself,
+     *  ensuring that the entire subtree rooted at this node is cloned.
      * @return A deep clone of the node, including all its children
      */
     default Node deepClone() {
-        final Builder builder = this.getType().createBuilder();
-        builder.setFragment(this.getFragment());
-        builder.setData(this.getData());
-        final int count = this.getChildCount();
-        final List<Node> list = new ArrayList<>(count);
-        for (int index = 0; index < count; index = index + 1) {
-            list.add(this.getChild(index).deepClone());
-        }
-        builder.setChildrenList(list);
-        return builder.createNode();
+        return new TreeTraversal(this).reduce(
+            (node, children) -> {
+                final Builder builder = node.getType().createBuilder();
+                builder.setFragment(node.getFragment());
+                builder.setData(node.getData());
+                builder.setChildrenList(new ArrayList<>(children));
+                return builder.createNode();
+            }
+        );
     }
 
     /**
@@ -194,24 +246,7 @@ public interface Node {
      */
     @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
     static String toString(final Node node) {
-        final StringBuilder builder = new StringBuilder();
-        builder.append(node.getTypeName());
-        final String data = node.getData();
-        if (!data.isEmpty()) {
-            builder.append("<\"").append(data).append("\">");
-        }
-        final int count = node.getChildCount();
-        if (count > 0) {
-            builder.append('(');
-            for (int index = 0; index < count; index = index + 1) {
-                if (index > 0) {
-                    builder.append(", ");
-                }
-                builder.append(node.getChild(index).toString());
-            }
-            builder.append(')');
-        }
-        return builder.toString();
+        return TreePrinter.INSTANCE.print(node);
     }
 
     /**
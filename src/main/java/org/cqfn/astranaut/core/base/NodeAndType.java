@@ -57,6 +57,11 @@ public abstract class NodeAndType implements Node, Type {
 
     @Override
     public final boolean belongsToGroup(final String type) {
-        return this.getHierarchy().contains(type);
+        return Type.super.belongsToGroup(type);
+    }
+
+    @Override
+    public final boolean belongsToGroup(final int group) {
+        return Type.super.belongsToGroup(group);
     }
 }
@@ -167,11 +167,21 @@ public final class Replace implements Action {
                 {"color", "blue"},
             }).collect(Collectors.toMap(data -> data[0], data -> data[1]));
 
+        /**
+         * Identifier of the type.
+         */
+        private static final int ID = TypeRegistry.INSTANCE.getId(ReplaceType.REPLACE);
+
         @Override
         public String getName() {
             return ReplaceType.REPLACE;
         }
 
+        @Override
+        public int getId() {
+            return ReplaceType.ID;
+        }
+
         @Override
         public List<ChildDescriptor> getChildTypes() {
             return ReplaceType.CHILDREN;
@@ -25,6 +25,7 @@ package org.cqfn.astranaut.core.base;
 
 import java.util.Map;
 import java.util.Set;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
 
 /**
  * A syntax tree, which represents the hierarchical structure of source code,
@@ -37,6 +38,11 @@ public class Tree {
      */
     private final Node root;
 
+    /**
+     * Name of the programming language, found on the first request.
+     */
+    private String language;
+
     /**
      * Constructor.
      * @param root Root node the tree
@@ -60,7 +66,10 @@ public class Tree {
      *  in any of the nodes.
      */
     public String getLanguage() {
-        return Tree.getLanguage(this.root);
+        if (this.language == null) {
+            this.language = Tree.getLanguage(this.root);
+        }
+        return this.language;
     }
 
     @Override
@@ -106,20 +115,26 @@ public class Tree {
     }
 
     /**
-     * Analyzes the node and its children (recursively) to determine if a programming language
-     *  name is specified.
+     * Analyzes the node and its descendants in pre-order to determine if a programming
+     *  language name is specified.
      * @param node Node for analysis
      * @return The programming language name or an empty string if no language is specified
      *  in any of the child nodes.
      */
     protected static String getLanguage(final Node node) {
-        String language = node.getProperties().getOrDefault("language", "");
-        if (language.isEmpty()) {
-            final int count = node.getChildCount();
-            for (int index = 0; language.isEmpty() && index < count; index = index + 1) {
-                language = Tree.getLanguage(node.getChild(index));
+        final String[] language = {""};
+        new TreeTraversal(node).walk(
+            current -> {
+                language[0] = current.getProperties().getOrDefault("language", "");
+                final TreeTraversal.Decision decision;
+                if (language[0].isEmpty()) {
+                    decision = TreeTraversal.Decision.CONTINUE;
+                } else {
+                    decision = TreeTraversal.Decision.STOP;
+                }
+                return decision;
             }
-        }
-        return language;
+        );
+        return language[0];
     }
 }
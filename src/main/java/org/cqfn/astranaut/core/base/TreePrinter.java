@@ -0,0 +1,218 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.io.IOException;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
+
+/**
+ * Prints trees in the textual notation that is used by {@link Node#toString()} and parsed
+ *  by {@link DraftNode#create(String)}: A(B&lt;"data"&gt;, C(...), ...).
+ *  The text is written directly to an {@link Appendable} (a string builder, a writer, a log),
+ *  in a single pass and without intermediate strings, so that the time is proportional to
+ *  the size of the tree. Optionally, the output can be limited by length and depth:
+ *  the omitted part of the tree is replaced with an ellipsis.
+ * @since 2.0.0
+ */
+public final class TreePrinter {
+    /**
+     * The instance that prints trees completely.
+     */
+    public static final TreePrinter INSTANCE =
+        new TreePrinter(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * Text that replaces the omitted part of the tree.
+     */
+    private static final String ELLIPSIS = "...";
+
+    /**
+     * Maximum number of characters printed, not counting the final ellipsis.
+     */
+    private final int length;
+
+    /**
+     * Maximum number of printed levels of the tree.
+     */
+    private final int depth;
+
+    /**
+     * Constructor.
+     * @param length Maximum number of characters printed, not counting the final ellipsis
+     * @param depth Maximum number of printed levels of the tree, the children of the nodes
+     *  on the last level are replaced with an ellipsis
+     */
+    public TreePrinter(final int length, final int depth) {
+        if (length < 0 || depth < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.length = length;
+        this.depth = depth;
+    }
+
+    /**
+     * Prints a tree to a string.
+     * @param root Root node of the tree
+     * @return Textual representation of the tree
+     */
+    public String print(final Node root) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            this.print(root, builder);
+        } catch (final IOException ignored) {
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Prints a tree.
+     * @param root Root node of the tree
+     * @param output Where to print
+     * @throws IOException If the output fails
+     */
+    public void print(final Node root, final Appendable output) throws IOException {
+        final Printer printer = new Printer(output, this.length, this.depth);
+        new TreeTraversal(root).walk(printer);
+        if (printer.error != null) {
+            throw printer.error;
+        }
+    }
+
+    /**
+     * Visitor that prints nodes.
+     * @since 2.0.0
+     */
+    private static final class Printer implements TreeTraversal.Visitor {
+        /**
+         * Where to print.
+         */
+        private final Appendable output;
+
+        /**
+         * Maximum number of printed levels of the tree.
+         */
+        private final int limit;
+
+        /**
+         * Number of characters that can still be printed.
+         */
+        private int remaining;
+
+        /**
+         * Level of the node being entered, starting from 1 for the root.
+         */
+        private int level;
+
+        /**
+         * Flag indicating that the node being entered is the first child.
+         */
+        private boolean first;
+
+        /**
+         * Exception thrown by the output, if any.
+         */
+        private IOException error;
+
+        /**
+         * Constructor.
+         * @param output Where to print
+         * @param length Maximum number of characters printed
+         * @param depth Maximum number of printed levels of the tree
+         */
+        Printer(final Appendable output, final int length, final int depth) {
+            this.output = output;
+            this.remaining = length;
+            this.limit = depth;
+            this.first = true;
+        }
+
+        @Override
+        public TreeTraversal.Decision enter(final Node node) {
+            this.level = this.level + 1;
+            if (!this.first) {
+                this.append(", ");
+            }
+            this.first = false;
+            final int count = node.getChildCount();
+            if (this.level > 1 && count == 0 && node instanceof PrototypeBasedNode) {
+                this.append(node.toString());
+            } else {
+                this.append(node.getTypeName());
+                final String data = node.getData();
+                if (!data.isEmpty()) {
+                    this.append("<\"");
+                    this.append(data);
+                    this.append("\">");
+                }
+                if (count > 0) {
+                    this.append("(");
+                    if (this.level == this.limit) {
+                        this.append(TreePrinter.ELLIPSIS);
+                    }
+                    this.first = true;
+                }
+            }
+            final TreeTraversal.Decision decision;
+            if (this.remaining < 0 || this.error != null) {
+                decision = TreeTraversal.Decision.STOP;
+            } else if (this.level == this.limit) {
+                decision = TreeTraversal.Decision.SKIP;
+            } else {
+                decision = TreeTraversal.Decision.CONTINUE;
+            }
+            return decision;
+        }
+
+        @Override
+        public void leave(final Node node) {
+            this.level = this.level - 1;
+            this.first = false;
+            if (node.getChildCount() > 0) {
+                this.append(")");
+            }
+        }
+
+        /**
+         * Appends text to the output, taking into account the length limit.
+         *  When the limit is exceeded, appends the ellipsis and ignores the rest of the text.
+         * @param text Text
+         */
+        private void append(final CharSequence text) {
+            if (this.remaining >= 0 && this.error == null) {
+                try {
+                    if (text.length() <= this.remaining) {
+                        this.output.append(text);
+                        this.remaining = this.remaining - text.length();
+                    } else {
+                        this.output.append(text, 0, this.remaining);
+                        this.output.append(TreePrinter.ELLIPSIS);
+                        this.remaining = -1;
+                    }
+                } catch (final IOException exception) {
+                    this.error = exception;
+                }
+            }
+        }
+    }
+}
@@ -38,6 +38,19 @@ public interface Type {
      */
     String getName();
 
+    /**
+     * Returns the integer identifier of the type, which is the same for all types with
+     *  the same name and different for types with different names.
+     *  Comparing identifiers is faster than comparing names.
+     *  Implementations are encouraged to register the name once and remember the identifier,
+     *  the default implementation only looks up names registered elsewhere.
+     * @return Identifier assigned by the {@link TypeRegistry} or zero if the name
+     *  is not registered
+     */
+    default int getId() {
+        return TypeRegistry.INSTANCE.findId(this.getName());
+    }
+
     /**
      * Returns the list of child types that the node type can have.
      *  Child types are represented by descriptors that specify the allowed types
@@ -65,7 +78,33 @@ public interface Type {
      * @return Checking result, {@code true} if the type belongs to the group
      */
     default boolean belongsToGroup(final String type) {
-        return this.getHierarchy().contains(type);
+        final List<String> hierarchy = this.getHierarchy();
+        final TypeGroups groups = TypeRegistry.INSTANCE.getGroups(this.getId());
+        final boolean result;
+        if (groups == null || !groups.describes(hierarchy)) {
+            result = hierarchy.contains(type);
+        } else {
+            result = groups.contains(type);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the type belongs to group.
+     * @param group Identifier of the group name assigned by the {@link TypeRegistry}
+     * @return Checking result, {@code true} if the type belongs to the group
+     */
+    default boolean belongsToGroup(final int group) {
+        final List<String> hierarchy = this.getHierarchy();
+        final TypeGroups groups = TypeRegistry.INSTANCE.getGroups(this.getId());
+        final boolean result;
+        if (groups == null || !groups.describes(hierarchy)) {
+            final String name = TypeRegistry.INSTANCE.getName(group);
+            result = name != null && hierarchy.contains(name);
+        } else {
+            result = groups.contains(group);
+        }
+        return result;
     }
 
     /**
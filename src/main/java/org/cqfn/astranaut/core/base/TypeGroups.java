@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.List;
+
+/**
+ * Set of groups a type belongs to, that is, the type hierarchy, stored as a bit set
+ *  indexed by the identifiers assigned by the {@link TypeRegistry}.
+ *  Checking whether a type belongs to a group takes a single operation on a machine word
+ *  instead of searching the list of names.
+ * @since 2.0.0
+ */
+public final class TypeGroups {
+    /**
+     * Bits, the bit N is set if the group with identifier N is in the set.
+     */
+    private final long[] bits;
+
+    /**
+     * The hierarchy of type names the set is computed from.
+     */
+    private final List<String> hierarchy;
+
+    /**
+     * Constructor.
+     * @param hierarchy The hierarchy of type names (see {@link Type#getHierarchy()})
+     */
+    public TypeGroups(final List<String> hierarchy) {
+        this.hierarchy = hierarchy;
+        final int count = hierarchy.size();
+        final int[] ids = new int[count];
+        int max = 0;
+        for (int index = 0; index < count; index = index + 1) {
+            ids[index] = TypeRegistry.INSTANCE.getId(hierarchy.get(index));
+            max = Math.max(max, ids[index]);
+        }
+        this.bits = new long[(max >> 6) + 1];
+        for (final int id : ids) {
+            this.bits[id >> 6] = this.bits[id >> 6] | 1L << (id & 63);
+        }
+    }
+
+    /**
+     * Checks whether the set is computed from the hierarchy of type names.
+     *  Types from different factories may have the same name but different hierarchies,
+     *  the set can be used only for types whose hierarchy it describes.
+     * @param list The hierarchy of type names
+     * @return Checking result
+     */
+    public boolean describes(final List<String> list) {
+        return this.hierarchy == list || this.hierarchy.equals(list);
+    }
+
+    /**
+     * Checks whether the set contains the group.
+     * @param id Identifier of the group name
+     * @return Checking result
+     */
+    public boolean contains(final int id) {
+        final int word = id >> 6;
+        return id > 0 && word < this.bits.length && (this.bits[word] & 1L << (id & 63)) != 0;
+    }
+
+    /**
+     * Checks whether the set contains the group.
+     * @param name Group name
+     * @return Checking result
+     */
+    public boolean contains(final String name) {
+        return this.contains(TypeRegistry.INSTANCE.findId(name));
+    }
+}
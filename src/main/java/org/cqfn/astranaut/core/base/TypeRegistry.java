@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry that assigns integer identifiers to type names.
+ *  Each type name gets its own identifier the first time it is registered, and the identifier
+ *  never changes after that, so types (and nodes) can be compared by identifiers instead of
+ *  names, and identifiers can be used as indices of tables. Identifiers are dense, they are
+ *  assigned sequentially starting from 1, so zero never denotes a type.
+ *  Note that identifiers depend on the order of registration and therefore may differ from one
+ *  run of the program to another; they should not be stored or used for hashing.
+ * @since 2.0.0
+ */
+public final class TypeRegistry {
+    /**
+     * The instance.
+     */
+    public static final TypeRegistry INSTANCE = new TypeRegistry();
+
+    /**
+     * Identifiers indexed by type names.
+     */
+    private final Map<String, Integer> ids;
+
+    /**
+     * Type names, the name with identifier N is stored at index N - 1.
+     */
+    private final List<String> names;
+
+    /**
+     * Precomputed sets of groups of the types registered by factories, indexed by
+     *  identifiers of type names, so that they are found without hashing strings.
+     *  Elements are written under the lock of the list of names, and the array is published
+     *  again after each write.
+     */
+    private volatile TypeGroups[] groups;
+
+    /**
+     * Private constructor.
+     */
+    private TypeRegistry() {
+        this.ids = new ConcurrentHashMap<>();
+        this.names = new ArrayList<>(64);
+        this.groups = new TypeGroups[64];
+    }
+
+    /**
+     * Returns the identifier of the type name, registering the name if necessary.
+     * @param name Type name
+     * @return Identifier
+     */
+    public int getId(final String name) {
+        Integer id = this.ids.get(name);
+        if (id == null) {
+            synchronized (this.names) {
+                id = this.ids.get(name);
+                if (id == null) {
+                    this.names.add(name);
+                    id = this.names.size();
+                    this.ids.put(name, id);
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Returns the identifier of the type name without registering it.
+     * @param name Type name
+     * @return Identifier or zero if the name is not registered
+     */
+    public int findId(final String name) {
+        final Integer id = this.ids.get(Objects.requireNonNull(name));
+        final int result;
+        if (id == null) {
+            result = 0;
+        } else {
+            result = id;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the set of groups the type belongs to and remembers it, so that checks
+     *  whether the type belongs to a group do not search the hierarchy list.
+     *  Factories do this once for each of their types. The set is shared by all types
+     *  with the same name and the same hierarchy, the type registered last wins
+     *  if hierarchies differ.
+     * @param type Type
+     */
+    public void registerGroups(final Type type) {
+        final List<String> hierarchy = type.getHierarchy();
+        final int id = this.getId(type.getName());
+        synchronized (this.names) {
+            TypeGroups[] table = this.groups;
+            if (id >= table.length) {
+                table = Arrays.copyOf(table, Math.max(id + 1, table.length * 2));
+            }
+            final TypeGroups existing = table[id];
+            if (existing == null || !existing.describes(hierarchy)) {
+                table[id] = new TypeGroups(hierarchy);
+            }
+            this.groups = table;
+        }
+    }
+
+    /**
+     * Returns the precomputed set of groups of the type with the specified identifier.
+     *  Together with an identifier remembered by the type (see {@link Type#getId()}),
+     *  this allows to find the set without hashing the type name.
+     * @param id Identifier of the type name
+     * @return Set of groups or {@code null} if it is not computed for this identifier
+     */
+    public TypeGroups getGroups(final int id) {
+        final TypeGroups[] table = this.groups;
+        final TypeGroups result;
+        if (id > 0 && id < table.length) {
+            result = table[id];
+        } else {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the precomputed set of groups of the type with the specified name.
+     * @param name Type name
+     * @return Set of groups or {@code null} if it is not computed for this name
+     */
+    public TypeGroups getGroups(final String name) {
+        return this.getGroups(this.findId(name));
+    }
+
+    /**
+     * Returns the type name by its identifier.
+     * @param id Identifier
+     * @return Type name or {@code null} if there is no such identifier
+     */
+    public String getName(final int id) {
+        synchronized (this.names) {
+            final String name;
+            if (id > 0 && id <= this.names.size()) {
+                name = this.names.get(id - 1);
+            } else {
+                name = null;
+            }
+            return name;
+        }
+    }
+
+    /**
+     * Returns the number of registered type names, that is, the largest identifier.
+     * @return Number of type names
+     */
+    public int size() {
+        synchronized (this.names) {
+            return this.names.size();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astranaut.core.base.Node;
+
+/**
+ * Cache of values calculated for nodes, such as hashes or depths.
+ *  Since nodes are immutable, a value calculated once for a node will never change, so
+ *  the cache can be shared between algorithms and between threads. Nodes are compared
+ *  by identity and referenced weakly, that is, the cache does not prevent the trees from being
+ *  collected by the garbage collector. The number of stored values is bounded,
+ *  the least recently used values are evicted first.
+ *  The cache is split into several independently locked segments, so that threads working
+ *  with different nodes rarely wait for each other.
+ * @param <V> Value type
+ * @since 2.0.0
+ */
+public final class NodeCache<V> {
+    /**
+     * Capacity of the cache that is not limited in practice.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * Number of segments (must be a power of two).
+     */
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Segments of the cache.
+     */
+    private final List<Segment<V>> segments;
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of values stored in the cache
+     */
+    public NodeCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        final int limit = Math.max(
+            1,
+            capacity / NodeCache.SEGMENTS + Math.min(1, capacity % NodeCache.SEGMENTS)
+        );
+        this.segments = new ArrayList<>(NodeCache.SEGMENTS);
+        for (int index = 0; index < NodeCache.SEGMENTS; index = index + 1) {
+            this.segments.add(new Segment<>(limit));
+        }
+    }
+
+    /**
+     * Returns the value calculated for the node.
+     * @param node Node
+     * @return Value or {@code null} if the cache does not contain a value for this node
+     */
+    public V get(final Node node) {
+        final Key key = new Key(node);
+        return this.segments.get(key.hash & NodeCache.SEGMENTS - 1).get(key);
+    }
+
+    /**
+     * Stores the value calculated for the node.
+     * @param node Node
+     * @param value Value
+     */
+    public void put(final Node node, final V value) {
+        final Key key = new Key(node);
+        this.segments.get(key.hash & NodeCache.SEGMENTS - 1).put(key, value);
+    }
+
+    /**
+     * Returns the number of values stored in the cache.
+     *  The number may include values for nodes that have just been collected by
+     *  the garbage collector, but not yet purged from the cache.
+     * @return Number of values
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<V> segment : this.segments) {
+            size = size + segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes all values from the cache.
+     */
+    public void clear() {
+        for (final Segment<V> segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Spreads the bits of the identity hash, so that the low bits that select the segment
+     *  and the bucket depend on all of them.
+     * @param hash Identity hash
+     * @return Spread hash
+     */
+    private static int spread(final int hash) {
+        final int value = hash * 0x9E3779B9;
+        return value ^ value >>> 16;
+    }
+
+    /**
+     * Key of the cache, that is, a weak reference to a node that is compared by identity.
+     * @since 2.0.0
+     */
+    private static final class Key extends WeakReference<Node> {
+        /**
+         * Identity hash of the node.
+         */
+        private final int hash;
+
+        /**
+         * Constructor for the keys used for lookup.
+         * @param node Node
+         */
+        Key(final Node node) {
+            super(node);
+            this.hash = NodeCache.spread(System.identityHashCode(node));
+        }
+
+        /**
+         * Constructor for the keys stored in the cache.
+         * @param other Key used for lookup
+         * @param queue Queue where the key is placed after the node has been collected
+         */
+        Key(final Key other, final ReferenceQueue<Node> queue) {
+            super(other.get(), queue);
+            this.hash = other.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            boolean result = this == obj;
+            if (!result && obj instanceof Key) {
+                final Node node = this.get();
+                result = node != null && node == ((Key) obj).get();
+            }
+            return result;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * Segment of the cache, that is, a small map with its own lock.
+     * @param <V> Value type
+     * @since 2.0.0
+     */
+    private static final class Segment<V> {
+        /**
+         * Stored values in the order of access, the least recently used first.
+         */
+        private final Map<Key, V> values;
+
+        /**
+         * Queue of the keys whose nodes have been collected.
+         */
+        private final ReferenceQueue<Node> queue;
+
+        /**
+         * Constructor.
+         * @param limit Maximum number of values stored in the segment
+         */
+        Segment(final int limit) {
+            this.values = new LinkedHashMap<Key, V>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, V> eldest) {
+                    return this.size() > limit;
+                }
+            };
+            this.queue = new ReferenceQueue<>();
+        }
+
+        /**
+         * Returns the value stored in the segment.
+         * @param key Key
+         * @return Value or {@code null} if not found
+         */
+        synchronized V get(final Key key) {
+            return this.values.get(key);
+        }
+
+        /**
+         * Stores a value in the segment.
+         * @param key Key
+         * @param value Value
+         */
+        synchronized void put(final Key key, final V value) {
+            this.purge();
+            this.values.put(new Key(key, this.queue), value);
+        }
+
+        /**
+         * Returns the number of values stored in the segment.
+         * @return Number of values
+         */
+        synchronized int size() {
+            this.purge();
+            return this.values.size();
+        }
+
+        /**
+         * Removes all values from the segment.
+         */
+        synchronized void clear() {
+            this.purge();
+            this.values.clear();
+        }
+
+        /**
+         * Removes the values whose nodes have been collected.
+         */
+        private void purge() {
+            Reference<? extends Node> reference = this.queue.poll();
+            while (reference != null) {
+                this.values.remove(reference);
+                reference = this.queue.poll();
+            }
+        }
+    }
+}
@@ -0,0 +1,815 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.cqfn.astranaut.core.algorithms.TreeTraversal;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.EmptyTree;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.base.Type;
+
+/**
+ * Stores syntax trees in binary files and opens them without loading them into the heap.
+ *  The file contains the structure of the tree (type of each node, data, lists of children)
+ *  as flat tables. An opened file is mapped into memory, and the nodes of the tree are
+ *  read-only views that decode their data from the mapped file on access, so that opening
+ *  takes almost no time and even trees larger than the heap can be walked, hashed and mapped.
+ *  <p>
+ *  File layout, all numbers are big-endian 32-bit integers unless specified otherwise:
+ *  header (magic number, version, number of nodes, number of types, number of strings,
+ *  index of the language name), indices of type names, nodes (index of the type, index of the
+ *  data, number of children, offset of the list of children), identifiers of children,
+ *  64-bit offsets of strings and finally the strings themselves in UTF-8.
+ *  Nodes are identified by their sequence numbers in the pre-order traversal.
+ *  Fragments are not stored.
+ * @since 2.0.0
+ */
+public final class TreeStore {
+    /**
+     * Magic number that starts the file, 'ASTT'.
+     */
+    private static final int MAGIC = 0x41535454;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Number of integers in the header.
+     */
+    private static final int HEADER = 6;
+
+    /**
+     * Number of integers that describe one node.
+     */
+    private static final int RECORD = 4;
+
+    /**
+     * Default size of the regions into which the file is mapped, 1 GB.
+     */
+    private static final int SEGMENT = 1 << 30;
+
+    /**
+     * The file path.
+     */
+    private final Path path;
+
+    /**
+     * Size of the regions into which the file is mapped, must be a multiple of 8.
+     */
+    private final int segment;
+
+    /**
+     * Constructor.
+     * @param filename The file name
+     */
+    public TreeStore(final String filename) {
+        this(filename, TreeStore.SEGMENT);
+    }
+
+    /**
+     * Constructor.
+     * @param filename The file name
+     * @param segment Size of the regions into which the file is mapped
+     */
+    TreeStore(final String filename, final int segment) {
+        this.path = Paths.get(filename);
+        this.segment = segment;
+    }
+
+    /**
+     * Writes a tree to the file.
+     * @param tree The tree
+     * @return The result, {@code true} if the file was successful written
+     */
+    public boolean write(final Tree tree) {
+        boolean success = true;
+        try {
+            final Path dir = this.path.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            final Collector collector = new Collector(tree.getRoot());
+            try (DataOutputStream stream = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(this.path))
+            )) {
+                collector.write(stream, tree.getLanguage());
+            }
+        } catch (final IOException | InvalidPathException ignored) {
+            success = false;
+        }
+        return success;
+    }
+
+    /**
+     * Opens the file and maps it into memory.
+     * @param provider The factory provider, used to find node types by their names
+     * @return The tree or {@link EmptyTree#INSTANCE} if the file cannot be read
+     *  or has an invalid format
+     */
+    public Tree open(final Provider provider) {
+        Tree result = EmptyTree.INSTANCE;
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            final Segments segments = new Segments(channel, this.segment);
+            do {
+                if (segments.size < TreeStore.HEADER * Integer.BYTES
+                    || segments.getInt(0) != TreeStore.MAGIC
+                    || segments.getInt(Integer.BYTES) != TreeStore.VERSION) {
+                    break;
+                }
+                final Storage storage = new Storage(segments);
+                final Factory factory = provider.getFactory(storage.language);
+                if (factory == null) {
+                    break;
+                }
+                storage.resolveTypes(factory);
+                result = new Tree(storage.getNode(0));
+            } while (false);
+        } catch (final IOException | InvalidPathException | IndexOutOfBoundsException ignored) {
+            result = EmptyTree.INSTANCE;
+        }
+        return result;
+    }
+
+    /**
+     * Collects the tables of a tree and writes them to a stream.
+     * @since 2.0.0
+     */
+    private static final class Collector implements TreeTraversal.Visitor {
+        /**
+         * Indices of strings (type names and data).
+         */
+        private final Map<String, Integer> strings;
+
+        /**
+         * Indices of types, in the order in which they were found.
+         */
+        private final Map<String, Integer> types;
+
+        /**
+         * Type indices of nodes.
+         */
+        private int[] kinds;
+
+        /**
+         * Data indices of nodes.
+         */
+        private int[] data;
+
+        /**
+         * Number of children of nodes.
+         */
+        private int[] counts;
+
+        /**
+         * Number of nodes in the subtrees whose roots are the nodes.
+         */
+        private int[] sizes;
+
+        /**
+         * Identifiers of the nodes on the path from the root to the current node.
+         */
+        private int[] path;
+
+        /**
+         * Number of nodes on the path.
+         */
+        private int depth;
+
+        /**
+         * Number of collected nodes.
+         */
+        private int count;
+
+        /**
+         * Constructor.
+         * @param root Root node of the tree
+         */
+        Collector(final Node root) {
+            this.strings = new HashMap<>();
+            this.types = new HashMap<>();
+            this.kinds = new int[64];
+            this.data = new int[64];
+            this.counts = new int[64];
+            this.sizes = new int[64];
+            this.path = new int[32];
+            this.strings.put("", 0);
+            new TreeTraversal(root).walk(this);
+        }
+
+        @Override
+        public TreeTraversal.Decision enter(final Node node) {
+            final int id = this.count;
+            if (id == this.kinds.length) {
+                this.kinds = Arrays.copyOf(this.kinds, id * 2);
+                this.data = Arrays.copyOf(this.data, id * 2);
+                this.counts = Arrays.copyOf(this.counts, id * 2);
+                this.sizes = Arrays.copyOf(this.sizes, id * 2);
+            }
+            this.count = id + 1;
+            final String name = node.getTypeName();
+            Integer kind = this.types.get(name);
+            if (kind == null) {
+                kind = this.types.size();
+                this.types.put(name, kind);
+                this.intern(name);
+            }
+            this.kinds[id] = kind;
+            this.data[id] = this.intern(node.getData());
+            this.counts[id] = node.getChildCount();
+            if (this.depth == this.path.length) {
+                this.path = Arrays.copyOf(this.path, this.depth * 2);
+            }
+            this.path[this.depth] = id;
+            this.depth = this.depth + 1;
+            return TreeTraversal.Decision.CONTINUE;
+        }
+
+        @Override
+        public void leave(final Node node) {
+            this.depth = this.depth - 1;
+            final int id = this.path[this.depth];
+            this.sizes[id] = this.count - id;
+        }
+
+        /**
+         * Writes the tables to a stream.
+         * @param stream Output stream
+         * @param language Name of the programming language of the tree
+         * @throws IOException If the stream can't be written
+         */
+        void write(final DataOutputStream stream, final String language) throws IOException {
+            final int name = this.intern(language);
+            stream.writeInt(TreeStore.MAGIC);
+            stream.writeInt(TreeStore.VERSION);
+            stream.writeInt(this.count);
+            stream.writeInt(this.types.size());
+            stream.writeInt(this.strings.size());
+            stream.writeInt(name);
+            final int[] names = new int[this.types.size()];
+            for (final Map.Entry<String, Integer> entry : this.types.entrySet()) {
+                names[entry.getValue()] = this.strings.get(entry.getKey());
+            }
+            for (final int index : names) {
+                stream.writeInt(index);
+            }
+            int offset = 0;
+            for (int id = 0; id < this.count; id = id + 1) {
+                stream.writeInt(this.kinds[id]);
+                stream.writeInt(this.data[id]);
+                stream.writeInt(this.counts[id]);
+                stream.writeInt(offset);
+                offset = offset + this.counts[id];
+            }
+            for (int id = 0; id < this.count; id = id + 1) {
+                int child = id + 1;
+                for (int index = 0; index < this.counts[id]; index = index + 1) {
+                    stream.writeInt(child);
+                    child = child + this.sizes[child];
+                }
+            }
+            final byte[][] encoded = new byte[this.strings.size()][];
+            for (final Map.Entry<String, Integer> entry : this.strings.entrySet()) {
+                encoded[entry.getValue()] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            }
+            long position = 0;
+            for (final byte[] bytes : encoded) {
+                stream.writeLong(position);
+                position = position + bytes.length;
+            }
+            stream.writeLong(position);
+            for (final byte[] bytes : encoded) {
+                stream.write(bytes);
+            }
+        }
+
+        /**
+         * Returns the index of a string, adding the string if necessary.
+         * @param string String
+         * @return Index of the string
+         */
+        private int intern(final String string) {
+            Integer index = this.strings.get(string);
+            if (index == null) {
+                index = this.strings.size();
+                this.strings.put(string, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * File mapped into memory as a sequence of regions, since a single mapped buffer
+     *  can't be larger than 2 GB.
+     * @since 2.0.0
+     */
+    private static final class Segments {
+        /**
+         * Size of the file.
+         */
+        private final long size;
+
+        /**
+         * Size of each region.
+         */
+        private final int segment;
+
+        /**
+         * Mapped regions.
+         */
+        private final MappedByteBuffer[] buffers;
+
+        /**
+         * Constructor.
+         * @param channel Channel of the file
+         * @param segment Size of each region
+         * @throws IOException If the file can't be mapped
+         */
+        Segments(final FileChannel channel, final int segment) throws IOException {
+            this.size = channel.size();
+            this.segment = segment;
+            final int count = (int) ((this.size + segment - 1) / segment);
+            this.buffers = new MappedByteBuffer[count];
+            for (int index = 0; index < count; index = index + 1) {
+                final long start = (long) index * segment;
+                this.buffers[index] = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    start,
+                    Math.min(segment, this.size - start)
+                );
+            }
+        }
+
+        /**
+         * Reads a 32-bit integer. Integers are aligned, so they never cross the regions.
+         * @param position Position in the file
+         * @return Integer
+         */
+        int getInt(final long position) {
+            return this.buffers[(int) (position / this.segment)]
+                .getInt((int) (position % this.segment));
+        }
+
+        /**
+         * Reads a 64-bit integer.
+         * @param position Position in the file
+         * @return Integer
+         */
+        long getLong(final long position) {
+            return (long) this.getInt(position) << 32
+                | this.getInt(position + Integer.BYTES) & 0xFFFFFFFFL;
+        }
+
+        /**
+         * Reads a UTF-8 string.
+         * @param position Position in the file
+         * @param length Length of the string in bytes
+         * @return String
+         */
+        String getString(final long position, final int length) {
+            final byte[] bytes = new byte[length];
+            int done = 0;
+            while (done < length) {
+                final long current = position + done;
+                final ByteBuffer buffer = this.buffers[(int) (current / this.segment)]
+                    .duplicate();
+                buffer.position((int) (current % this.segment));
+                final int chunk = Math.min(length - done, buffer.remaining());
+                buffer.get(bytes, done, chunk);
+                done = done + chunk;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tables of a tree read from a mapped file.
+     * @since 2.0.0
+     */
+    private static final class Storage {
+        /**
+         * Mapped file.
+         */
+        private final Segments segments;
+
+        /**
+         * Number of nodes.
+         */
+        private final int count;
+
+        /**
+         * Name of the programming language of the tree.
+         */
+        private final String language;
+
+        /**
+         * Position of the table of type names.
+         */
+        private final long names;
+
+        /**
+         * Position of the table of nodes.
+         */
+        private final long nodes;
+
+        /**
+         * Position of the table of children.
+         */
+        private final long children;
+
+        /**
+         * Position of the table of string offsets.
+         */
+        private final long offsets;
+
+        /**
+         * Position of the strings.
+         */
+        private final long strings;
+
+        /**
+         * Node types, indexed by type indices in the file.
+         */
+        private final Type[] types;
+
+        /**
+         * Views that may be in use.
+         */
+        private final ViewTable views;
+
+        /**
+         * Constructor.
+         * @param segments Mapped file
+         */
+        Storage(final Segments segments) {
+            this.segments = segments;
+            this.count = segments.getInt(2L * Integer.BYTES);
+            this.types = new Type[segments.getInt(3L * Integer.BYTES)];
+            final int total = segments.getInt(4L * Integer.BYTES);
+            this.names = (long) TreeStore.HEADER * Integer.BYTES;
+            this.nodes = this.names + (long) this.types.length * Integer.BYTES;
+            this.children = this.nodes + (long) this.count * TreeStore.RECORD * Integer.BYTES;
+            this.offsets = this.children + (this.count - 1L) * Integer.BYTES;
+            this.strings = this.offsets + (total + 1L) * Long.BYTES;
+            if (this.count <= 0 || this.strings > segments.size) {
+                throw new IndexOutOfBoundsException();
+            }
+            this.language = this.getString(segments.getInt(5L * Integer.BYTES));
+            this.views = new ViewTable();
+        }
+
+        /**
+         * Finds the types of nodes by their names.
+         * @param factory Factory that creates the types
+         */
+        void resolveTypes(final Factory factory) {
+            for (int index = 0; index < this.types.length; index = index + 1) {
+                final String name = this.getString(
+                    this.segments.getInt(this.names + (long) index * Integer.BYTES)
+                );
+                Type type = factory.getType(name);
+                if (type == null) {
+                    final DraftNode.Constructor draft = new DraftNode.Constructor();
+                    draft.setName(name);
+                    type = draft.createNode().getType();
+                }
+                this.types[index] = type;
+            }
+        }
+
+        /**
+         * Returns the view of a node. While a view is in use, the same view is returned,
+         *  so nodes can be compared by reference. Views that are in use are found
+         *  without locks, a lock is taken only to create a view.
+         * @param id Identifier of the node
+         * @return View of the node
+         */
+        Node getNode(final int id) {
+            View view = this.views.find(id);
+            if (view == null) {
+                view = this.views.obtain(this, id);
+            }
+            return view;
+        }
+
+        /**
+         * Reads a field of a node.
+         * @param id Identifier of the node
+         * @param field Index of the field
+         * @return Value of the field
+         */
+        int getField(final int id, final int field) {
+            return this.segments.getInt(
+                this.nodes + ((long) id * TreeStore.RECORD + field) * Integer.BYTES
+            );
+        }
+
+        /**
+         * Returns the identifier of a child of a node.
+         * @param id Identifier of the node
+         * @param index Index of the child
+         * @return Identifier of the child
+         */
+        int getChildId(final int id, final int index) {
+            if (index < 0 || index >= this.getField(id, 2)) {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.segments.getInt(
+                this.children + ((long) this.getField(id, 3) + index) * Integer.BYTES
+            );
+        }
+
+        /**
+         * Reads a string by its index.
+         * @param index Index of the string
+         * @return String
+         */
+        String getString(final int index) {
+            final long position = this.offsets + (long) index * Long.BYTES;
+            final long start = this.segments.getLong(position);
+            final long end = this.segments.getLong(position + Long.BYTES);
+            final String result;
+            if (start == end) {
+                result = "";
+            } else {
+                result = this.segments.getString(this.strings + start, (int) (end - start));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Table of views that may be in use, with open addressing and linear probing.
+     *  The views are referenced weakly, references to collected views are removed from
+     *  the table, so its size depends on the number of views in use rather than on the size
+     *  of the tree. Lookups take no locks; views are added, and the table is cleared
+     *  and resized, under the lock of the table.
+     * @since 2.0.0
+     */
+    private static final class ViewTable {
+        /**
+         * Initial number of slots.
+         */
+        private static final int CAPACITY = 16;
+
+        /**
+         * Marker of a slot whose reference has been removed.
+         */
+        private static final ViewReference REMOVED = new ViewReference(null, -1, null);
+
+        /**
+         * Queue of references to collected views.
+         */
+        private final ReferenceQueue<View> queue;
+
+        /**
+         * Slots, the length is a power of two.
+         */
+        private volatile AtomicReferenceArray<ViewReference> slots;
+
+        /**
+         * Number of non-empty slots, including removed ones.
+         */
+        private int used;
+
+        /**
+         * Constructor.
+         */
+        ViewTable() {
+            this.queue = new ReferenceQueue<>();
+            this.slots = new AtomicReferenceArray<>(ViewTable.CAPACITY);
+        }
+
+        /**
+         * Finds the view of a node.
+         * @param id Identifier of the node
+         * @return View or {@code null} if there is no view in use
+         */
+        View find(final int id) {
+            final AtomicReferenceArray<ViewReference> table = this.slots;
+            final int mask = table.length() - 1;
+            int slot = ViewTable.spread(id) & mask;
+            View view = null;
+            for (ViewReference ref = table.get(slot); ref != null; ref = table.get(slot)) {
+                if (ref.id == id) {
+                    view = ref.get();
+                    if (view != null) {
+                        break;
+                    }
+                }
+                slot = slot + 1 & mask;
+            }
+            return view;
+        }
+
+        /**
+         * Returns the view of a node, creating it if there is no view in use.
+         * @param storage Tables of the tree
+         * @param id Identifier of the node
+         * @return View of the node
+         */
+        synchronized View obtain(final Storage storage, final int id) {
+            this.purge();
+            View view = this.find(id);
+            if (view == null) {
+                view = new View(storage, id);
+                if ((this.used + 1) * 2 > this.slots.length()) {
+                    this.rehash();
+                }
+                ViewTable.insert(this.slots, new ViewReference(view, id, this.queue));
+                this.used = this.used + 1;
+            }
+            return view;
+        }
+
+        /**
+         * Removes references to collected views from the table.
+         */
+        private void purge() {
+            final AtomicReferenceArray<ViewReference> table = this.slots;
+            final int mask = table.length() - 1;
+            for (ViewReference stale = (ViewReference) this.queue.poll(); stale != null;
+                stale = (ViewReference) this.queue.poll()) {
+                int slot = ViewTable.spread(stale.id) & mask;
+                for (ViewReference ref = table.get(slot); ref != null; ref = table.get(slot)) {
+                    if (ref == stale) {
+                        table.set(slot, ViewTable.REMOVED);
+                        break;
+                    }
+                    slot = slot + 1 & mask;
+                }
+            }
+        }
+
+        /**
+         * Replaces the slots with a new array that contains only references to views
+         *  in use and has at least twice as many slots as there are such references.
+         */
+        private void rehash() {
+            final AtomicReferenceArray<ViewReference> table = this.slots;
+            int count = 0;
+            for (int slot = 0; slot < table.length(); slot = slot + 1) {
+                final ViewReference ref = table.get(slot);
+                if (ref != null && ref.get() != null) {
+                    count = count + 1;
+                }
+            }
+            int capacity = ViewTable.CAPACITY;
+            while (capacity < (count + 1) * 4) {
+                capacity = capacity * 2;
+            }
+            final AtomicReferenceArray<ViewReference> created =
+                new AtomicReferenceArray<>(capacity);
+            for (int slot = 0; slot < table.length(); slot = slot + 1) {
+                final ViewReference ref = table.get(slot);
+                if (ref != null && ref.get() != null) {
+                    ViewTable.insert(created, ref);
+                }
+            }
+            this.slots = created;
+            this.used = count;
+        }
+
+        /**
+         * Puts a reference into the first empty slot after its home slot.
+         * @param table Slots
+         * @param ref Reference to a view
+         */
+        private static void insert(final AtomicReferenceArray<ViewReference> table,
+            final ViewReference ref) {
+            final int mask = table.length() - 1;
+            int slot = ViewTable.spread(ref.id) & mask;
+            while (table.get(slot) != null) {
+                slot = slot + 1 & mask;
+            }
+            table.set(slot, ref);
+        }
+
+        /**
+         * Spreads the bits of a node identifier, so that consecutive identifiers
+         *  are not placed in consecutive slots.
+         * @param id Identifier of the node
+         * @return Spread value
+         */
+        private static int spread(final int id) {
+            final int value = id * 0x9E3779B9;
+            return value ^ value >>> 16;
+        }
+    }
+
+    /**
+     * Weak reference to a view of a node.
+     * @since 2.0.0
+     */
+    private static final class ViewReference extends WeakReference<View> {
+        /**
+         * Identifier of the node.
+         */
+        private final int id;
+
+        /**
+         * Constructor.
+         * @param view View of the node
+         * @param id Identifier of the node
+         * @param queue Queue into which the reference is placed when the view is collected
+         */
+        ViewReference(final View view, final int id, final ReferenceQueue<View> queue) {
+            super(view, queue);
+            this.id = id;
+        }
+    }
+
+    /**
+     * Read-only node that decodes its data from the mapped file on access.
+     * @since 2.0.0
+     */
+    private static final class View implements Node {
+        /**
+         * Tables of the tree.
+         */
+        private final Storage storage;
+
+        /**
+         * Identifier of the node.
+         */
+        private final int id;
+
+        /**
+         * Constructor.
+         * @param storage Tables of the tree
+         * @param id Identifier of the node
+         */
+        View(final Storage storage, final int id) {
+            this.storage = storage;
+            this.id = id;
+        }
+
+        @Override
+        public Type getType() {
+            return this.storage.types[this.storage.getField(this.id, 0)];
+        }
+
+        @Override
+        public String getData() {
+            return this.storage.getString(this.storage.getField(this.id, 1));
+        }
+
+        @Override
+        public int getChildCount() {
+            return this.storage.getField(this.id, 2);
+        }
+
+        @Override
+        public Node getChild(final int index) {
+            return this.storage.getNode(this.storage.getChildId(this.id, index));
+        }
+
+        @Override
+        public String toString() {
+            return Node.toString(this);
+        }
+    }
+}
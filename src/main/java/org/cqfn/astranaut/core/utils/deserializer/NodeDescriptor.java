@@ -24,6 +24,7 @@
 package org.cqfn.astranaut.core.utils.deserializer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.cqfn.astranaut.core.base.ActionList;
@@ -32,6 +33,7 @@ import org.cqfn.astranaut.core.base.Delete;
 import org.cqfn.astranaut.core.base.DummyNode;
 import org.cqfn.astranaut.core.base.Factory;
 import org.cqfn.astranaut.core.base.Insert;
+import org.cqfn.astranaut.core.base.Move;
 import org.cqfn.astranaut.core.base.Node;
 import org.cqfn.astranaut.core.base.Replace;
 import org.cqfn.astranaut.core.utils.Promise;
@@ -158,20 +160,20 @@ public class NodeDescriptor {
             Node result = DummyNode.INSTANCE;
             final Builder builder = this.factory.createBuilder(descriptor.type);
             if (builder != null) {
-                Promise<Node> parent = null;
+                List<Promise<Node>> promises = Collections.emptyList();
                 if (descriptor.data != null) {
                     builder.setData(descriptor.data);
                 }
                 boolean filled = true;
                 if (descriptor.children != null) {
                     final List<Node> list = new ArrayList<>(descriptor.children.size());
-                    parent = this.convertChildren(descriptor, list);
+                    promises = this.convertChildren(descriptor, list);
                     filled = builder.setChildrenList(list);
                 }
                 if (filled && builder.isValid()) {
                     result = builder.createNode();
                 }
-                if (parent != null) {
+                for (final Promise<Node> parent : promises) {
                     parent.set(result);
                 }
             }
@@ -182,35 +184,48 @@ public class NodeDescriptor {
          * Converts child descriptors to a list of nodes.
          * @param descriptor A descriptor that describes a node
          * @param list Resulting list of converted nodes
-         * @return List of child nodes
+         * @return List of promises to set the parent node for inserted and moved nodes
          */
-        private Promise<Node> convertChildren(final NodeDescriptor descriptor,
+        private List<Promise<Node>> convertChildren(final NodeDescriptor descriptor,
             final List<Node> list) {
-            Promise<Node> parent = null;
+            final List<Promise<Node>> promises = new ArrayList<>(0);
+            Node after = null;
+            int move = 0;
             for (final NodeDescriptor child : descriptor.children) {
                 final Node converted = this.convert(child);
+                if (converted instanceof Move) {
+                    final Move action = (Move) converted;
+                    if (action.isSource()) {
+                        list.add(action.getBefore());
+                        this.actions.moveNodeFrom(action.getBefore(), action.getNumber());
+                    } else {
+                        promises.add(
+                            this.actions.moveNodeAfter(action.getNumber(), after, move)
+                        );
+                        move = action.getNumber();
+                    }
+                    continue;
+                }
+                move = 0;
                 if (converted instanceof Insert) {
                     final Node node = ((Insert) converted).getAfter();
-                    Node after = null;
-                    final int size = list.size();
-                    if (size > 0) {
-                        after = list.get(size - 1);
-                    }
-                    parent = this.actions.insertNodeAfter(node, after);
+                    promises.add(this.actions.insertNodeAfter(node, after));
+                    after = node;
                 } else if (converted instanceof Replace) {
                     final Replace action = (Replace) converted;
-                    final Node node = action.getBefore();
-                    list.add(node);
-                    this.actions.replaceNode(node, action.getAfter());
+                    after = action.getBefore();
+                    list.add(after);
+                    this.actions.replaceNode(after, action.getAfter());
                 } else if (converted instanceof Delete) {
-                    final Node node = ((Delete) converted).getBefore();
-                    list.add(node);
-                    this.actions.deleteNode(node);
+                    after = ((Delete) converted).getBefore();
+                    list.add(after);
+                    this.actions.deleteNode(after);
                 } else {
+                    after = converted;
                     list.add(converted);
                 }
             }
-            return parent;
+            return promises;
         }
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.cqfn.astranaut.core.algorithms.mapping.BottomUpMapper;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapper;
+import org.cqfn.astranaut.core.algorithms.mapping.MoveAwareMapper;
+import org.cqfn.astranaut.core.algorithms.mapping.TopDownMapper;
+import org.cqfn.astranaut.core.base.DiffNode;
+import org.cqfn.astranaut.core.base.DiffTree;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Tree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MergingDiffTreeBuilder} class.
+ * @since 2.0.0
+ */
+class MergingDiffTreeBuilderTest {
+    @Test
+    void testSameResultAsDiffTreeBuilder() {
+        final String[][] cases = {
+            {"X(A,B,Y(C,D,E,F,J,K))", "X(A,G,Y(H,C,I,E,J,K))"},
+            {"A(B,C,D)", "A(E,B,F,C,G,D,H)"},
+            {"A(B(C,D),E(F,G),H)", "A(E(F,G),B(C,D),H)"},
+            {"A(B,C(D,E(F,G)),H)", "A(H,C(E(G)),I)"},
+            {"A(B,C,D,E,F,G,H,I,J)", "A(J,I,H,G,F,E,D,C,B)"},
+        };
+        final Mapper[] mappers = {
+            TopDownMapper.INSTANCE,
+            MoveAwareMapper.INSTANCE,
+            BottomUpMapper.INSTANCE,
+        };
+        for (final String[] pair : cases) {
+            for (final Mapper mapper : mappers) {
+                final Node before = DraftNode.create(pair[0]);
+                final Node after = DraftNode.create(pair[1]);
+                final DiffTreeBuilder expected = new DiffTreeBuilder(before);
+                final MergingDiffTreeBuilder actual = new MergingDiffTreeBuilder(new Tree(before));
+                Assertions.assertEquals(
+                    expected.build(after, mapper),
+                    actual.build(new Tree(after), mapper)
+                );
+                final DiffTree diff = actual.getDiffTree();
+                Assertions.assertEquals(
+                    expected.getDiffTree().getRoot().toString(),
+                    diff.getRoot().toString()
+                );
+                Assertions.assertTrue(before.deepCompare(diff.getBefore().getRoot()));
+                Assertions.assertTrue(after.deepCompare(diff.getAfter().getRoot()));
+                final MergingDiffTreeBuilder another = new MergingDiffTreeBuilder(before);
+                Assertions.assertTrue(another.build(TopDownMapper.INSTANCE.map(before, after)));
+                Assertions.assertTrue(
+                    after.deepCompare(another.getDiffTree().getAfter().getRoot())
+                );
+            }
+        }
+    }
+
+    @Test
+    void testOrderOfActions() {
+        final Map<String, Set<Node>> nodes = new TreeMap<>();
+        final Node root = DraftNode.create("A(B,C,D)", nodes);
+        final Node bnode = nodes.get("B").iterator().next();
+        final Node cnode = nodes.get("C").iterator().next();
+        final Node dnode = nodes.get("D").iterator().next();
+        final DiffTreeBuilder expected = new DiffTreeBuilder(root);
+        final MergingDiffTreeBuilder actual = new MergingDiffTreeBuilder(root);
+        final Node xnode = DraftNode.create("X");
+        final Node ynode = DraftNode.create("Y");
+        final Insertion[] insertions = {
+            new Insertion(xnode, root, bnode),
+            new Insertion(ynode, root, bnode),
+            new Insertion(DraftNode.create("Z"), root, xnode),
+            new Insertion(DraftNode.create("W"), null, null),
+            new Insertion(DraftNode.create("V"), root, null),
+            new Insertion(DraftNode.create("U"), null, dnode),
+        };
+        for (final Insertion insertion : insertions) {
+            Assertions.assertEquals(
+                expected.insertNode(insertion),
+                actual.insertNode(insertion)
+            );
+        }
+        final Node mnode = DraftNode.create("M");
+        final Insertion target = new Insertion(mnode, root, cnode);
+        Assertions.assertTrue(expected.moveNode(cnode, target));
+        Assertions.assertTrue(actual.moveNode(cnode, target));
+        final Insertion[] wrong = {
+            new Insertion(DraftNode.create("T"), root, cnode),
+            new Insertion(DraftNode.create("T"), bnode, ynode),
+            new Insertion(DraftNode.create("T"), root, root),
+        };
+        for (final Insertion insertion : wrong) {
+            Assertions.assertFalse(expected.insertNode(insertion));
+            Assertions.assertFalse(actual.insertNode(insertion));
+        }
+        final Insertion after = new Insertion(DraftNode.create("S"), root, mnode);
+        Assertions.assertTrue(expected.insertNode(after));
+        Assertions.assertTrue(actual.insertNode(after));
+        Assertions.assertFalse(actual.replaceNode(cnode, DraftNode.create("R")));
+        Assertions.assertFalse(actual.deleteNode(root));
+        Assertions.assertTrue(actual.replaceNode(bnode, DraftNode.create("R")));
+        Assertions.assertTrue(expected.replaceNode(bnode, DraftNode.create("R")));
+        Assertions.assertFalse(actual.deleteNode(bnode));
+        Assertions.assertTrue(actual.deleteNode(dnode));
+        Assertions.assertTrue(expected.deleteNode(dnode));
+        final DiffTree diff = actual.getDiffTree();
+        Assertions.assertEquals(
+            expected.getDiffTree().getRoot().toString(),
+            diff.getRoot().toString()
+        );
+        Assertions.assertEquals("A(B, C, D)", diff.getBefore().getRoot().toString());
+        Assertions.assertEquals(
+            "A(V, R, Y, X, Z, M, S, U)",
+            diff.getAfter().getRoot().toString()
+        );
+    }
+
+    @Test
+    void testInsertionsAroundMovedNode() {
+        final Map<String, Set<Node>> nodes = new TreeMap<>();
+        final Node root = DraftNode.create("A(B,C,D)", nodes);
+        final Node bnode = nodes.get("B").iterator().next();
+        final Node dnode = nodes.get("D").iterator().next();
+        final DiffTreeBuilder expected = new DiffTreeBuilder(root);
+        final MergingDiffTreeBuilder actual = new MergingDiffTreeBuilder(root);
+        final Insertion before = new Insertion(DraftNode.create("X"), root, bnode);
+        Assertions.assertTrue(expected.insertNode(before));
+        Assertions.assertTrue(actual.insertNode(before));
+        final Insertion target = new Insertion(bnode, root, dnode);
+        Assertions.assertTrue(expected.moveNode(bnode, target));
+        Assertions.assertTrue(actual.moveNode(bnode, target));
+        final Insertion after = new Insertion(DraftNode.create("Y"), root, bnode);
+        Assertions.assertTrue(expected.insertNode(after));
+        Assertions.assertTrue(actual.insertNode(after));
+        final DiffTree diff = actual.getDiffTree();
+        Assertions.assertEquals(
+            expected.getDiffTree().getRoot().toString(),
+            diff.getRoot().toString()
+        );
+        Assertions.assertEquals("A(X, C, D, B, Y)", diff.getAfter().getRoot().toString());
+    }
+
+    @Test
+    void testSparseDiffTree() {
+        final Node before = DraftNode.create("A(B(C,D(E,F)),G(H,I),J(K(L)))");
+        final Node after = DraftNode.create("A(B(C,D(E,X,F)),G(H,I),J(K(L)))");
+        final MergingDiffTreeBuilder builder = new MergingDiffTreeBuilder(before);
+        Assertions.assertTrue(builder.build(after, TopDownMapper.INSTANCE));
+        final DiffTree full = builder.getDiffTree();
+        final DiffTree sparse = builder.getSparseDiffTree();
+        Assertions.assertEquals(full.getRoot().toString(), sparse.getRoot().toString());
+        Assertions.assertTrue(before.deepCompare(sparse.getBefore().getRoot()));
+        Assertions.assertTrue(after.deepCompare(sparse.getAfter().getRoot()));
+        final DiffNode root = sparse.getRoot();
+        Assertions.assertTrue(root.getChild(0) instanceof DiffNode);
+        Assertions.assertTrue(root.getChild(0).getChild(1) instanceof DiffNode);
+        Assertions.assertSame(before.getChild(0).getChild(0), root.getChild(0).getChild(0));
+        Assertions.assertSame(before.getChild(1), root.getChild(1));
+        Assertions.assertSame(before.getChild(2), root.getChild(2));
+        Assertions.assertTrue(root.deleteNode(before.getChild(1)));
+        Assertions.assertTrue(root.insertNodeAfter(DraftNode.create("Y"), before.getChild(2)));
+        Assertions.assertFalse(root.deleteNode(before.getChild(1)));
+        Assertions.assertEquals(
+            "A(B(C, D(E, X, F)), J(K(L)), Y)",
+            root.getAfter().toString()
+        );
+    }
+
+    @Test
+    void testSparseDiffTreeWithoutChanges() {
+        final Node before = DraftNode.create("A(B(C),D)");
+        final DiffTree diff = new MergingDiffTreeBuilder(before).getSparseDiffTree();
+        Assertions.assertSame(before.getChild(0), diff.getRoot().getChild(0));
+        Assertions.assertSame(before.getChild(1), diff.getRoot().getChild(1));
+        Assertions.assertTrue(before.deepCompare(diff.getAfter().getRoot()));
+    }
+}
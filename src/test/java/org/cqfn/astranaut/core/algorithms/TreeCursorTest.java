@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.Collections;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TreeCursor} class.
+ * @since 2.0.0
+ */
+class TreeCursorTest {
+    @Test
+    void testNavigation() {
+        final Node root = DraftNode.create("A(B(C, D), E(F))");
+        final TreeCursor cursor = new TreeCursor(root);
+        Assertions.assertSame(root, cursor.getNode());
+        Assertions.assertEquals(0, cursor.getDepth());
+        Assertions.assertFalse(cursor.up());
+        Assertions.assertFalse(cursor.left());
+        Assertions.assertFalse(cursor.down(2));
+        Assertions.assertTrue(cursor.down(0));
+        Assertions.assertTrue(cursor.down(1));
+        Assertions.assertEquals("D", cursor.getNode().getTypeName());
+        Assertions.assertEquals(2, cursor.getDepth());
+        Assertions.assertFalse(cursor.right());
+        Assertions.assertTrue(cursor.left());
+        Assertions.assertEquals("C", cursor.getNode().getTypeName());
+        Assertions.assertTrue(cursor.up());
+        Assertions.assertTrue(cursor.right());
+        Assertions.assertEquals("E", cursor.getNode().getTypeName());
+        Assertions.assertEquals(1, cursor.getChildCount());
+        Assertions.assertEquals("F", cursor.getChild(0).getTypeName());
+        cursor.top();
+        Assertions.assertSame(root, cursor.getNode());
+        Assertions.assertSame(root, cursor.commit());
+    }
+
+    @Test
+    void testBatchOfEdits() {
+        final Node root = DraftNode.create("A(B(C, D), E(F), G(H))");
+        final TreeCursor cursor = new TreeCursor(root);
+        Assertions.assertTrue(cursor.down(0));
+        Assertions.assertTrue(cursor.down(1));
+        cursor.replace(DraftNode.create("X"));
+        Assertions.assertEquals("X", cursor.getNode().getTypeName());
+        Assertions.assertTrue(cursor.up());
+        Assertions.assertTrue(cursor.insert(0, DraftNode.create("Y")));
+        Assertions.assertFalse(cursor.insert(4, DraftNode.create("Z")));
+        Assertions.assertEquals(3, cursor.getChildCount());
+        Assertions.assertTrue(cursor.up());
+        Assertions.assertTrue(cursor.down(1));
+        Assertions.assertTrue(cursor.down(0));
+        Assertions.assertTrue(cursor.delete());
+        Assertions.assertEquals("E", cursor.getNode().getTypeName());
+        Assertions.assertFalse(cursor.delete(0));
+        final Node result = cursor.commit();
+        Assertions.assertEquals("A(B(Y, C, X), E, G(H))", result.toString());
+        Assertions.assertEquals("A(B(C, D), E(F), G(H))", root.toString());
+        Assertions.assertSame(root.getChild(2), result.getChild(2));
+        Assertions.assertSame(root.getChild(0).getChild(0), result.getChild(0).getChild(1));
+        Assertions.assertSame(result, cursor.getNode());
+        Assertions.assertEquals(0, cursor.getDepth());
+        Assertions.assertSame(result, cursor.commit());
+    }
+
+    @Test
+    void testVisitingWithoutChanges() {
+        final Node root = DraftNode.create("A(B(C), D)");
+        final TreeCursor cursor = new TreeCursor(root);
+        Assertions.assertTrue(cursor.down(0));
+        Assertions.assertTrue(cursor.down(0));
+        final Node same = cursor.getNode();
+        cursor.replace(same);
+        Assertions.assertTrue(cursor.up());
+        Assertions.assertTrue(cursor.right());
+        final Node result = cursor.commit();
+        Assertions.assertNotSame(root, result);
+        Assertions.assertEquals(root.toString(), result.toString());
+        Assertions.assertSame(same, result.getChild(0).getChild(0));
+        Assertions.assertSame(root.getChild(1), result.getChild(1));
+    }
+
+    @Test
+    void testReplacementOfRoot() {
+        final TreeCursor cursor = new TreeCursor(DraftNode.create("A(B)"));
+        cursor.replace(DraftNode.create("C(D)"));
+        Assertions.assertFalse(cursor.delete());
+        Assertions.assertEquals("C(D)", cursor.commit().toString());
+    }
+
+    @Test
+    void testDeepTree() {
+        final int depth = 20_000;
+        Node node = DraftNode.create("L");
+        for (int index = 0; index < depth; index = index + 1) {
+            final DraftNode.Constructor ctor = new DraftNode.Constructor();
+            ctor.setName("N");
+            ctor.setChildrenList(Collections.singletonList(node));
+            node = ctor.createNode();
+        }
+        final TreeCursor cursor = new TreeCursor(node);
+        while (cursor.down(0)) {
+            Assertions.assertTrue(cursor.getDepth() <= depth);
+        }
+        Assertions.assertEquals(depth, cursor.getDepth());
+        cursor.replace(DraftNode.create("R"));
+        Node result = cursor.commit();
+        for (int index = 0; index < depth; index = index + 1) {
+            result = result.getChild(0);
+        }
+        Assertions.assertEquals("R", result.getTypeName());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import org.cqfn.astranaut.core.base.DiffNode;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TreeIndex} class.
+ * @since 2.0.0
+ */
+class TreeIndexTest {
+    @Test
+    void testRanksAndRelations() {
+        final Node root = DraftNode.create("A(B(C, D), E(F(G)), H)");
+        final TreeIndex index = new TreeIndex(root);
+        Assertions.assertEquals(8, index.size());
+        final String order = "ABCDEFGH";
+        final int[] post = {7, 2, 0, 1, 5, 4, 3, 6};
+        final int[] parents = {-1, 0, 1, 1, 0, 4, 5, 0};
+        final int[] depths = {0, 1, 2, 2, 1, 2, 3, 1};
+        final int[] sizes = {8, 3, 1, 1, 3, 2, 1, 1};
+        final int[] indices = {-1, 0, 0, 1, 1, 0, 0, 2};
+        for (int rank = 0; rank < order.length(); rank = rank + 1) {
+            final Node node = index.getNode(rank);
+            Assertions.assertEquals(String.valueOf(order.charAt(rank)), node.getTypeName());
+            Assertions.assertEquals(rank, index.getPreorderRank(node));
+            Assertions.assertEquals(post[rank], index.getPostorderRank(rank));
+            Assertions.assertEquals(parents[rank], index.getParentRank(rank));
+            Assertions.assertEquals(depths[rank], index.getDepth(rank));
+            Assertions.assertEquals(sizes[rank], index.getSubtreeSize(rank));
+            Assertions.assertEquals(indices[rank], index.getIndex(rank));
+        }
+        final Node fnode = index.getNode(5);
+        Assertions.assertSame(index.getNode(4), index.getParent(fnode));
+        Assertions.assertNull(index.getParent(root));
+        Assertions.assertTrue(index.isAncestor(root, index.getNode(6)));
+        Assertions.assertTrue(index.isAncestor(index.getNode(4), index.getNode(6)));
+        Assertions.assertFalse(index.isAncestor(index.getNode(1), index.getNode(6)));
+        Assertions.assertFalse(index.isAncestor(fnode, fnode));
+        Assertions.assertFalse(index.isAncestor(index.getNode(6), index.getNode(4)));
+        final Node stranger = DraftNode.create("X");
+        Assertions.assertEquals(-1, index.getPreorderRank(stranger));
+        Assertions.assertNull(index.getParent(stranger));
+        Assertions.assertFalse(index.isAncestor(root, stranger));
+        Assertions.assertFalse(index.hasSharedNodes());
+    }
+
+    @Test
+    void testPrototypesAndSharedNodes() {
+        final Node original = DraftNode.create("A(B(C), D)");
+        final DiffNode diff = new DiffNode(original);
+        final TreeIndex index = new TreeIndex(diff);
+        final Node child = original.getChild(0).getChild(0);
+        Assertions.assertEquals(2, index.getPreorderRank(child));
+        Assertions.assertSame(diff.getChild(0), index.getParent(child));
+        Assertions.assertFalse(index.hasSharedNodes());
+        final Node leaf = DraftNode.create("B");
+        final Node shared = DraftNode.create("A", "", leaf, DraftNode.create("C", "", leaf));
+        Assertions.assertTrue(new TreeIndex(shared).hasSharedNodes());
+    }
+
+    @Test
+    void testLargeTree() {
+        final int count = 10_000;
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("Root");
+        for (int index = 0; index < count; index = index + 1) {
+            ctor.addChild(DraftNode.create("Leaf", String.valueOf(index)));
+        }
+        final Node root = ctor.createNode();
+        final TreeIndex index = new TreeIndex(root);
+        for (int position = 0; position < count; position = position + 1) {
+            final Node node = root.getChild(position);
+            final int rank = index.getPreorderRank(node);
+            Assertions.assertEquals(position + 1, rank);
+            Assertions.assertEquals(position, index.getIndex(rank));
+            Assertions.assertSame(root, index.getParent(node));
+        }
+    }
+}
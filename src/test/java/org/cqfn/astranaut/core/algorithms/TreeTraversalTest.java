@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.cqfn.astranaut.core.algorithms.hash.AbsoluteHash;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapping;
+import org.cqfn.astranaut.core.algorithms.mapping.TopDownMapper;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TreeTraversal} class.
+ * @since 2.0.0
+ */
+class TreeTraversalTest {
+    /**
+     * Depth of the deep tree.
+     */
+    private static final int DEPTH = 100_000;
+
+    @Test
+    void testOrderOfVisits() {
+        final Node root = DraftNode.create("A(B(C,D),E(F))");
+        final StringBuilder order = new StringBuilder();
+        final boolean stopped = new TreeTraversal(root).walk(
+            new TreeTraversal.Visitor() {
+                @Override
+                public TreeTraversal.Decision enter(final Node node) {
+                    order.append('+').append(node.getTypeName());
+                    return TreeTraversal.Decision.CONTINUE;
+                }
+
+                @Override
+                public void leave(final Node node) {
+                    order.append('-').append(node.getTypeName());
+                }
+            }
+        );
+        Assertions.assertFalse(stopped);
+        Assertions.assertEquals("+A+B+C-C+D-D-B+E+F-F-E-A", order.toString());
+    }
+
+    @Test
+    void testSkipAndStop() {
+        final Node root = DraftNode.create("A(B(C,D),E(F),G)");
+        final List<String> visited = new ArrayList<>(0);
+        final boolean stopped = new TreeTraversal(root).walk(
+            node -> {
+                visited.add(node.getTypeName());
+                final TreeTraversal.Decision decision;
+                if ("B".equals(node.getTypeName())) {
+                    decision = TreeTraversal.Decision.SKIP;
+                } else if ("F".equals(node.getTypeName())) {
+                    decision = TreeTraversal.Decision.STOP;
+                } else {
+                    decision = TreeTraversal.Decision.CONTINUE;
+                }
+                return decision;
+            }
+        );
+        Assertions.assertTrue(stopped);
+        Assertions.assertEquals("[A, B, E, F]", visited.toString());
+    }
+
+    @Test
+    void testReduce() {
+        final Node root = DraftNode.create("A(B(C,D),E(F))");
+        final String result = new TreeTraversal(root).reduce(
+            (node, children) -> {
+                final StringBuilder builder = new StringBuilder();
+                for (final String child : children) {
+                    builder.append(child);
+                }
+                return builder.append(node.getTypeName()).toString();
+            }
+        );
+        Assertions.assertEquals("CDBFEA", result);
+        final int count = new TreeTraversal(root).reduce(
+            new TreeTraversal.Reducer<Integer>() {
+                @Override
+                public Integer lookup(final Node node) {
+                    final Integer value;
+                    if ("B".equals(node.getTypeName())) {
+                        value = 100;
+                    } else {
+                        value = null;
+                    }
+                    return value;
+                }
+
+                @Override
+                public Integer reduce(final Node node, final List<Integer> children) {
+                    int sum = 1;
+                    for (final Integer child : children) {
+                        sum = sum + child;
+                    }
+                    return sum;
+                }
+            }
+        );
+        Assertions.assertEquals(103, count);
+    }
+
+    @Test
+    void testVeryDeepTree() {
+        final Node first = TreeTraversalTest.createDeepTree();
+        final Node second = TreeTraversalTest.createDeepTree();
+        Assertions.assertEquals(
+            TreeTraversalTest.DEPTH,
+            new DepthCalculator().calculate(first)
+        );
+        Assertions.assertEquals(
+            new AbsoluteHash().calculate(first),
+            new AbsoluteHash().calculate(second)
+        );
+        Assertions.assertTrue(first.deepCompare(second));
+        final Node clone = first.deepClone();
+        Assertions.assertNotSame(first, clone);
+        Assertions.assertTrue(clone.deepCompare(first));
+        Assertions.assertTrue(first.toString().startsWith("X<\"0\">(X<\"1\">(X<\"2\">("));
+        Assertions.assertEquals(
+            TreeTraversalTest.DEPTH,
+            new DepthFirstWalker(first).collectAll().size()
+        );
+        final ExtNode ext = new ExtNodeCreator().create(first);
+        Assertions.assertEquals(TreeTraversalTest.DEPTH, ext.getSubtreeSize());
+        final Mapping mapping = TopDownMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(0, mapping.getNumberOfActions());
+        Assertions.assertSame(second, mapping.getRight(first));
+    }
+
+    /**
+     * Creates a tree where each node, except for the last one, has exactly one child.
+     * @return Root node of the tree
+     */
+    private static Node createDeepTree() {
+        Node node = DraftNode.create("X", String.valueOf(TreeTraversalTest.DEPTH - 1));
+        for (int index = TreeTraversalTest.DEPTH - 2; index >= 0; index = index - 1) {
+            node = DraftNode.create("X", String.valueOf(index), node);
+        }
+        return node;
+    }
+}
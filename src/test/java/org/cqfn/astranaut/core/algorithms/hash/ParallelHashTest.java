@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.hash;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.cqfn.astranaut.core.utils.NodeCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ParallelHash} class.
+ * @since 2.0.0
+ */
+class ParallelHashTest {
+    /**
+     * The file with a large syntax tree.
+     */
+    private static final String FILE = "src/test/resources/heavy/real_tree_from_java_parser_1.json";
+
+    /**
+     * Threshold small enough to split the test tree into many tasks.
+     */
+    private static final int THRESHOLD = 16;
+
+    @Test
+    void testSameHashesAsSequential() {
+        final Node root = ParallelHashTest.readTree().getRoot();
+        final Hash sequential = new AbsoluteHash();
+        final Hash parallel = new ParallelHash(
+            new AbsoluteHash(new NodeCache<>(NodeCache.UNBOUNDED)),
+            ForkJoinPool.commonPool(),
+            ParallelHashTest.THRESHOLD
+        );
+        Assertions.assertEquals(sequential.calculate(root), parallel.calculate(root));
+        final List<Node> nodes = new DepthFirstWalker(root).collectAll();
+        for (final Node node : nodes) {
+            Assertions.assertEquals(sequential.calculate(node), parallel.calculate(node));
+        }
+        final Hash wide = new ParallelHash(
+            new StructuralHash(new NodeCache<>(NodeCache.UNBOUNDED))
+        );
+        Assertions.assertEquals(
+            new StructuralHash().calculateLong(root),
+            wide.calculateLong(root)
+        );
+    }
+
+    @Test
+    void testParallelExtNodeCreator() {
+        final Node root = ParallelHashTest.readTree().getRoot();
+        final ExtNode first = new ExtNodeCreator().create(root);
+        final ExtNode second = new ExtNodeCreator(
+            ForkJoinPool.commonPool(),
+            ParallelHashTest.THRESHOLD
+        ).create(root);
+        Assertions.assertEquals(first.getSubtreeSize(), second.getSubtreeSize());
+        final StructuralHash hash = new StructuralHash();
+        final List<Node> nodes = new DepthFirstWalker(second).collectAll();
+        for (final Node node : nodes) {
+            final ExtNode ext = (ExtNode) node;
+            Assertions.assertEquals(hash.calculateLong(ext.getPrototype()), ext.getStructuralHash());
+            Assertions.assertEquals(hash.calculate(ext.getPrototype()), ext.getAbsoluteHash());
+        }
+        Assertions.assertEquals(first.getStructuralHash(), second.getStructuralHash());
+    }
+
+    @Test
+    void testWrongThreshold() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ParallelHash(new AbsoluteHash(), ForkJoinPool.commonPool(), 1)
+        );
+    }
+
+    /**
+     * Reads the large syntax tree from the JSON file.
+     * @return Syntax tree
+     */
+    private static Tree readTree() {
+        final String source = new FilesReader(ParallelHashTest.FILE).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.hash;
+
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link StructuralHash} class.
+ * @since 2.0.0
+ */
+class StructuralHashTest {
+    @Test
+    void testIdenticalTrees() {
+        final Node first = DraftNode.create("A(B<\"x\">, C(D, E<\"y\">))");
+        final Node second = DraftNode.create("A(B<\"x\">, C(D, E<\"y\">))");
+        final StructuralHash hash = new StructuralHash();
+        Assertions.assertEquals(hash.calculateLong(first), hash.calculateLong(second));
+        Assertions.assertEquals(
+            hash.calculateLong(first.getChild(1)),
+            hash.calculateLong(second.getChild(1))
+        );
+        Assertions.assertEquals(hash.calculate(first), hash.calculate(second));
+    }
+
+    @Test
+    void testDifferentTrees() {
+        final StructuralHash hash = new StructuralHash();
+        final long origin = hash.calculateLong(DraftNode.create("A(B, C)"));
+        Assertions.assertNotEquals(origin, hash.calculateLong(DraftNode.create("A(C, B)")));
+        Assertions.assertNotEquals(origin, hash.calculateLong(DraftNode.create("A(B, C, D)")));
+        Assertions.assertNotEquals(origin, hash.calculateLong(DraftNode.create("A<\"x\">(B, C)")));
+        Assertions.assertNotEquals(origin, hash.calculateLong(DraftNode.create("A(B(C))")));
+    }
+
+    @Test
+    void testFolding() {
+        final Node node = DraftNode.create("X(Y, Z)");
+        final StructuralHash hash = new StructuralHash();
+        Assertions.assertEquals(
+            StructuralHash.fold(hash.calculateLong(node)),
+            hash.calculate(node)
+        );
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BottomUpMapper} class.
+ * @since 2.0.0
+ */
+class BottomUpMapperTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/heavy/";
+
+    @Test
+    void testIdenticalTrees() {
+        final Node first = DraftNode.create("A(B(C,D),E(F,G(H)))");
+        final Node second = DraftNode.create("A(B(C,D),E(F,G(H)))");
+        final Mapping mapping = BottomUpMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(0, mapping.getNumberOfActions());
+        for (final Node node : new DepthFirstWalker(first).collectAll()) {
+            Assertions.assertNotNull(mapping.getRight(node));
+            Assertions.assertTrue(node.deepCompare(mapping.getRight(node)));
+        }
+    }
+
+    @Test
+    void testUnchangedSubtreeUnderChangedParent() {
+        final Node first = DraftNode.create("A(X(B(C,D),E),F)");
+        final Node second = DraftNode.create("A(Y(B(C,D),E),F)");
+        final Node unchanged = second.getChild(0).getChild(0);
+        final Mapping expected = TopDownMapper.INSTANCE.map(first, second);
+        Assertions.assertNull(expected.getRight(first.getChild(0).getChild(0)));
+        final Mapper mapper = BottomUpMapper.INSTANCE;
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertSame(unchanged, mapping.getRight(first.getChild(0).getChild(0)));
+        Assertions.assertSame(second.getChild(1), mapping.getRight(first.getChild(1)));
+        Assertions.assertEquals(1, mapping.getNumberOfActions());
+        this.checkDiffTree(first, second, mapper);
+    }
+
+    @Test
+    void testMovedSubtree() {
+        final Node first = DraftNode.create("A(B(C,D),E(F),G(H,I))");
+        final Node second = DraftNode.create("A(E(F),G(H,I),B(C,D))");
+        final Mapper mapper = BottomUpMapper.INSTANCE;
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertSame(second.getChild(2), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(second.getChild(0), mapping.getRight(first.getChild(1)));
+        Assertions.assertSame(second.getChild(1), mapping.getRight(first.getChild(2)));
+        Assertions.assertEquals(2, mapping.getNumberOfActions());
+        this.checkDiffTree(first, second, mapper);
+    }
+
+    @Test
+    void testContainerMappedByDescendants() {
+        final Node first = DraftNode.create("A(X(B(C,D),E(F,G),H),X(I(J),K))");
+        final Node second = DraftNode.create("A(X(L),X(B(C,D),M,E(F,G)))");
+        final Mapper mapper = BottomUpMapper.INSTANCE;
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertSame(second.getChild(1), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(
+            second.getChild(1).getChild(0),
+            mapping.getRight(first.getChild(0).getChild(0))
+        );
+        this.checkDiffTree(first, second, mapper);
+    }
+
+    @Test
+    void testAllActions() {
+        final Node first = DraftNode.create(
+            "A(X(B,C,D(E,F)),X(G,H(I,J),K),Y(L,M),X(N),Z)"
+        );
+        final Node second = DraftNode.create(
+            "A(X(B,D(E,F,Q),C),Y(L,M,R),X(N,S),X(G,H(I),K),W)"
+        );
+        final Mapping mapping = BottomUpMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(8, mapping.getNumberOfActions());
+        Assertions.assertSame(second.getChild(0), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(second.getChild(1), mapping.getRight(first.getChild(2)));
+        Assertions.assertSame(second.getChild(2), mapping.getRight(first.getChild(3)));
+        Assertions.assertSame(second.getChild(3), mapping.getReplaced().get(first.getChild(4)));
+        Assertions.assertTrue(mapping.getDeleted().contains(first.getChild(1)));
+        Assertions.assertEquals(5, mapping.getInserted().size());
+        this.checkDiffTree(first, second, BottomUpMapper.INSTANCE);
+    }
+
+    @Test
+    void testDifferentRoots() {
+        final Node first = DraftNode.create("A(B(C,D))");
+        final Node second = DraftNode.create("E(B(C,D))");
+        final Mapping mapping = BottomUpMapper.INSTANCE.map(first, second);
+        Assertions.assertSame(second, mapping.getReplaced().get(first));
+        Assertions.assertSame(second.getChild(0), mapping.getRight(first.getChild(0)));
+    }
+
+    @Test
+    void testRealSyntaxTrees() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        this.checkDiffTree(first.getRoot(), second.getRoot(), BottomUpMapper.INSTANCE);
+        this.checkDiffTree(second.getRoot(), first.getRoot(), BottomUpMapper.INSTANCE);
+    }
+
+    @Test
+    void testWrongParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BottomUpMapper(0, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BottomUpMapper(2, 1.5));
+    }
+
+    /**
+     * Builds a difference tree and checks that it describes both trees.
+     * @param first Root node of the tree before the changes
+     * @param second Root node of the tree after the changes
+     * @param mapper Mapper
+     */
+    private void checkDiffTree(final Node first, final Node second, final Mapper mapper) {
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, mapper));
+        Assertions.assertTrue(builder.getDiffTree().getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(builder.getDiffTree().getAfter().getRoot().deepCompare(second));
+    }
+
+    /**
+     * Reads syntax tree from a JSON file.
+     * @param name The name of the file
+     * @return Syntax tree
+     */
+    private Tree readSyntaxTreeFormFile(final String name) {
+        final String file = BottomUpMapperTest.TESTS_PATH.concat(name);
+        final String source = new FilesReader(file).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BudgetedTopDownMapper} class.
+ * @since 2.0.0
+ */
+class BudgetedTopDownMapperTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/heavy/";
+
+    @Test
+    void testUnlimitedBudget() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapper mapper = new BudgetedTopDownMapper(
+            BudgetedTopDownMapper.UNLIMITED,
+            BudgetedTopDownMapper.UNLIMITED,
+            TimeUnit.MILLISECONDS
+        );
+        final Mapping mapping = mapper.map(first.getRoot(), second.getRoot());
+        Assertions.assertFalse(mapping.isApproximate());
+        Assertions.assertEquals(
+            TopDownMapper.INSTANCE.map(first.getRoot(), second.getRoot()).getNumberOfActions(),
+            mapping.getNumberOfActions()
+        );
+    }
+
+    @Test
+    void testExhaustedWorkBudget() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapper mapper = new BudgetedTopDownMapper(
+            100,
+            BudgetedTopDownMapper.UNLIMITED,
+            TimeUnit.MILLISECONDS
+        );
+        final Mapping mapping = mapper.map(first.getRoot(), second.getRoot());
+        Assertions.assertTrue(mapping.isApproximate());
+        Assertions.assertSame(second.getRoot(), mapping.getRight(first.getRoot()));
+        Assertions.assertSame(first.getRoot(), mapping.getLeft(second.getRoot()));
+        Assertions.assertTrue(mapping.getNumberOfActions() > 0);
+        final Mapping reverse = mapper.map(second.getRoot(), first.getRoot());
+        Assertions.assertTrue(reverse.isApproximate());
+        Assertions.assertSame(first.getRoot(), reverse.getRight(second.getRoot()));
+        BudgetedTopDownMapperTest.checkDiffTree(first.getRoot(), second.getRoot(), mapper);
+        BudgetedTopDownMapperTest.checkDiffTree(second.getRoot(), first.getRoot(), mapper);
+    }
+
+    @Test
+    void testExpiredDeadline() {
+        final Node first = DraftNode.create("A(X(B,C,D(E,F)),X(G,H(I,J),K),Y(L,M),X(N),Z)");
+        final Node second = DraftNode.create("A(X(B,D(E,F,Q),C),Y(L,M,R),X(N,S),X(G,H(I),K),W)");
+        final Mapper mapper = new BudgetedTopDownMapper(
+            BudgetedTopDownMapper.UNLIMITED,
+            1,
+            TimeUnit.NANOSECONDS
+        );
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertTrue(mapping.isApproximate());
+        Assertions.assertSame(second, mapping.getRight(first));
+        Assertions.assertEquals(5, mapping.getReplaced().size());
+        Assertions.assertSame(second.getChild(4), mapping.getReplaced().get(first.getChild(4)));
+        Assertions.assertTrue(mapping.getInserted().isEmpty());
+        Assertions.assertTrue(mapping.getDeleted().isEmpty());
+        BudgetedTopDownMapperTest.checkDiffTree(first, second, mapper);
+    }
+
+    @Test
+    void testSmallTreesWithinBudget() {
+        final Node first = DraftNode.create("A(B(C,D),E)");
+        final Node second = DraftNode.create("A(B(C,F),E,G)");
+        final Mapper mapper = new BudgetedTopDownMapper(1000, 1, TimeUnit.MINUTES);
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertFalse(mapping.isApproximate());
+        Assertions.assertEquals(2, mapping.getNumberOfActions());
+    }
+
+    @Test
+    void testWrongParameters() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new BudgetedTopDownMapper(0, 1, TimeUnit.SECONDS)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new BudgetedTopDownMapper(1, -1, TimeUnit.SECONDS)
+        );
+    }
+
+    /**
+     * Builds a difference tree and checks that it describes both trees.
+     * @param first Root node of the tree before the changes
+     * @param second Root node of the tree after the changes
+     * @param mapper Mapper
+     */
+    private static void checkDiffTree(final Node first, final Node second,
+        final Mapper mapper) {
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, mapper));
+        Assertions.assertTrue(builder.getDiffTree().getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(builder.getDiffTree().getAfter().getRoot().deepCompare(second));
+    }
+
+    /**
+     * Reads syntax tree from a JSON file.
+     * @param name The name of the file
+     * @return Syntax tree
+     */
+    private Tree readSyntaxTreeFormFile(final String name) {
+        final String file = BudgetedTopDownMapperTest.TESTS_PATH.concat(name);
+        final String source = new FilesReader(file).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
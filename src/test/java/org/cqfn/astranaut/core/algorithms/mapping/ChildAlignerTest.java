@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ChildAligner} class.
+ * @since 2.0.0
+ */
+class ChildAlignerTest {
+    @Test
+    void matchNothing() {
+        final ChildAligner.Result result = this.match("A(B,C)", "A(D,E,F)");
+        Assertions.assertEquals(0, result.getCount());
+    }
+
+    @Test
+    void matchOneFromSeven() {
+        final ChildAligner.Result result = this.match("A(B,C,D,E,F,G,H)", "A(I,J,F,K)");
+        Assertions.assertEquals(1, result.getCount());
+        Assertions.assertEquals(4, result.getLeftIndex(0));
+        Assertions.assertEquals(2, result.getRightIndex(0));
+    }
+
+    @Test
+    void matchThreeFromFour() {
+        final ChildAligner.Result result = this.match("A(B,B,C,B)", "A(D,B,B,B)");
+        Assertions.assertEquals(3, result.getCount());
+        this.checkPairs(result, new int[][] {{0, 1}, {1, 2}, {3, 3}});
+    }
+
+    @Test
+    void matchThreeFromNine() {
+        final ChildAligner.Result result = this.match("A(C,C,B,B,B,C,C)", "A(B,B,B,B,B,B,B,B,B)");
+        Assertions.assertEquals(3, result.getCount());
+        for (int index = 0; index < 3; index = index + 1) {
+            Assertions.assertEquals(index + 2, result.getLeftIndex(index));
+        }
+        Assertions.assertTrue(result.getRightIndex(0) <= 2);
+    }
+
+    @Test
+    void preferNearbyOffsets() {
+        final ChildAligner.Result result = this.match("A(X,Y,Z,W,V,B)", "A(B,B,B,B,B,B,B,B,B,B)");
+        Assertions.assertEquals(1, result.getCount());
+        Assertions.assertEquals(5, result.getLeftIndex(0));
+        Assertions.assertEquals(5, result.getRightIndex(0));
+    }
+
+    @Test
+    void matchAllRunsInOnePass() {
+        final ChildAligner.Result result = this.match(
+            "A(D,F,F,D,E,E,E,D,C,C,C,C)",
+            "A(B,B,B,B,B,B,B,F,F,B,B,B,B,B,E,E,E,B,B,B,B,B,C,C,C,C)"
+        );
+        this.checkPairs(
+            result,
+            new int[][] {
+                {1, 7}, {2, 8}, {4, 14}, {5, 15}, {6, 16}, {8, 22}, {9, 23}, {10, 24}, {11, 25},
+            }
+        );
+    }
+
+    @Test
+    void uniqueAnchorsDoNotCross() {
+        final ChildAligner.Result result = this.match("A(B,C,D,E)", "A(E,B,C,D)");
+        this.checkPairs(result, new int[][] {{0, 1}, {1, 2}, {2, 3}});
+    }
+
+    @Test
+    void alignLongSequences() {
+        final int size = 5000;
+        final int[] left = new int[size];
+        final int[] right = new int[size + 2];
+        for (int index = 0; index < size; index = index + 1) {
+            left[index] = index % 7;
+        }
+        System.arraycopy(left, 0, right, 0, size / 2);
+        right[size / 2] = -1;
+        System.arraycopy(left, size / 2, right, size / 2 + 1, size / 2 - 1);
+        right[size] = -2;
+        right[size + 1] = left[size - 1];
+        final ChildAligner.Result result = new ChildAligner(left, right).align();
+        Assertions.assertEquals(size, result.getCount());
+        for (int index = 1; index < size; index = index + 1) {
+            Assertions.assertTrue(result.getLeftIndex(index) > result.getLeftIndex(index - 1));
+            Assertions.assertTrue(result.getRightIndex(index) > result.getRightIndex(index - 1));
+            Assertions.assertEquals(
+                left[result.getLeftIndex(index)],
+                right[result.getRightIndex(index)]
+            );
+        }
+    }
+
+    @Test
+    void alignSequencesWithoutUniqueElements() {
+        final int[] left = {1, 2, 1, 2, 1, 2, 3, 3, 1, 2};
+        final int[] right = {2, 1, 2, 3, 1, 3, 1, 2, 2};
+        final ChildAligner.Result result = new ChildAligner(left, right).align();
+        Assertions.assertEquals(7, result.getCount());
+    }
+
+    /**
+     * Checks that the result contains exactly the expected pairs.
+     * @param result Alignment result
+     * @param expected Expected pairs of indices
+     */
+    private void checkPairs(final ChildAligner.Result result, final int[][] expected) {
+        Assertions.assertEquals(expected.length, result.getCount());
+        for (int index = 0; index < expected.length; index = index + 1) {
+            Assertions.assertEquals(expected[index][0], result.getLeftIndex(index));
+            Assertions.assertEquals(expected[index][1], result.getRightIndex(index));
+        }
+    }
+
+    /**
+     * Aligns child nodes of a pair of nodes by absolute hash.
+     * @param first Description of the first node
+     * @param second Description of the second node
+     * @return Alignment result
+     */
+    private ChildAligner.Result match(final String first, final String second) {
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(DraftNode.create(first));
+        final ExtNode right = creator.create(DraftNode.create(second));
+        final Section section = new Section(left, right);
+        return new ChildAligner(section, ChildAligner.ABSOLUTE_HASH).align();
+    }
+}
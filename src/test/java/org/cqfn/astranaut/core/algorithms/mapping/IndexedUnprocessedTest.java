@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.ExtNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link IndexedUnprocessed} class.
+ * @since 2.0.0
+ */
+class IndexedUnprocessedTest {
+    @Test
+    void removeNode() {
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(DraftNode.create("A(I)"));
+        final ExtNode right = creator.create(DraftNode.create("A(J,K)"));
+        final SectionSet unprocessed = new IndexedUnprocessed(left, right);
+        Section section = unprocessed.getFirstSection();
+        Assertions.assertEquals(3, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNode(left);
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(3, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNode(right.getExtChild(1));
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(2, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNode(right.getExtChild(0));
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(1, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNode(left.getExtChild(0));
+        section = unprocessed.getFirstSection();
+        Assertions.assertNull(section);
+    }
+
+    @Test
+    void removeNodes() {
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(DraftNode.create("A(B,C,D)"));
+        final ExtNode right = creator.create(DraftNode.create("A(E,F,G)"));
+        final SectionSet unprocessed = new IndexedUnprocessed(left, right);
+        Assertions.assertEquals(1, unprocessed.getNumberOfSections());
+        Section section = unprocessed.getFirstSection();
+        Assertions.assertEquals(6, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNodes(left, right);
+        Assertions.assertEquals(1, unprocessed.getNumberOfSections());
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(6, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNodes(left.getExtChild(1), right.getExtChild(1));
+        Assertions.assertEquals(2, unprocessed.getNumberOfSections());
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(2, section.getLeft().size() + section.getRight().size());
+        unprocessed.removeNodes(left.getExtChild(2), right.getExtChild(2));
+        Assertions.assertEquals(1, unprocessed.getNumberOfSections());
+        section = unprocessed.getFirstSection();
+        Assertions.assertSame(left.getExtChild(0), section.getLeft().get(0));
+        unprocessed.removeNodes(left.getExtChild(0), right.getExtChild(0));
+        Assertions.assertEquals(0, unprocessed.getNumberOfSections());
+    }
+
+    @Test
+    void sectionsAreOrdered() {
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(DraftNode.create("A(B,C,D,E,F)"));
+        final ExtNode right = creator.create(DraftNode.create("A(G,H,I,J)"));
+        final SectionSet unprocessed = new IndexedUnprocessed(left, right);
+        unprocessed.removeNodes(left.getExtChild(3), right.getExtChild(1));
+        unprocessed.removeNodes(left.getExtChild(1), right.getExtChild(0));
+        unprocessed.removeNode(left.getExtChild(2));
+        Assertions.assertEquals(2, unprocessed.getNumberOfSections());
+        Section section = unprocessed.getFirstSection();
+        Assertions.assertEquals(1, section.getLeft().size());
+        Assertions.assertSame(left.getExtChild(0), section.getLeft().get(0));
+        Assertions.assertTrue(section.getRight().isEmpty());
+        unprocessed.removeNode(left.getExtChild(0));
+        Assertions.assertEquals(1, unprocessed.getNumberOfSections());
+        section = unprocessed.getFirstSection();
+        Assertions.assertSame(left.getExtChild(3), section.getPrevious());
+        Assertions.assertSame(left.getExtChild(4), section.getLeft().get(0));
+        unprocessed.removeNode(left.getExtChild(4));
+        section = unprocessed.getFirstSection();
+        Assertions.assertTrue(section.getLeft().isEmpty());
+        Assertions.assertSame(left.getExtChild(4), section.getPrevious());
+        unprocessed.removeNode(right.getExtChild(3));
+        Assertions.assertEquals(1, unprocessed.getNumberOfSections());
+        section = unprocessed.getFirstSection();
+        Assertions.assertEquals(1, section.getRight().size());
+        Assertions.assertSame(right.getExtChild(2), section.getRight().get(0));
+        unprocessed.removeNode(right.getExtChild(2));
+        Assertions.assertNull(unprocessed.getFirstSection());
+    }
+
+    @Test
+    void sameResultAsLinearSet() {
+        final Node first = DraftNode.create(
+            "A(X(B,C,D(E,F)),X(G,H(I,J),K),Y(L,M),X(N),Z,X(B,C),Y(L),X(G,H(I,J),K),Z,W)"
+        );
+        final Node second = DraftNode.create(
+            "A(X(B,D(E,F,Q),C),Y(L,M,R),X(N,S),Z,X(G,H(I),K),W,X(B,C),Z,Y(L),V)"
+        );
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(first);
+        final ExtNode right = creator.create(second);
+        final TopDownAlgorithm linear =
+            new TopDownAlgorithm(left, right, Integer.MAX_VALUE, false);
+        linear.execute();
+        final Mapping expected = new TopDownMapping(linear);
+        final TopDownAlgorithm indexed =
+            new TopDownAlgorithm(left, right, Integer.MAX_VALUE, true);
+        indexed.execute();
+        final Mapping actual = new TopDownMapping(indexed);
+        for (final Node node : new DepthFirstWalker(first).collectAll()) {
+            Assertions.assertSame(expected.getRight(node), actual.getRight(node));
+        }
+        Assertions.assertEquals(expected.getInserted().size(), actual.getInserted().size());
+        Assertions.assertEquals(expected.getReplaced(), actual.getReplaced());
+        Assertions.assertEquals(expected.getDeleted(), actual.getDeleted());
+    }
+}
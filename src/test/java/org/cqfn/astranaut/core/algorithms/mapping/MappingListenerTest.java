@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MappingListener} interface and its use by mappers.
+ * @since 2.0.0
+ */
+class MappingListenerTest {
+    /**
+     * The 'left' tree.
+     */
+    private static final String LEFT = "A(X(B,C,D(E,F)),X(G,H(I,J),K),Y(L,M),X(N),Z(O(P)))";
+
+    /**
+     * The 'right' tree.
+     */
+    private static final String RIGHT = "A(X(B,D(E,F,Q),C),Y(L,M,R),X(N,S),X(G,H(I),K),W,O(P))";
+
+    @Test
+    void testTopDownMapper() {
+        MappingListenerTest.check(TopDownMapper.INSTANCE);
+    }
+
+    @Test
+    void testBottomUpMapper() {
+        MappingListenerTest.check(BottomUpMapper.INSTANCE);
+    }
+
+    @Test
+    void testMoveAwareMapper() {
+        MappingListenerTest.check(MoveAwareMapper.INSTANCE);
+    }
+
+    /**
+     * Checks that the events received from a mapper describe the same mapping as the one
+     *  returned by the mapper.
+     * @param mapper Mapper
+     */
+    private static void check(final Mapper mapper) {
+        final Node left = DraftNode.create(MappingListenerTest.LEFT);
+        final Node right = DraftNode.create(MappingListenerTest.RIGHT);
+        final Mapping expected = mapper.map(left, right);
+        final Recorder actual = new Recorder();
+        mapper.map(left, right, actual);
+        for (final Node node : new DepthFirstWalker(left).collectAll()) {
+            Assertions.assertSame(expected.getRight(node), actual.mapped.get(node));
+        }
+        Assertions.assertEquals(expected.getInserted().size(), actual.inserted.size());
+        for (int index = 0; index < actual.inserted.size(); index = index + 1) {
+            final Insertion first = expected.getInserted().get(index);
+            final Insertion second = actual.inserted.get(index);
+            Assertions.assertSame(first.getNode(), second.getNode());
+            Assertions.assertSame(first.getInto(), second.getInto());
+            Assertions.assertSame(first.getAfter(), second.getAfter());
+        }
+        Assertions.assertEquals(expected.getMoved().keySet(), actual.moved.keySet());
+        Assertions.assertEquals(expected.getReplaced(), actual.replaced);
+        Assertions.assertEquals(expected.getDeleted(), actual.deleted);
+    }
+
+    /**
+     * Listener that records the events and checks their order.
+     * @since 2.0.0
+     */
+    private static final class Recorder implements MappingListener {
+        /**
+         * Mapped nodes.
+         */
+        private final Map<Node, Node> mapped = new HashMap<>();
+
+        /**
+         * Inserted nodes.
+         */
+        private final List<Insertion> inserted = new ArrayList<>(0);
+
+        /**
+         * Moved nodes.
+         */
+        private final Map<Node, Insertion> moved = new LinkedHashMap<>();
+
+        /**
+         * Replaced nodes.
+         */
+        private final Map<Node, Node> replaced = new HashMap<>();
+
+        /**
+         * Deleted nodes.
+         */
+        private final Set<Node> deleted = new HashSet<>();
+
+        @Override
+        public void nodesMapped(final Node left, final Node right) {
+            Assertions.assertTrue(
+                this.inserted.isEmpty() && this.moved.isEmpty() && this.replaced.isEmpty()
+                    && this.deleted.isEmpty()
+            );
+            this.mapped.put(left, right);
+        }
+
+        @Override
+        public void nodeInserted(final Insertion insertion) {
+            Assertions.assertTrue(
+                this.moved.isEmpty() && this.replaced.isEmpty() && this.deleted.isEmpty()
+            );
+            this.inserted.add(insertion);
+        }
+
+        @Override
+        public void nodeMoved(final Node node, final Insertion insertion) {
+            Assertions.assertTrue(this.replaced.isEmpty() && this.deleted.isEmpty());
+            this.moved.put(node, insertion);
+        }
+
+        @Override
+        public void nodeReplaced(final Node before, final Node after) {
+            Assertions.assertTrue(this.deleted.isEmpty());
+            this.replaced.put(before, after);
+        }
+
+        @Override
+        public void nodeDeleted(final Node node) {
+            this.deleted.add(node);
+        }
+    }
+}
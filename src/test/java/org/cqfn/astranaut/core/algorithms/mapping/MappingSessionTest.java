@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MappingSession} class.
+ * @since 2.0.0
+ */
+class MappingSessionTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/heavy/";
+
+    @Test
+    void testFirstMapping() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapping expected = TopDownMapper.INSTANCE.map(first.getRoot(), second.getRoot());
+        final Mapping actual = new MappingSession(first.getRoot()).map(second.getRoot());
+        for (final Node node : new DepthFirstWalker(first.getRoot()).collectAll()) {
+            Assertions.assertSame(expected.getRight(node), actual.getRight(node));
+        }
+        Assertions.assertEquals(expected.getNumberOfActions(), actual.getNumberOfActions());
+        Assertions.assertEquals(expected.getReplaced(), actual.getReplaced());
+        Assertions.assertEquals(expected.getDeleted(), actual.getDeleted());
+    }
+
+    @Test
+    void testSmallEdits() {
+        final Node first = DraftNode.create("A(X(B,C(D,E)),Y(F,G(H)),Z(I,J))");
+        Node second = DraftNode.create("A(X(B,C(D,K)),Y(F,G(H),L),Z(I,J))");
+        final MappingSession session = new MappingSession(first);
+        final Mapping initial = session.map(second);
+        Assertions.assertEquals(2, initial.getNumberOfActions());
+        Assertions.assertSame(
+            second.getChild(0).getChild(1).getChild(1),
+            initial.getReplaced().get(first.getChild(0).getChild(1).getChild(1))
+        );
+        MappingSessionTest.checkDiffTree(first, second, initial);
+        final Node unchanged = second.getChild(1);
+        second = MappingSessionTest.replace(
+            second,
+            second.getChild(0).getChild(1).getChild(1),
+            DraftNode.create("M")
+        );
+        Assertions.assertSame(unchanged, second.getChild(1));
+        final Mapping mapping = session.map(second);
+        Assertions.assertEquals(2, mapping.getNumberOfActions());
+        Assertions.assertSame(
+            second.getChild(0).getChild(1).getChild(1),
+            mapping.getReplaced().get(first.getChild(0).getChild(1).getChild(1))
+        );
+        MappingSessionTest.checkDiffTree(first, second, mapping);
+        for (final Node node : new DepthFirstWalker(unchanged).collectAll()) {
+            Assertions.assertSame(initial.getLeft(node), mapping.getLeft(node));
+        }
+        Assertions.assertSame(first.getChild(0), mapping.getLeft(second.getChild(0)));
+        second = MappingSessionTest.replace(second, second.getChild(2), DraftNode.create("Z(J)"));
+        final Mapping last = session.map(second);
+        Assertions.assertEquals(3, last.getNumberOfActions());
+        Assertions.assertTrue(last.getDeleted().contains(first.getChild(2).getChild(0)));
+        Assertions.assertSame(second.getChild(2), last.getRight(first.getChild(2)));
+        MappingSessionTest.checkDiffTree(first, second, last);
+    }
+
+    @Test
+    void testSeriesOfEdits() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        Node second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json").getRoot();
+        final MappingSession session = new MappingSession(first.getRoot());
+        session.map(second);
+        for (int step = 1; step <= 5; step = step + 1) {
+            final List<Node> leaves = new ArrayList<>(0);
+            for (final Node node : new DepthFirstWalker(second).collectAll()) {
+                if (node.getChildCount() == 0) {
+                    leaves.add(node);
+                }
+            }
+            final Node leaf = leaves.get(leaves.size() * step / 7);
+            second = MappingSessionTest.replace(
+                second,
+                leaf,
+                DraftNode.create(leaf.getTypeName(), "changed".concat(leaf.getData()))
+            );
+            final Mapping expected = TopDownMapper.INSTANCE.map(first.getRoot(), second);
+            final Mapping actual = session.map(second);
+            Assertions.assertEquals(expected.getNumberOfActions(), actual.getNumberOfActions());
+            Assertions.assertEquals(expected.getDeleted(), actual.getDeleted());
+            MappingSessionTest.checkDiffTree(first.getRoot(), second, actual);
+        }
+    }
+
+    @Test
+    void testDeepTrees() {
+        final int depth = 100_000;
+        final Node first = MappingSessionTest.createChain(depth, "L");
+        final Node second = MappingSessionTest.createChain(depth, "M");
+        final MappingSession session = new MappingSession(first);
+        Assertions.assertEquals(1, session.map(second).getNumberOfActions());
+        final Node third = DraftNode.create("N", "", second.getChild(0));
+        final Mapping mapping = session.map(third);
+        Assertions.assertEquals(1, mapping.getNumberOfActions());
+        Assertions.assertSame(third, mapping.getRight(first));
+        Assertions.assertSame(second.getChild(0), mapping.getRight(first.getChild(0)));
+    }
+
+    /**
+     * Creates a chain of nested nodes, each node except the last one has a single child.
+     * @param depth Number of nodes in the chain
+     * @param leaf Type name of the last node
+     * @return Root node of the chain
+     */
+    private static Node createChain(final int depth, final String leaf) {
+        Node node = DraftNode.create(leaf);
+        for (int index = 1; index < depth; index = index + 1) {
+            node = DraftNode.create("N", "", node);
+        }
+        return node;
+    }
+
+    /**
+     * Builds a new version of a tree in which one node is replaced by another,
+     *  all the subtrees not containing the node are shared with the original tree.
+     * @param root Root node of the tree
+     * @param node Node to be replaced
+     * @param replacement New node
+     * @return Root node of the new version of the tree
+     */
+    private static Node replace(final Node root, final Node node, final Node replacement) {
+        Node result = root;
+        if (root == node) {
+            result = replacement;
+        } else {
+            final int count = root.getChildCount();
+            final Node[] children = new Node[count];
+            boolean changed = false;
+            for (int index = 0; index < count; index = index + 1) {
+                children[index] = MappingSessionTest.replace(
+                    root.getChild(index),
+                    node,
+                    replacement
+                );
+                changed = changed || children[index] != root.getChild(index);
+            }
+            if (changed) {
+                result = DraftNode.create(root.getTypeName(), root.getData(), children);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds a difference tree and checks that it describes both trees.
+     * @param first Root node of the tree before the changes
+     * @param second Root node of the tree after the changes
+     * @param mapping Mapping of the first tree to the second one
+     */
+    private static void checkDiffTree(final Node first, final Node second,
+        final Mapping mapping) {
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, (left, right) -> mapping));
+        Assertions.assertTrue(builder.getDiffTree().getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(builder.getDiffTree().getAfter().getRoot().deepCompare(second));
+    }
+
+    /**
+     * Reads syntax tree from a JSON file.
+     * @param name The name of the file
+     * @return Syntax tree
+     */
+    private Tree readSyntaxTreeFormFile(final String name) {
+        final String file = MappingSessionTest.TESTS_PATH.concat(name);
+        final String source = new FilesReader(file).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DiffNode;
+import org.cqfn.astranaut.core.base.DiffTree;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Move;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.cqfn.astranaut.core.utils.JsonSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MoveAwareMapper} class.
+ * @since 2.0.0
+ */
+class MoveAwareMapperTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/heavy/";
+
+    @Test
+    void testMovedSubtree() {
+        final Node first = DraftNode.create("A(B(C,D),E(F),G(H,I))");
+        final Node second = DraftNode.create("A(E(F),G(H,I),B(C,D))");
+        final Mapping base = TopDownMapper.INSTANCE.map(first, second);
+        final Mapping mapping = MoveAwareMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(1, mapping.getMoved().size());
+        Assertions.assertTrue(mapping.getDeleted().isEmpty());
+        Assertions.assertTrue(mapping.getInserted().isEmpty());
+        Assertions.assertTrue(mapping.getNumberOfActions() < base.getNumberOfActions());
+        Assertions.assertSame(second.getChild(2), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(
+            first.getChild(0).getChild(1),
+            mapping.getLeft(second.getChild(2).getChild(1))
+        );
+        final DiffTree diff = MoveAwareMapperTest.checkDiffTree(
+            first,
+            second,
+            MoveAwareMapper.INSTANCE
+        );
+        final DiffNode root = diff.getRoot();
+        Assertions.assertEquals(4, root.getChildCount());
+        final Move source = (Move) root.getChild(0);
+        final Move target = (Move) root.getChild(3);
+        Assertions.assertTrue(source.isSource());
+        Assertions.assertFalse(target.isSource());
+        Assertions.assertEquals(source.getNumber(), target.getNumber());
+        Assertions.assertEquals(0, target.getChildCount());
+        MoveAwareMapperTest.checkJson(diff);
+    }
+
+    @Test
+    void testSeveralMoves() {
+        final Node first = DraftNode.create("A(X(P,B(C),D(E)),Y(Q,G(H)),Z(R,S))");
+        final Node second = DraftNode.create("A(X(G(H),P),Y(B(C),Q),Z(R,D(E),S))");
+        for (final Mapper mapper : new Mapper[] {
+            MoveAwareMapper.INSTANCE,
+            new MoveAwareMapper(BottomUpMapper.INSTANCE),
+        }) {
+            final Mapping mapping = mapper.map(first, second);
+            Assertions.assertEquals(3, mapping.getMoved().size());
+            Assertions.assertEquals(3, mapping.getNumberOfActions());
+            final DiffTree diff = MoveAwareMapperTest.checkDiffTree(first, second, mapper);
+            Assertions.assertEquals(
+                6,
+                new DepthFirstWalker(diff.getRoot()).findAll(node -> node instanceof Move).size()
+            );
+            MoveAwareMapperTest.checkJson(diff);
+        }
+    }
+
+    @Test
+    void testReorderedChildren() {
+        final Node first = DraftNode.create("A(B(F),C(G),D(H),E(I))");
+        final Node second = DraftNode.create("A(D(H),E(I),B(F),C(G))");
+        final Mapping mapping = MoveAwareMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(2, mapping.getNumberOfActions());
+        Assertions.assertEquals(2, mapping.getMoved().size());
+        Assertions.assertSame(second.getChild(2), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(second.getChild(3), mapping.getRight(first.getChild(1)));
+        MoveAwareMapperTest.checkJson(
+            MoveAwareMapperTest.checkDiffTree(first, second, MoveAwareMapper.INSTANCE)
+        );
+    }
+
+    @Test
+    void testModifiedSubtreeIsNotMoved() {
+        final Node first = DraftNode.create("A(X(B(C,D)),Y)");
+        final Node second = DraftNode.create("A(X,Y(B(C,E)))");
+        final Mapping mapping = MoveAwareMapper.INSTANCE.map(first, second);
+        Assertions.assertTrue(mapping.getMoved().isEmpty());
+        Assertions.assertEquals(
+            TopDownMapper.INSTANCE.map(first, second).getNumberOfActions(),
+            mapping.getNumberOfActions()
+        );
+        MoveAwareMapperTest.checkDiffTree(first, second, MoveAwareMapper.INSTANCE);
+    }
+
+    @Test
+    void testDeepMovedSubtree() {
+        final int depth = 100_000;
+        final Node left = MoveAwareMapperTest.createChain(depth);
+        final Node right = MoveAwareMapperTest.createChain(depth);
+        final Node first = MoveAwareMapperTest.createNode("A", left, DraftNode.create("E(F)"));
+        final Node second = MoveAwareMapperTest.createNode("A", DraftNode.create("E(F)"), right);
+        final Mapping mapping = MoveAwareMapper.INSTANCE.map(first, second);
+        Assertions.assertEquals(1, mapping.getMoved().size());
+        Node leaf = left;
+        while (leaf.getChildCount() > 0) {
+            leaf = leaf.getChild(0);
+        }
+        Assertions.assertNotNull(mapping.getRight(leaf));
+        Assertions.assertEquals(0, mapping.getRight(leaf).getChildCount());
+    }
+
+    @Test
+    void testRealSyntaxTrees() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapper mapper = new MoveAwareMapper(BottomUpMapper.INSTANCE);
+        MoveAwareMapperTest.checkJson(
+            MoveAwareMapperTest.checkDiffTree(first.getRoot(), second.getRoot(), mapper)
+        );
+        MoveAwareMapperTest.checkJson(
+            MoveAwareMapperTest.checkDiffTree(second.getRoot(), first.getRoot(), mapper)
+        );
+    }
+
+    /**
+     * Creates a draft node.
+     * @param name Type name
+     * @param children Child nodes
+     * @return Node
+     */
+    private static Node createNode(final String name, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(name);
+        for (final Node child : children) {
+            ctor.addChild(child);
+        }
+        return ctor.createNode();
+    }
+
+    /**
+     * Creates a chain of nested nodes, each node except the last one has a single child.
+     * @param depth Number of nodes in the chain
+     * @return Root node of the chain
+     */
+    private static Node createChain(final int depth) {
+        Node node = MoveAwareMapperTest.createNode("L");
+        for (int index = 1; index < depth; index = index + 1) {
+            node = MoveAwareMapperTest.createNode("N", node);
+        }
+        return node;
+    }
+
+    /**
+     * Builds a difference tree and checks that it describes both trees.
+     * @param first Root node of the tree before the changes
+     * @param second Root node of the tree after the changes
+     * @param mapper Mapper
+     * @return Difference tree
+     */
+    private static DiffTree checkDiffTree(final Node first, final Node second,
+        final Mapper mapper) {
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, mapper));
+        final DiffTree diff = builder.getDiffTree();
+        Assertions.assertTrue(diff.getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(diff.getAfter().getRoot().deepCompare(second));
+        return diff;
+    }
+
+    /**
+     * Serializes a difference tree to JSON, deserializes it and checks that the result
+     *  describes the same changes.
+     * @param diff Difference tree
+     */
+    private static void checkJson(final DiffTree diff) {
+        final String json = new JsonSerializer(diff).serialize();
+        final Tree tree = MoveAwareMapperTest.parseJson(json);
+        Assertions.assertTrue(tree instanceof DiffTree);
+        final DiffTree restored = (DiffTree) tree;
+        Assertions.assertTrue(
+            restored.getBefore().getRoot().deepCompare(diff.getBefore().getRoot())
+        );
+        Assertions.assertTrue(
+            restored.getAfter().getRoot().deepCompare(diff.getAfter().getRoot())
+        );
+        Assertions.assertEquals(json, new JsonSerializer(restored).serialize());
+    }
+
+    /**
+     * Reads syntax tree from a JSON file.
+     * @param name The name of the file
+     * @return Syntax tree
+     */
+    private Tree readSyntaxTreeFormFile(final String name) {
+        final String file = MoveAwareMapperTest.TESTS_PATH.concat(name);
+        final String source = new FilesReader(file).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        return MoveAwareMapperTest.parseJson(source);
+    }
+
+    /**
+     * Converts JSON to a syntax tree.
+     * @param source Source JSON
+     * @return Syntax tree
+     */
+    private static Tree parseJson(final String source) {
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.algorithms.mapping;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Insertion;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ParallelTopDownMapper} class.
+ * @since 2.0.0
+ */
+class ParallelTopDownMapperTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/heavy/";
+
+    @Test
+    void testSmallTreesWithAllActions() {
+        final Node first = DraftNode.create(
+            "A(X(B,C,D(E,F)),X(G,H(I,J),K),Y(L,M),X(N),Z)"
+        );
+        final Node second = DraftNode.create(
+            "A(X(B,D(E,F,Q),C),Y(L,M,R),X(N,S),X(G,H(I),K),W)"
+        );
+        final Mapper mapper = new ParallelTopDownMapper(new ForkJoinPool(4), 2);
+        ParallelTopDownMapperTest.assertSameMapping(
+            first,
+            second,
+            TopDownMapper.INSTANCE.map(first, second),
+            mapper.map(first, second)
+        );
+    }
+
+    @Test
+    void testRealSyntaxTrees() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapping expected = TopDownMapper.INSTANCE.map(first.getRoot(), second.getRoot());
+        for (final int threshold : new int[] {2, 64, ParallelTopDownMapper.DEFAULT_THRESHOLD}) {
+            final Mapper mapper = new ParallelTopDownMapper(ForkJoinPool.commonPool(), threshold);
+            ParallelTopDownMapperTest.assertSameMapping(
+                first.getRoot(),
+                second.getRoot(),
+                expected,
+                mapper.map(first.getRoot(), second.getRoot())
+            );
+        }
+    }
+
+    @Test
+    void testWrongThreshold() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ParallelTopDownMapper(ForkJoinPool.commonPool(), 1)
+        );
+    }
+
+    /**
+     * Checks that two mappings are the same.
+     * @param left Root node of the 'left' tree
+     * @param right Root node of the 'right' tree
+     * @param expected Expected mapping
+     * @param actual Actual mapping
+     */
+    private static void assertSameMapping(final Node left, final Node right,
+        final Mapping expected, final Mapping actual) {
+        for (final Node node : new DepthFirstWalker(left).collectAll()) {
+            Assertions.assertSame(expected.getRight(node), actual.getRight(node));
+        }
+        for (final Node node : new DepthFirstWalker(right).collectAll()) {
+            Assertions.assertSame(expected.getLeft(node), actual.getLeft(node));
+        }
+        final List<Insertion> inserted = expected.getInserted();
+        Assertions.assertEquals(inserted.size(), actual.getInserted().size());
+        for (int index = 0; index < inserted.size(); index = index + 1) {
+            final Insertion first = inserted.get(index);
+            final Insertion second = actual.getInserted().get(index);
+            Assertions.assertSame(first.getNode(), second.getNode());
+            Assertions.assertSame(first.getInto(), second.getInto());
+            Assertions.assertSame(first.getAfter(), second.getAfter());
+        }
+        Assertions.assertEquals(expected.getReplaced(), actual.getReplaced());
+        Assertions.assertEquals(expected.getDeleted(), actual.getDeleted());
+    }
+
+    /**
+     * Reads syntax tree from a JSON file.
+     * @param name The name of the file
+     * @return Syntax tree
+     */
+    private Tree readSyntaxTreeFormFile(final String name) {
+        final String file = ParallelTopDownMapperTest.TESTS_PATH.concat(name);
+        final String source = new FilesReader(file).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        return deserializer.convert();
+    }
+}
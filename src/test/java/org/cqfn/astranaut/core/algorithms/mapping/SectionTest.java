@@ -90,6 +90,33 @@ class SectionTest {
         Assertions.assertNull(section);
     }
 
+    @Test
+    void removeMiddleNodes() {
+        final ExtNodeCreator creator = new ExtNodeCreator();
+        final ExtNode left = creator.create(DraftNode.create("A(B,C,D,E,F,G)"));
+        final ExtNode right = creator.create(DraftNode.create("A(H)"));
+        Section section = new Section(left, right);
+        section = section.removeNode(left.getExtChild(2));
+        section = section.removeNode(left.getExtChild(4));
+        section = section.removeNode(left.getExtChild(3));
+        final List<ExtNode> list = section.getLeft();
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertSame(left.getExtChild(0), list.get(0));
+        Assertions.assertSame(left.getExtChild(1), list.get(1));
+        Assertions.assertSame(left.getExtChild(5), list.get(2));
+        Assertions.assertEquals(2, list.indexOf(left.getExtChild(5)));
+        Assertions.assertFalse(section.hasNode(left.getExtChild(3)));
+        Assertions.assertEquals(1, list.subList(1, 3).indexOf(left.getExtChild(5)));
+        Assertions.assertEquals(-1, list.subList(1, 3).indexOf(left.getExtChild(4)));
+        final Pair<Section, Section> pair = section.removeNodes(
+            left.getExtChild(1),
+            right.getExtChild(0)
+        );
+        Assertions.assertEquals(1, pair.getKey().getLeft().size());
+        Assertions.assertSame(left.getExtChild(5), pair.getValue().getLeft().get(0));
+        Assertions.assertEquals(1, pair.getValue().getLeft().size());
+    }
+
     @Test
     void removeNodes() {
         final ExtNodeCreator creator = new ExtNodeCreator();
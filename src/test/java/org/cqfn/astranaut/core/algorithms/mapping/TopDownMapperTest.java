@@ -30,7 +30,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.algorithms.MergingDiffTreeBuilder;
 import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.DiffNode;
 import org.cqfn.astranaut.core.base.DiffTree;
 import org.cqfn.astranaut.core.base.DraftNode;
 import org.cqfn.astranaut.core.base.Factory;
@@ -41,6 +43,7 @@ import org.cqfn.astranaut.core.base.Transformer;
 import org.cqfn.astranaut.core.base.Tree;
 import org.cqfn.astranaut.core.utils.FilesReader;
 import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.cqfn.astranaut.core.utils.NodeCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -55,6 +58,37 @@ class TopDownMapperTest {
      */
     private static final String TESTS_PATH = "src/test/resources/heavy/";
 
+    @Test
+    void testPermutationOfSharedChildren() {
+        final Node first = DraftNode.create("R(A,B,C)");
+        final Node second = DraftNode.create(
+            "R",
+            "",
+            first.getChild(2),
+            first.getChild(1),
+            first.getChild(0)
+        );
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, TopDownMapper.INSTANCE));
+        Assertions.assertTrue(builder.getDiffTree().getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(builder.getDiffTree().getAfter().getRoot().deepCompare(second));
+        final MergingDiffTreeBuilder merging = new MergingDiffTreeBuilder(first);
+        Assertions.assertTrue(merging.build(second, TopDownMapper.INSTANCE));
+        Assertions.assertTrue(merging.getDiffTree().getBefore().getRoot().deepCompare(first));
+        Assertions.assertTrue(merging.getDiffTree().getAfter().getRoot().deepCompare(second));
+    }
+
+    @Test
+    void testMappingOfChangedMutableTree() {
+        final Node before = DraftNode.create("A(B,C,D)");
+        final DiffNode diff = new DiffNode(DraftNode.create("A(B,C,D)"));
+        Assertions.assertEquals(0, TopDownMapper.INSTANCE.map(before, diff).getNumberOfActions());
+        Assertions.assertTrue(diff.replaceNode(1, DraftNode.create("X")));
+        final Mapping mapping = TopDownMapper.INSTANCE.map(before, diff);
+        Assertions.assertEquals(1, mapping.getReplaced().size());
+        Assertions.assertEquals(1, mapping.getNumberOfActions());
+    }
+
     @Test
     void testIdenticalTrees() {
         final String description = "A(B(C, D))";
@@ -441,6 +475,20 @@ class TopDownMapperTest {
         Assertions.assertEquals(1, replaced.size());
     }
 
+    @Test
+    void testRunOfSimilarNodesMappedByScore() {
+        final Node first = DraftNode.create("A(X(B,C),X(D,E),X(F,G))");
+        final Node second = DraftNode.create("A(X(F,G,H),X(B,C,I),X(D,E,J))");
+        final Mapper mapper = TopDownMapper.INSTANCE;
+        final Mapping mapping = mapper.map(first, second);
+        Assertions.assertSame(second.getChild(1), mapping.getRight(first.getChild(0)));
+        Assertions.assertSame(second.getChild(2), mapping.getRight(first.getChild(1)));
+        Assertions.assertEquals(4, mapping.getNumberOfActions());
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, mapper));
+        Assertions.assertTrue(builder.getDiffTree().getAfter().getRoot().deepCompare(second));
+    }
+
     @Test
     void firstTestOnRealSyntaxTree() {
         final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
@@ -492,6 +540,73 @@ class TopDownMapperTest {
         Assertions.assertTrue(third.deepCompare(second));
     }
 
+    @Test
+    void testVerifiedIdenticalSubtrees() {
+        final Tree first = this.readSyntaxTreeFormFile("real_tree_from_java_parser_1.json");
+        final Tree second = this.readSyntaxTreeFormFile("real_tree_from_java_parser_2.json");
+        final Mapping expected = TopDownMapper.INSTANCE.map(first.getRoot(), second.getRoot());
+        final HashVerification verification = new HashVerification(true);
+        final Mapper mapper = new TopDownMapper(verification);
+        final Mapping mapping = mapper.map(first.getRoot(), second.getRoot());
+        Assertions.assertEquals(expected.getNumberOfActions(), mapping.getNumberOfActions());
+        Assertions.assertTrue(verification.getNumberOfChecks() > 0);
+        Assertions.assertEquals(0, verification.getNumberOfCollisions());
+        final DiffTreeBuilder builder = new DiffTreeBuilder(first);
+        Assertions.assertTrue(builder.build(second, mapper));
+        final Node third = builder.getDiffTree().getAfter().getRoot();
+        Assertions.assertTrue(third.deepCompare(second.getRoot()));
+    }
+
+    @Test
+    void testSharedHashCache() {
+        final Node base = DraftNode.create("A(B,C(D,E))");
+        final Node first = DraftNode.create("A(B,C(D,F))");
+        final Node second = DraftNode.create("A(B,G,C(D,E))");
+        final NodeCache<Long> cache = new NodeCache<>(NodeCache.UNBOUNDED);
+        final Mapper mapper = new TopDownMapper(cache);
+        Assertions.assertEquals(
+            TopDownMapper.INSTANCE.map(base, first).getNumberOfActions(),
+            mapper.map(base, first).getNumberOfActions()
+        );
+        Assertions.assertNotNull(cache.get(base));
+        Assertions.assertEquals(10, cache.size());
+        Assertions.assertEquals(
+            TopDownMapper.INSTANCE.map(base, second).getNumberOfActions(),
+            mapper.map(base, second).getNumberOfActions()
+        );
+        Assertions.assertEquals(16, cache.size());
+    }
+
+    @Test
+    void testDeepTrees() {
+        final int depth = 100_000;
+        final Node first = TopDownMapperTest.createChain(depth, "L");
+        final Node second = TopDownMapperTest.createChain(depth, "M");
+        final Mapping mapping = TopDownMapper.INSTANCE.map(first, second);
+        Assertions.assertSame(second, mapping.getRight(first));
+        Assertions.assertEquals(1, mapping.getReplaced().size());
+        Assertions.assertEquals(1, mapping.getNumberOfActions());
+    }
+
+    /**
+     * Creates a chain of nested nodes, each node except the last one has a single child.
+     * @param depth Number of nodes in the chain
+     * @param leaf Type name of the last node
+     * @return Root node of the chain
+     */
+    private static Node createChain(final int depth, final String leaf) {
+        DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(leaf);
+        Node node = ctor.createNode();
+        for (int index = 1; index < depth; index = index + 1) {
+            ctor = new DraftNode.Constructor();
+            ctor.setName("N");
+            ctor.addChild(node);
+            node = ctor.createNode();
+        }
+        return node;
+    }
+
     /**
      * Returns content of the specified file.
      * @param name The name of the file
@@ -50,6 +50,11 @@ class ActionTest {
      */
     private static final String DELETE_TYPE = "Delete";
 
+    /**
+     * The 'Move' type.
+     */
+    private static final String MOVE_TYPE = "Move";
+
     /**
      * The 'color' property.
      */
@@ -164,4 +169,44 @@ class ActionTest {
         created = builder.createNode();
         Assertions.assertEquals(ActionTest.DELETE_TYPE, created.getTypeName());
     }
+
+    @Test
+    void testMoveAction() {
+        final Node moved = LittleTrees.createReturnStatement(null);
+        final Move source = new Move(moved, null, 1);
+        final Move target = new Move(null, moved, 1);
+        Assertions.assertTrue(source.isSource());
+        Assertions.assertFalse(target.isSource());
+        Assertions.assertEquals("1", source.getData());
+        Assertions.assertEquals(1, source.getChildCount());
+        Assertions.assertEquals(moved, source.getChild(0));
+        Assertions.assertEquals(0, target.getChildCount());
+        Assertions.assertNull(target.getChild(0));
+        final Type type = source.getType();
+        Assertions.assertEquals(ActionTest.MOVE_TYPE, type.getName());
+        final List<String> hierarchy = type.getHierarchy();
+        Assertions.assertEquals(type.getName(), hierarchy.get(0));
+        Assertions.assertEquals(
+            ActionTest.EXPECTED_COLOR,
+            type.getProperties().getOrDefault(ActionTest.COLOR_PROPERTY, "")
+        );
+        Assertions.assertTrue(target.toString().startsWith(ActionTest.MOVE_TYPE));
+        final Builder builder = type.createBuilder();
+        builder.setFragment(EmptyFragment.INSTANCE);
+        Assertions.assertFalse(builder.setData("first"));
+        Assertions.assertFalse(builder.setData("0"));
+        Assertions.assertFalse(builder.isValid());
+        Assertions.assertEquals(DummyNode.INSTANCE, builder.createNode());
+        Assertions.assertTrue(builder.setData("2"));
+        Assertions.assertTrue(builder.setChildrenList(Collections.emptyList()));
+        Assertions.assertFalse(builder.setChildrenList(Arrays.asList(moved, moved)));
+        Assertions.assertTrue(builder.isValid());
+        Move created = (Move) builder.createNode();
+        Assertions.assertFalse(created.isSource());
+        Assertions.assertEquals(2, created.getNumber());
+        Assertions.assertTrue(builder.setChildrenList(Collections.singletonList(moved)));
+        created = (Move) builder.createNode();
+        Assertions.assertTrue(created.isSource());
+        Assertions.assertEquals(moved, created.getBefore());
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.List;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapping;
+import org.cqfn.astranaut.core.algorithms.mapping.TopDownMapper;
+import org.cqfn.astranaut.core.example.green.IntegerLiteral;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.cqfn.astranaut.core.utils.JsonSerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link CompactTree} class.
+ * @since 2.0.0
+ */
+class CompactTreeTest {
+    /**
+     * The file with a large syntax tree.
+     */
+    private static final String FILE = "src/test/resources/heavy/real_tree_from_java_parser_1.json";
+
+    @Test
+    void testBaseInterface() {
+        final String description = "A(B<\"x\">, C(D, E<\"x\">), F<\"y\">)";
+        final Tree original = Tree.createDraft(description);
+        final CompactTree tree = new CompactTree(original);
+        Assertions.assertEquals(description, tree.toString());
+        Assertions.assertTrue(tree.deepCompare(original));
+        Assertions.assertTrue(original.deepCompare(tree));
+        Assertions.assertTrue(tree.deepCompare(new CompactTree(original)));
+        Assertions.assertFalse(tree.deepCompare(new CompactTree(Tree.createDraft("A(B, C)"))));
+        Assertions.assertEquals(6, tree.getNodeCount());
+        final Node root = tree.getRoot();
+        Assertions.assertSame(root, tree.getNode(0));
+        Assertions.assertSame(root.getChild(1), tree.getNode(2));
+        Assertions.assertEquals(2, tree.getId(root.getChild(1)));
+        Assertions.assertEquals(-1, tree.getId(original.getRoot()));
+        Assertions.assertEquals("C", root.getChild(1).getTypeName());
+        Assertions.assertEquals("x", root.getChild(1).getChild(1).getData());
+        Assertions.assertEquals(TypeRegistry.INSTANCE.getId("E"), tree.getTypeId(4));
+        Assertions.assertEquals("y", tree.getData(5));
+        Assertions.assertEquals(2, tree.getChildCount(2));
+        Assertions.assertEquals(4, tree.getChildId(2, 1));
+        Assertions.assertEquals(3, tree.getFirstChild(2));
+        Assertions.assertEquals(-1, tree.getFirstChild(3));
+        Assertions.assertEquals(5, tree.getNextSibling(2));
+        Assertions.assertEquals(-1, tree.getNextSibling(5));
+        Assertions.assertEquals(-1, tree.getNextSibling(0));
+        Assertions.assertEquals(EmptyFragment.INSTANCE, root.getFragment());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> root.getChild(3));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.getNode(6));
+    }
+
+    @Test
+    void testTypesWithSameName() {
+        final Builder builder = IntegerLiteral.TYPE.createBuilder();
+        Assertions.assertTrue(builder.setData("2"));
+        final Node green = builder.createNode();
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("A");
+        ctor.addChild(DraftNode.create("IntegerLiteral<\"1\">"));
+        ctor.addChild(green);
+        final Node original = ctor.createNode();
+        final CompactTree tree = new CompactTree(original);
+        final Node draft = tree.getRoot().getChild(0);
+        final Node literal = tree.getRoot().getChild(1);
+        Assertions.assertSame(original.getChild(0).getType(), draft.getType());
+        Assertions.assertSame(IntegerLiteral.TYPE, literal.getType());
+        Assertions.assertEquals(draft.getTypeId(), literal.getTypeId());
+        Assertions.assertFalse(draft.belongsToGroup("Expression"));
+        Assertions.assertTrue(literal.belongsToGroup("Expression"));
+        Assertions.assertTrue(draft.getProperties().isEmpty());
+        Assertions.assertEquals("green", literal.getProperties().get("color"));
+        Assertions.assertTrue(tree.getRoot().deepCompare(original));
+    }
+
+    @Test
+    void testFragments() {
+        final Source source = (start, end) -> "text";
+        final Fragment fragment = new DefaultFragment(
+            new DefaultPosition(source, 1, 2),
+            new DefaultPosition(source, 3, 4)
+        );
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("A");
+        ctor.setFragment(fragment);
+        ctor.addChild(DraftNode.create("B"));
+        final CompactTree tree = new CompactTree(ctor.createNode());
+        final Fragment restored = tree.getRoot().getFragment();
+        Assertions.assertEquals(fragment, restored);
+        Assertions.assertSame(source, restored.getBegin().getSource());
+        Assertions.assertEquals("text", restored.getCode());
+        Assertions.assertEquals(EmptyFragment.INSTANCE, tree.getRoot().getChild(0).getFragment());
+    }
+
+    @Test
+    void testExistingAlgorithms() {
+        final String source = new FilesReader(CompactTreeTest.FILE).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final JsonDeserializer deserializer = new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return DefaultFactory.EMPTY;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        );
+        final Tree original = deserializer.convert();
+        final CompactTree tree = new CompactTree(original);
+        Assertions.assertTrue(tree.deepCompare(original));
+        Assertions.assertEquals(original.getLanguage(), tree.getLanguage());
+        Assertions.assertEquals(
+            new JsonSerializer(original).serialize(),
+            new JsonSerializer(tree).serialize()
+        );
+        final List<Node> all = new DepthFirstWalker(tree.getRoot()).collectAll();
+        Assertions.assertEquals(tree.getNodeCount(), all.size());
+        for (int id = 0; id < all.size(); id = id + 1) {
+            Assertions.assertSame(tree.getNode(id), all.get(id));
+        }
+        final Mapping mapping = TopDownMapper.INSTANCE.map(original.getRoot(), tree.getRoot());
+        Assertions.assertEquals(0, mapping.getNumberOfActions());
+    }
+}
@@ -180,6 +180,34 @@ class DiffNodeTest {
         Assertions.assertEquals("A(C, E, D)", diff.getAfter().toString());
     }
 
+    @Test
+    void actionsInWideNode() {
+        final Map<String, Set<Node>> nodes = new TreeMap<>();
+        final DiffNode diff = new DiffNode(DraftNode.create("A(B,C,D,E,F,G,H,I,J,K)", nodes));
+        final Node xnode = DraftNode.create("X");
+        Assertions.assertTrue(diff.insertNodeAfter(xnode, nodes.get("B").iterator().next()));
+        final Node ynode = DraftNode.create("Y");
+        Assertions.assertTrue(diff.insertNodeAfter(ynode, xnode));
+        Assertions.assertTrue(diff.deleteNode(nodes.get("C").iterator().next()));
+        Assertions.assertTrue(
+            diff.replaceNode(nodes.get("K").iterator().next(), DraftNode.create("Z"))
+        );
+        Assertions.assertTrue(diff.insertNodeAfter(DraftNode.create("W"), null));
+        final Node dnode = nodes.get("D").iterator().next();
+        final Node mnode = DraftNode.create("M");
+        Assertions.assertTrue(
+            diff.moveNode(dnode, diff, mnode, ynode, 1)
+        );
+        Assertions.assertTrue(diff.insertNodeAfter(DraftNode.create("V"), mnode));
+        Assertions.assertFalse(diff.deleteNode(dnode));
+        Assertions.assertFalse(diff.insertNodeAfter(DraftNode.create("U"), dnode));
+        Assertions.assertEquals("A(B, C, D, E, F, G, H, I, J, K)", diff.getBefore().toString());
+        Assertions.assertEquals(
+            "A(W, B, X, Y, M, V, E, F, G, H, I, J, Z)",
+            diff.getAfter().toString()
+        );
+    }
+
     @Test
     void testInsertNodeFails() {
         final DiffNode diff = new DiffNode(
@@ -141,6 +141,27 @@ class DraftNodeTest {
         Assertions.assertEquals("A(B)", first.toString());
         final Node second = DraftNode.create("A<$ ");
         Assertions.assertEquals("A", second.toString());
+        final Node third = DraftNode.create("A(B<\"x)");
+        Assertions.assertEquals("A(B<\"x)\">)", third.toString());
+    }
+
+    @Test
+    void testDeepDescription() {
+        final int depth = 100_000;
+        final StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < depth; index = index + 1) {
+            builder.append("A(");
+        }
+        builder.append("B<\"x\">");
+        for (int index = 0; index < depth; index = index + 1) {
+            builder.append(')');
+        }
+        final String description = builder.toString();
+        final Map<String, Set<Node>> nodes = new TreeMap<>();
+        final Node root = DraftNode.create(description, nodes);
+        Assertions.assertEquals(depth, nodes.get("A").size());
+        Assertions.assertEquals(1, nodes.get("B").size());
+        Assertions.assertEquals(description, root.toString());
     }
 
     /**
@@ -63,4 +63,25 @@ class ExtNodeTest {
         Assertions.assertNull(ext.getExtChild(2).getRightPrototype());
         Assertions.assertEquals(original.toString(), ext.toString());
     }
+
+    @Test
+    void testIdentifiers() {
+        final Node original = DraftNode.create("A(B(C,D),E(F),G)");
+        final ExtNode ext = new ExtNodeCreator().create(original);
+        Assertions.assertEquals(0, ext.getId());
+        Assertions.assertEquals(7, ext.getSubtreeSize());
+        final ExtNode first = ext.getExtChild(0);
+        Assertions.assertEquals(1, first.getId());
+        Assertions.assertEquals(3, first.getSubtreeSize());
+        Assertions.assertEquals(2, first.getExtChild(0).getId());
+        Assertions.assertEquals(3, first.getExtChild(1).getId());
+        final ExtNode second = ext.getExtChild(1);
+        Assertions.assertEquals(4, second.getId());
+        Assertions.assertEquals(2, second.getSubtreeSize());
+        Assertions.assertEquals(5, second.getExtChild(0).getId());
+        Assertions.assertSame(second, second.getExtChild(0).getParent());
+        Assertions.assertEquals(6, ext.getExtChild(2).getId());
+        Assertions.assertSame(second, ext.getExtChild(2).getLeft());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ext.getExtChild(3));
+    }
 }
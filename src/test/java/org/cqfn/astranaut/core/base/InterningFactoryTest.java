@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.DiffTreeBuilder;
+import org.cqfn.astranaut.core.algorithms.mapping.TopDownMapper;
+import org.cqfn.astranaut.core.utils.FilesReader;
+import org.cqfn.astranaut.core.utils.JsonDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link InterningFactory} class.
+ * @since 2.0.0
+ */
+class InterningFactoryTest {
+    /**
+     * The file with a large syntax tree.
+     */
+    private static final String FILE = "src/test/resources/heavy/real_tree_from_java_parser_1.json";
+
+    @Test
+    void testSharedSubtrees() {
+        final InterningFactory factory = new InterningFactory(DefaultFactory.EMPTY);
+        final Tree original = Tree.createDraft("A(B(C<\"x\">), B(C<\"x\">), B(C<\"y\">))");
+        final Node root = factory.intern(original.getRoot());
+        Assertions.assertTrue(root.deepCompare(original.getRoot()));
+        Assertions.assertSame(root.getChild(0), root.getChild(1));
+        Assertions.assertNotSame(root.getChild(0), root.getChild(2));
+        Assertions.assertEquals(5, factory.size());
+        Assertions.assertSame(root, factory.intern(original.getRoot().deepClone()));
+        final Builder builder = factory.createBuilder("C");
+        Assertions.assertTrue(builder.setData("y"));
+        Assertions.assertTrue(builder.isValid());
+        Assertions.assertSame(root.getChild(2).getChild(0), builder.createNode());
+        factory.clear();
+        Assertions.assertEquals(0, factory.size());
+    }
+
+    @Test
+    void testActionsAreNotShared() {
+        final InterningFactory factory = new InterningFactory(DefaultFactory.EMPTY);
+        final Node child = DraftNode.create("A");
+        final Node first = InterningFactoryTest.createAction(factory, child);
+        final Node second = InterningFactoryTest.createAction(factory, child);
+        Assertions.assertTrue(first instanceof Insert);
+        Assertions.assertNotSame(first, second);
+    }
+
+    @Test
+    void testCorpusLoad() {
+        final String source = new FilesReader(InterningFactoryTest.FILE).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final InterningFactory factory = new InterningFactory(DefaultFactory.EMPTY);
+        final Tree plain = InterningFactoryTest.load(source, DefaultFactory.EMPTY);
+        final Tree shared = InterningFactoryTest.load(source, factory);
+        Assertions.assertTrue(shared.deepCompare(plain));
+        final int total = new DepthFirstWalker(shared.getRoot()).collectAll().size();
+        final Set<Node> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(new DepthFirstWalker(shared.getRoot()).collectAll());
+        Assertions.assertTrue(distinct.size() < total);
+        Assertions.assertEquals(distinct.size(), factory.size());
+    }
+
+    @Test
+    void testDifferenceTreeOfSharedTree() {
+        final InterningFactory factory = new InterningFactory(DefaultFactory.EMPTY);
+        final Node before = factory.intern(
+            DraftNode.create("A(B(C<\"x\">), D(B(C<\"x\">), E), B(C<\"x\">))")
+        );
+        final Node after = factory.intern(
+            DraftNode.create("A(B(C<\"x\">), D(B(C<\"z\">), E), B(C<\"x\">))")
+        );
+        Assertions.assertSame(before.getChild(0), before.getChild(1).getChild(0));
+        final DiffTreeBuilder builder = new DiffTreeBuilder(before);
+        Assertions.assertTrue(builder.build(after, TopDownMapper.INSTANCE));
+        final DiffTree diff = builder.getDiffTree();
+        Assertions.assertTrue(diff.getBefore().getRoot().deepCompare(before));
+        Assertions.assertTrue(diff.getAfter().getRoot().deepCompare(after));
+    }
+
+    /**
+     * Creates an insertion action using a factory.
+     * @param factory Factory
+     * @param child Node being inserted
+     * @return Action
+     */
+    private static Node createAction(final Factory factory, final Node child) {
+        final Builder builder = factory.createBuilder("Insert");
+        Assertions.assertTrue(builder.setChildrenList(Collections.singletonList(child)));
+        Assertions.assertTrue(builder.isValid());
+        return builder.createNode();
+    }
+
+    /**
+     * Loads a tree from JSON using a factory.
+     * @param source JSON
+     * @param factory Factory
+     * @return Tree
+     */
+    private static Tree load(final String source, final Factory factory) {
+        return new JsonDeserializer(
+            source,
+            new Provider() {
+                @Override
+                public Factory getFactory(final String language) {
+                    return factory;
+                }
+
+                @Override
+                public Transformer getTransformer(final String language) {
+                    return node -> node;
+                }
+            }
+        ).convert();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TreePrinter} class.
+ * @since 2.0.0
+ */
+class TreePrinterTest {
+    /**
+     * Description of the tree used in tests.
+     */
+    private static final String DESCRIPTION = "A(B<\"x\">, C(D, E(F)), G)";
+
+    @Test
+    void testPrintingToAppendable() throws IOException {
+        final Node root = DraftNode.create(TreePrinterTest.DESCRIPTION);
+        final StringWriter writer = new StringWriter();
+        TreePrinter.INSTANCE.print(root, writer);
+        Assertions.assertEquals(TreePrinterTest.DESCRIPTION, writer.toString());
+        Assertions.assertEquals(TreePrinterTest.DESCRIPTION, TreePrinter.INSTANCE.print(root));
+        Assertions.assertEquals(TreePrinterTest.DESCRIPTION, root.toString());
+    }
+
+    @Test
+    void testLimits() {
+        final Node root = DraftNode.create(TreePrinterTest.DESCRIPTION);
+        Assertions.assertEquals("A(...)", new TreePrinter(100, 1).print(root));
+        Assertions.assertEquals(
+            "A(B<\"x\">, C(...), G)",
+            new TreePrinter(100, 2).print(root)
+        );
+        Assertions.assertEquals(
+            "A(B<\"x\">, C(D, E(...)), G)",
+            new TreePrinter(100, 3).print(root)
+        );
+        Assertions.assertEquals("A(B<\"x\">, C(D...", new TreePrinter(13, 100).print(root));
+        Assertions.assertEquals("...", new TreePrinter(0, 100).print(root));
+        Assertions.assertEquals(
+            TreePrinterTest.DESCRIPTION,
+            new TreePrinter(TreePrinterTest.DESCRIPTION.length(), 4).print(root)
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TreePrinter(10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TreePrinter(-1, 10));
+    }
+
+    @Test
+    void testHoles() {
+        final Node hole = new Hole(DraftNode.create("B"), 1);
+        final Node root = DraftNode.create("A", "", hole, DraftNode.create("C"));
+        Assertions.assertEquals("A(B<#1>, C)", TreePrinter.INSTANCE.print(root));
+    }
+
+    @Test
+    void testOutputFailure() {
+        final Node root = DraftNode.create(TreePrinterTest.DESCRIPTION);
+        final Writer writer = new Writer() {
+            @Override
+            public void write(final char[] buffer, final int offset, final int length)
+                throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public void flush() {
+                // do nothing
+            }
+
+            @Override
+            public void close() {
+                // do nothing
+            }
+        };
+        Assertions.assertThrows(IOException.class, () -> TreePrinter.INSTANCE.print(root, writer));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.cqfn.astranaut.core.example.green.Addition;
+import org.cqfn.astranaut.core.example.green.GreenFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TypeGroups} class.
+ * @since 2.0.0
+ */
+class TypeGroupsTest {
+    @Test
+    void testMembership() {
+        final TypeGroups groups = new TypeGroups(
+            Arrays.asList("TypeGroupsTestLeaf", "TypeGroupsTestMiddle", "TypeGroupsTestRoot")
+        );
+        final TypeRegistry registry = TypeRegistry.INSTANCE;
+        Assertions.assertTrue(groups.contains("TypeGroupsTestMiddle"));
+        Assertions.assertTrue(groups.contains(registry.getId("TypeGroupsTestRoot")));
+        Assertions.assertFalse(groups.contains("TypeGroupsTestUnrelated"));
+        Assertions.assertEquals(0, registry.findId("TypeGroupsTestUnrelated"));
+        Assertions.assertFalse(groups.contains(registry.getId("TypeGroupsTestOther")));
+        Assertions.assertFalse(groups.contains(0));
+        Assertions.assertFalse(groups.contains(Integer.MAX_VALUE));
+        Assertions.assertFalse(new TypeGroups(Collections.emptyList()).contains("Anything"));
+    }
+
+    @Test
+    void testFactoryTypes() {
+        Assertions.assertNotNull(GreenFactory.INSTANCE.getType("Addition"));
+        final Type type = Addition.TYPE;
+        Assertions.assertNotNull(TypeRegistry.INSTANCE.getGroups(type.getName()));
+        Assertions.assertSame(
+            TypeRegistry.INSTANCE.getGroups(type.getName()),
+            TypeRegistry.INSTANCE.getGroups(type.getId())
+        );
+        Assertions.assertNull(TypeRegistry.INSTANCE.getGroups(0));
+        Assertions.assertNull(TypeRegistry.INSTANCE.getGroups(Integer.MAX_VALUE));
+        Assertions.assertTrue(type.belongsToGroup("BinaryExpression"));
+        Assertions.assertTrue(type.belongsToGroup(TypeRegistry.INSTANCE.getId("Expression")));
+        Assertions.assertFalse(type.belongsToGroup("Statement"));
+        Assertions.assertTrue(Insert.TYPE.belongsToGroup("Action"));
+    }
+
+    @Test
+    void testTypesWithSameName() {
+        Assertions.assertNotNull(GreenFactory.INSTANCE.getType("Addition"));
+        final Type draft = DraftNode.create("Addition").getType();
+        new DefaultFactory(Collections.singletonMap("Addition", draft));
+        Assertions.assertFalse(draft.belongsToGroup("Expression"));
+        Assertions.assertTrue(Addition.TYPE.belongsToGroup("Expression"));
+        Assertions.assertTrue(
+            Addition.TYPE.belongsToGroup(TypeRegistry.INSTANCE.getId("BinaryExpression"))
+        );
+    }
+
+    @Test
+    void testNodeAndType() {
+        final Node node = DraftNode.create("Alpha");
+        Assertions.assertTrue(node.belongsToGroup("Alpha"));
+        Assertions.assertTrue(node.belongsToGroup(node.getTypeId()));
+        Assertions.assertFalse(node.belongsToGroup("Beta"));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.base;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TypeRegistry} class.
+ * @since 2.0.0
+ */
+class TypeRegistryTest {
+    @Test
+    void testIdentifiers() {
+        final TypeRegistry registry = TypeRegistry.INSTANCE;
+        final int first = registry.getId("TypeRegistryTestFirst");
+        final int second = registry.getId("TypeRegistryTestSecond");
+        Assertions.assertTrue(first > 0);
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(first, registry.getId("TypeRegistryTestFirst"));
+        Assertions.assertEquals("TypeRegistryTestSecond", registry.getName(second));
+        Assertions.assertNull(registry.getName(0));
+        Assertions.assertNull(registry.getName(registry.size() + 1));
+    }
+
+    @Test
+    void testUnregisteredName() {
+        final String name = "TypeRegistryTestUnregistered";
+        final Node first = new Leaf(name);
+        final Node second = new Leaf(name);
+        Assertions.assertEquals(0, first.getTypeId());
+        Assertions.assertEquals(0, TypeRegistry.INSTANCE.findId(name));
+        Assertions.assertTrue(first.deepCompare(second));
+        Assertions.assertFalse(first.deepCompare(new Leaf("TypeRegistryTestOther")));
+        Assertions.assertFalse(first.deepCompare(DraftNode.create("TypeRegistryTestDraft")));
+        Assertions.assertEquals(0, TypeRegistry.INSTANCE.findId(name));
+    }
+
+    @Test
+    void testNodesAndTypes() {
+        final Node first = DraftNode.create("Addition(IntegerLiteral<\"1\">)");
+        final Node second = DraftNode.create("Addition(IntegerLiteral<\"2\">)");
+        Assertions.assertEquals(first.getTypeId(), second.getTypeId());
+        Assertions.assertEquals(
+            TypeRegistry.INSTANCE.getId("Addition"),
+            first.getType().getId()
+        );
+        Assertions.assertNotEquals(first.getTypeId(), first.getChild(0).getTypeId());
+        Assertions.assertEquals(
+            TypeRegistry.INSTANCE.getId("Insert"),
+            Insert.TYPE.getId()
+        );
+    }
+
+    @Test
+    void testFactory() {
+        final Type type = DraftNode.create("Variable").getType();
+        final Factory factory = new DefaultFactory(Collections.singletonMap("Variable", type));
+        Assertions.assertSame(type, factory.getType(type.getId()));
+        Assertions.assertSame(Move.TYPE, factory.getType(Move.TYPE.getId()));
+        Assertions.assertNull(factory.getType(TypeRegistry.INSTANCE.getId("Unknown")));
+        Assertions.assertNull(factory.getType(0));
+    }
+
+    /**
+     * Leaf node whose type name is not registered.
+     * @since 2.0.0
+     */
+    private static final class Leaf extends NodeAndType {
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * Constructor.
+         * @param name The type name
+         */
+        Leaf(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public String getData() {
+            return "";
+        }
+
+        @Override
+        public int getChildCount() {
+            return 0;
+        }
+
+        @Override
+        public Node getChild(final int index) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public Builder createBuilder() {
+            return null;
+        }
+    }
+}
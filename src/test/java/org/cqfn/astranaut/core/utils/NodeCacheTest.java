@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cqfn.astranaut.core.algorithms.DepthCalculator;
+import org.cqfn.astranaut.core.algorithms.hash.AbsoluteHash;
+import org.cqfn.astranaut.core.base.DraftNode;
+import org.cqfn.astranaut.core.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link NodeCache} class.
+ * @since 2.0.0
+ */
+class NodeCacheTest {
+    @Test
+    void testNodesAreComparedByIdentity() {
+        final Node first = DraftNode.create("A(B)");
+        final Node second = DraftNode.create("A(B)");
+        final NodeCache<Integer> cache = new NodeCache<>(NodeCache.UNBOUNDED);
+        cache.put(first, 1);
+        Assertions.assertEquals(1, cache.get(first));
+        Assertions.assertNull(cache.get(second));
+        cache.put(second, 2);
+        Assertions.assertEquals(1, cache.get(first));
+        Assertions.assertEquals(2, cache.get(second));
+        Assertions.assertEquals(2, cache.size());
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testBoundedSize() {
+        final int capacity = 64;
+        final NodeCache<Integer> cache = new NodeCache<>(capacity);
+        final List<Node> nodes = new ArrayList<>(capacity * 4);
+        for (int index = 0; index < capacity * 4; index = index + 1) {
+            final Node node = DraftNode.create("X");
+            nodes.add(node);
+            cache.put(node, index);
+        }
+        Assertions.assertTrue(cache.size() <= capacity);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NodeCache<>(0));
+    }
+
+    @Test
+    void testSharedBetweenCalculators() {
+        final Node node = DraftNode.create("A(B(C(D)),E)");
+        final NodeCache<Integer> hashes = new NodeCache<>(NodeCache.UNBOUNDED);
+        final int expected = new AbsoluteHash().calculate(node);
+        Assertions.assertEquals(expected, new AbsoluteHash(hashes).calculate(node));
+        Assertions.assertEquals(expected, hashes.get(node));
+        Assertions.assertEquals(5, hashes.size());
+        Assertions.assertEquals(expected, new AbsoluteHash(hashes).calculate(node));
+        final NodeCache<Integer> depths = new NodeCache<>(NodeCache.UNBOUNDED);
+        Assertions.assertEquals(4, new DepthCalculator(depths).calculate(node));
+        Assertions.assertEquals(3, depths.get(node.getChild(0)));
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        final Node node = DraftNode.create("A(B(C,D),E(F(G),H),I)");
+        final int expected = new AbsoluteHash().calculate(node);
+        final NodeCache<Integer> cache = new NodeCache<>(NodeCache.UNBOUNDED);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>(16);
+            for (int index = 0; index < 16; index = index + 1) {
+                results.add(executor.submit(() -> new AbsoluteHash(cache).calculate(node)));
+            }
+            for (final Future<Integer> result : results) {
+                Assertions.assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(9, cache.size());
+    }
+}
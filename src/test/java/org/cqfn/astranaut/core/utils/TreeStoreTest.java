@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astranaut.core.utils;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.cqfn.astranaut.core.algorithms.DepthFirstWalker;
+import org.cqfn.astranaut.core.algorithms.ExtNodeCreator;
+import org.cqfn.astranaut.core.algorithms.mapping.Mapping;
+import org.cqfn.astranaut.core.algorithms.mapping.TopDownMapper;
+import org.cqfn.astranaut.core.base.DefaultFactory;
+import org.cqfn.astranaut.core.base.EmptyTree;
+import org.cqfn.astranaut.core.base.Factory;
+import org.cqfn.astranaut.core.base.Node;
+import org.cqfn.astranaut.core.base.Provider;
+import org.cqfn.astranaut.core.base.Transformer;
+import org.cqfn.astranaut.core.base.Tree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link TreeStore} class.
+ * @since 2.0.0
+ */
+class TreeStoreTest {
+    /**
+     * The file with a large syntax tree.
+     */
+    private static final String FILE = "src/test/resources/heavy/real_tree_from_java_parser_1.json";
+
+    /**
+     * Provider that creates draft nodes for all languages.
+     */
+    private static final Provider PROVIDER = new Provider() {
+        @Override
+        public Factory getFactory(final String language) {
+            return DefaultFactory.EMPTY;
+        }
+
+        @Override
+        public Transformer getTransformer(final String language) {
+            return node -> node;
+        }
+    };
+
+    @Test
+    void testSmallTree(@TempDir final Path temp) {
+        final String description = "A(B<\"x\">, C(D, E<\"жук\">), F<\"x\">)";
+        final Tree original = Tree.createDraft(description);
+        final String filename = temp.resolve("small.bin").toString();
+        Assertions.assertTrue(new TreeStore(filename).write(original));
+        final Tree tree = new TreeStore(filename).open(TreeStoreTest.PROVIDER);
+        Assertions.assertEquals(description, tree.toString());
+        Assertions.assertTrue(tree.deepCompare(original));
+        final Node root = tree.getRoot();
+        Assertions.assertSame(root.getChild(1), root.getChild(1));
+        Assertions.assertEquals("C", root.getChild(1).getTypeName());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> root.getChild(3));
+    }
+
+    @Test
+    void testLargeTree(@TempDir final Path temp) {
+        final String source = new FilesReader(TreeStoreTest.FILE).readAsStringNoExcept();
+        Assertions.assertFalse(source.isEmpty());
+        final Tree original = new JsonDeserializer(source, TreeStoreTest.PROVIDER).convert();
+        final String filename = temp.resolve("large.bin").toString();
+        Assertions.assertTrue(new TreeStore(filename).write(original));
+        final Tree tree = new TreeStore(filename, 64).open(TreeStoreTest.PROVIDER);
+        Assertions.assertTrue(tree.deepCompare(original));
+        Assertions.assertEquals(original.getLanguage(), tree.getLanguage());
+        Assertions.assertEquals(
+            new DepthFirstWalker(original.getRoot()).collectAll().size(),
+            new DepthFirstWalker(tree.getRoot()).collectAll().size()
+        );
+        Assertions.assertEquals(
+            new ExtNodeCreator().create(original.getRoot()).getStructuralHash(),
+            new ExtNodeCreator().create(tree.getRoot()).getStructuralHash()
+        );
+        final Mapping mapping = TopDownMapper.INSTANCE.map(original.getRoot(), tree.getRoot());
+        Assertions.assertEquals(0, mapping.getNumberOfActions());
+    }
+
+    @Test
+    void testSameViews(@TempDir final Path temp) {
+        final String source = new FilesReader(TreeStoreTest.FILE).readAsStringNoExcept();
+        final Tree original = new JsonDeserializer(source, TreeStoreTest.PROVIDER).convert();
+        final String filename = temp.resolve("views.bin").toString();
+        Assertions.assertTrue(new TreeStore(filename).write(original));
+        final Tree tree = new TreeStore(filename).open(TreeStoreTest.PROVIDER);
+        final List<Node> first = new DepthFirstWalker(tree.getRoot()).collectAll();
+        final List<Node> second = new DepthFirstWalker(tree.getRoot()).collectAll();
+        Assertions.assertEquals(first.size(), second.size());
+        for (int index = 0; index < first.size(); index = index + 1) {
+            Assertions.assertSame(first.get(index), second.get(index));
+        }
+    }
+
+    @Test
+    void testInvalidFiles(@TempDir final Path temp) throws Exception {
+        final String missing = temp.resolve("missing.bin").toString();
+        Assertions.assertSame(
+            EmptyTree.INSTANCE,
+            new TreeStore(missing).open(TreeStoreTest.PROVIDER)
+        );
+        final String garbage = temp.resolve("garbage.bin").toString();
+        new FilesWriter(garbage).writeString("this is not a tree");
+        Assertions.assertSame(
+            EmptyTree.INSTANCE,
+            new TreeStore(garbage).open(TreeStoreTest.PROVIDER)
+        );
+        Assertions.assertFalse(new TreeStore(temp.toString()).write(Tree.createDraft("A")));
+    }
+}